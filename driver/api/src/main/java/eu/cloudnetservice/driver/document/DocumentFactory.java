@@ -60,6 +60,21 @@ public interface DocumentFactory {
    */
   @NonNull Document.Mutable parse(byte[] data);
 
+  /**
+   * Parses a document of the factory supported document type from the given input data, deferring the actual parsing
+   * until the content of the document is accessed for the first time. The given data must be the root object of a
+   * document in order to work and must not be modified after calling this method. As the data is parsed lazily, an
+   * exception caused by malformed data might only be thrown when accessing the returned document. Factories which don't
+   * support lazy parsing parse the given data directly.
+   *
+   * @param data the data to parse the document from.
+   * @return a document which parses the given input data on first access.
+   * @throws DocumentParseException if the document cannot be parsed from the given data.
+   */
+  default @NonNull Document.Mutable parseLazily(byte[] data) {
+    return this.parse(data);
+  }
+
   /**
    * Parses a document of the factory supported document type from the file at the given path. The given data must be
    * the root object of a document in order to work. Note: if the file at the given does not exist or the given path is
@@ -20,6 +20,7 @@
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import eu.cloudnetservice.driver.network.protocol.PacketSender;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 
@@ -95,6 +96,46 @@ public interface NetworkChannel extends PacketSender {
   @NonNull
   CompletableFuture<Packet> sendQueryAsync(@NonNull Packet packet);
 
+  /**
+   * Converts and sends the given packet as a query into this channel, returning a future either completed with the
+   * response to the query or an exception if no response to the packet was received before the given timeout elapsed.
+   *
+   * @param packet  the packet to send as a query.
+   * @param timeout the maximum time to wait for a response to the query.
+   * @return a future completed with the result of the query or an exception in case of a timeout.
+   * @throws NullPointerException if the given packet or timeout is null.
+   */
+  default @NonNull CompletableFuture<Packet> sendQueryAsync(@NonNull Packet packet, @NonNull Duration timeout) {
+    return this.queryPacketManager().sendQueryPacket(packet, timeout);
+  }
+
+  /**
+   * Offers the given packet to this channel, taking the writability of the channel into account. If the channel is
+   * writeable the packet is written directly. If the channel is not writeable because the outbound data of the channel
+   * exceeds the configured high water mark, droppable packets are rejected and released directly, while all other
+   * packets are held back and written in order once the channel becomes writeable again. Packets which are sent into
+   * this channel while packets are held back are held back as well, to not overtake the held back packets.
+   * <p>
+   * The returned future is completed with true once the packet was accepted by the channel, false if the packet was
+   * dropped, or exceptionally if the channel was closed before the packet was accepted.
+   *
+   * @param packet    the packet to offer to this channel.
+   * @param droppable true if the packet can be dropped when the channel is not writeable, false otherwise.
+   * @return a future completed once the packet was accepted or dropped by the channel.
+   * @throws NullPointerException if the given packet is null.
+   */
+  @NonNull
+  CompletableFuture<Boolean> offerPacket(@NonNull Packet packet, boolean droppable);
+
+  /**
+   * Get the number of bytes that were written into this channel, but are not yet written to the underlying transport.
+   * This includes all packets which are queued or held back by the channel, based on the size of their content. A
+   * constantly high value indicates that the receiver of this channel cannot keep up with the data sent to it.
+   *
+   * @return the number of pending outbound bytes of this channel.
+   */
+  long pendingOutboundBytes();
+
   /**
    * Get if the underlying channel is currently writeable and will perform writes to the channel immediately.
    *
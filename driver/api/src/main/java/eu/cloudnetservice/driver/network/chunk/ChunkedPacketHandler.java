@@ -19,6 +19,7 @@
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.BitSet;
 import lombok.NonNull;
 
 /**
@@ -47,6 +48,26 @@ public interface ChunkedPacketHandler extends ChunkedPacketProvider {
    */
   boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf);
 
+  /**
+   * Get the positions of all chunks that were already handled successfully by this handler. The sender of a chunked
+   * transfer uses this information to skip the chunks that were already received when resuming an interrupted
+   * transfer. Handlers which do not track the received chunks return an empty set, which causes all chunks to be sent
+   * again when resuming a transfer.
+   *
+   * @return the positions of all chunks that were already handled successfully by this handler.
+   */
+  default @NonNull BitSet receivedChunks() {
+    return new BitSet();
+  }
+
+  /**
+   * Cancels the transfer handled by this handler, for example because the sender did not send any data for a long
+   * time. Implementations should mark the transfer as failed and release all resources held for the transfer, such as
+   * open files. The default implementation does nothing.
+   */
+  default void cancel() {
+  }
+
   /**
    * A callback called once the full data of the chunk session was received successfully.
    *
@@ -22,7 +22,7 @@
 import eu.cloudnetservice.driver.registry.ServiceRegistry;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Collection;
@@ -59,8 +59,8 @@ public interface ChunkedPacketSender extends ChunkedPacketProvider {
    */
   static @NonNull ChunkedPacketSender.Builder forFileTransfer(@NonNull Path filePath) {
     try {
-      var fileStream = Files.newInputStream(filePath, StandardOpenOption.READ);
-      return forStreamTransfer().source(fileStream);
+      var fileChannel = FileChannel.open(filePath, StandardOpenOption.READ);
+      return forStreamTransfer().source(fileChannel);
     } catch (IOException exception) {
       throw new IllegalArgumentException("Unable to open file for reading: " + filePath, exception);
     }
@@ -118,7 +118,9 @@ interface Builder {
 
     /**
      * Sets the source of this data transfer. This option is required to be set by yourself. The source stream should
-     * not be closed by you, it will be closed when the transfer finished successfully.
+     * not be closed by you, it will be closed when the transfer finished successfully. If the given stream is a file
+     * input stream or another stream backed by a known file channel, the data is transferred from the underlying file
+     * channel instead.
      *
      * @param source the data source of the transfer.
      * @return the same builder as used to call the method, for chaining.
@@ -127,6 +129,32 @@ interface Builder {
     @NonNull
     Builder source(@NonNull InputStream source);
 
+    /**
+     * Sets the file channel as the source of this data transfer. The data of the file is transferred starting at the
+     * current position of the channel, directly from the file into the packet buffers without an intermediate copy on
+     * the heap. The source channel should not be closed by you, it will be closed when the transfer finished.
+     *
+     * @param source the data source of the transfer.
+     * @return the same builder as used to call the method, for chaining.
+     * @throws NullPointerException if the given source is null.
+     */
+    @NonNull
+    Builder source(@NonNull FileChannel source);
+
+    /**
+     * Sets the file channel as the source of this data transfer, like {@link #source(FileChannel)}. If the channel
+     * should not be closed when the transfer finished, it stays open and can be used as the source of another transfer,
+     * for example when retrying a failed transfer. As the data is read using positional reads, the position of the
+     * channel is not changed by the transfer.
+     *
+     * @param source      the data source of the transfer.
+     * @param closeSource if the source channel should be closed when the transfer finished.
+     * @return the same builder as used to call the method, for chaining.
+     * @throws NullPointerException if the given source is null.
+     */
+    @NonNull
+    Builder source(@NonNull FileChannel source, boolean closeSource);
+
     /**
      * Sends each chunk data packet to all the provided channels. You need to call one of these methods:
      * <ul>
@@ -176,6 +204,19 @@ interface Builder {
     @NonNull
     Builder packetSplitter(@NonNull Consumer<Packet> splitter);
 
+    /**
+     * Sets the maximum amount of chunks that can be sent without being acknowledged by all target channels. This
+     * setting only applies to transfers to channels set using one of the {@code toChannels} methods, in which each
+     * chunk is acknowledged by the receivers, chunks that were received corrupted are sent again and an interrupted
+     * transfer can be resumed by transferring the data again using the same session unique id. Note that each chunk in
+     * the window is held in memory until it was acknowledged.
+     *
+     * @param windowSize the maximum amount of chunks that can be in flight at the same time.
+     * @return the same builder as used to call the method, for chaining.
+     */
+    @NonNull
+    Builder windowSize(int windowSize);
+
     /**
      * Sets the extra information provided to each target component when opening a chunked session. The data is mainly
      * used for identifying specific parts of the transfer, for example the target file name might be a use case. This
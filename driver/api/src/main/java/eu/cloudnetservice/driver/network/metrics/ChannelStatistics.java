@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.metrics;
+
+import eu.cloudnetservice.driver.network.HostAndPort;
+import lombok.NonNull;
+
+/**
+ * A snapshot of the statistics of a single network channel.
+ *
+ * @param channelId            the id of the channel, unique for the current component.
+ * @param serverAddress        the server address of the channel.
+ * @param clientAddress        the client address of the channel.
+ * @param traffic              the traffic statistics of the channel.
+ * @param queuedPackets        the amount of received packets waiting to be handled by the packet dispatcher.
+ * @param pendingOutboundBytes the amount of bytes written into the channel, but not yet written to the transport.
+ * @param droppedPackets       the amount of droppable packets that were dropped because the channel was not writeable.
+ * @since 4.0
+ */
+public record ChannelStatistics(
+  long channelId,
+  @NonNull HostAndPort serverAddress,
+  @NonNull HostAndPort clientAddress,
+  @NonNull TrafficStatistics traffic,
+  long queuedPackets,
+  long pendingOutboundBytes,
+  long droppedPackets
+) {
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.metrics;
+
+/**
+ * A snapshot of the distribution of recorded durations. Percentiles are approximated and accurate to a factor of two.
+ *
+ * @param count     the amount of recorded durations.
+ * @param meanNanos the mean of all recorded durations in nanoseconds.
+ * @param p50Nanos  the approximated median of all recorded durations in nanoseconds.
+ * @param p99Nanos  the approximated 99th percentile of all recorded durations in nanoseconds.
+ * @param maxNanos  the maximum recorded duration in nanoseconds.
+ * @since 4.0
+ */
+public record LatencyStatistics(long count, long meanNanos, long p50Nanos, long p99Nanos, long maxNanos) {
+
+  /**
+   * Latency statistics without any recorded durations.
+   */
+  public static final LatencyStatistics EMPTY = new LatencyStatistics(0, 0, 0, 0, 0);
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import lombok.NonNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Provides access to the statistics collected by the network layer of the current component. All statistics are
+ * collected since the start of the component and returned as immutable snapshots, consumers interested in rates must
+ * calculate them based on the difference between two snapshots.
+ *
+ * @since 4.0
+ */
+public interface NetworkMetrics {
+
+  /**
+   * Get the statistics of all network channels that are currently connected to this component.
+   *
+   * @return the statistics of all currently connected network channels.
+   */
+  @NonNull
+  @UnmodifiableView
+  Collection<ChannelStatistics> channels();
+
+  /**
+   * Get the traffic statistics of each packet channel id that was used to send or receive a packet.
+   *
+   * @return the traffic statistics of each packet channel id.
+   */
+  @NonNull
+  @UnmodifiableView
+  Map<Integer, TrafficStatistics> packetChannels();
+
+  /**
+   * Get the traffic statistics of each rpc target method that was invoked by a remote component. The key of the map is
+   * the name of the target class and the name of the target method, separated by a {@code #}.
+   *
+   * @return the traffic statistics of each invoked rpc target method.
+   */
+  @NonNull
+  @UnmodifiableView
+  Map<String, TrafficStatistics> rpcTargets();
+
+  /**
+   * Get the traffic statistics of each channel message channel name that was used to send or receive a channel message.
+   *
+   * @return the traffic statistics of each channel message channel.
+   */
+  @NonNull
+  @UnmodifiableView
+  Map<String, TrafficStatistics> channelMessages();
+
+  /**
+   * Get the statistics of the time between sending a query and receiving the response to it.
+   *
+   * @return the statistics of query round trip times.
+   */
+  @NonNull
+  LatencyStatistics queryRoundTrips();
+
+  /**
+   * Get the current values of additional implementation specific gauges, such as the compression ratio or the state of
+   * buffer pools. The key of the map is the name of the gauge.
+   *
+   * @return the current values of the additional gauges.
+   */
+  @NonNull
+  @UnmodifiableView
+  Map<String, Number> gauges();
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.metrics;
+
+import lombok.NonNull;
+
+/**
+ * A snapshot of the traffic statistics of a network channel, packet channel, rpc target or channel message channel.
+ * The sizes are measured based on the content of the transferred packets, excluding the framing and header bytes.
+ *
+ * @param packetsIn  the amount of received packets.
+ * @param bytesIn    the amount of received content bytes.
+ * @param packetsOut the amount of sent packets.
+ * @param bytesOut   the amount of sent content bytes.
+ * @param handling   the statistics of the time it took to handle received packets.
+ * @since 4.0
+ */
+public record TrafficStatistics(
+  long packetsIn,
+  long bytesIn,
+  long packetsOut,
+  long bytesOut,
+  @NonNull LatencyStatistics handling
+) {
+
+}
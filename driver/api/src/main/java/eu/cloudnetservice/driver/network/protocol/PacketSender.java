@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.network.protocol;
 
+import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 
 /**
@@ -42,6 +43,20 @@ public interface PacketSender {
    */
   void sendPacketSync(@NonNull Packet packet);
 
+  /**
+   * Sends the given packet to the associated target without waiting for the write to complete. The returned future is
+   * completed once the packet was written to all underlying channels, or exceptionally if a write failed. Callers that
+   * rely on the packet being written before continuing should use {@link #sendPacketSync(Packet)} instead.
+   *
+   * @param packet the packet to send.
+   * @return a future completed when the packet was written to the target.
+   * @throws NullPointerException if the given packet is null.
+   */
+  default @NonNull CompletableFuture<Void> sendPacketAsync(@NonNull Packet packet) {
+    this.sendPacket(packet);
+    return CompletableFuture.completedFuture(null);
+  }
+
   /**
    * Sends all the given packets to the associated target.
    *
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.driver.network.protocol;
 
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import java.time.Duration;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
@@ -67,13 +68,28 @@ public interface QueryPacketManager {
 
   /**
    * Sends a query packet to the associated network channel, automatically selecting a query id for the packet and
-   * setting it. Equivalent to {@code manager.sendQueryPacket(packet, UUID.randomUUID()}. An existing query unique id in
-   * the packet will get overridden.
+   * setting it. The query uses the default query timeout of the manager. An existing query unique id in the packet will
+   * get overridden.
    *
    * @param packet the packet to convert to a query packet and send to the channel.
-   * @return a future completed with either the response to the packet or an empty packet if the waiting time expires.
+   * @return a future completed with the response to the packet, or exceptionally if the query times out or the channel
+   * gets closed before a response was received.
    * @throws NullPointerException if the given packet is null.
    */
   @NonNull
   CompletableFuture<Packet> sendQueryPacket(@NonNull Packet packet);
+
+  /**
+   * Sends a query packet to the associated network channel, automatically selecting a query id for the packet and
+   * setting it. An existing query unique id in the packet will get overridden. If no response was received before the
+   * given timeout elapses, the returned future is completed with a {@link java.util.concurrent.TimeoutException}.
+   *
+   * @param packet  the packet to convert to a query packet and send to the channel.
+   * @param timeout the maximum time to wait for a response to the query.
+   * @return a future completed with the response to the packet, or exceptionally if the query times out or the channel
+   * gets closed before a response was received.
+   * @throws NullPointerException if the given packet or timeout is null.
+   */
+  @NonNull
+  CompletableFuture<Packet> sendQueryPacket(@NonNull Packet packet, @NonNull Duration timeout);
 }
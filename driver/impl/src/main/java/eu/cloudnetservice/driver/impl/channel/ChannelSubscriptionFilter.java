@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.channel;
+
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.NonNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * An immutable set of channel message channels a wrapper is subscribed to. A subscription is either the exact name of
+ * a channel or a wildcard subscription ending with {@code *} which matches all channels starting with the prefix in
+ * front of the wildcard character. The subscription {@code *} matches all channels.
+ * <p>
+ * Messages sent to the internal channel are matched by every filter, as the wrapper depends on them.
+ *
+ * @since 4.0
+ */
+public final class ChannelSubscriptionFilter {
+
+  public static final String WILDCARD = "*";
+  public static final ChannelSubscriptionFilter ALL = new ChannelSubscriptionFilter(Set.of(WILDCARD));
+
+  private final Set<String> subscriptions;
+
+  private final boolean matchesAll;
+  private final Set<String> channels;
+  private final String[] channelPrefixes;
+
+  /**
+   * Constructs a new channel subscription filter.
+   *
+   * @param subscriptions the subscriptions to match, must be an immutable set.
+   * @throws NullPointerException if the given subscription set is null.
+   */
+  private ChannelSubscriptionFilter(@NonNull Set<String> subscriptions) {
+    this.subscriptions = subscriptions;
+
+    Set<String> channels = new HashSet<>();
+    List<String> channelPrefixes = new ArrayList<>();
+    for (var subscription : subscriptions) {
+      if (subscription.endsWith(WILDCARD)) {
+        channelPrefixes.add(subscription.substring(0, subscription.length() - WILDCARD.length()));
+      } else {
+        channels.add(subscription);
+      }
+    }
+
+    this.channels = channels;
+    this.channelPrefixes = channelPrefixes.toArray(String[]::new);
+    this.matchesAll = subscriptions.contains(WILDCARD);
+  }
+
+  /**
+   * Creates a new channel subscription filter which matches the given subscriptions.
+   *
+   * @param subscriptions the channels (or wildcard subscriptions) to match.
+   * @return a new filter matching the given subscriptions.
+   * @throws NullPointerException if the given subscription collection is null or contains null.
+   */
+  public static @NonNull ChannelSubscriptionFilter of(@NonNull Collection<String> subscriptions) {
+    return new ChannelSubscriptionFilter(Set.copyOf(subscriptions));
+  }
+
+  /**
+   * Reads a channel subscription filter which was written to the given buffer using {@link #writeTo(DataBuf.Mutable)}.
+   *
+   * @param buf the buffer to read the filter from.
+   * @return the filter read from the given buffer.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  public static @NonNull ChannelSubscriptionFilter readFrom(@NonNull DataBuf buf) {
+    var subscriptionCount = buf.readInt();
+    Set<String> subscriptions = new HashSet<>(subscriptionCount);
+    for (var index = 0; index < subscriptionCount; index++) {
+      subscriptions.add(buf.readString());
+    }
+
+    return new ChannelSubscriptionFilter(Set.copyOf(subscriptions));
+  }
+
+  /**
+   * Writes the subscriptions of this filter into the given buffer.
+   *
+   * @param buf the buffer to write the filter to.
+   * @return the same buffer as given, for chaining.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  public @NonNull DataBuf.Mutable writeTo(@NonNull DataBuf.Mutable buf) {
+    buf.writeInt(this.subscriptions.size());
+    for (var subscription : this.subscriptions) {
+      buf.writeString(subscription);
+    }
+
+    return buf;
+  }
+
+  /**
+   * Checks if a channel message sent to the given channel should be delivered to the subscriber.
+   *
+   * @param channel the channel of the channel message.
+   * @return true if the given channel is matched by a subscription of this filter, false otherwise.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public boolean matches(@NonNull String channel) {
+    if (this.matchesAll || this.channels.contains(channel) || channel.equals(NetworkConstants.INTERNAL_MSG_CHANNEL)) {
+      return true;
+    }
+
+    for (var channelPrefix : this.channelPrefixes) {
+      if (channel.startsWith(channelPrefix)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Get all subscriptions of this filter, including the wildcard subscriptions.
+   *
+   * @return all subscriptions of this filter.
+   */
+  public @Unmodifiable @NonNull Set<String> subscriptions() {
+    return this.subscriptions;
+  }
+}
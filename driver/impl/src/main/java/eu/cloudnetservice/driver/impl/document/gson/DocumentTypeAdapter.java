@@ -58,14 +58,14 @@ public void write(@NonNull JsonWriter out, @Nullable Document value) throws IOEx
 
     // check if the document is already in json form
     if (value instanceof ImmutableGsonDocument gsonDocument) {
-      this.jsonElementTypeAdapter.write(out, gsonDocument.internalObject);
+      this.jsonElementTypeAdapter.write(out, gsonDocument.internalObject());
       return;
     }
 
     // convert the document to json
     var targetDocument = new MutableGsonDocument();
     targetDocument.receive(value.send());
-    this.jsonElementTypeAdapter.write(out, targetDocument.internalObject);
+    this.jsonElementTypeAdapter.write(out, targetDocument.internalObject());
   }
 
   /**
@@ -76,7 +76,8 @@ public void write(@NonNull JsonWriter out, @Nullable Document value) throws IOEx
     // read the json element and validate that is a json object
     var jsonElement = this.jsonElementTypeAdapter.read(in);
     if (jsonElement != null && jsonElement.isJsonObject()) {
-      return new ImmutableGsonDocument(jsonElement.getAsJsonObject());
+      // when reading from a json tree, the element might be part of the tree of another document
+      return new ImmutableGsonDocument(jsonElement.getAsJsonObject(), true);
     }
 
     // return a new, empty document if the deserialized element is not a json object
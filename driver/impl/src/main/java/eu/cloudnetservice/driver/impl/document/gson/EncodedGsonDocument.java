@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.cloudnetservice.driver.impl.document.gson;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import eu.cloudnetservice.driver.document.DocumentParseException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The encoded form of a gson document which was not yet parsed into a json tree. The encoded bytes are never modified,
+ * therefore they can be shared between all documents which were created from the same encoded data.
+ *
+ * @param bytes   the encoded bytes of the document, either utf-8 encoded json or the binary document encoding.
+ * @param binary  if the given bytes are using the binary document encoding instead of json.
+ * @param compact if the given bytes are json without any whitespace outside of strings.
+ * @since 4.0
+ */
+record EncodedGsonDocument(byte @NonNull [] bytes, boolean binary, boolean compact) {
+
+  /**
+   * Creates the encoded form of a document from the given utf-8 encoded json. The structure of the json is validated
+   * without parsing it: the json must be a single object with balanced brackets and terminated strings. The json is
+   * detected as compact if it contains no whitespace outside of strings.
+   *
+   * @param bytes the utf-8 encoded json of the document.
+   * @return the encoded form of the document.
+   * @throws NullPointerException   if the given bytes are null.
+   * @throws DocumentParseException if the structure of the given json is malformed.
+   */
+  static @NonNull EncodedGsonDocument json(byte @NonNull [] bytes) {
+    var compact = true;
+    var inString = false;
+    var escaped = false;
+    var rootClosed = false;
+
+    var depth = 0;
+    var openBrackets = new char[16];
+    for (var index = 0; index < bytes.length; index++) {
+      // multibyte utf-8 sequences only contain bytes outside the ascii range, they can never match a structural char
+      var current = (char) (bytes[index] & 0xFF);
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+        } else if (current == '\\') {
+          escaped = true;
+        } else if (current == '"') {
+          inString = false;
+        }
+        continue;
+      }
+
+      switch (current) {
+        case ' ', '\t', '\n', '\r' -> compact = false;
+        case '{', '[' -> {
+          if (depth == 0 && (rootClosed || current != '{')) {
+            throw new DocumentParseException("Expected a single json object at index " + index);
+          }
+
+          if (depth == openBrackets.length) {
+            openBrackets = Arrays.copyOf(openBrackets, depth << 1);
+          }
+          openBrackets[depth++] = current == '{' ? '}' : ']';
+        }
+        case '}', ']' -> {
+          if (depth == 0 || openBrackets[depth - 1] != current) {
+            throw new DocumentParseException("Unexpected closing bracket at index " + index);
+          }
+
+          rootClosed = --depth == 0;
+        }
+        default -> {
+          if (depth == 0) {
+            throw new DocumentParseException("Unexpected content outside of the json object at index " + index);
+          }
+
+          inString = current == '"';
+        }
+      }
+    }
+
+    if (inString || depth != 0 || !rootClosed) {
+      throw new DocumentParseException("Json document ended unexpectedly");
+    }
+
+    return new EncodedGsonDocument(bytes, false, compact);
+  }
+
+  /**
+   * Creates the encoded form of a document from the given bytes using the binary document encoding. The structure of
+   * the given bytes is validated without decoding the elements.
+   *
+   * @param bytes the binary encoded document.
+   * @return the encoded form of the document.
+   * @throws NullPointerException   if the given bytes are null.
+   * @throws DocumentParseException if the structure of the given bytes is malformed.
+   */
+  static @NonNull EncodedGsonDocument binary(byte @NonNull [] bytes) {
+    GsonBinaryDocumentCodec.validate(bytes);
+    return new EncodedGsonDocument(bytes, true, false);
+  }
+
+  /**
+   * Parses the encoded bytes into a new json object. If the encoded json is not a json object, an empty json object is
+   * returned instead.
+   *
+   * @return a new json object parsed from the encoded bytes.
+   * @throws DocumentParseException if the encoded bytes are malformed.
+   */
+  @NonNull JsonObject decode() {
+    if (this.binary) {
+      return GsonBinaryDocumentCodec.decode(this.bytes);
+    }
+
+    try (var reader = new InputStreamReader(new ByteArrayInputStream(this.bytes), StandardCharsets.UTF_8)) {
+      var element = JsonParser.parseReader(reader);
+      return element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+    } catch (IOException | JsonParseException exception) {
+      throw new DocumentParseException(exception);
+    }
+  }
+
+  /**
+   * Get the encoded json if it can be used as the compact serialized form of the document. This is only the case for
+   * json without any whitespace outside of strings.
+   *
+   * @return the compact encoded json, null if the bytes are not compact json.
+   */
+  byte @Nullable [] compactJson() {
+    return this.binary || !this.compact ? null : this.bytes;
+  }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.document.gson;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentParseException;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+
+/**
+ * A compact binary encoding for gson documents which is used to transfer documents over the network. Unlike the json
+ * representation, the binary encoding doesn't need to escape strings or to format and parse numbers. Each element is
+ * encoded as a one byte type tag followed by the data of the element:
+ * <ul>
+ *   <li>null, true and false only consist of their tag.
+ *   <li>integral numbers which fit into a long are encoded as zig-zag var long.
+ *   <li>double values are encoded as their 8 byte ieee 754 representation.
+ *   <li>all other numbers are encoded as their string representation to keep their precision.
+ *   <li>strings are encoded as var int length prefixed utf-8 bytes.
+ *   <li>arrays are encoded as the var int element count followed by the elements.
+ *   <li>objects are encoded as the var int entry count followed by the entries.
+ * </ul>
+ * <p>
+ * The keys of object entries are written into a dictionary, a key that was already written once in the same document is
+ * encoded as a reference into the dictionary instead of the full key. The encoded document is written into a buffer as
+ * a length prefixed byte array, which allows documents to keep their encoded form and to be decoded lazily.
+ *
+ * @since 4.0
+ */
+public final class GsonBinaryDocumentCodec {
+
+  private static final byte TAG_NULL = 0;
+  private static final byte TAG_TRUE = 1;
+  private static final byte TAG_FALSE = 2;
+  private static final byte TAG_INTEGRAL = 3;
+  private static final byte TAG_DOUBLE = 4;
+  private static final byte TAG_NUMBER = 5;
+  private static final byte TAG_STRING = 6;
+  private static final byte TAG_ARRAY = 7;
+  private static final byte TAG_OBJECT = 8;
+
+  private GsonBinaryDocumentCodec() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get if the given document can be encoded using the binary encoding.
+   *
+   * @param document the document to check.
+   * @return true if the given document can be encoded using the binary encoding, false otherwise.
+   * @throws NullPointerException if the given document is null.
+   */
+  public static boolean supports(@NonNull Document document) {
+    return document instanceof ImmutableGsonDocument;
+  }
+
+  /**
+   * Writes the given document into the given buffer using the binary encoding. If the document was decoded lazily from
+   * the binary encoding and was not modified since, the encoded bytes of the document are written without encoding it
+   * again.
+   *
+   * @param target   the buffer to write the document to.
+   * @param document the document to write.
+   * @throws NullPointerException     if the given target or document is null.
+   * @throws IllegalArgumentException if the given document is not supported by the binary encoding.
+   */
+  public static void write(@NonNull DataBuf.Mutable target, @NonNull Document document) {
+    if (!(document instanceof ImmutableGsonDocument gsonDocument)) {
+      throw new IllegalArgumentException("Unsupported document type " + document.getClass().getName());
+    }
+
+    var encodedDocument = gsonDocument.encodedDocument();
+    if (encodedDocument != null && encodedDocument.binary()) {
+      target.writeByteArray(encodedDocument.bytes());
+    } else {
+      target.writeByteArray(encode(gsonDocument.internalObject()));
+    }
+  }
+
+  /**
+   * Reads a document which was encoded using the binary encoding from the given buffer. The document is only decoded
+   * once it gets accessed for the first time.
+   *
+   * @param source the buffer to read the document from.
+   * @return the document that was read from the given buffer.
+   * @throws NullPointerException   if the given source is null.
+   * @throws DocumentParseException if the structure of the encoded document is malformed.
+   */
+  public static @NonNull Document.Mutable read(@NonNull DataBuf source) {
+    return new MutableGsonDocument(EncodedGsonDocument.binary(source.readByteArray()));
+  }
+
+  /**
+   * Encodes the given json object using the binary encoding.
+   *
+   * @param object the json object to encode.
+   * @return the binary encoded json object.
+   * @throws NullPointerException if the given object is null.
+   */
+  static byte[] encode(@NonNull JsonObject object) {
+    var encoder = new Encoder();
+    encoder.writeObjectBody(object);
+    return Arrays.copyOf(encoder.buffer, encoder.position);
+  }
+
+  /**
+   * Decodes the given binary encoded json object.
+   *
+   * @param bytes the binary encoded json object.
+   * @return the decoded json object.
+   * @throws NullPointerException   if the given bytes are null.
+   * @throws DocumentParseException if the encoded json object is malformed.
+   */
+  static @NonNull JsonObject decode(byte @NonNull [] bytes) {
+    try {
+      var decoder = new Decoder(bytes);
+      var object = decoder.readObjectBody();
+      if (decoder.position != bytes.length) {
+        throw new DocumentParseException("Unexpected trailing data in binary document");
+      }
+
+      return object;
+    } catch (IndexOutOfBoundsException exception) {
+      throw new DocumentParseException("Binary document ended unexpectedly", exception);
+    }
+  }
+
+  /**
+   * Validates the structure of the given binary encoded json object without decoding its elements.
+   *
+   * @param bytes the binary encoded json object.
+   * @throws NullPointerException   if the given bytes are null.
+   * @throws DocumentParseException if the structure of the encoded json object is malformed.
+   */
+  static void validate(byte @NonNull [] bytes) {
+    try {
+      var decoder = new Decoder(bytes);
+      decoder.skipObjectBody();
+      if (decoder.position != bytes.length) {
+        throw new DocumentParseException("Unexpected trailing data in binary document");
+      }
+    } catch (IndexOutOfBoundsException exception) {
+      throw new DocumentParseException("Binary document ended unexpectedly", exception);
+    }
+  }
+
+  /**
+   * Encodes the elements of a single document into a growing byte array.
+   *
+   * @since 4.0
+   */
+  private static final class Encoder {
+
+    private final Map<String, Integer> keyIndexes = new HashMap<>();
+
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    private void writeElement(@NonNull JsonElement element) {
+      switch (element) {
+        case JsonObject object -> {
+          this.writeByte(TAG_OBJECT);
+          this.writeObjectBody(object);
+        }
+        case JsonArray array -> {
+          this.writeByte(TAG_ARRAY);
+          this.writeVarLong(array.size());
+          for (var arrayElement : array) {
+            this.writeElement(arrayElement);
+          }
+        }
+        case JsonPrimitive primitive when primitive.isBoolean() ->
+          this.writeByte(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+        case JsonPrimitive primitive when primitive.isString() -> {
+          this.writeByte(TAG_STRING);
+          this.writeString(primitive.getAsString());
+        }
+        case JsonPrimitive primitive -> this.writeNumber(primitive.getAsNumber());
+        default -> this.writeByte(TAG_NULL);
+      }
+    }
+
+    private void writeObjectBody(@NonNull JsonObject object) {
+      this.writeVarLong(object.size());
+      for (var entry : object.entrySet()) {
+        this.writeKey(entry.getKey());
+        this.writeElement(entry.getValue());
+      }
+    }
+
+    private void writeKey(@NonNull String key) {
+      var keyIndex = this.keyIndexes.get(key);
+      if (keyIndex != null) {
+        // the key was written before, reference it (0 indicates that the key follows in full)
+        this.writeVarLong(keyIndex + 1);
+      } else {
+        this.writeVarLong(0);
+        this.writeString(key);
+        this.keyIndexes.put(key, this.keyIndexes.size());
+      }
+    }
+
+    private void writeNumber(@NonNull Number number) {
+      switch (number) {
+        case Integer _, Long _, Short _, Byte _ -> this.writeIntegral(number.longValue());
+        case Double doubleValue -> {
+          this.writeByte(TAG_DOUBLE);
+          this.writeLong(Double.doubleToRawLongBits(doubleValue));
+        }
+        default -> {
+          // numbers that were parsed from json are lazily parsed, most of them are integral values
+          var numberString = number.toString();
+          try {
+            this.writeIntegral(Long.parseLong(numberString));
+          } catch (NumberFormatException exception) {
+            this.writeByte(TAG_NUMBER);
+            this.writeString(numberString);
+          }
+        }
+      }
+    }
+
+    private void writeIntegral(long value) {
+      this.writeByte(TAG_INTEGRAL);
+      this.writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeString(@NonNull String value) {
+      var bytes = value.getBytes(StandardCharsets.UTF_8);
+      this.writeVarLong(bytes.length);
+      this.ensureWritable(bytes.length);
+      System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+      this.position += bytes.length;
+    }
+
+    private void writeVarLong(long value) {
+      this.ensureWritable(10);
+      while ((value & ~0x7FL) != 0) {
+        this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+
+      this.buffer[this.position++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+      this.ensureWritable(Long.BYTES);
+      for (var shift = 56; shift >= 0; shift -= 8) {
+        this.buffer[this.position++] = (byte) (value >>> shift);
+      }
+    }
+
+    private void writeByte(byte value) {
+      this.ensureWritable(1);
+      this.buffer[this.position++] = value;
+    }
+
+    private void ensureWritable(int bytes) {
+      var required = this.position + bytes;
+      if (required > this.buffer.length) {
+        this.buffer = Arrays.copyOf(this.buffer, Math.max(required, this.buffer.length << 1));
+      }
+    }
+  }
+
+  /**
+   * Decodes the elements of a single document from a byte array.
+   *
+   * @since 4.0
+   */
+  private static final class Decoder {
+
+    private final byte[] bytes;
+    private final List<String> keys = new ArrayList<>();
+
+    private int position;
+    private int skippedKeys;
+
+    private Decoder(byte @NonNull [] bytes) {
+      this.bytes = bytes;
+    }
+
+    private @NonNull JsonElement readElement() {
+      var tag = this.bytes[this.position++];
+      return switch (tag) {
+        case TAG_NULL -> JsonNull.INSTANCE;
+        case TAG_TRUE -> new JsonPrimitive(true);
+        case TAG_FALSE -> new JsonPrimitive(false);
+        case TAG_INTEGRAL -> {
+          var encoded = this.readVarLong();
+          yield new JsonPrimitive((encoded >>> 1) ^ -(encoded & 1));
+        }
+        case TAG_DOUBLE -> new JsonPrimitive(Double.longBitsToDouble(this.readLong()));
+        // parsing the number string keeps the exact representation of the number
+        case TAG_NUMBER -> JsonParser.parseString(this.readString());
+        case TAG_STRING -> new JsonPrimitive(this.readString());
+        case TAG_ARRAY -> {
+          var size = this.readSize();
+          var array = new JsonArray();
+          for (var index = 0; index < size; index++) {
+            array.add(this.readElement());
+          }
+          yield array;
+        }
+        case TAG_OBJECT -> this.readObjectBody();
+        default -> throw new DocumentParseException("Unknown binary document element tag " + tag);
+      };
+    }
+
+    private @NonNull JsonObject readObjectBody() {
+      var size = this.readSize();
+      var object = new JsonObject();
+      for (var index = 0; index < size; index++) {
+        var key = this.readKey();
+        object.add(key, this.readElement());
+      }
+
+      return object;
+    }
+
+    private void skipElement() {
+      var tag = this.bytes[this.position++];
+      switch (tag) {
+        case TAG_NULL, TAG_TRUE, TAG_FALSE -> {
+        }
+        case TAG_INTEGRAL -> this.readVarLong();
+        case TAG_DOUBLE -> this.skipBytes(Long.BYTES);
+        case TAG_NUMBER, TAG_STRING -> this.skipBytes(this.readSize());
+        case TAG_ARRAY -> {
+          var size = this.readSize();
+          for (var index = 0; index < size; index++) {
+            this.skipElement();
+          }
+        }
+        case TAG_OBJECT -> this.skipObjectBody();
+        default -> throw new DocumentParseException("Unknown binary document element tag " + tag);
+      }
+    }
+
+    private void skipObjectBody() {
+      var size = this.readSize();
+      for (var index = 0; index < size; index++) {
+        var keyReference = this.readSize();
+        if (keyReference == 0) {
+          this.skipBytes(this.readSize());
+          this.skippedKeys++;
+        } else if (keyReference > this.skippedKeys) {
+          throw new DocumentParseException("Invalid binary document key reference " + keyReference);
+        }
+
+        this.skipElement();
+      }
+    }
+
+    private void skipBytes(int amount) {
+      if (this.position + amount > this.bytes.length) {
+        throw new DocumentParseException("Binary document ended unexpectedly");
+      }
+
+      this.position += amount;
+    }
+
+    private @NonNull String readKey() {
+      var keyReference = this.readSize();
+      if (keyReference == 0) {
+        var key = this.readString();
+        this.keys.add(key);
+        return key;
+      }
+
+      if (keyReference > this.keys.size()) {
+        throw new DocumentParseException("Invalid binary document key reference " + keyReference);
+      }
+
+      return this.keys.get(keyReference - 1);
+    }
+
+    private @NonNull String readString() {
+      var length = this.readSize();
+      var value = new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+      this.position += length;
+      return value;
+    }
+
+    private int readSize() {
+      var size = this.readVarLong();
+      if (size < 0 || size > this.bytes.length) {
+        throw new DocumentParseException("Invalid binary document size " + size);
+      }
+
+      return (int) size;
+    }
+
+    private long readVarLong() {
+      var value = 0L;
+      for (var shift = 0; shift < 64; shift += 7) {
+        var current = this.bytes[this.position++];
+        value |= (long) (current & 0x7F) << shift;
+        if ((current & 0x80) == 0) {
+          return value;
+        }
+      }
+
+      throw new DocumentParseException("Binary document var long is too big");
+    }
+
+    private long readLong() {
+      var value = 0L;
+      for (var index = 0; index < Long.BYTES; index++) {
+        value = (value << 8) | (this.bytes[this.position++] & 0xFF);
+      }
+
+      return value;
+    }
+  }
+}
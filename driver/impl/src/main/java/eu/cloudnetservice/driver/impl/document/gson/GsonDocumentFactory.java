@@ -73,6 +73,14 @@ public GsonDocumentFactory() {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable parseLazily(byte[] data) {
+    return new MutableGsonDocument(EncodedGsonDocument.json(data));
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -130,7 +138,8 @@ public GsonDocumentFactory() {
    */
   @Override
   public @NonNull Document.Mutable parse(@NonNull DataBuf dataBuf) {
-    return this.parse(dataBuf.readString());
+    // strings are written as utf-8 encoded byte array, the document is only parsed when it's accessed
+    return this.parseLazily(dataBuf.readByteArray());
   }
 
   /**
@@ -55,6 +55,11 @@
 
 /**
  * Immutable version of a gson document implementing the full document functionality.
+ * <p>
+ * Copies of a gson document share the internal json tree with the document they were created from. To make this
+ * possible, json elements which are nested into the internal object of a document are never modified in place, only
+ * the root object of a document is. A document whose root object is shared with other documents copies the root object
+ * (without copying the nested elements) before modifying it for the first time.
  *
  * @since 4.0
  */
@@ -63,7 +68,9 @@ class ImmutableGsonDocument implements Document, DefaultedDocPropertyHolder {
   @Serial
   private static final long serialVersionUID = 865904160436074500L;
 
-  protected final JsonObject internalObject;
+  private volatile JsonObject internalObject;
+  private volatile EncodedGsonDocument encodedDocument;
+  private volatile boolean sharedObject;
 
   /**
    * Constructs a new, empty gson document instance.
@@ -80,7 +87,128 @@ public ImmutableGsonDocument() {
    * @throws NullPointerException if the given internal object is null.
    */
   ImmutableGsonDocument(@NonNull JsonObject internalObject) {
+    this(internalObject, false);
+  }
+
+  /**
+   * Constructs a new gson document instance using the given initial internal object. If the given object is marked as
+   * shared, it is copied before this document modifies it for the first time.
+   *
+   * @param internalObject the initial internal json object to use.
+   * @param sharedObject   if the given object is shared with other documents or json trees.
+   * @throws NullPointerException if the given internal object is null.
+   */
+  ImmutableGsonDocument(@NonNull JsonObject internalObject, boolean sharedObject) {
     this.internalObject = internalObject;
+    this.sharedObject = sharedObject;
+  }
+
+  /**
+   * Constructs a new gson document instance which shares the content of the given source document. The content is only
+   * copied once either the source document or the constructed document gets modified.
+   * <p>
+   * Note that this constructor modifies the given source document if it is mutable: the source is marked to share its
+   * internal object, which makes it copy the root object before its next modification. Like every other modification,
+   * this must not race with a concurrent modification of the source document.
+   *
+   * @param source the document to share the content of.
+   * @throws NullPointerException if the given source document is null.
+   */
+  ImmutableGsonDocument(@NonNull ImmutableGsonDocument source) {
+    // if the source document was not parsed yet, only the encoded document is shared and parsed
+    // separately by both documents. Otherwise, both documents are marked to share the parsed object
+    var object = source.internalObject;
+    if (object != null) {
+      // immutable documents never modify their internal object, they don't need to know that it's shared
+      if (source instanceof Document.Mutable) {
+        source.sharedObject = true;
+      }
+
+      this.sharedObject = true;
+      this.internalObject = object;
+    }
+
+    this.encodedDocument = source.encodedDocument;
+  }
+
+  /**
+   * Constructs a new gson document instance which is backed by the given encoded document. The encoded document is only
+   * parsed when the content of this document gets accessed for the first time. Until this document gets modified, the
+   * encoded document is used to serialize and copy this document without parsing it.
+   *
+   * @param encodedDocument the encoded form of the document.
+   * @throws NullPointerException if the given encoded document is null.
+   */
+  ImmutableGsonDocument(@NonNull EncodedGsonDocument encodedDocument) {
+    this.encodedDocument = encodedDocument;
+  }
+
+  /**
+   * Get the internal json object of this document, parsing the encoded form of this document if it wasn't parsed yet.
+   *
+   * @return the internal json object of this document.
+   * @throws eu.cloudnetservice.driver.document.DocumentParseException if the encoded document is malformed.
+   */
+  @NonNull JsonObject internalObject() {
+    var object = this.internalObject;
+    if (object == null) {
+      synchronized (this) {
+        object = this.internalObject;
+        if (object == null) {
+          object = this.encodedDocument.decode();
+          this.internalObject = object;
+        }
+      }
+    }
+
+    return object;
+  }
+
+  /**
+   * Get the internal json object of this document in order to modify it. As the encoded form of this document will no
+   * longer represent this document after the modification, the encoded form is dropped by this method. If the internal
+   * object is shared with other documents, the root object is copied before returning it. Note that only the returned
+   * object itself may be modified, the elements nested into it might still be shared.
+   *
+   * @return the internal json object of this document.
+   * @throws eu.cloudnetservice.driver.document.DocumentParseException if the encoded document is malformed.
+   */
+  @NonNull JsonObject mutableInternalObject() {
+    var object = this.internalObject();
+    if (this.sharedObject) {
+      // nested elements are never modified in place, only the root object needs to be copied
+      var objectCopy = new JsonObject();
+      for (var entry : object.entrySet()) {
+        objectCopy.add(entry.getKey(), entry.getValue());
+      }
+
+      object = objectCopy;
+      this.internalObject = objectCopy;
+      this.sharedObject = false;
+    }
+
+    this.encodedDocument = null;
+    return object;
+  }
+
+  /**
+   * Get the encoded form of this document if this document was not modified since it was created from it.
+   *
+   * @return the encoded form of this document, null if this document has no (valid) encoded form.
+   */
+  @Nullable EncodedGsonDocument encodedDocument() {
+    return this.encodedDocument;
+  }
+
+  /**
+   * Get the encoded json of this document if this document was created from compact encoded json and was not modified
+   * since. The returned json can be used as the compact serialized form of this document.
+   *
+   * @return the compact encoded json of this document, null if this document has no (valid) compact encoded json form.
+   */
+  private byte @Nullable [] compactJson() {
+    var encodedDocument = this.encodedDocument;
+    return encodedDocument == null ? null : encodedDocument.compactJson();
   }
 
   /**
@@ -96,7 +224,7 @@ public ImmutableGsonDocument() {
    */
   @Override
   public boolean empty() {
-    return this.internalObject.isEmpty();
+    return this.internalObject().isEmpty();
   }
 
   /**
@@ -104,7 +232,7 @@ public boolean empty() {
    */
   @Override
   public int elementCount() {
-    return this.internalObject.size();
+    return this.internalObject().size();
   }
 
   /**
@@ -112,7 +240,7 @@ public int elementCount() {
    */
   @Override
   public boolean contains(@NonNull String key) {
-    return this.internalObject.has(key);
+    return this.internalObject().has(key);
   }
 
   /**
@@ -120,7 +248,7 @@ public boolean contains(@NonNull String key) {
    */
   @Override
   public boolean containsNonNull(@NonNull String key) {
-    var element = this.internalObject.get(key);
+    var element = this.internalObject().get(key);
     return element != null && !element.isJsonNull();
   }
 
@@ -129,7 +257,7 @@ public boolean containsNonNull(@NonNull String key) {
    */
   @Override
   public @NonNull DocumentSend send() {
-    return GsonDocumentSend.fromJsonObject(this.internalObject);
+    return GsonDocumentSend.fromJsonObject(this.internalObject());
   }
 
   /**
@@ -137,8 +265,7 @@ public boolean containsNonNull(@NonNull String key) {
    */
   @Override
   public @NonNull Document immutableCopy() {
-    var objectCopy = this.internalObject.deepCopy();
-    return new ImmutableGsonDocument(objectCopy);
+    return new ImmutableGsonDocument(this);
   }
 
   /**
@@ -146,8 +273,7 @@ public boolean containsNonNull(@NonNull String key) {
    */
   @Override
   public @NonNull Document.Mutable mutableCopy() {
-    var objectCopy = this.internalObject.deepCopy();
-    return new MutableGsonDocument(objectCopy);
+    return new MutableGsonDocument(this);
   }
 
   /**
@@ -155,7 +281,7 @@ public boolean containsNonNull(@NonNull String key) {
    */
   @Override
   public @Unmodifiable @NonNull Set<String> keys() {
-    return Set.copyOf(this.internalObject.keySet());
+    return Set.copyOf(this.internalObject().keySet());
   }
 
   /**
@@ -173,7 +299,7 @@ public boolean containsNonNull(@NonNull String key) {
    */
   @Override
   public <T> @UnknownNullability T toInstanceOf(@NonNull Type type) {
-    return GsonProvider.NORMAL_GSON_INSTANCE.fromJson(this.internalObject, type);
+    return GsonProvider.NORMAL_GSON_INSTANCE.fromJson(this.internalObject(), type);
   }
 
   /**
@@ -181,7 +307,7 @@ public boolean containsNonNull(@NonNull String key) {
    */
   @Override
   public <T> @UnknownNullability T toInstanceOf(@NonNull Class<T> type) {
-    return GsonProvider.NORMAL_GSON_INSTANCE.fromJson(this.internalObject, type);
+    return GsonProvider.NORMAL_GSON_INSTANCE.fromJson(this.internalObject(), type);
   }
 
   /**
@@ -197,7 +323,7 @@ public boolean containsNonNull(@NonNull String key) {
    */
   @Override
   public <T> @UnknownNullability T readObject(@NonNull String key, @NonNull Type type, @Nullable T def) {
-    var objectElement = this.internalObject.get(key);
+    var objectElement = this.internalObject().get(key);
     return objectElement == null ? def : GsonProvider.NORMAL_GSON_INSTANCE.fromJson(objectElement, type);
   }
 
@@ -206,7 +332,7 @@ public boolean containsNonNull(@NonNull String key) {
    */
   @Override
   public <T> @UnknownNullability T readObject(@NonNull String key, @NonNull Class<T> type, @Nullable T def) {
-    var objectElement = this.internalObject.get(key);
+    var objectElement = this.internalObject().get(key);
     return objectElement == null ? def : GsonProvider.NORMAL_GSON_INSTANCE.fromJson(objectElement, type);
   }
 
@@ -226,7 +352,7 @@ public boolean containsNonNull(@NonNull String key) {
     var documentElement = this.getElementSafe(key);
     if (documentElement.isJsonObject()) {
       var documentObject = documentElement.getAsJsonObject();
-      return new ImmutableGsonDocument(documentObject.deepCopy());
+      return new ImmutableGsonDocument(documentObject, true);
     } else {
       return def;
     }
@@ -240,7 +366,7 @@ public boolean containsNonNull(@NonNull String key) {
     var documentElement = this.getElementSafe(key);
     if (documentElement.isJsonObject()) {
       var documentObject = documentElement.getAsJsonObject();
-      return new MutableGsonDocument(documentObject.deepCopy());
+      return new MutableGsonDocument(documentObject, true);
     } else {
       return def;
     }
@@ -342,7 +468,7 @@ public boolean getBoolean(@NonNull String key, boolean def) {
    * @throws NullPointerException if the given key is null.
    */
   private @NonNull JsonElement getElementSafe(@NonNull String key) {
-    var element = this.internalObject.get(key);
+    var element = this.internalObject().get(key);
     return Objects.requireNonNullElse(element, JsonNull.INSTANCE);
   }
 
@@ -364,6 +490,16 @@ public void writeTo(@NonNull Path path, @NonNull SerialisationStyle style) {
    */
   @Override
   public void writeTo(@NonNull OutputStream stream, @NonNull SerialisationStyle style) {
+    var compactJson = this.compactJson();
+    if (compactJson != null && style == StandardSerialisationStyle.COMPACT) {
+      try (stream) {
+        stream.write(compactJson);
+        return;
+      } catch (IOException exception) {
+        throw new DocumentSerialisationException(exception);
+      }
+    }
+
     try (var writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
       this.writeTo(writer, style);
     } catch (IOException exception) {
@@ -378,7 +514,7 @@ public void writeTo(@NonNull OutputStream stream, @NonNull SerialisationStyle st
   public void writeTo(@NonNull Appendable appendable, @NonNull SerialisationStyle style) {
     try {
       var serialisationGsonInstance = this.resolveSerialisationGsonInstance(style);
-      serialisationGsonInstance.toJson(this.internalObject, appendable);
+      serialisationGsonInstance.toJson(this.internalObject(), appendable);
     } catch (JsonIOException exception) {
       throw new DocumentSerialisationException(exception);
     }
@@ -389,8 +525,13 @@ public void writeTo(@NonNull Appendable appendable, @NonNull SerialisationStyle
    */
   @Override
   public void writeTo(@NonNull DataBuf.Mutable dataBuf, @NonNull SerialisationStyle style) {
-    var encodedJson = this.serializeToString(style);
-    dataBuf.writeString(encodedJson);
+    // strings are written as utf-8 encoded byte array, the compact encoded json can be written directly if available
+    var compactJson = this.compactJson();
+    if (compactJson != null && style == StandardSerialisationStyle.COMPACT) {
+      dataBuf.writeByteArray(compactJson);
+    } else {
+      dataBuf.writeString(this.serializeToString(style));
+    }
   }
 
   /**
@@ -398,9 +539,14 @@ public void writeTo(@NonNull DataBuf.Mutable dataBuf, @NonNull SerialisationStyl
    */
   @Override
   public @NonNull String serializeToString(@NonNull SerialisationStyle style) {
+    var compactJson = this.compactJson();
+    if (compactJson != null && style == StandardSerialisationStyle.COMPACT) {
+      return new String(compactJson, StandardCharsets.UTF_8);
+    }
+
     try {
       var serialisationGsonInstance = this.resolveSerialisationGsonInstance(style);
-      return serialisationGsonInstance.toJson(this.internalObject);
+      return serialisationGsonInstance.toJson(this.internalObject());
     } catch (JsonIOException exception) {
       throw new DocumentSerialisationException(exception);
     }
@@ -445,7 +591,12 @@ public boolean equals(@Nullable Object other) {
     }
 
     if (other instanceof ImmutableGsonDocument document) {
-      return Objects.equals(this.internalObject, document.internalObject);
+      var encodedDocument = this.encodedDocument;
+      if (encodedDocument != null && encodedDocument == document.encodedDocument) {
+        return true;
+      }
+
+      return Objects.equals(this.internalObject(), document.internalObject());
     }
 
     return false;
@@ -456,7 +607,7 @@ public boolean equals(@Nullable Object other) {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(this.internalObject);
+    return Objects.hash(this.internalObject());
   }
 
   /**
@@ -486,8 +637,9 @@ public void readExternal(@NonNull ObjectInput in) throws IOException {
     // put all elements of the parsed object into the internal object - we don't need to
     // clone the elements as they are freshly parsed and never shared anywhere.
     var object = parsedDocument.getAsJsonObject();
+    var internalObject = this.mutableInternalObject();
     for (var entry : object.entrySet()) {
-      this.internalObject.add(entry.getKey(), entry.getValue());
+      internalObject.add(entry.getKey(), entry.getValue());
     }
   }
 }
@@ -53,14 +53,49 @@ public MutableGsonDocument() {
     super(internalObject);
   }
 
+  /**
+   * Constructs a new gson document instance using the given initial internal object. If the given object is marked as
+   * shared, it is copied before this document modifies it for the first time.
+   *
+   * @param internalObject the initial internal json object to use.
+   * @param sharedObject   if the given object is shared with other documents or json trees.
+   * @throws NullPointerException if the given internal object is null.
+   */
+  MutableGsonDocument(@NonNull JsonObject internalObject, boolean sharedObject) {
+    super(internalObject, sharedObject);
+  }
+
+  /**
+   * Constructs a new gson document instance which shares the content of the given source document. The content is only
+   * copied once either the source document or the constructed document gets modified.
+   *
+   * @param source the document to share the content of.
+   * @throws NullPointerException if the given source document is null.
+   */
+  MutableGsonDocument(@NonNull ImmutableGsonDocument source) {
+    super(source);
+  }
+
+  /**
+   * Constructs a new gson document instance which is backed by the given encoded document. The encoded document is only
+   * parsed when the content of this document gets accessed for the first time.
+   *
+   * @param encodedDocument the encoded form of the document.
+   * @throws NullPointerException if the given encoded document is null.
+   */
+  MutableGsonDocument(@NonNull EncodedGsonDocument encodedDocument) {
+    super(encodedDocument);
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public @NonNull Document.Mutable clear() {
-    var keys = Set.copyOf(this.internalObject.keySet());
+    var internalObject = this.mutableInternalObject();
+    var keys = Set.copyOf(internalObject.keySet());
     for (var key : keys) {
-      this.internalObject.remove(key);
+      internalObject.remove(key);
     }
     return this;
   }
@@ -70,7 +105,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable remove(@NonNull String key) {
-    this.internalObject.remove(key);
+    this.mutableInternalObject().remove(key);
     return this;
   }
 
@@ -79,7 +114,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable receive(@NonNull DocumentSend send) {
-    var visitor = new GsonRootObjectVisitor(this.internalObject);
+    var visitor = new GsonRootObjectVisitor(this.mutableInternalObject());
     send.rootElement().accept(visitor);
     return this;
   }
@@ -89,7 +124,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable appendNull(@NonNull String key) {
-    this.internalObject.add(key, JsonNull.INSTANCE);
+    this.mutableInternalObject().add(key, JsonNull.INSTANCE);
     return this;
   }
 
@@ -102,8 +137,9 @@ public MutableGsonDocument() {
     if (element.isJsonObject()) {
       // append all key-value pairs of the document
       var jsonObject = element.getAsJsonObject();
+      var internalObject = this.mutableInternalObject();
       for (var entry : jsonObject.entrySet()) {
-        this.internalObject.add(entry.getKey(), entry.getValue());
+        internalObject.add(entry.getKey(), entry.getValue());
       }
     }
 
@@ -125,7 +161,7 @@ public MutableGsonDocument() {
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable Object value) {
     var element = value == null ? JsonNull.INSTANCE : GsonProvider.NORMAL_GSON_INSTANCE.toJsonTree(value);
-    this.internalObject.add(key, element);
+    this.mutableInternalObject().add(key, element);
     return this;
   }
 
@@ -134,7 +170,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable Number value) {
-    this.internalObject.addProperty(key, value);
+    this.mutableInternalObject().addProperty(key, value);
     return this;
   }
 
@@ -143,7 +179,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable Boolean value) {
-    this.internalObject.addProperty(key, value);
+    this.mutableInternalObject().addProperty(key, value);
     return this;
   }
 
@@ -152,7 +188,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable String value) {
-    this.internalObject.addProperty(key, value);
+    this.mutableInternalObject().addProperty(key, value);
     return this;
   }
 
@@ -162,13 +198,13 @@ public MutableGsonDocument() {
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable Document value) {
     if (value == null) {
-      this.internalObject.add(key, JsonNull.INSTANCE);
+      this.mutableInternalObject().add(key, JsonNull.INSTANCE);
       return this;
     }
 
     // put in a new object for the document
     var object = new JsonObject();
-    this.internalObject.add(key, object);
+    this.mutableInternalObject().add(key, object);
 
     // receive and convert the content of the document into this document
     var send = value.send();
@@ -16,14 +16,17 @@
 
 package eu.cloudnetservice.driver.impl.network;
 
+import eu.cloudnetservice.driver.impl.network.metrics.TrafficRecorder;
 import eu.cloudnetservice.driver.impl.network.protocol.DefaultPacketListenerRegistry;
 import eu.cloudnetservice.driver.impl.network.protocol.DefaultQueryPacketManager;
+import eu.cloudnetservice.driver.impl.network.rpc.RPCMethodIdTable;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.NonNull;
@@ -41,6 +44,8 @@ public abstract class DefaultNetworkChannel implements NetworkChannel {
 
   private final QueryPacketManager queryPacketManager;
   private final PacketListenerRegistry packetRegistry;
+  private final RPCMethodIdTable rpcMethodIdTable = new RPCMethodIdTable();
+  private final TrafficRecorder trafficRecorder = new TrafficRecorder();
 
   private final HostAndPort serverAddress;
   private final HostAndPort clientAddress;
@@ -81,6 +86,14 @@ public DefaultNetworkChannel(
     return this.queryPacketManager.sendQueryPacket(packet);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull CompletableFuture<Packet> sendQueryAsync(@NonNull Packet packet, @NonNull Duration timeout) {
+    return this.queryPacketManager.sendQueryPacket(packet, timeout);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -105,6 +118,33 @@ public long channelId() {
     return this.queryPacketManager;
   }
 
+  /**
+   * Get the table of rpc method ids used for rpc requests sent and received through this channel.
+   *
+   * @return the rpc method id table of this channel.
+   */
+  public @NonNull RPCMethodIdTable rpcMethodIdTable() {
+    return this.rpcMethodIdTable;
+  }
+
+  /**
+   * Get the recorder of the traffic sent and received through this channel.
+   *
+   * @return the traffic recorder of this channel.
+   */
+  public @NonNull TrafficRecorder trafficRecorder() {
+    return this.trafficRecorder;
+  }
+
+  /**
+   * Get the number of droppable packets that were dropped by this channel because it was not writeable.
+   *
+   * @return the number of dropped packets.
+   */
+  public long droppedPackets() {
+    return 0;
+  }
+
   /**
    * {@inheritDoc}
    */
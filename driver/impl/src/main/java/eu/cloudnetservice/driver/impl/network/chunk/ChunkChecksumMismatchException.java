@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.chunk;
+
+/**
+ * An exception thrown by a chunked packet handler when the checksum of a received chunk does not match the checksum
+ * that was sent along with it. The chunk was not handled and can be sent again by the sender of the transfer.
+ *
+ * @since 4.0
+ */
+public final class ChunkChecksumMismatchException extends IllegalStateException {
+
+  /**
+   * Constructs a new checksum mismatch exception for the chunk at the given position.
+   *
+   * @param chunkPosition    the position of the chunk that was corrupted.
+   * @param expectedChecksum the checksum that was sent along with the chunk.
+   * @param actualChecksum   the checksum of the received chunk data.
+   */
+  public ChunkChecksumMismatchException(int chunkPosition, int expectedChecksum, int actualChecksum) {
+    super(String.format(
+      "Checksum mismatch for chunk %d: expected %08x, got %08x",
+      chunkPosition,
+      expectedChecksum,
+      actualChecksum));
+  }
+
+}
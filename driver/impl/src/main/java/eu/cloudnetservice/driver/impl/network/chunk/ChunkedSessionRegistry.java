@@ -19,31 +19,68 @@
 import eu.cloudnetservice.driver.network.chunk.ChunkSessionInformation;
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketHandler;
 import jakarta.inject.Singleton;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * A registry for chunked transfer sessions that are currently running and active.
+ * A registry for chunked transfer sessions that are currently running and active. Besides the sessions receiving data,
+ * the registry also keeps track of the transfer windows of outgoing transfers which wait for acknowledgements.
+ * <p>
+ * Running sessions which did not receive a chunk for the time configured by the system property
+ * {@code cloudnet.net.chunk.session-timeout} (in seconds, defaults to 600) are cancelled, releasing the resources held
+ * by their handler. Sessions are not cancelled when the sending channel disconnects, allowing the sender to resume the
+ * transfer after reconnecting. Completed sessions are remembered for the same time, which allows a sender that missed
+ * the final acknowledgements to resume the transfer without sending the data again.
  *
  * @since 4.0
  */
 @Singleton
 public final class ChunkedSessionRegistry {
 
-  private final Map<UUID, ChunkedPacketHandler> runningSessions = new ConcurrentHashMap<>();
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedSessionRegistry.class);
+  private static final long SESSION_TIMEOUT_NANOS =
+    TimeUnit.SECONDS.toNanos(Long.getLong("cloudnet.net.chunk.session-timeout", 600));
+
+  private final Map<UUID, RunningSession> runningSessions = new ConcurrentHashMap<>();
+  private final Map<UUID, BitSet> completedSessions = new ConcurrentHashMap<>();
+  private final Map<UUID, ChunkedTransferWindow> transferWindows = new ConcurrentHashMap<>();
 
   /**
-   * Marks the given session as completed by removing it from the lookup registry. Further tries to access a session
-   * with the given unique id will create a new session instead.
+   * Marks the given session as completed by removing it from the lookup registry. The chunks received in the session
+   * are remembered until the session timeout elapses, chunks of the session that are received meanwhile should not be
+   * handled again.
    *
    * @param sessionId the id of the session to mark as completed.
    * @throws NullPointerException if the given session id is null.
    */
   public void completeSession(@NonNull UUID sessionId) {
-    this.runningSessions.remove(sessionId);
+    var session = this.runningSessions.remove(sessionId);
+    if (session != null) {
+      var receivedChunks = session.handler().receivedChunks();
+      this.completedSessions.put(sessionId, receivedChunks);
+      CompletableFuture.delayedExecutor(SESSION_TIMEOUT_NANOS, TimeUnit.NANOSECONDS)
+        .execute(() -> this.completedSessions.remove(sessionId, receivedChunks));
+    }
+  }
+
+  /**
+   * Get if the session with the given id was completed recently.
+   *
+   * @param sessionId the id of the session to check.
+   * @return true if the session was completed within the session timeout, false otherwise.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public boolean sessionCompleted(@NonNull UUID sessionId) {
+    return this.completedSessions.containsKey(sessionId);
   }
 
   /**
@@ -54,13 +91,16 @@ public void completeSession(@NonNull UUID sessionId) {
    * @throws NullPointerException if the given session id or handler is null.
    */
   public void registerSession(@NonNull UUID sessionId, @NonNull ChunkedPacketHandler handler) {
-    this.runningSessions.putIfAbsent(sessionId, handler);
+    var session = new RunningSession(handler);
+    if (this.runningSessions.putIfAbsent(sessionId, session) == null) {
+      this.scheduleExpiration(sessionId, session, SESSION_TIMEOUT_NANOS);
+    }
   }
 
   /**
    * Gets the currently active session or creates a new session using the given instance factory. Sessions are unique by
    * their session id. Concurrently accessing this method to create a new session will return the same session instance
-   * to all callers.
+   * to all callers. Each call counts as activity of the session, delaying its expiration.
    *
    * @param sessionInformation the information of the session to get or create the session of.
    * @param sessionFactory     the factory to call if no session is currently associated with the session id.
@@ -71,8 +111,138 @@ public void registerSession(@NonNull UUID sessionId, @NonNull ChunkedPacketHandl
     @NonNull ChunkSessionInformation sessionInformation,
     @NonNull Function<ChunkSessionInformation, ChunkedPacketHandler> sessionFactory
   ) {
-    return this.runningSessions.computeIfAbsent(
-      sessionInformation.sessionUniqueId(),
-      _ -> sessionFactory.apply(sessionInformation));
+    var sessionId = sessionInformation.sessionUniqueId();
+    var session = this.runningSessions.computeIfAbsent(sessionId, _ -> {
+      var newSession = new RunningSession(sessionFactory.apply(sessionInformation));
+      this.scheduleExpiration(sessionId, newSession, SESSION_TIMEOUT_NANOS);
+      return newSession;
+    });
+
+    session.lastActivity = System.nanoTime();
+    return session.handler();
+  }
+
+  /**
+   * Get the currently running session with the given session id.
+   *
+   * @param sessionId the id of the session to get.
+   * @return the running session with the given id, null if no such session is running.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public @Nullable ChunkedPacketHandler session(@NonNull UUID sessionId) {
+    var session = this.runningSessions.get(sessionId);
+    return session == null ? null : session.handler();
+  }
+
+  /**
+   * Get the chunks that were already received in the running or recently completed session with the given id.
+   *
+   * @param sessionId the id of the session to get the received chunks of.
+   * @return the chunks received in the session, null if the session is neither running nor was completed recently.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public @Nullable BitSet receivedChunks(@NonNull UUID sessionId) {
+    var session = this.runningSessions.get(sessionId);
+    if (session != null) {
+      return session.handler().receivedChunks();
+    }
+
+    var receivedChunks = this.completedSessions.get(sessionId);
+    return receivedChunks == null ? null : (BitSet) receivedChunks.clone();
+  }
+
+  /**
+   * Registers the given transfer window of an outgoing transfer, replacing the window that was previously registered
+   * for the same session id.
+   *
+   * @param window the transfer window to register.
+   * @throws NullPointerException if the given window is null.
+   */
+  public void registerTransferWindow(@NonNull ChunkedTransferWindow window) {
+    this.transferWindows.put(window.sessionId(), window);
+  }
+
+  /**
+   * Unregisters the given transfer window, if it is still the window that is registered for its session id.
+   *
+   * @param window the transfer window to unregister.
+   * @throws NullPointerException if the given window is null.
+   */
+  public void unregisterTransferWindow(@NonNull ChunkedTransferWindow window) {
+    this.transferWindows.remove(window.sessionId(), window);
+  }
+
+  /**
+   * Get the transfer window of the outgoing transfer with the given session id.
+   *
+   * @param sessionId the id of the session to get the transfer window of.
+   * @return the transfer window of the outgoing transfer, null if no such transfer is running.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public @Nullable ChunkedTransferWindow transferWindow(@NonNull UUID sessionId) {
+    return this.transferWindows.get(sessionId);
+  }
+
+  /**
+   * Schedules the expiration check of the given running session to run after the given delay.
+   *
+   * @param sessionId  the id of the session to schedule the expiration check of.
+   * @param session    the session to schedule the expiration check of.
+   * @param delayNanos the nanoseconds to wait before checking if the session expired.
+   * @throws NullPointerException if the given session id or session is null.
+   */
+  private void scheduleExpiration(@NonNull UUID sessionId, @NonNull RunningSession session, long delayNanos) {
+    CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+      .execute(() -> this.expireIfIdle(sessionId, session));
+  }
+
+  /**
+   * Cancels the given session if it is still running and did not receive any chunk within the session timeout. If the
+   * session is still active, the next expiration check is scheduled instead.
+   *
+   * @param sessionId the id of the session to check.
+   * @param session   the session to check.
+   * @throws NullPointerException if the given session id or session is null.
+   */
+  private void expireIfIdle(@NonNull UUID sessionId, @NonNull RunningSession session) {
+    var idleNanos = System.nanoTime() - session.lastActivity;
+    if (idleNanos < SESSION_TIMEOUT_NANOS) {
+      if (this.runningSessions.get(sessionId) == session) {
+        this.scheduleExpiration(sessionId, session, SESSION_TIMEOUT_NANOS - idleNanos);
+      }
+    } else if (this.runningSessions.remove(sessionId, session)) {
+      LOGGER.debug("Cancelling chunked transfer session {} as it did not receive data in time", sessionId);
+      session.handler().cancel();
+    }
+  }
+
+  /**
+   * A session which is currently receiving chunks.
+   *
+   * @since 4.0
+   */
+  private static final class RunningSession {
+
+    private final ChunkedPacketHandler handler;
+    private volatile long lastActivity = System.nanoTime();
+
+    /**
+     * Constructs a new running session.
+     *
+     * @param handler the handler of the session.
+     * @throws NullPointerException if the given handler is null.
+     */
+    private RunningSession(@NonNull ChunkedPacketHandler handler) {
+      this.handler = handler;
+    }
+
+    /**
+     * Get the handler of this session.
+     *
+     * @return the handler of this session.
+     */
+    private @NonNull ChunkedPacketHandler handler() {
+      return this.handler;
+    }
   }
 }
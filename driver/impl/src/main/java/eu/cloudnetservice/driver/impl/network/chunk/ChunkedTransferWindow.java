@@ -0,0 +1,461 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.chunk;
+
+import eu.cloudnetservice.driver.impl.network.chunk.network.ChunkedTransferControlPacket;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The sending side of a windowed chunked transfer to a fixed set of network channels. At most the configured amount
+ * of chunks are in flight at the same time, each chunk is kept in memory until all target channels acknowledged it.
+ * The memory kept by in-flight chunks is additionally bounded for all windows of the process together, a transfer
+ * waits for other transfers to release their chunks before sending a chunk that exceeds the budget.
+ * Chunks which were received corrupted by a target are sent to it again. When opening the window, all targets are
+ * asked which chunks of the session they already received, allowing an interrupted transfer to be resumed by starting
+ * a new transfer with the same session id. The window can be configured using the following system properties:
+ * <ul>
+ *   <li>{@code cloudnet.net.chunk.window-size}: the default amount of chunks that can be in flight, defaults to 2.
+ *   <li>{@code cloudnet.net.chunk.ack-timeout}: the seconds to wait for an acknowledgement, defaults to 60.
+ *   <li>{@code cloudnet.net.chunk.max-in-flight-bytes}: the bytes of all windows that can be in flight, defaults to
+ *   128 MiB.
+ * </ul>
+ *
+ * @since 4.0
+ */
+public final class ChunkedTransferWindow {
+
+  public static final int DEFAULT_WINDOW_SIZE = Integer.getInteger("cloudnet.net.chunk.window-size", 2);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedTransferWindow.class);
+  private static final long ACK_TIMEOUT_NANOS =
+    TimeUnit.SECONDS.toNanos(Long.getLong("cloudnet.net.chunk.ack-timeout", 60));
+  private static final int MAX_IN_FLIGHT_BYTES =
+    Integer.getInteger("cloudnet.net.chunk.max-in-flight-bytes", 128 * 1024 * 1024);
+  private static final Semaphore IN_FLIGHT_BYTES = new Semaphore(MAX_IN_FLIGHT_BYTES);
+
+  private final UUID sessionId;
+  private final int windowSize;
+  private final Collection<NetworkChannel> channels;
+  private final ChunkedSessionRegistry sessionRegistry;
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition stateChange = this.lock.newCondition();
+  private final Map<Integer, PendingChunk> pendingChunks = new HashMap<>();
+  private final Queue<Retransmission> retransmissions = new ArrayDeque<>();
+  private final Queue<PendingChunk> acknowledgedChunks = new ArrayDeque<>();
+
+  // only accessed by the sending thread
+  private final Map<NetworkChannel, BitSet> receivedChunks = new HashMap<>();
+
+  private long lastProgress = System.nanoTime();
+  private String failureReason;
+
+  /**
+   * Constructs a new transfer window.
+   *
+   * @param sessionId       the id of the session that is transferred.
+   * @param windowSize      the maximum amount of chunks that can be in flight at the same time.
+   * @param channels        the channels to transfer the chunks to.
+   * @param sessionRegistry the session registry to register the window in while the transfer is running.
+   * @throws NullPointerException     if the given session id, channels or session registry is null.
+   * @throws IllegalArgumentException if the given window size is not positive.
+   */
+  public ChunkedTransferWindow(
+    @NonNull UUID sessionId,
+    int windowSize,
+    @NonNull Collection<NetworkChannel> channels,
+    @NonNull ChunkedSessionRegistry sessionRegistry
+  ) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("window size must be positive");
+    }
+
+    this.sessionId = sessionId;
+    this.windowSize = windowSize;
+    this.channels = List.copyOf(channels);
+    this.sessionRegistry = sessionRegistry;
+  }
+
+  /**
+   * Get the id of the session that is transferred through this window.
+   *
+   * @return the id of the session that is transferred through this window.
+   */
+  public @NonNull UUID sessionId() {
+    return this.sessionId;
+  }
+
+  /**
+   * Opens this window, registering it to receive acknowledgements and querying the chunks that each target channel
+   * already received for the session. All targets are queried at once and share the same deadline to respond, targets
+   * which do not respond in time are assumed to have no chunks yet.
+   */
+  public void open() {
+    this.sessionRegistry.registerTransferWindow(this);
+
+    var queries = new HashMap<NetworkChannel, CompletableFuture<Packet>>();
+    for (var channel : this.channels) {
+      queries.put(channel, channel.sendQueryAsync(ChunkedTransferControlPacket.resumeQuery(this.sessionId)));
+    }
+
+    var deadline = System.nanoTime() + ACK_TIMEOUT_NANOS;
+    for (var entry : queries.entrySet()) {
+      var channel = entry.getKey();
+      try {
+        var remainingNanos = Math.max(0, deadline - System.nanoTime());
+        var response = entry.getValue().get(remainingNanos, TimeUnit.NANOSECONDS);
+        var content = response.content();
+        if (content.readBoolean()) {
+          var received = BitSet.valueOf(content.readByteArray());
+          this.receivedChunks.put(channel, received);
+          LOGGER.debug("Resuming chunked transfer {}, skipping {} chunks", this.sessionId, received.cardinality());
+        }
+        content.release();
+      } catch (Exception exception) {
+        LOGGER.debug("Unable to query received chunks of session {} from {}", this.sessionId, channel, exception);
+      }
+    }
+  }
+
+  /**
+   * Get if the chunk at the given index must be sent to at least one of the target channels.
+   *
+   * @param chunkIndex the index of the chunk to check.
+   * @return true if at least one target channel did not receive the chunk yet, false otherwise.
+   */
+  public boolean chunkRequired(int chunkIndex) {
+    for (var channel : this.channels) {
+      var received = this.receivedChunks.get(channel);
+      if (received == null || !received.get(chunkIndex)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Sends the given chunk packet to all target channels that did not receive it yet. This method blocks until there
+   * is space in the window and in the in-flight budget for the chunk. The given packet must not be used by the caller
+   * after calling this method.
+   *
+   * @param chunkIndex the index of the chunk to send.
+   * @param packet     the packet of the chunk to send.
+   * @return true if the chunk was sent, false if the transfer failed.
+   * @throws NullPointerException if the given packet is null.
+   * @throws InterruptedException if the current thread is interrupted while waiting for space in the window.
+   */
+  public boolean send(int chunkIndex, @NonNull Packet packet) throws InterruptedException {
+    // wait until there is space in the window and in the in-flight budget for the chunk
+    var inFlightBytes = Math.min(packet.content().readableBytes(), MAX_IN_FLIGHT_BYTES);
+    try {
+      if (!this.awaitPendingChunks(this.windowSize - 1) || !this.acquireInFlightBytes(inFlightBytes)) {
+        packet.content().forceRelease();
+        return false;
+      }
+    } catch (InterruptedException exception) {
+      packet.content().forceRelease();
+      throw exception;
+    }
+
+    var targets = new HashSet<NetworkChannel>();
+    for (var channel : this.channels) {
+      var received = this.receivedChunks.get(channel);
+      if (received == null || !received.get(chunkIndex)) {
+        targets.add(channel);
+      }
+    }
+
+    var pendingChunk = new PendingChunk(packet, inFlightBytes, targets);
+    this.lock.lock();
+    try {
+      this.pendingChunks.put(chunkIndex, pendingChunk);
+    } finally {
+      this.lock.unlock();
+    }
+
+    for (var target : List.copyOf(targets)) {
+      pendingChunk.sendTo(target);
+    }
+
+    return true;
+  }
+
+  /**
+   * Waits until all chunks that were sent through this window were acknowledged by all target channels.
+   *
+   * @return true if all chunks were acknowledged, false if the transfer failed.
+   * @throws InterruptedException if the current thread is interrupted while waiting for the acknowledgements.
+   */
+  public boolean awaitCompletion() throws InterruptedException {
+    return this.awaitPendingChunks(0);
+  }
+
+  /**
+   * Closes this window, unregistering it and releasing all chunks which are still pending.
+   */
+  public void close() {
+    this.sessionRegistry.unregisterTransferWindow(this);
+
+    this.lock.lock();
+    try {
+      this.pendingChunks.values().forEach(PendingChunk::release);
+      this.pendingChunks.clear();
+      this.retransmissions.clear();
+      this.releaseAcknowledgedChunks();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Handles an acknowledgement of the chunk at the given index, sent by the given channel.
+   *
+   * @param channel    the channel that sent the acknowledgement.
+   * @param chunkIndex the index of the acknowledged chunk.
+   * @param status     the status of the chunk on the receiving side.
+   * @throws NullPointerException if the given channel or status is null.
+   */
+  public void handleAcknowledgement(@NonNull NetworkChannel channel, int chunkIndex, @NonNull ChunkStatus status) {
+    this.lock.lock();
+    try {
+      var pendingChunk = this.pendingChunks.get(chunkIndex);
+      if (pendingChunk == null || !pendingChunk.awaitingTargets.contains(channel)) {
+        return;
+      }
+
+      this.lastProgress = System.nanoTime();
+      switch (status) {
+        case ACCEPTED -> {
+          pendingChunk.awaitingTargets.remove(channel);
+          if (pendingChunk.awaitingTargets.isEmpty()) {
+            // the chunk content is released by the sending thread, it might still be sending the chunk right now
+            this.pendingChunks.remove(chunkIndex);
+            this.acknowledgedChunks.add(pendingChunk);
+          }
+        }
+        case CORRUPTED -> this.retransmissions.add(new Retransmission(chunkIndex, channel));
+        case FAILED -> this.failureReason = String.format(
+          "target %s failed to handle chunk %d",
+          channel.clientAddress(),
+          chunkIndex);
+      }
+
+      this.stateChange.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until at most the given amount of chunks are pending, sending out requested retransmissions meanwhile.
+   *
+   * @param maxPendingChunks the maximum amount of pending chunks to wait for.
+   * @return true if at most the given amount of chunks are pending, false if the transfer failed.
+   * @throws InterruptedException if the current thread is interrupted while waiting.
+   */
+  private boolean awaitPendingChunks(int maxPendingChunks) throws InterruptedException {
+    while (true) {
+      Retransmission retransmission;
+      PendingChunk retransmittedChunk = null;
+
+      this.lock.lock();
+      try {
+        this.releaseAcknowledgedChunks();
+        var failureReason = this.checkFailure();
+        if (failureReason != null) {
+          LOGGER.warn("Chunked transfer {} failed: {}", this.sessionId, failureReason);
+          return false;
+        }
+
+        retransmission = this.retransmissions.poll();
+        if (retransmission != null) {
+          retransmittedChunk = this.pendingChunks.get(retransmission.chunkIndex());
+        } else if (this.pendingChunks.size() <= maxPendingChunks) {
+          return true;
+        } else {
+          var remainingNanos = this.lastProgress + ACK_TIMEOUT_NANOS - System.nanoTime();
+          this.stateChange.awaitNanos(Math.max(1, Math.min(remainingNanos, TimeUnit.SECONDS.toNanos(1))));
+        }
+      } finally {
+        this.lock.unlock();
+      }
+
+      // send the retransmission outside the lock, the chunk is only sent by this thread
+      if (retransmittedChunk != null) {
+        retransmittedChunk.sendTo(retransmission.target());
+      }
+    }
+  }
+
+  /**
+   * Acquires the given amount of bytes from the in-flight budget of all windows. While waiting, acknowledged chunks of
+   * this window are released and requested retransmissions are sent, as other windows might wait for them as well.
+   *
+   * @param bytes the amount of bytes to acquire.
+   * @return true if the bytes were acquired, false if the transfer failed.
+   * @throws InterruptedException if the current thread is interrupted while waiting.
+   */
+  private boolean acquireInFlightBytes(int bytes) throws InterruptedException {
+    while (!IN_FLIGHT_BYTES.tryAcquire(bytes, 1, TimeUnit.SECONDS)) {
+      if (!this.awaitPendingChunks(Integer.MAX_VALUE)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Releases the content of all chunks that were acknowledged by all targets. Must be called by the sending thread
+   * while holding the lock.
+   */
+  private void releaseAcknowledgedChunks() {
+    PendingChunk pendingChunk;
+    while ((pendingChunk = this.acknowledgedChunks.poll()) != null) {
+      pendingChunk.release();
+    }
+  }
+
+  /**
+   * Checks if the transfer failed, either because a target failed to handle a chunk, a target channel was closed or
+   * no acknowledgement was received in time. Must be called while holding the lock.
+   *
+   * @return the reason why the transfer failed, null if the transfer did not fail.
+   */
+  private @Nullable String checkFailure() {
+    if (this.failureReason == null && !this.pendingChunks.isEmpty()) {
+      if (System.nanoTime() - this.lastProgress >= ACK_TIMEOUT_NANOS) {
+        this.failureReason = "no acknowledgement received in time";
+      } else {
+        for (var pendingChunk : this.pendingChunks.values()) {
+          for (var target : pendingChunk.awaitingTargets) {
+            if (!target.active()) {
+              this.failureReason = "target " + target.clientAddress() + " disconnected";
+              return this.failureReason;
+            }
+          }
+        }
+      }
+    }
+
+    return this.failureReason;
+  }
+
+  /**
+   * The status of a chunk on the receiving side of a transfer.
+   *
+   * @since 4.0
+   */
+  public enum ChunkStatus {
+
+    /**
+     * The chunk was received and handled successfully.
+     */
+    ACCEPTED,
+    /**
+     * The chunk data did not match its checksum, the chunk must be sent again.
+     */
+    CORRUPTED,
+    /**
+     * The handling of the chunk failed, the transfer cannot be continued.
+     */
+    FAILED
+  }
+
+  /**
+   * A request to send a chunk again to the given target.
+   *
+   * @param chunkIndex the index of the chunk to send again.
+   * @param target     the target channel to send the chunk to.
+   * @since 4.0
+   */
+  private record Retransmission(int chunkIndex, @NonNull NetworkChannel target) {
+
+  }
+
+  /**
+   * A chunk which was sent but not yet acknowledged by all of its targets.
+   *
+   * @since 4.0
+   */
+  private static final class PendingChunk {
+
+    private final Packet packet;
+    private final int inFlightBytes;
+    private final Set<NetworkChannel> awaitingTargets;
+
+    /**
+     * Constructs a new pending chunk.
+     *
+     * @param packet          the packet of the chunk.
+     * @param inFlightBytes   the bytes that were acquired from the in-flight budget for the chunk.
+     * @param awaitingTargets the targets from which an acknowledgement is expected.
+     */
+    private PendingChunk(@NonNull Packet packet, int inFlightBytes, @NonNull Set<NetworkChannel> awaitingTargets) {
+      this.packet = packet;
+      this.inFlightBytes = inFlightBytes;
+      this.awaitingTargets = awaitingTargets;
+    }
+
+    /**
+     * Releases the packet content of this chunk and returns the acquired bytes to the in-flight budget.
+     */
+    private void release() {
+      this.packet.content().forceRelease();
+      IN_FLIGHT_BYTES.release(this.inFlightBytes);
+    }
+
+    /**
+     * Sends the packet of this chunk to the given target, without releasing the packet content.
+     *
+     * @param target the target to send the chunk to.
+     */
+    private void sendTo(@NonNull NetworkChannel target) {
+      var packetContent = this.packet.content();
+      try {
+        // acquire the packet content to prevent it from being released when the packet gets serialized, the content
+        // is kept until all targets acknowledged the chunk to be able to send it again if needed
+        packetContent.acquire().startTransaction();
+        target.sendPacketSync(this.packet);
+      } finally {
+        packetContent.redoTransaction();
+      }
+    }
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.chunk;
+
+import eu.cloudnetservice.driver.impl.network.chunk.network.ChunkedPacket;
+import eu.cloudnetservice.driver.network.chunk.ChunkSessionInformation;
+import eu.cloudnetservice.driver.network.chunk.ChunkedPacketSender;
+import eu.cloudnetservice.driver.network.chunk.TransferStatus;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.utils.base.concurrent.TaskUtil;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A chunked packet sender which transfers the content of a file channel. Unlike the stream based sender, the chunk
+ * data is read directly from the file into the packet buffers using positional reads, which means that the data is
+ * never copied onto the heap when an off-heap buffer allocator is used.
+ *
+ * @since 4.0
+ */
+public class DefaultFileChannelChunkPacketSender extends DefaultChunkedPacketProvider implements ChunkedPacketSender {
+
+  protected final FileChannel source;
+  protected final boolean closeSource;
+  protected final Consumer<Packet> packetSplitter;
+  protected final ChunkedTransferWindow transferWindow;
+
+  /**
+   * Constructs a new chunked packet sender for file channel transfer.
+   *
+   * @param sessionInformation the information about the chunked session.
+   * @param source             the source channel of the file, will be closed automatically.
+   * @param packetSplitter     the splitter for each chunk part to transfer.
+   * @throws NullPointerException if either the information, source or splitter is null.
+   */
+  public DefaultFileChannelChunkPacketSender(
+    @NonNull ChunkSessionInformation sessionInformation,
+    @NonNull FileChannel source,
+    @NonNull Consumer<Packet> packetSplitter
+  ) {
+    this(sessionInformation, source, packetSplitter, null);
+  }
+
+  /**
+   * Constructs a new chunked packet sender for file channel transfer. If a transfer window is given, the chunks are
+   * sent through the window instead of the packet splitter, waiting for the acknowledgements of the receivers.
+   *
+   * @param sessionInformation the information about the chunked session.
+   * @param source             the source channel of the file, will be closed automatically.
+   * @param packetSplitter     the splitter for each chunk part to transfer, used if no transfer window is given.
+   * @param transferWindow     the window to send the chunks through, null to send the chunks using the splitter.
+   * @throws NullPointerException if either the information, source or splitter is null.
+   */
+  public DefaultFileChannelChunkPacketSender(
+    @NonNull ChunkSessionInformation sessionInformation,
+    @NonNull FileChannel source,
+    @NonNull Consumer<Packet> packetSplitter,
+    @Nullable ChunkedTransferWindow transferWindow
+  ) {
+    this(sessionInformation, source, true, packetSplitter, transferWindow);
+  }
+
+  /**
+   * Constructs a new chunked packet sender for file channel transfer. If the source should not be closed, it stays open
+   * after the transfer and can be transferred again, for example to retry a failed transfer.
+   *
+   * @param sessionInformation the information about the chunked session.
+   * @param source             the source channel of the file.
+   * @param closeSource        if the source channel should be closed when the transfer finished.
+   * @param packetSplitter     the splitter for each chunk part to transfer, used if no transfer window is given.
+   * @param transferWindow     the window to send the chunks through, null to send the chunks using the splitter.
+   * @throws NullPointerException if either the information, source or splitter is null.
+   */
+  public DefaultFileChannelChunkPacketSender(
+    @NonNull ChunkSessionInformation sessionInformation,
+    @NonNull FileChannel source,
+    boolean closeSource,
+    @NonNull Consumer<Packet> packetSplitter,
+    @Nullable ChunkedTransferWindow transferWindow
+  ) {
+    super(sessionInformation);
+
+    this.source = source;
+    this.closeSource = closeSource;
+    this.packetSplitter = packetSplitter;
+    this.transferWindow = transferWindow;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull CompletableFuture<TransferStatus> transferChunkedData() {
+    return TaskUtil.supplyAsync(() -> {
+      if (this.transferWindow != null) {
+        this.transferWindow.open();
+      }
+
+      try {
+        var chunkIndex = 0;
+        var chunkSize = this.chunkSessionInformation.chunkSize();
+
+        // start at the current position of the channel, the channel might have been read from partially before
+        var position = this.source.position();
+        var endPosition = this.source.size();
+
+        for (; endPosition - position > chunkSize; chunkIndex++, position += chunkSize) {
+          // there is more data remaining than fits into a chunk, send a full chunk unless all targets already have it
+          if (!this.chunkRequired(chunkIndex)) {
+            continue;
+          }
+
+          this.chunkSessionInformation.transferInformation().acquire();
+          var chunkPacket = ChunkedPacket.createFileChunk(
+            chunkIndex,
+            false,
+            this.source,
+            position,
+            chunkSize,
+            this.chunkSessionInformation);
+          if (!this.sendChunk(chunkIndex, chunkPacket)) {
+            return this.failTransfer();
+          }
+        }
+
+        // final chunk to send out, this is one is allowed to not contain as much data as the other chunks
+        if (this.chunkRequired(chunkIndex)) {
+          var chunkPacket = ChunkedPacket.createFileChunk(
+            chunkIndex,
+            true,
+            this.source,
+            position,
+            (int) Math.max(0, endPosition - position),
+            this.chunkSessionInformation);
+          if (!this.sendChunk(chunkIndex, chunkPacket)) {
+            return this.failTransfer();
+          }
+        }
+
+        return this.completeTransfer();
+      } finally {
+        if (this.transferWindow != null) {
+          this.transferWindow.close();
+        }
+        if (this.closeSource) {
+          this.source.close();
+        }
+      }
+    });
+  }
+
+  /**
+   * Get if the chunk at the given index must be sent, which is only not the case when resuming a transfer in which all
+   * targets already received the chunk.
+   *
+   * @param chunkIndex the index of the chunk to check.
+   * @return true if the chunk must be sent, false otherwise.
+   */
+  protected boolean chunkRequired(int chunkIndex) {
+    return this.transferWindow == null || this.transferWindow.chunkRequired(chunkIndex);
+  }
+
+  /**
+   * Sends the given chunk packet, either through the transfer window or using the packet splitter if no window is used.
+   *
+   * @param chunkIndex  the index of the chunk to send.
+   * @param chunkPacket the packet of the chunk to send.
+   * @return true if the chunk was sent, false if the transfer failed.
+   * @throws NullPointerException if the given packet is null.
+   * @throws InterruptedException if the current thread is interrupted while waiting for space in the window.
+   */
+  protected boolean sendChunk(int chunkIndex, @NonNull Packet chunkPacket) throws InterruptedException {
+    if (this.transferWindow == null) {
+      this.packetSplitter.accept(chunkPacket);
+      return true;
+    }
+
+    return this.transferWindow.send(chunkIndex, chunkPacket);
+  }
+
+  /**
+   * Marks the transfer as failed after a chunk could not be sent, releasing the transfer information.
+   *
+   * @return the failed transfer status.
+   */
+  protected @NonNull TransferStatus failTransfer() {
+    this.chunkSessionInformation.transferInformation().release();
+    this.transferStatus = TransferStatus.FAILURE;
+    return this.transferStatus;
+  }
+
+  /**
+   * Completes the transfer by waiting for all chunks to be acknowledged, if a transfer window is used.
+   *
+   * @return the status of the transfer after completion.
+   * @throws InterruptedException if the current thread is interrupted while waiting for the acknowledgements.
+   */
+  protected @NonNull TransferStatus completeTransfer() throws InterruptedException {
+    this.chunkSessionInformation.transferInformation().release();
+    if (this.transferWindow != null && !this.transferWindow.awaitCompletion()) {
+      this.transferStatus = TransferStatus.FAILURE;
+    } else {
+      this.transferStatus = TransferStatus.SUCCESS;
+    }
+
+    return this.transferStatus;
+  }
+}
@@ -26,6 +26,7 @@
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents a default implementation of a chunked packet sender specifically created for chunked transferring of a
@@ -37,6 +38,7 @@ public class DefaultFileChunkPacketSender extends DefaultChunkedPacketProvider i
 
   protected final InputStream source;
   protected final Consumer<Packet> packetSplitter;
+  protected final ChunkedTransferWindow transferWindow;
 
   /**
    * Constructs a new chunked packet sender for file transfer.
@@ -50,11 +52,31 @@ public DefaultFileChunkPacketSender(
     @NonNull ChunkSessionInformation sessionInformation,
     @NonNull InputStream source,
     @NonNull Consumer<Packet> packetSplitter
+  ) {
+    this(sessionInformation, source, packetSplitter, null);
+  }
+
+  /**
+   * Constructs a new chunked packet sender for file transfer. If a transfer window is given, the chunks are sent
+   * through the window instead of the packet splitter, waiting for the acknowledgements of the receivers.
+   *
+   * @param sessionInformation the information about the chunked session.
+   * @param source             the source stream of the file, will be closed automatically.
+   * @param packetSplitter     the splitter for each chunk part to transfer, used if no transfer window is given.
+   * @param transferWindow     the window to send the chunks through, null to send the chunks using the splitter.
+   * @throws NullPointerException if either the information, source or splitter is null.
+   */
+  public DefaultFileChunkPacketSender(
+    @NonNull ChunkSessionInformation sessionInformation,
+    @NonNull InputStream source,
+    @NonNull Consumer<Packet> packetSplitter,
+    @Nullable ChunkedTransferWindow transferWindow
   ) {
     super(sessionInformation);
 
     this.source = source;
     this.packetSplitter = packetSplitter;
+    this.transferWindow = transferWindow;
   }
 
   /**
@@ -63,33 +85,105 @@ public DefaultFileChunkPacketSender(
   @Override
   public @NonNull CompletableFuture<TransferStatus> transferChunkedData() {
     return TaskUtil.supplyAsync(() -> {
-      var chunkIndex = 0;
-      var backingArray = new byte[this.chunkSessionInformation.chunkSize()];
-
-      while (true) {
-        var bytesRead = Math.max(0, this.source.read(backingArray));
-        if (bytesRead == backingArray.length) {
-          // if the bytes read is the same size as the backing array, then a full chunk of data has been read from the
-          // backing file. this usually indicates that the chunk is not the last chunk in the transfer
-          this.chunkSessionInformation.transferInformation().acquire();
-          var chunkPacket = ChunkedPacket.createFullChunk(chunkIndex++, backingArray, this.chunkSessionInformation);
-          this.packetSplitter.accept(chunkPacket);
-        } else {
-          // final chunk to send out, this is one is allowed to not contain as much data as the other chunks
-          var chunkPacket = ChunkedPacket.createFinalChunk(
-            chunkIndex,
-            bytesRead,
-            backingArray,
-            this.chunkSessionInformation);
-          this.packetSplitter.accept(chunkPacket);
-
-          // close all allocated resources used for the transfer
-          this.source.close();
-          this.chunkSessionInformation.transferInformation().release();
-
-          return TransferStatus.SUCCESS;
+      if (this.transferWindow != null) {
+        this.transferWindow.open();
+      }
+
+      try (this.source) {
+        var chunkIndex = 0;
+        var backingArray = new byte[this.chunkSessionInformation.chunkSize()];
+
+        while (true) {
+          var bytesRead = Math.max(0, this.source.read(backingArray));
+          if (bytesRead == backingArray.length) {
+            // if the bytes read is the same size as the backing array, then a full chunk of data has been read from
+            // the backing file. this usually indicates that the chunk is not the last chunk in the transfer
+            var currentIndex = chunkIndex++;
+            if (this.chunkRequired(currentIndex)) {
+              this.chunkSessionInformation.transferInformation().acquire();
+              var chunkPacket = ChunkedPacket.createFullChunk(currentIndex, backingArray, this.chunkSessionInformation);
+              if (!this.sendChunk(currentIndex, chunkPacket)) {
+                return this.failTransfer();
+              }
+            }
+          } else {
+            // final chunk to send out, this is one is allowed to not contain as much data as the other chunks
+            if (this.chunkRequired(chunkIndex)) {
+              var chunkPacket = ChunkedPacket.createFinalChunk(
+                chunkIndex,
+                bytesRead,
+                backingArray,
+                this.chunkSessionInformation);
+              if (!this.sendChunk(chunkIndex, chunkPacket)) {
+                return this.failTransfer();
+              }
+            }
+
+            return this.completeTransfer();
+          }
+        }
+      } finally {
+        if (this.transferWindow != null) {
+          this.transferWindow.close();
         }
       }
     });
   }
+
+  /**
+   * Get if the chunk at the given index must be sent, which is only not the case when resuming a transfer in which all
+   * targets already received the chunk.
+   *
+   * @param chunkIndex the index of the chunk to check.
+   * @return true if the chunk must be sent, false otherwise.
+   */
+  protected boolean chunkRequired(int chunkIndex) {
+    return this.transferWindow == null || this.transferWindow.chunkRequired(chunkIndex);
+  }
+
+  /**
+   * Sends the given chunk packet, either through the transfer window or using the packet splitter if no window is used.
+   *
+   * @param chunkIndex  the index of the chunk to send.
+   * @param chunkPacket the packet of the chunk to send.
+   * @return true if the chunk was sent, false if the transfer failed.
+   * @throws NullPointerException if the given packet is null.
+   * @throws InterruptedException if the current thread is interrupted while waiting for space in the window.
+   */
+  protected boolean sendChunk(int chunkIndex, @NonNull Packet chunkPacket) throws InterruptedException {
+    if (this.transferWindow == null) {
+      this.packetSplitter.accept(chunkPacket);
+      return true;
+    }
+
+    return this.transferWindow.send(chunkIndex, chunkPacket);
+  }
+
+  /**
+   * Marks the transfer as failed after a chunk could not be sent, releasing the transfer information.
+   *
+   * @return the failed transfer status.
+   */
+  protected @NonNull TransferStatus failTransfer() {
+    this.chunkSessionInformation.transferInformation().release();
+    this.transferStatus = TransferStatus.FAILURE;
+    return this.transferStatus;
+  }
+
+  /**
+   * Completes the transfer by waiting for all chunks to be acknowledged, if a transfer window is used.
+   *
+   * @return the status of the transfer after completion.
+   * @throws InterruptedException if the current thread is interrupted while waiting for the acknowledgements.
+   */
+  protected @NonNull TransferStatus completeTransfer() throws InterruptedException {
+    this.chunkSessionInformation.transferInformation().release();
+    if (this.transferWindow != null && !this.transferWindow.awaitCompletion()) {
+      this.transferStatus = TransferStatus.FAILURE;
+    } else {
+      this.transferStatus = TransferStatus.SUCCESS;
+    }
+
+    return this.transferStatus;
+  }
 }
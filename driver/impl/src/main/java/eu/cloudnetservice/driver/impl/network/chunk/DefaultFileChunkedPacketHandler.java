@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.impl.network.chunk;
 
+import eu.cloudnetservice.driver.impl.network.netty.buffer.NettyImmutableDataBuf;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.chunk.ChunkSessionInformation;
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketHandler;
@@ -23,28 +24,36 @@
 import eu.cloudnetservice.utils.base.io.FileUtil;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Represents a handler for a chunked packet transfer which transfers a file.
+ * Represents a handler for a chunked packet transfer which transfers a file. Chunks are written using positional writes
+ * into the target file, which allows chunks to be received concurrently and out of order. The written data is only
+ * forced to the storage device once after all chunks were received.
  *
  * @since 4.0
  */
 public class DefaultFileChunkedPacketHandler extends DefaultChunkedPacketProvider implements ChunkedPacketHandler {
 
   protected final Path tempFilePath;
-  protected final RandomAccessFile targetFile;
+  protected final FileChannel targetFile;
   protected final Callback writeCompleteHandler;
+
+  // guards the chunk bookkeeping, the chunk data itself is written without holding the lock
   protected final Lock lock = new ReentrantLock();
+  protected final BitSet receivedChunks = new BitSet();
+  protected final BitSet writingChunks = new BitSet();
 
-  protected int writtenFileParts = -1;
   protected int expectedFileParts = -1;
 
   /**
@@ -84,21 +93,15 @@ public DefaultFileChunkedPacketHandler(
   }
 
   /**
-   * Opens a random access file at the provided temp path, creating the file if it does not exist. Note that this method
-   * does not create the parent directory of the file, it must exist prior to invocation.
+   * Opens a file channel for writing at the provided temp path, creating the file if it does not exist. Note that this
+   * method does not create the parent directory of the file, it must exist prior to invocation.
    *
-   * @return the opened temp file for random access.
+   * @return the opened file channel of the temp file.
    * @throws IllegalStateException if the temp file cannot be opened or created.
    */
-  private @NonNull RandomAccessFile openTempFile() {
+  private @NonNull FileChannel openTempFile() {
     try {
-      // create the file in case it does not exist
-      if (Files.notExists(this.tempFilePath)) {
-        Files.createFile(this.tempFilePath);
-      }
-
-      var pathAsFile = this.tempFilePath.toFile();
-      return new RandomAccessFile(pathAsFile, "rwd");
+      return FileChannel.open(this.tempFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
     } catch (IOException exception) {
       throw new IllegalStateException("cannot open chunk transfer temp file for writing", exception);
     }
@@ -114,13 +117,7 @@ public boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf) {
       return false;
     }
 
-    // check if the given chunk is the last chunk in the transfer, set the amount of chunks to expect
-    // this is used in case not all file parts were received when the final packet arrives
     var isFinalPacket = dataBuf.readBoolean();
-    if (isFinalPacket) {
-      this.expectedFileParts = chunkPosition;
-    }
-
     this.lock.lock();
     try {
       // check if the data transfer is still running
@@ -128,54 +125,186 @@ public boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf) {
         throw new IllegalStateException("chunked transfer received data after completion");
       }
 
-      // write the packet content to disk
+      // check if the given chunk is the last chunk in the transfer, set the amount of chunks to expect
+      // this is used in case not all file parts were received when the final packet arrives
+      if (isFinalPacket) {
+        this.expectedFileParts = chunkPosition;
+      }
+
+      // skip chunks that were already received, for example when a resumed transfer sends a chunk again
+      if (this.receivedChunks.get(chunkPosition) || this.writingChunks.get(chunkPosition)) {
+        return false;
+      }
+
+      this.writingChunks.set(chunkPosition);
+    } finally {
+      this.lock.unlock();
+    }
+
+    // write the packet content to disk, this is done without holding the lock to allow concurrent chunk writes
+    boolean transferComplete;
+    try {
       this.writePacketContent(chunkPosition, dataBuf);
-      this.writtenFileParts++;
+      transferComplete = this.finishChunkWrite(chunkPosition, true);
+    } catch (IOException exception) {
+      this.finishChunkWrite(chunkPosition, false);
+      this.markFailed();
+      throw new IllegalStateException("Unexpected exception handling chunk part", exception);
+    } catch (RuntimeException exception) {
+      this.finishChunkWrite(chunkPosition, false);
+      throw exception;
+    }
 
-      // clean up in case the last chunk was just received
-      if (this.expectedFileParts != -1 && this.expectedFileParts == this.writtenFileParts) {
-        this.transferStatus = TransferStatus.SUCCESS;
-        this.targetFile.close();
-
-        // call the write completion handler, if present
-        if (this.writeCompleteHandler != null) {
-          var closeStream = true;
-          var stream = InputStream.nullInputStream();
-          try {
-            // open the stream to the data and post it to the write handler
-            stream = Files.newInputStream(this.tempFilePath, StandardOpenOption.DELETE_ON_CLOSE);
-            closeStream = this.writeCompleteHandler.handleSessionComplete(this.chunkSessionInformation, stream);
-          } finally {
-            if (closeStream) {
-              stream.close();
-            }
-          }
-        }
+    // clean up in case the last chunk was just received
+    if (transferComplete) {
+      try {
+        this.completeTransfer();
+      } catch (IOException exception) {
+        this.markFailed();
+        throw new IllegalStateException("Unexpected exception completing chunked transfer", exception);
+      }
+    }
+
+    return transferComplete;
+  }
 
+  /**
+   * Marks the write of the chunk at the given position as finished and checks if all chunks of the transfer were
+   * received. Exactly one caller is notified about the completion of the transfer.
+   *
+   * @param chunkPosition the position of the chunk that was written.
+   * @param written       if the chunk was written successfully.
+   * @return true if all chunks of the transfer were received, false otherwise.
+   */
+  private boolean finishChunkWrite(int chunkPosition, boolean written) {
+    this.lock.lock();
+    try {
+      this.writingChunks.clear(chunkPosition);
+      if (!written || this.transferStatus != TransferStatus.RUNNING) {
+        return false;
+      }
+
+      this.receivedChunks.set(chunkPosition);
+      if (this.expectedFileParts != -1 && this.expectedFileParts + 1 == this.receivedChunks.cardinality()) {
+        this.transferStatus = TransferStatus.SUCCESS;
         return true;
       }
 
-      // not the last chunk, continue processing
       return false;
-    } catch (IOException exception) {
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Marks the transfer as failed. The status is changed while holding the lock, as all other state transitions of the
+   * transfer happen while holding it.
+   */
+  protected void markFailed() {
+    this.lock.lock();
+    try {
       this.transferStatus = TransferStatus.FAILURE;
-      throw new IllegalStateException("Unexpected exception handling chunk part", exception);
     } finally {
       this.lock.unlock();
     }
   }
 
   /**
-   * Writes the content of a chunk part to the backing file, increasing the amount of written bytes by one.
+   * Forces all written chunks to the storage device, closes the target file and calls the completion handler.
+   *
+   * @throws IOException if an i/o error occurs while closing the file or calling the completion handler.
+   */
+  protected void completeTransfer() throws IOException {
+    try (this.targetFile) {
+      this.targetFile.force(false);
+    }
+
+    // call the write completion handler, if present
+    if (this.writeCompleteHandler != null) {
+      var closeStream = true;
+      var stream = InputStream.nullInputStream();
+      try {
+        // open the stream to the data and post it to the write handler
+        stream = Files.newInputStream(this.tempFilePath, StandardOpenOption.DELETE_ON_CLOSE);
+        closeStream = this.writeCompleteHandler.handleSessionComplete(this.chunkSessionInformation, stream);
+      } finally {
+        if (closeStream) {
+          stream.close();
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the content of a chunk part to the backing file and verifies the checksum of the chunk data afterwards. A
+   * chunk with a mismatching checksum is not marked as received, its data is overridden when the chunk is sent again.
    *
    * @param chunkPosition the index of the chunk to write.
    * @param dataBuf       the buf transferred to this handler, the next content should be the actual chunk data.
-   * @throws IOException          if an i/o error occurs during the chunk write.
-   * @throws NullPointerException if the given buffer is null.
+   * @throws IOException                    if an i/o error occurs during the chunk write.
+   * @throws NullPointerException           if the given buffer is null.
+   * @throws ChunkChecksumMismatchException if the checksum of the chunk data does not match the sent checksum.
    */
   protected void writePacketContent(int chunkPosition, @NonNull DataBuf dataBuf) throws IOException {
+    var checksum = new CRC32C();
     var filePosition = Math.multiplyFull(chunkPosition, this.chunkSessionInformation.chunkSize());
-    this.targetFile.seek(filePosition);
-    this.targetFile.write(dataBuf.readByteArray());
+    if (dataBuf instanceof NettyImmutableDataBuf nettyDataBuf) {
+      // transfer the data directly from the packet buffer into the file
+      nettyDataBuf.readByteArray(this.targetFile, filePosition, checksum);
+    } else {
+      var chunkData = ByteBuffer.wrap(dataBuf.readByteArray());
+      checksum.update(chunkData.duplicate());
+      while (chunkData.hasRemaining()) {
+        this.targetFile.write(chunkData, filePosition + chunkData.position());
+      }
+    }
+
+    // verify the checksum of the chunk data, if the sender provided one
+    if (dataBuf.readableBytes() >= Integer.BYTES) {
+      var expectedChecksum = dataBuf.readInt();
+      var actualChecksum = (int) checksum.getValue();
+      if (expectedChecksum != actualChecksum) {
+        throw new ChunkChecksumMismatchException(chunkPosition, expectedChecksum, actualChecksum);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void cancel() {
+    this.lock.lock();
+    try {
+      if (this.transferStatus != TransferStatus.RUNNING) {
+        return;
+      }
+
+      this.transferStatus = TransferStatus.FAILURE;
+    } finally {
+      this.lock.unlock();
+    }
+
+    // chunks that are currently written fail due to the closed channel, no further chunks are written afterwards
+    try {
+      this.targetFile.close();
+    } catch (IOException ignored) {
+      // the transfer is failed anyway, the temp file is deleted regardless
+    } finally {
+      FileUtil.delete(this.tempFilePath);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull BitSet receivedChunks() {
+    this.lock.lock();
+    try {
+      return (BitSet) this.receivedChunks.clone();
+    } finally {
+      this.lock.unlock();
+    }
   }
 }
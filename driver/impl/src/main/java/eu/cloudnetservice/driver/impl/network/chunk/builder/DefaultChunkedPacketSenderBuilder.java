@@ -17,6 +17,9 @@
 package eu.cloudnetservice.driver.impl.network.chunk.builder;
 
 import com.google.common.base.Preconditions;
+import eu.cloudnetservice.driver.impl.network.chunk.ChunkedSessionRegistry;
+import eu.cloudnetservice.driver.impl.network.chunk.ChunkedTransferWindow;
+import eu.cloudnetservice.driver.impl.network.chunk.DefaultFileChannelChunkPacketSender;
 import eu.cloudnetservice.driver.impl.network.chunk.DefaultFileChunkPacketSender;
 import eu.cloudnetservice.driver.impl.network.chunk.splitter.NetworkChannelsPacketSplitter;
 import eu.cloudnetservice.driver.network.NetworkChannel;
@@ -24,8 +27,12 @@
 import eu.cloudnetservice.driver.network.chunk.ChunkSessionInformation;
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketSender;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.inject.InjectionLayer;
 import eu.cloudnetservice.driver.registry.AutoService;
+import eu.cloudnetservice.utils.base.io.FileChannelInputStream;
+import java.io.FileInputStream;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.UUID;
@@ -44,10 +51,14 @@ public class DefaultChunkedPacketSenderBuilder implements ChunkedPacketSender.Bu
   public static final int DEFAULT_CHUNK_SIZE = 50 * 1024 * 1024;
 
   protected InputStream source;
+  protected FileChannel fileSource;
+  protected boolean closeFileSource = true;
   protected String transferChannel;
   protected Consumer<Packet> packetSplitter;
+  protected Collection<NetworkChannel> targetChannels;
 
   protected int chunkSize = DEFAULT_CHUNK_SIZE;
+  protected int windowSize = ChunkedTransferWindow.DEFAULT_WINDOW_SIZE;
   protected UUID sessionUniqueId = UUID.randomUUID();
   protected DataBuf transferInformation = DataBuf.empty();
 
@@ -83,7 +94,35 @@ public class DefaultChunkedPacketSenderBuilder implements ChunkedPacketSender.Bu
    */
   @Override
   public @NonNull ChunkedPacketSender.Builder source(@NonNull InputStream source) {
+    // file streams can be transferred through their channel, which avoids copying the data onto the heap
+    if (source instanceof FileInputStream fileInputStream) {
+      return this.source(fileInputStream.getChannel());
+    }
+    if (source instanceof FileChannelInputStream fileChannelInputStream) {
+      return this.source(fileChannelInputStream.channel());
+    }
+
     this.source = source;
+    this.fileSource = null;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull ChunkedPacketSender.Builder source(@NonNull FileChannel source) {
+    return this.source(source, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull ChunkedPacketSender.Builder source(@NonNull FileChannel source, boolean closeSource) {
+    this.source = null;
+    this.fileSource = source;
+    this.closeFileSource = closeSource;
     return this;
   }
 
@@ -100,7 +139,9 @@ public class DefaultChunkedPacketSenderBuilder implements ChunkedPacketSender.Bu
    */
   @Override
   public @NonNull ChunkedPacketSender.Builder toChannels(@NonNull Collection<NetworkChannel> channels) {
-    return this.packetSplitter(new NetworkChannelsPacketSplitter(channels));
+    this.packetSplitter(new NetworkChannelsPacketSplitter(channels));
+    this.targetChannels = channels;
+    return this;
   }
 
   /**
@@ -109,6 +150,16 @@ public class DefaultChunkedPacketSenderBuilder implements ChunkedPacketSender.Bu
   @Override
   public @NonNull ChunkedPacketSender.Builder packetSplitter(@NonNull Consumer<Packet> splitter) {
     this.packetSplitter = splitter;
+    this.targetChannels = null;
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull ChunkedPacketSender.Builder windowSize(int windowSize) {
+    this.windowSize = windowSize;
     return this;
   }
 
@@ -128,11 +179,12 @@ public class DefaultChunkedPacketSenderBuilder implements ChunkedPacketSender.Bu
    */
   @Override
   public @NonNull ChunkedPacketSender build() {
-    Preconditions.checkNotNull(this.source, "no source given to send");
+    Preconditions.checkArgument(this.source != null || this.fileSource != null, "no source given to send");
     Preconditions.checkNotNull(this.packetSplitter, "no packet splitter provided");
     Preconditions.checkNotNull(this.transferChannel, "no transfer channel provided");
     Preconditions.checkNotNull(this.sessionUniqueId, "no session unique id provided");
     Preconditions.checkArgument(this.chunkSize > 0, "chunk size must be more than 0");
+    Preconditions.checkArgument(this.windowSize > 0, "window size must be more than 0");
 
     var sessionInfo = new ChunkSessionInformation(
       this.chunkSize,
@@ -140,6 +192,27 @@ public class DefaultChunkedPacketSenderBuilder implements ChunkedPacketSender.Bu
       this.transferChannel,
       this.transferInformation
     );
-    return new DefaultFileChunkPacketSender(sessionInfo, this.source, this.packetSplitter);
+
+    // transfers to known channels are sent windowed, a custom splitter has no way to receive acknowledgements
+    ChunkedTransferWindow transferWindow = null;
+    if (this.targetChannels != null) {
+      var sessionRegistry = InjectionLayer.boot().instance(ChunkedSessionRegistry.class);
+      transferWindow = new ChunkedTransferWindow(
+        this.sessionUniqueId,
+        this.windowSize,
+        this.targetChannels,
+        sessionRegistry);
+    }
+
+    if (this.fileSource != null) {
+      return new DefaultFileChannelChunkPacketSender(
+        sessionInfo,
+        this.fileSource,
+        this.closeFileSource,
+        this.packetSplitter,
+        transferWindow);
+    } else {
+      return new DefaultFileChunkPacketSender(sessionInfo, this.source, this.packetSplitter, transferWindow);
+    }
   }
 }
@@ -18,14 +18,21 @@
 
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
 import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
+import eu.cloudnetservice.driver.impl.network.netty.buffer.NettyMutableDataBuf;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.chunk.ChunkSessionInformation;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32C;
 import lombok.NonNull;
 
 /**
- * A transfer packet that holds data about a chunk of data to transfer.
+ * A transfer packet that holds data about a chunk of data to transfer. The chunk data is followed by a CRC32C checksum
+ * of it, allowing the receiver to detect corrupted chunks and request them again.
  *
  * @since 4.0
  */
@@ -62,12 +69,14 @@ private ChunkedPacket(@NonNull DataBuf dataBuf) {
       + Integer.BYTES
       + sourceDataLengthSize
       + sourceData.length
+      + Integer.BYTES
       + sessionInfo.packetSizeBytes();
     var informationBuffer = DataBufFactory.defaultFactory().createWithExpectedSize(transferBytes)
       .writeObject(sessionInfo)
       .writeInt(chunkIndex)
       .writeBoolean(false) // not the final chunk
-      .writeByteArray(sourceData);
+      .writeByteArray(sourceData)
+      .writeInt(checksum(sourceData, sourceData.length));
     return new ChunkedPacket(informationBuffer);
   }
 
@@ -96,12 +105,90 @@ private ChunkedPacket(@NonNull DataBuf dataBuf) {
       + Integer.BYTES
       + sourceDataLengthSize
       + readBytes
+      + Integer.BYTES
       + sessionInfo.packetSizeBytes();
     var informationBuffer = DataBufFactory.defaultFactory().createWithExpectedSize(transferBytes)
       .writeObject(sessionInfo)
       .writeInt(chunkIndex)
       .writeBoolean(true) // final chunk
-      .writeByteArray(sourceData, readBytes);
+      .writeByteArray(sourceData, readBytes)
+      .writeInt(checksum(sourceData, readBytes));
     return new ChunkedPacket(informationBuffer);
   }
+
+  /**
+   * Creates a new chunk which transfers the given amount of bytes from the given file channel, starting at the given
+   * position. If the current data buf factory supports it, the file data is transferred directly into the (off-heap)
+   * memory of the packet buffer without passing through an intermediate array on the heap. The encoded packet is
+   * equivalent to a packet created by {@link #createFullChunk(int, byte[], ChunkSessionInformation)} or
+   * {@link #createFinalChunk(int, int, byte[], ChunkSessionInformation)}.
+   *
+   * @param chunkIndex  the 0-based index of the chunk that is being sent.
+   * @param finalChunk  if the chunk is the last chunk of the transfer.
+   * @param source      the file channel to read the chunk data from.
+   * @param position    the position in the file at which the chunk data starts.
+   * @param length      the amount of bytes to transfer in the chunk.
+   * @param sessionInfo the information about the transfer session that this packet is related to.
+   * @return the created chunk packet based on the information.
+   * @throws NullPointerException if the given source channel or chunk information is null.
+   * @throws IOException          if an I/O error occurs while reading the chunk data from the given channel.
+   */
+  public static @NonNull ChunkedPacket createFileChunk(
+    int chunkIndex,
+    boolean finalChunk,
+    @NonNull FileChannel source,
+    long position,
+    int length,
+    @NonNull ChunkSessionInformation sessionInfo
+  ) throws IOException {
+    var sourceDataLengthSize = NettyUtil.varIntBytes(length);
+    var transferBytes = Byte.BYTES
+      + Integer.BYTES
+      + sourceDataLengthSize
+      + length
+      + Integer.BYTES
+      + sessionInfo.packetSizeBytes();
+    var informationBuffer = DataBufFactory.defaultFactory().createWithExpectedSize(transferBytes)
+      .writeObject(sessionInfo)
+      .writeInt(chunkIndex)
+      .writeBoolean(finalChunk);
+
+    try {
+      var checksum = new CRC32C();
+      if (informationBuffer instanceof NettyMutableDataBuf nettyBuffer) {
+        // transfer the file data directly into the buffer memory
+        nettyBuffer.writeByteArray(source, position, length, checksum);
+      } else {
+        // fall back to reading the data onto the heap first
+        var sourceData = ByteBuffer.allocate(length);
+        while (sourceData.hasRemaining()) {
+          if (source.read(sourceData, position + sourceData.position()) < 0) {
+            throw new EOFException("Reached end of file while reading chunk " + chunkIndex);
+          }
+        }
+        checksum.update(sourceData.array());
+        informationBuffer.writeByteArray(sourceData.array());
+      }
+
+      informationBuffer.writeInt((int) checksum.getValue());
+    } catch (IOException exception) {
+      informationBuffer.release();
+      throw exception;
+    }
+
+    return new ChunkedPacket(informationBuffer);
+  }
+
+  /**
+   * Calculates the CRC32C checksum of the first given amount of bytes in the given data array.
+   *
+   * @param data   the data to calculate the checksum of.
+   * @param amount the amount of bytes in the given array to include in the checksum.
+   * @return the checksum of the given data.
+   */
+  public static int checksum(byte[] data, int amount) {
+    var checksum = new CRC32C();
+    checksum.update(data, 0, amount);
+    return (int) checksum.getValue();
+  }
 }
@@ -16,17 +16,21 @@
 
 package eu.cloudnetservice.driver.impl.network.chunk.network;
 
+import eu.cloudnetservice.driver.impl.network.chunk.ChunkChecksumMismatchException;
 import eu.cloudnetservice.driver.impl.network.chunk.ChunkedSessionRegistry;
+import eu.cloudnetservice.driver.impl.network.chunk.ChunkedTransferWindow;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.chunk.ChunkSessionInformation;
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketHandler;
+import eu.cloudnetservice.driver.network.chunk.TransferStatus;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
 import java.util.function.Function;
 import lombok.NonNull;
 
 /**
- * A listener for chunked packets, opening the chunked pocket sessions.
+ * A listener for chunked packets, opening the chunked pocket sessions. Each received chunk is acknowledged to the
+ * sender, allowing it to limit the amount of chunks in flight and to send chunks again that were received corrupted.
  *
  * @since 4.0
  */
@@ -58,11 +62,49 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
     var sessionInfo = packetContent.readObject(ChunkSessionInformation.class);
     var chunkIndex = packetContent.readInt();
 
+    // the chunk belongs to a session that was completed already, the sender just missed the acknowledgement
+    if (this.sessionRegistry.sessionCompleted(sessionInfo.sessionUniqueId())) {
+      this.acknowledge(channel, sessionInfo, chunkIndex, ChunkedTransferWindow.ChunkStatus.ACCEPTED);
+      return;
+    }
+
     // get or create a new local session for the transfer
     var sessionHandler = this.sessionRegistry.getOrCreateSession(sessionInfo, this.handlerFactory);
-    var transferComplete = sessionHandler.handleChunkPart(chunkIndex, packetContent);
-    if (transferComplete) {
-      this.sessionRegistry.completeSession(sessionInfo.sessionUniqueId());
+    try {
+      var transferComplete = sessionHandler.handleChunkPart(chunkIndex, packetContent);
+      if (transferComplete) {
+        this.sessionRegistry.completeSession(sessionInfo.sessionUniqueId());
+      }
+
+      // a handler might mark the transfer as failed without throwing an exception
+      var status = sessionHandler.transferStatus() == TransferStatus.FAILURE
+        ? ChunkedTransferWindow.ChunkStatus.FAILED
+        : ChunkedTransferWindow.ChunkStatus.ACCEPTED;
+      this.acknowledge(channel, sessionInfo, chunkIndex, status);
+    } catch (ChunkChecksumMismatchException exception) {
+      // the chunk was corrupted during the transfer, request the sender to send it again
+      this.acknowledge(channel, sessionInfo, chunkIndex, ChunkedTransferWindow.ChunkStatus.CORRUPTED);
+    } catch (Exception exception) {
+      this.acknowledge(channel, sessionInfo, chunkIndex, ChunkedTransferWindow.ChunkStatus.FAILED);
+      throw exception;
     }
   }
+
+  /**
+   * Sends the acknowledgement of the chunk at the given index to the sender of the chunk.
+   *
+   * @param channel     the channel to send the acknowledgement to.
+   * @param sessionInfo the information of the session the chunk belongs to.
+   * @param chunkIndex  the index of the chunk to acknowledge.
+   * @param status      the status of the chunk after handling it.
+   * @throws NullPointerException if the given channel, session information or status is null.
+   */
+  private void acknowledge(
+    @NonNull NetworkChannel channel,
+    @NonNull ChunkSessionInformation sessionInfo,
+    int chunkIndex,
+    @NonNull ChunkedTransferWindow.ChunkStatus status
+  ) {
+    channel.sendPacket(ChunkedTransferControlPacket.acknowledge(sessionInfo.sessionUniqueId(), chunkIndex, status));
+  }
 }
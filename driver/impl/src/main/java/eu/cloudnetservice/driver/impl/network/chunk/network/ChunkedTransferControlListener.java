@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.chunk.network;
+
+import eu.cloudnetservice.driver.impl.network.chunk.ChunkedSessionRegistry;
+import eu.cloudnetservice.driver.impl.network.chunk.ChunkedTransferWindow;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketListener;
+import lombok.NonNull;
+
+/**
+ * A listener for chunked transfer control packets, passing acknowledgements to the transfer window of the associated
+ * outgoing transfer and answering queries for the chunks that were already received in an incoming transfer.
+ *
+ * @since 4.0
+ */
+public final class ChunkedTransferControlListener implements PacketListener {
+
+  private final ChunkedSessionRegistry sessionRegistry;
+
+  /**
+   * Creates a new control packet listener instance.
+   *
+   * @param sessionRegistry the registry of the running sessions and transfer windows.
+   * @throws NullPointerException if the given session registry is null.
+   */
+  public ChunkedTransferControlListener(@NonNull ChunkedSessionRegistry sessionRegistry) {
+    this.sessionRegistry = sessionRegistry;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
+    var packetContent = packet.content();
+    var type = packetContent.readByte();
+    var sessionId = packetContent.readUniqueId();
+
+    switch (type) {
+      case ChunkedTransferControlPacket.TYPE_ACKNOWLEDGE -> {
+        var chunkIndex = packetContent.readInt();
+        var status = packetContent.readObject(ChunkedTransferWindow.ChunkStatus.class);
+
+        // the window might not exist if the transfer was not sent windowed or was already closed
+        var window = this.sessionRegistry.transferWindow(sessionId);
+        if (window != null) {
+          window.handleAcknowledgement(channel, chunkIndex, status);
+        }
+      }
+      case ChunkedTransferControlPacket.TYPE_RESUME_QUERY -> {
+        var receivedChunks = this.sessionRegistry.receivedChunks(sessionId);
+        var response = DataBuf.empty().writeBoolean(receivedChunks != null);
+        if (receivedChunks != null) {
+          response.writeByteArray(receivedChunks.toByteArray());
+        }
+
+        channel.sendPacket(packet.constructResponse(response));
+      }
+      default -> throw new IllegalArgumentException("Unknown chunked transfer control packet type " + type);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.chunk.network;
+
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.impl.network.chunk.ChunkedTransferWindow;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * A packet controlling the flow of a chunked transfer. The receiver of a chunked transfer acknowledges each received
+ * chunk using this packet, while the sender uses it to query the chunks that were already received when resuming an
+ * interrupted transfer. The packets are not prioritized as handling them requires acquiring the locks of the transfer,
+ * which must not happen on the network event loop.
+ *
+ * @since 4.0
+ */
+public final class ChunkedTransferControlPacket extends BasePacket {
+
+  public static final byte TYPE_ACKNOWLEDGE = 0;
+  public static final byte TYPE_RESUME_QUERY = 1;
+
+  /**
+   * Constructs a new chunked transfer control packet.
+   *
+   * @param dataBuf the content of the packet.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  private ChunkedTransferControlPacket(@NonNull DataBuf dataBuf) {
+    super(NetworkConstants.CHUNKED_PACKET_CONTROL_CHANNEL, dataBuf);
+  }
+
+  /**
+   * Creates a new packet acknowledging the receive of the chunk at the given index.
+   *
+   * @param sessionId  the id of the session the chunk belongs to.
+   * @param chunkIndex the index of the chunk to acknowledge.
+   * @param status     the status of the chunk after handling it.
+   * @return a new packet acknowledging the given chunk.
+   * @throws NullPointerException if the given session id or status is null.
+   */
+  public static @NonNull ChunkedTransferControlPacket acknowledge(
+    @NonNull UUID sessionId,
+    int chunkIndex,
+    @NonNull ChunkedTransferWindow.ChunkStatus status
+  ) {
+    var content = DataBuf.empty()
+      .writeByte(TYPE_ACKNOWLEDGE)
+      .writeUniqueId(sessionId)
+      .writeInt(chunkIndex)
+      .writeObject(status);
+    return new ChunkedTransferControlPacket(content);
+  }
+
+  /**
+   * Creates a new query packet requesting the indexes of all chunks that were already received in the given session.
+   *
+   * @param sessionId the id of the session to get the received chunks of.
+   * @return a new query packet for the received chunks of the given session.
+   * @throws NullPointerException if the given session id is null.
+   */
+  public static @NonNull ChunkedTransferControlPacket resumeQuery(@NonNull UUID sessionId) {
+    var content = DataBuf.empty().writeByte(TYPE_RESUME_QUERY).writeUniqueId(sessionId);
+    return new ChunkedTransferControlPacket(content);
+  }
+}
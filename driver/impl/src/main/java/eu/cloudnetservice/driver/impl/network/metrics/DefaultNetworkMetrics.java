@@ -0,0 +1,274 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.metrics;
+
+import eu.cloudnetservice.driver.impl.network.DefaultNetworkChannel;
+import eu.cloudnetservice.driver.network.metrics.ChannelStatistics;
+import eu.cloudnetservice.driver.network.metrics.LatencyStatistics;
+import eu.cloudnetservice.driver.network.metrics.NetworkMetrics;
+import eu.cloudnetservice.driver.network.metrics.TrafficStatistics;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * The default implementation of the network metrics, collecting the statistics of all network components of the
+ * current process. The amount of distinct packet channels, rpc targets and channel message channels that are tracked
+ * is limited, the traffic of all keys exceeding the limit is recorded into a single overflow entry.
+ *
+ * @since 4.0
+ */
+public final class DefaultNetworkMetrics implements NetworkMetrics {
+
+  public static final DefaultNetworkMetrics INSTANCE = new DefaultNetworkMetrics();
+
+  public static final int OVERFLOW_PACKET_CHANNEL = Integer.MIN_VALUE;
+  public static final String OVERFLOW_KEY = "<other>";
+
+  private static final int MAX_TRACKED_KEYS = Integer.getInteger("cloudnet.net.metrics.max-tracked-keys", 1024);
+
+  private final Set<DefaultNetworkChannel> channels = ConcurrentHashMap.newKeySet();
+  private final Map<Integer, TrafficRecorder> packetChannels = new ConcurrentHashMap<>();
+  private final Map<String, TrafficRecorder> rpcTargets = new ConcurrentHashMap<>();
+  private final Map<String, TrafficRecorder> channelMessages = new ConcurrentHashMap<>();
+  private final Map<String, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+
+  private final LatencyHistogram queryRoundTrips = new LatencyHistogram();
+  private final LongAdder queryTimeouts = new LongAdder();
+
+  /**
+   * Constructs a new network metrics instance. Use {@link #INSTANCE} to record the metrics of the current process.
+   */
+  DefaultNetworkMetrics() {
+    this.registerGauge("queries.timed-out", this.queryTimeouts::sum);
+  }
+
+  /**
+   * Get the recorder of the given key in the given map, creating it if needed. If the given map already holds the
+   * maximum amount of tracked keys, the recorder of the given overflow key is returned instead.
+   *
+   * @param recorders   the map to get the recorder from.
+   * @param key         the key to get the recorder of.
+   * @param overflowKey the key to use if the maximum amount of tracked keys is reached.
+   * @param <K>         the type of the keys in the map.
+   * @return the recorder for the given key.
+   * @throws NullPointerException if one of the given arguments is null.
+   */
+  private static @NonNull <K> TrafficRecorder recorder(
+    @NonNull Map<K, TrafficRecorder> recorders,
+    @NonNull K key,
+    @NonNull K overflowKey
+  ) {
+    var recorder = recorders.get(key);
+    if (recorder != null) {
+      return recorder;
+    }
+
+    var targetKey = recorders.size() >= MAX_TRACKED_KEYS ? overflowKey : key;
+    return recorders.computeIfAbsent(targetKey, _ -> new TrafficRecorder());
+  }
+
+  /**
+   * Creates an immutable snapshot of all recorders in the given map, sorted by their key.
+   *
+   * @param recorders the recorders to snapshot.
+   * @param <K>       the type of the keys in the map.
+   * @return an immutable snapshot of the given recorders.
+   * @throws NullPointerException if the given map is null.
+   */
+  private static @NonNull <K> Map<K, TrafficStatistics> snapshot(@NonNull Map<K, TrafficRecorder> recorders) {
+    var snapshot = new TreeMap<K, TrafficStatistics>();
+    recorders.forEach((key, recorder) -> snapshot.put(key, recorder.snapshot()));
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * Registers the given network channel, its statistics are reported until the channel gets unregistered.
+   *
+   * @param channel the channel to register.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public void registerChannel(@NonNull DefaultNetworkChannel channel) {
+    this.channels.add(channel);
+  }
+
+  /**
+   * Unregisters the given network channel, usually because it was closed.
+   *
+   * @param channel the channel to unregister.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public void unregisterChannel(@NonNull DefaultNetworkChannel channel) {
+    this.channels.remove(channel);
+  }
+
+  /**
+   * Registers a gauge with the given name, replacing the gauge that was previously registered with the same name.
+   *
+   * @param name  the name of the gauge.
+   * @param gauge the supplier of the current value of the gauge.
+   * @throws NullPointerException if the given name or gauge is null.
+   */
+  public void registerGauge(@NonNull String name, @NonNull Supplier<Number> gauge) {
+    this.gauges.put(name, gauge);
+  }
+
+  /**
+   * Records a packet that was received through the given channel.
+   *
+   * @param channel the channel through which the packet was received.
+   * @param packet  the packet that was received.
+   * @throws NullPointerException if the given channel or packet is null.
+   */
+  public void recordInbound(@NonNull DefaultNetworkChannel channel, @NonNull Packet packet) {
+    var bytes = packet.content().readableBytes();
+    channel.trafficRecorder().recordInbound(bytes);
+    recorder(this.packetChannels, packet.channel(), OVERFLOW_PACKET_CHANNEL).recordInbound(bytes);
+  }
+
+  /**
+   * Records a packet that is sent through the given channel. Must be called before the packet content gets released.
+   *
+   * @param channel the channel through which the packet is sent.
+   * @param packet  the packet that is sent.
+   * @throws NullPointerException if the given channel or packet is null.
+   */
+  public void recordOutbound(@NonNull DefaultNetworkChannel channel, @NonNull Packet packet) {
+    var bytes = packet.content().readableBytes();
+    channel.trafficRecorder().recordOutbound(bytes);
+    recorder(this.packetChannels, packet.channel(), OVERFLOW_PACKET_CHANNEL).recordOutbound(bytes);
+  }
+
+  /**
+   * Records the time it took the packet listeners to handle the given packet received through the given channel.
+   *
+   * @param channel the channel through which the packet was received.
+   * @param packet  the packet that was handled.
+   * @param nanos   the time it took to handle the packet in nanoseconds.
+   * @throws NullPointerException if the given channel or packet is null.
+   */
+  public void recordHandling(@NonNull DefaultNetworkChannel channel, @NonNull Packet packet, long nanos) {
+    channel.trafficRecorder().recordHandling(nanos);
+    recorder(this.packetChannels, packet.channel(), OVERFLOW_PACKET_CHANNEL).recordHandling(nanos);
+  }
+
+  /**
+   * Get the recorder for the rpc target method with the given name in the given class.
+   *
+   * @param className  the name of the class in which the target method is located.
+   * @param methodName the name of the target method.
+   * @return the recorder for the given rpc target method.
+   * @throws NullPointerException if the given class or method name is null.
+   */
+  public @NonNull TrafficRecorder rpcTarget(@NonNull String className, @NonNull String methodName) {
+    return recorder(this.rpcTargets, className + '#' + methodName, OVERFLOW_KEY);
+  }
+
+  /**
+   * Get the recorder for the channel message channel with the given name.
+   *
+   * @param channel the name of the channel message channel.
+   * @return the recorder for the given channel message channel.
+   * @throws NullPointerException if the given channel name is null.
+   */
+  public @NonNull TrafficRecorder channelMessage(@NonNull String channel) {
+    return recorder(this.channelMessages, channel, OVERFLOW_KEY);
+  }
+
+  /**
+   * Records the time between sending a query and receiving its response.
+   *
+   * @param nanos the round trip time of the query in nanoseconds.
+   */
+  public void recordQueryRoundTrip(long nanos) {
+    this.queryRoundTrips.record(nanos);
+  }
+
+  /**
+   * Records a query that did not receive a response before its timeout.
+   */
+  public void recordQueryTimeout() {
+    this.queryTimeouts.increment();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull @UnmodifiableView Collection<ChannelStatistics> channels() {
+    return this.channels.stream()
+      .map(channel -> new ChannelStatistics(
+        channel.channelId(),
+        channel.serverAddress(),
+        channel.clientAddress(),
+        channel.trafficRecorder().snapshot(),
+        channel.trafficRecorder().queuedPackets(),
+        channel.pendingOutboundBytes(),
+        channel.droppedPackets()))
+      .toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull @UnmodifiableView Map<Integer, TrafficStatistics> packetChannels() {
+    return snapshot(this.packetChannels);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull @UnmodifiableView Map<String, TrafficStatistics> rpcTargets() {
+    return snapshot(this.rpcTargets);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull @UnmodifiableView Map<String, TrafficStatistics> channelMessages() {
+    return snapshot(this.channelMessages);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull LatencyStatistics queryRoundTrips() {
+    return this.queryRoundTrips.snapshot();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull @UnmodifiableView Map<String, Number> gauges() {
+    var gauges = new TreeMap<String, Number>();
+    this.gauges.forEach((name, gauge) -> gauges.put(name, gauge.get()));
+    return Collections.unmodifiableMap(gauges);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.metrics;
+
+import eu.cloudnetservice.driver.network.metrics.LatencyStatistics;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * A lock-free histogram of durations. Each recorded duration is counted in the bucket of its highest set bit, which
+ * means that the percentiles calculated from the histogram are accurate to a factor of two. This is precise enough to
+ * tell apart a slow from a fast handling, while recording a duration only costs two counter increments.
+ *
+ * @since 4.0
+ */
+public final class LatencyHistogram {
+
+  private static final int BUCKET_COUNT = Long.SIZE - 1;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Constructs a new, empty latency histogram.
+   */
+  public LatencyHistogram() {
+    for (var index = 0; index < BUCKET_COUNT; index++) {
+      this.buckets[index] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records the given duration into this histogram. Negative durations are recorded as zero.
+   *
+   * @param nanos the duration to record in nanoseconds.
+   */
+  public void record(long nanos) {
+    var duration = Math.max(0, nanos);
+    var bucketIndex = duration == 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(duration);
+    this.buckets[Math.min(bucketIndex, BUCKET_COUNT - 1)].increment();
+    this.count.increment();
+    this.sum.add(duration);
+    this.max.accumulate(duration);
+  }
+
+  /**
+   * Creates a snapshot of the durations recorded by this histogram. As recording is not synchronized with creating the
+   * snapshot, durations recorded concurrently might only be partially reflected in the snapshot.
+   *
+   * @return a snapshot of the durations recorded by this histogram.
+   */
+  public @NonNull LatencyStatistics snapshot() {
+    var bucketCounts = new long[BUCKET_COUNT];
+    var total = 0L;
+    for (var index = 0; index < BUCKET_COUNT; index++) {
+      bucketCounts[index] = this.buckets[index].sum();
+      total += bucketCounts[index];
+    }
+
+    if (total == 0) {
+      return LatencyStatistics.EMPTY;
+    }
+
+    var max = this.max.get();
+    return new LatencyStatistics(
+      total,
+      this.sum.sum() / Math.max(1, this.count.sum()),
+      percentile(bucketCounts, total, 0.5, max),
+      percentile(bucketCounts, total, 0.99, max),
+      max);
+  }
+
+  /**
+   * Approximates the given percentile based on the given bucket counts. The upper bound of the bucket in which the
+   * percentile is located is returned, capped at the given maximum duration.
+   *
+   * @param bucketCounts the amount of durations recorded in each bucket.
+   * @param total        the total amount of durations in all buckets.
+   * @param percentile   the percentile to approximate, between 0 and 1.
+   * @param max          the maximum recorded duration.
+   * @return the approximated duration at the given percentile.
+   */
+  private static long percentile(long[] bucketCounts, long total, double percentile, long max) {
+    var threshold = (long) Math.ceil(total * percentile);
+    var cumulative = 0L;
+    for (var index = 0; index < bucketCounts.length; index++) {
+      cumulative += bucketCounts[index];
+      if (cumulative >= threshold) {
+        var upperBound = index >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << (index + 1)) - 1;
+        return Math.min(upperBound, max);
+      }
+    }
+
+    return max;
+  }
+}
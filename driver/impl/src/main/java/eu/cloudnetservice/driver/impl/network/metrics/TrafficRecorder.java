@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.metrics;
+
+import eu.cloudnetservice.driver.network.metrics.TrafficStatistics;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * Records the traffic of a single network channel, packet channel, rpc target or channel message channel.
+ *
+ * @since 4.0
+ */
+public final class TrafficRecorder {
+
+  private final LongAdder packetsIn = new LongAdder();
+  private final LongAdder bytesIn = new LongAdder();
+  private final LongAdder packetsOut = new LongAdder();
+  private final LongAdder bytesOut = new LongAdder();
+  private final LongAdder queuedPackets = new LongAdder();
+  private final LatencyHistogram handling = new LatencyHistogram();
+
+  /**
+   * Records a received packet with the given content size.
+   *
+   * @param bytes the content size of the received packet.
+   */
+  public void recordInbound(int bytes) {
+    this.packetsIn.increment();
+    this.bytesIn.add(bytes);
+  }
+
+  /**
+   * Records a sent packet with the given content size.
+   *
+   * @param bytes the content size of the sent packet.
+   */
+  public void recordOutbound(int bytes) {
+    this.packetsOut.increment();
+    this.bytesOut.add(bytes);
+  }
+
+  /**
+   * Records the time it took to handle a received packet.
+   *
+   * @param nanos the time it took to handle the packet in nanoseconds.
+   */
+  public void recordHandling(long nanos) {
+    this.handling.record(nanos);
+  }
+
+  /**
+   * Marks a received packet as submitted to the packet dispatcher, waiting to be handled.
+   */
+  public void packetQueued() {
+    this.queuedPackets.increment();
+  }
+
+  /**
+   * Marks a previously queued packet as taken by the packet dispatcher.
+   */
+  public void packetDequeued() {
+    this.queuedPackets.decrement();
+  }
+
+  /**
+   * Get the amount of received packets that are waiting to be handled by the packet dispatcher.
+   *
+   * @return the amount of received packets waiting to be handled.
+   */
+  public long queuedPackets() {
+    return this.queuedPackets.sum();
+  }
+
+  /**
+   * Creates a snapshot of the traffic recorded by this recorder.
+   *
+   * @return a snapshot of the traffic recorded by this recorder.
+   */
+  public @NonNull TrafficStatistics snapshot() {
+    return new TrafficStatistics(
+      this.packetsIn.sum(),
+      this.bytesIn.sum(),
+      this.packetsOut.sum(),
+      this.bytesOut.sum(),
+      this.handling.snapshot());
+  }
+}
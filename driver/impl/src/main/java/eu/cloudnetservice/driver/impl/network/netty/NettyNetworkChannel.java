@@ -17,15 +17,29 @@
 package eu.cloudnetservice.driver.impl.network.netty;
 
 import eu.cloudnetservice.driver.impl.network.DefaultNetworkChannel;
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
+import eu.cloudnetservice.driver.impl.network.netty.codec.NettyPacketDecoder;
+import eu.cloudnetservice.driver.impl.network.netty.codec.NettyPacketEncoder;
+import eu.cloudnetservice.driver.impl.network.netty.compression.NettyPacketCompressor;
+import eu.cloudnetservice.driver.impl.network.object.BinaryDocumentEncoding;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import io.netty5.channel.Channel;
-import io.netty5.util.concurrent.Promise;
-import io.netty5.util.concurrent.PromiseCombiner;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.WriteBufferWaterMark;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The default netty based implementation of a network channel.
@@ -35,6 +49,24 @@
 public final class NettyNetworkChannel extends DefaultNetworkChannel implements NetworkChannel {
 
   private final Channel channel;
+  private final LongAdder droppedPackets = new LongAdder();
+  // the content bytes of all packets that were sent through this channel but were not yet written to the transport
+  private final LongAdder pendingOutboundBytes = new LongAdder();
+
+  // packets written from outside the event loop, written into the channel by the scheduled flush task
+  private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+  // packets of the bulk lane, written in small rounds while the channel is writeable to not starve the other lanes
+  private final Queue<BulkWrite> bulkWrites = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean bulkDrainScheduled = new AtomicBoolean();
+
+  // if both sides of this channel negotiated to accept documents in the binary encoding
+  private volatile boolean binaryDocuments;
+
+  // packets that were offered to the channel while it was not writeable and all packets of the normal lane that were
+  // written after them (to keep the order of the packets), only accessed on the event loop
+  private final Queue<PendingWrite> heldBackPackets = new ArrayDeque<>();
 
   /**
    * Constructs a new netty network channel instance.
@@ -64,22 +96,257 @@ public NettyNetworkChannel(
    */
   @Override
   public void sendPacket(@NonNull Packet... packets) {
+    var flushNeeded = false;
+    for (var packet : packets) {
+      DefaultNetworkMetrics.INSTANCE.recordOutbound(this, packet);
+      switch (NettyPacketLane.of(packet)) {
+        case CONTROL -> this.writeControlPacket(this.pendingWrite(packet, false, null, null));
+        case BULK -> this.enqueueBulkWrite(packet);
+        case NORMAL -> {
+          this.writePacket(this.pendingWrite(packet, false, null, null));
+          flushNeeded = true;
+        }
+      }
+    }
+
+    if (flushNeeded) {
+      this.scheduleFlush();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void sendPacket(@NonNull Packet packet) {
+    DefaultNetworkMetrics.INSTANCE.recordOutbound(this, packet);
+    switch (NettyPacketLane.of(packet)) {
+      case CONTROL -> this.writeControlPacket(this.pendingWrite(packet, false, null, null));
+      case BULK -> this.enqueueBulkWrite(packet);
+      case NORMAL -> {
+        this.writePacket(this.pendingWrite(packet, false, null, null));
+        this.scheduleFlush();
+      }
+    }
+  }
+
+  /**
+   * Creates a new pending write for the given packet and adds the content bytes of the packet to the pending outbound
+   * bytes of this channel. The bytes are subtracted again once the packet was written to the transport or released.
+   *
+   * @param packet       the packet to write.
+   * @param droppable    if the packet can be dropped when it was offered while the channel is not writeable.
+   * @param acceptFuture the future to complete once the packet was accepted or dropped, null if not offered.
+   * @param writeFuture  the future to complete once the packet was written, null if no one waits for the write.
+   * @return the created pending write.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private @NonNull PendingWrite pendingWrite(
+    @NonNull Packet packet,
+    boolean droppable,
+    @Nullable CompletableFuture<Boolean> acceptFuture,
+    @Nullable CompletableFuture<Void> writeFuture
+  ) {
+    var bytes = packet.content().readableBytes();
+    this.pendingOutboundBytes.add(bytes);
+    return new PendingWrite(packet, bytes, droppable, acceptFuture, writeFuture);
+  }
+
+  /**
+   * Writes the given packet of the control lane into the channel and flushes it immediately. All packets of the normal
+   * lane that were queued for writing before are written first, to not reorder them with the control packet. Note that
+   * control packets still overtake packets of the normal lane that are held back because the channel is not writeable,
+   * as well as packets of the bulk lane which are waiting to be written.
+   *
+   * @param write the control packet to write.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private void writeControlPacket(@NonNull PendingWrite write) {
     var executor = this.channel.executor();
     if (executor.inEventLoop()) {
-      // on event loop, start all write operations
-      var combiner = new PromiseCombiner(executor);
-      for (var packet : packets) {
-        var writeFuture = this.channel.write(packet);
-        combiner.add(writeFuture);
-      }
+      this.writePendingWrites();
+      this.doWrite(write);
+      this.channel.flush();
+    } else {
+      executor.execute(() -> this.writeControlPacket(write));
+    }
+  }
 
-      // wait for all write operations to complete and flush the content afterwards
-      Promise<Void> promise = this.channel.newPromise();
-      combiner.finish(promise);
-      promise.asFuture().addListener(_ -> this.channel.flush());
+  /**
+   * Writes the given packet of the normal lane into the channel without flushing it. If called from outside the event
+   * loop, the packet is queued and written by the next scheduled flush task instead of submitting a separate write task
+   * for each packet. The caller is responsible to flush the channel or to schedule a flush.
+   *
+   * @param write the packet to write.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private void writePacket(@NonNull PendingWrite write) {
+    if (this.channel.executor().inEventLoop()) {
+      this.writeOrHoldBack(write);
+    } else {
+      this.pendingWrites.add(write);
+    }
+  }
+
+  /**
+   * Writes the given packet of the normal lane into the channel, unless packets are held back or the packet was
+   * offered while the channel is not writeable. In that case the packet is either dropped (if droppable) or held back
+   * until the channel becomes writeable again. Packets written while other packets are held back are held back as
+   * well, to not overtake the held back packets. This method must be called on the event loop of the channel.
+   *
+   * @param write the packet to write.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private void writeOrHoldBack(@NonNull PendingWrite write) {
+    var offered = write.acceptFuture() != null;
+    if (offered && !this.channel.isActive()) {
+      this.pendingOutboundBytes.add(-write.bytes());
+      write.packet().content().release();
+      write.acceptFuture().completeExceptionally(new ClosedChannelException());
+    } else if (this.heldBackPackets.isEmpty() && (!offered || this.channel.isWritable())) {
+      this.doWrite(write);
+    } else if (write.droppable() && !this.channel.isWritable()) {
+      this.droppedPackets.increment();
+      this.pendingOutboundBytes.add(-write.bytes());
+      write.packet().content().release();
+      write.acceptFuture().complete(false);
     } else {
-      // this has to be called from event loop as promise combiner is not thread safe
-      executor.execute(() -> this.sendPacket(packets));
+      this.heldBackPackets.add(write);
+    }
+  }
+
+  /**
+   * Writes the given packet into the channel without flushing it, completing the futures associated with the write.
+   * Offered packets are recorded as outbound traffic at this point, as they might be dropped before. This method must
+   * be called on the event loop of the channel.
+   *
+   * @param write the packet to write.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private void doWrite(@NonNull PendingWrite write) {
+    if (write.acceptFuture() != null) {
+      DefaultNetworkMetrics.INSTANCE.recordOutbound(this, write.packet());
+    }
+
+    var writeFuture = write.writeFuture();
+    this.channel.write(write.packet()).addListener(future -> {
+      this.pendingOutboundBytes.add(-write.bytes());
+      if (writeFuture != null) {
+        if (future.isSuccess()) {
+          writeFuture.complete(null);
+        } else {
+          writeFuture.completeExceptionally(future.cause());
+        }
+      }
+    });
+
+    if (write.acceptFuture() != null) {
+      write.acceptFuture().complete(true);
+    }
+  }
+
+  /**
+   * Schedules a flush of this channel into the event loop, unless a flush is already scheduled. The flush is executed
+   * after the currently running task of the event loop, which batches all packets written until then into one flush.
+   */
+  private void scheduleFlush() {
+    if (!this.flushScheduled.get() && this.flushScheduled.compareAndSet(false, true)) {
+      this.channel.executor().execute(this::flushPendingWrites);
+    }
+  }
+
+  /**
+   * Writes all queued packets into the channel and flushes it.
+   */
+  private void flushPendingWrites() {
+    // reset the scheduled state first, packets queued from now on will schedule a new flush task
+    this.flushScheduled.set(false);
+    this.writePendingWrites();
+    this.channel.flush();
+  }
+
+  /**
+   * Writes all packets that were queued from outside the event loop into the channel. The channel is flushed
+   * explicitly after the configured amount of writes to limit the amount of data that is buffered before the first
+   * flush, the caller is responsible to flush the remaining writes. This method must be called on the event loop.
+   */
+  private void writePendingWrites() {
+    PendingWrite write;
+    var writesBeforeFlush = NettyUtil.maxWritesBeforeFlush();
+    while ((write = this.pendingWrites.poll()) != null) {
+      this.writeOrHoldBack(write);
+      if (--writesBeforeFlush == 0) {
+        this.channel.flush();
+        writesBeforeFlush = NettyUtil.maxWritesBeforeFlush();
+      }
+    }
+  }
+
+  /**
+   * Enqueues the given packet into the bulk lane of this channel and schedules a drain of the lane if needed.
+   *
+   * @param packet the packet to enqueue.
+   * @return a future completed once the packet was written into the channel.
+   * @throws NullPointerException if the given packet is null.
+   */
+  private @NonNull CompletableFuture<Void> enqueueBulkWrite(@NonNull Packet packet) {
+    var bulkWrite = new BulkWrite(packet, packet.content().readableBytes(), new CompletableFuture<>());
+    this.pendingOutboundBytes.add(bulkWrite.bytes());
+    this.bulkWrites.add(bulkWrite);
+    this.scheduleBulkDrain();
+    return bulkWrite.writeFuture();
+  }
+
+  /**
+   * Schedules a drain of the bulk lane into the event loop, unless a drain is already scheduled.
+   */
+  private void scheduleBulkDrain() {
+    if (!this.bulkDrainScheduled.get() && this.bulkDrainScheduled.compareAndSet(false, true)) {
+      this.channel.executor().execute(this::drainBulkWrites);
+    }
+  }
+
+  /**
+   * Writes a limited amount of packets from the bulk lane into the channel while it is writeable. If there are more
+   * packets left, another drain is scheduled which executes after all tasks that were submitted to the event loop in
+   * the meantime, interleaving the bulk packets with the packets of the other lanes. While the channel is not writeable
+   * the drain is paused and resumed once the channel becomes writeable again.
+   */
+  private void drainBulkWrites() {
+    // reset the scheduled state first, packets queued from now on will schedule a new drain task
+    this.bulkDrainScheduled.set(false);
+
+    // packets enqueued after the channel was closed will never be written
+    if (!this.channel.isActive()) {
+      this.failBulkWrites();
+      return;
+    }
+
+    BulkWrite bulkWrite;
+    var written = 0;
+    var maxWrites = NettyUtil.bulkWritesPerRound();
+    while (written < maxWrites && this.channel.isWritable() && (bulkWrite = this.bulkWrites.poll()) != null) {
+      var bytes = bulkWrite.bytes();
+      var writeFuture = bulkWrite.writeFuture();
+      this.channel.write(bulkWrite.packet()).addListener(future -> {
+        this.pendingOutboundBytes.add(-bytes);
+        if (future.isSuccess()) {
+          writeFuture.complete(null);
+        } else {
+          writeFuture.completeExceptionally(future.cause());
+        }
+      });
+      written++;
+    }
+
+    if (written > 0) {
+      this.channel.flush();
+    }
+
+    // continue in the next round if the channel can still take more data, otherwise the drain
+    // is resumed by the writability change of the channel
+    if (this.channel.isWritable() && !this.bulkWrites.isEmpty()) {
+      this.scheduleBulkDrain();
     }
   }
 
@@ -87,8 +354,21 @@ public void sendPacket(@NonNull Packet... packets) {
    * {@inheritDoc}
    */
   @Override
-  public void sendPacket(@NonNull Packet packet) {
-    this.channel.writeAndFlush(packet);
+  public @NonNull CompletableFuture<Void> sendPacketAsync(@NonNull Packet packet) {
+    DefaultNetworkMetrics.INSTANCE.recordOutbound(this, packet);
+    var writeFuture = new CompletableFuture<Void>();
+    switch (NettyPacketLane.of(packet)) {
+      case CONTROL -> this.writeControlPacket(this.pendingWrite(packet, false, null, writeFuture));
+      case BULK -> {
+        return this.enqueueBulkWrite(packet);
+      }
+      case NORMAL -> {
+        this.writePacket(this.pendingWrite(packet, false, null, writeFuture));
+        this.scheduleFlush();
+      }
+    }
+
+    return writeFuture;
   }
 
   /**
@@ -96,16 +376,158 @@ public void sendPacket(@NonNull Packet packet) {
    */
   @Override
   public void sendPacketSync(@NonNull Packet packet) {
-    var future = this.channel.writeAndFlush(packet);
-    if (!future.executor().inEventLoop()) {
+    var writeFuture = this.sendPacketAsync(packet);
+    if (!this.channel.executor().inEventLoop()) {
       // only await the future if we're not currently in the event loop
       // as this would deadlock the write operations triggered previously
       try {
-        future.asStage().await();
+        writeFuture.get();
       } catch (InterruptedException _) {
         Thread.currentThread().interrupt(); // reset interrupted state
+      } catch (ExecutionException _) {
+        // the write failed, the caller is not notified about failed writes
+      }
+    }
+  }
+
+  /**
+   * Enables the compression of outbound packets sent through this channel using the given compressor. The decompression
+   * of inbound packets is always possible, this method only configures the statistics to record decompressions into.
+   *
+   * @param compressor the compressor to use for outbound packets of this channel.
+   * @throws NullPointerException if the given compressor is null.
+   */
+  public void enableCompression(@NonNull NettyPacketCompressor compressor) {
+    var encoder = this.channel.pipeline().get(NettyPacketEncoder.class);
+    if (encoder != null) {
+      encoder.compressor(compressor);
+    }
+
+    var decoder = this.channel.pipeline().get(NettyPacketDecoder.class);
+    if (decoder != null) {
+      decoder.compressionStatistics(compressor.statistics());
+    }
+  }
+
+  /**
+   * Get if both sides of this channel negotiated to accept documents in the binary encoding during the authorization.
+   *
+   * @return true if the binary document encoding was negotiated for this channel, false otherwise.
+   */
+  public boolean binaryDocuments() {
+    return this.binaryDocuments;
+  }
+
+  /**
+   * Sets if both sides of this channel negotiated to accept documents in the binary encoding. This method should only
+   * be called by {@link BinaryDocumentEncoding} which also tracks the negotiated state of all open channels.
+   *
+   * @param binaryDocuments if the binary document encoding was negotiated for this channel.
+   */
+  public void binaryDocuments(boolean binaryDocuments) {
+    this.binaryDocuments = binaryDocuments;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull CompletableFuture<Boolean> offerPacket(@NonNull Packet packet, boolean droppable) {
+    if (NettyPacketLane.of(packet) == NettyPacketLane.BULK) {
+      // the bulk lane already waits for the channel to become writeable
+      DefaultNetworkMetrics.INSTANCE.recordOutbound(this, packet);
+      return this.enqueueBulkWrite(packet).thenApply(_ -> true);
+    }
+
+    // offered packets go through the normal lane, which keeps their order with all other written packets. they are
+    // only recorded as outbound traffic once accepted, dropped packets are counted separately
+    var acceptFuture = new CompletableFuture<Boolean>();
+    this.writePacket(this.pendingWrite(packet, droppable, acceptFuture, null));
+    this.scheduleFlush();
+    return acceptFuture;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long pendingOutboundBytes() {
+    // includes the packets queued for the event loop, the held back packets and the packets of the bulk lane, which
+    // are not visible to the outbound buffer of netty
+    return Math.max(0, this.pendingOutboundBytes.sum());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long droppedPackets() {
+    return this.droppedPackets.sum();
+  }
+
+  /**
+   * Sets the write buffer water mark of this channel, controlling when the channel becomes unwritable.
+   *
+   * @param waterMark the water mark to use for this channel.
+   * @throws NullPointerException if the given water mark is null.
+   */
+  public void writeBufferWaterMark(@NonNull WriteBufferWaterMark waterMark) {
+    this.channel.setOption(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark);
+  }
+
+  /**
+   * Writes all held back packets into the channel while the channel is writeable. This method must be called on the
+   * event loop of the channel when the writability of the channel changed.
+   */
+  void handleWritabilityChange() {
+    PendingWrite heldBackPacket;
+    var written = false;
+    while (this.channel.isWritable() && (heldBackPacket = this.heldBackPackets.poll()) != null) {
+      this.doWrite(heldBackPacket);
+      written = true;
+    }
+
+    if (written) {
+      this.channel.flush();
+    }
+
+    // resume the drain of the bulk lane once the channel can take more data
+    if (this.channel.isWritable() && !this.bulkWrites.isEmpty()) {
+      this.scheduleBulkDrain();
+    }
+  }
+
+  /**
+   * Releases all held back and bulk packets and fails their futures as they will never be written. This method must be
+   * called on the event loop of the channel when the channel becomes inactive.
+   */
+  void handleChannelInactive() {
+    PendingWrite heldBackPacket;
+    while ((heldBackPacket = this.heldBackPackets.poll()) != null) {
+      this.pendingOutboundBytes.add(-heldBackPacket.bytes());
+      heldBackPacket.packet().content().release();
+      if (heldBackPacket.acceptFuture() != null) {
+        heldBackPacket.acceptFuture().completeExceptionally(new ClosedChannelException());
+      }
+      if (heldBackPacket.writeFuture() != null) {
+        heldBackPacket.writeFuture().completeExceptionally(new ClosedChannelException());
       }
     }
+
+    this.failBulkWrites();
+    BinaryDocumentEncoding.channelClosed(this);
+  }
+
+  /**
+   * Releases all packets waiting in the bulk lane and fails their futures as they will never be written.
+   */
+  private void failBulkWrites() {
+    BulkWrite bulkWrite;
+    while ((bulkWrite = this.bulkWrites.poll()) != null) {
+      this.pendingOutboundBytes.add(-bulkWrite.bytes());
+      bulkWrite.packet().content().release();
+      bulkWrite.writeFuture().completeExceptionally(new ClosedChannelException());
+    }
   }
 
   /**
@@ -131,4 +553,36 @@ public boolean active() {
   public void close() {
     this.channel.close();
   }
+
+  /**
+   * A packet of the normal lane that is waiting to be written into the channel.
+   *
+   * @param packet       the packet to write.
+   * @param bytes        the content bytes of the packet, counted as pending outbound bytes until it was written.
+   * @param droppable    if the packet can be dropped when it was offered while the channel is not writeable.
+   * @param acceptFuture the future to complete once the packet was accepted or dropped, null if not offered.
+   * @param writeFuture  the future to complete once the packet was written, null if no one waits for the write.
+   * @since 4.0
+   */
+  private record PendingWrite(
+    @NonNull Packet packet,
+    int bytes,
+    boolean droppable,
+    @Nullable CompletableFuture<Boolean> acceptFuture,
+    @Nullable CompletableFuture<Void> writeFuture
+  ) {
+
+  }
+
+  /**
+   * A packet of the bulk lane that is waiting to be written into the channel.
+   *
+   * @param packet      the packet to write.
+   * @param bytes       the content bytes of the packet, counted as pending outbound bytes until it was written.
+   * @param writeFuture the future to complete once the packet was written into the channel.
+   * @since 4.0
+   */
+  private record BulkWrite(@NonNull Packet packet, int bytes, @NonNull CompletableFuture<Void> writeFuture) {
+
+  }
 }
@@ -16,6 +16,9 @@
 
 package eu.cloudnetservice.driver.impl.network.netty;
 
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
+import eu.cloudnetservice.driver.impl.network.protocol.DefaultQueryPacketManager;
+import eu.cloudnetservice.driver.impl.network.scheduler.NetworkTaskScheduler;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
 import io.netty5.channel.ChannelHandlerContext;
@@ -38,6 +41,9 @@ public abstract class NettyNetworkHandler extends SimpleChannelInboundHandler<Ba
 
   protected volatile NettyNetworkChannel channel;
 
+  // the executor for the packets of the channel, only accessed on the event loop
+  private Executor channelPacketDispatcher;
+
   /**
    * {@inheritDoc}
    */
@@ -45,12 +51,33 @@ public abstract class NettyNetworkHandler extends SimpleChannelInboundHandler<Ba
   public void channelInactive(@NonNull ChannelHandlerContext ctx) throws Exception {
     if (!ctx.channel().isActive() || !ctx.channel().isOpen() || !ctx.channel().isWritable()) {
       this.channel.handler().handleChannelClose(this.channel);
+      this.channel.handleChannelInactive();
+
+      // fail all queries that are still waiting for a response, they will never receive one
+      if (this.channel.queryPacketManager() instanceof DefaultQueryPacketManager queryPacketManager) {
+        queryPacketManager.failWaitingHandlers();
+      }
 
       ctx.channel().close();
       this.channels().remove(this.channel);
+      DefaultNetworkMetrics.INSTANCE.unregisterChannel(this.channel);
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void channelWritabilityChanged(@NonNull ChannelHandlerContext ctx) throws Exception {
+    // write the packets that were held back while the channel was not writeable
+    var channel = this.channel;
+    if (channel != null) {
+      channel.handleWritabilityChange();
+    }
+
+    ctx.fireChannelWritabilityChanged();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -74,12 +101,42 @@ public void channelReadComplete(@NonNull ChannelHandlerContext ctx) {
    */
   @Override
   protected void messageReceived(@NonNull ChannelHandlerContext ctx, @NonNull BasePacket msg) {
+    DefaultNetworkMetrics.INSTANCE.recordInbound(this.channel, msg);
+
     // post directly if the packet has a high priority
     if (msg.prioritized()) {
       this.doHandlePacket(msg);
-    } else {
-      this.packetDispatcher().execute(() -> this.doHandlePacket(msg));
+      return;
+    }
+
+    // responses to queries are never dispatched in order, a handler of a previous packet might be waiting for them
+    var queryId = msg.uniqueId();
+    var trafficRecorder = this.channel.trafficRecorder();
+    var dispatcher = queryId != null && this.channel.queryPacketManager().hasWaitingHandler(queryId)
+      ? this.packetDispatcher()
+      : this.channelPacketDispatcher();
+    trafficRecorder.packetQueued();
+    dispatcher.execute(() -> {
+      trafficRecorder.packetDequeued();
+      this.doHandlePacket(msg);
+    });
+  }
+
+  /**
+   * Get the executor to dispatch the packets received by the channel of this handler. If the packet dispatcher supports
+   * it, the returned executor handles the packets one after another in the order they were received.
+   *
+   * @return the executor to dispatch the packets of the channel.
+   */
+  private @NonNull Executor channelPacketDispatcher() {
+    if (this.channelPacketDispatcher == null) {
+      var packetDispatcher = this.packetDispatcher();
+      this.channelPacketDispatcher = packetDispatcher instanceof NetworkTaskScheduler scheduler
+        ? scheduler.newChannelExecutor()
+        : packetDispatcher;
     }
+
+    return this.channelPacketDispatcher;
   }
 
   /**
@@ -105,8 +162,11 @@ protected void doHandlePacket(@NonNull BasePacket packet) {
       }
 
       // check if any handler can handle the incoming packet
-      if (this.channel.handler().handlePacketReceive(this.channel, packet)
-        && this.channel.packetRegistry().handlePacket(this.channel, packet)) {
+      var handlingStart = System.nanoTime();
+      var handled = this.channel.handler().handlePacketReceive(this.channel, packet)
+        && this.channel.packetRegistry().handlePacket(this.channel, packet);
+      DefaultNetworkMetrics.INSTANCE.recordHandling(this.channel, packet, System.nanoTime() - handlingStart);
+      if (handled) {
         return;
       }
 
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty;
+
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import lombok.NonNull;
+
+/**
+ * The outbound lanes a packet can be sent through. All lanes share the same connection, but are scheduled differently
+ * when writing into the channel, so that bulk transfers do not delay latency-critical packets.
+ *
+ * @since 4.0
+ */
+public enum NettyPacketLane {
+
+  /**
+   * Latency-critical packets which are written and flushed into the channel immediately. Normal packets which were
+   * sent before a control packet are written first, but control packets overtake normal packets that are held back
+   * because the channel is not writeable as well as pending packets of the bulk lane.
+   */
+  CONTROL,
+  /**
+   * Normal packets which are written into the channel directly, but flushed together with other packets.
+   */
+  NORMAL,
+  /**
+   * Large packets, for example chunks of a file transfer, which are only written while the channel is writeable and
+   * are interleaved with the packets of the other lanes.
+   */
+  BULK;
+
+  /**
+   * Get the lane the given packet should be sent through.
+   *
+   * @param packet the packet to get the lane of.
+   * @return the lane to send the given packet through.
+   * @throws NullPointerException if the given packet is null.
+   */
+  public static @NonNull NettyPacketLane of(@NonNull Packet packet) {
+    if (packet.channel() == NetworkConstants.CHUNKED_PACKET_COM_CHANNEL) {
+      return BULK;
+    } else if (packet.prioritized()) {
+      return CONTROL;
+    } else {
+      return NORMAL;
+    }
+  }
+}
@@ -35,8 +35,10 @@
 import io.netty5.channel.nio.NioHandler;
 import io.netty5.channel.socket.nio.NioServerSocketChannel;
 import io.netty5.channel.socket.nio.NioSocketChannel;
+import java.net.StandardProtocolFamily;
 import java.util.function.Supplier;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Holds all supported transport types and functionality to retrieve model instances for servers/clients construction.
@@ -51,7 +53,9 @@ public enum NettyTransport {
     true,
     EpollHandler::newFactory,
     EpollSocketChannel::new,
-    EpollServerSocketChannel::new
+    EpollServerSocketChannel::new,
+    eventLoop -> new EpollSocketChannel(eventLoop, StandardProtocolFamily.UNIX),
+    (eventLoop, childGroup) -> new EpollServerSocketChannel(eventLoop, childGroup, StandardProtocolFamily.UNIX)
   ),
   KQUEUE(
     "kqueue",
@@ -59,7 +63,9 @@ public enum NettyTransport {
     true,
     KQueueHandler::newFactory,
     KQueueSocketChannel::new,
-    KQueueServerSocketChannel::new
+    KQueueServerSocketChannel::new,
+    eventLoop -> new KQueueSocketChannel(eventLoop, StandardProtocolFamily.UNIX),
+    (eventLoop, childGroup) -> new KQueueServerSocketChannel(eventLoop, childGroup, StandardProtocolFamily.UNIX)
   ),
   NIO(
     "nio",
@@ -67,7 +73,9 @@ public enum NettyTransport {
     false,
     NioHandler::newFactory,
     NioSocketChannel::new,
-    NioServerSocketChannel::new
+    NioServerSocketChannel::new,
+    eventLoop -> new NioSocketChannel(eventLoop, StandardProtocolFamily.UNIX),
+    (eventLoop, childGroup) -> new NioServerSocketChannel(eventLoop, childGroup, StandardProtocolFamily.UNIX)
   );
 
   private final String name;
@@ -76,17 +84,21 @@ public enum NettyTransport {
   private final Supplier<IoHandlerFactory> ioHandlerFactory;
   private final ChannelFactory<? extends Channel> clientChannelFactory;
   private final ServerChannelFactory<? extends ServerChannel> serverChannelFactory;
+  private final ChannelFactory<? extends Channel> domainSocketClientChannelFactory;
+  private final ServerChannelFactory<? extends ServerChannel> domainSocketServerChannelFactory;
 
   /**
    * Constructs a new netty transport instance.
    *
-   * @param name                 the display name of the transport.
-   * @param available            if the transport is available.
-   * @param nativeTransport      if the transport is native.
-   * @param ioHandlerFactory     the factory for io handlers.
-   * @param clientChannelFactory the factory for client channels.
-   * @param serverChannelFactory the factory for server channels.
-   * @throws NullPointerException if one of the given parameters is null.
+   * @param name                             the display name of the transport.
+   * @param available                        if the transport is available.
+   * @param nativeTransport                  if the transport is native.
+   * @param ioHandlerFactory                 the factory for io handlers.
+   * @param clientChannelFactory             the factory for client channels.
+   * @param serverChannelFactory             the factory for server channels.
+   * @param domainSocketClientChannelFactory the factory for domain socket client channels, null if unsupported.
+   * @param domainSocketServerChannelFactory the factory for domain socket server channels, null if unsupported.
+   * @throws NullPointerException if one of the required parameters is null.
    */
   NettyTransport(
     @NonNull String name,
@@ -94,7 +106,9 @@ public enum NettyTransport {
     boolean nativeTransport,
     @NonNull Supplier<IoHandlerFactory> ioHandlerFactory,
     @NonNull ChannelFactory<? extends Channel> clientChannelFactory,
-    @NonNull ServerChannelFactory<? extends ServerChannel> serverChannelFactory
+    @NonNull ServerChannelFactory<? extends ServerChannel> serverChannelFactory,
+    @Nullable ChannelFactory<? extends Channel> domainSocketClientChannelFactory,
+    @Nullable ServerChannelFactory<? extends ServerChannel> domainSocketServerChannelFactory
   ) {
     this.name = name;
     this.available = available;
@@ -102,6 +116,8 @@ public enum NettyTransport {
     this.ioHandlerFactory = Suppliers.memoize(ioHandlerFactory::get);
     this.clientChannelFactory = clientChannelFactory;
     this.serverChannelFactory = serverChannelFactory;
+    this.domainSocketClientChannelFactory = domainSocketClientChannelFactory;
+    this.domainSocketServerChannelFactory = domainSocketServerChannelFactory;
   }
 
   /**
@@ -174,4 +190,39 @@ public boolean nativeTransport() {
   public @NonNull ServerChannelFactory<? extends ServerChannel> serverChannelFactory() {
     return this.serverChannelFactory;
   }
+
+  /**
+   * Get if this transport supports connections through unix domain sockets.
+   *
+   * @return true if this transport supports unix domain sockets, false otherwise.
+   */
+  public boolean domainSocketsSupported() {
+    return this.domainSocketClientChannelFactory != null && this.domainSocketServerChannelFactory != null;
+  }
+
+  /**
+   * Get the factory for unix domain socket client channels of this transport.
+   *
+   * @return the factory for unix domain socket client channels of this transport.
+   * @throws UnsupportedOperationException if this transport does not support unix domain sockets.
+   */
+  public @NonNull ChannelFactory<? extends Channel> domainSocketClientChannelFactory() {
+    if (this.domainSocketClientChannelFactory == null) {
+      throw new UnsupportedOperationException("Transport " + this.name + " does not support unix domain sockets");
+    }
+    return this.domainSocketClientChannelFactory;
+  }
+
+  /**
+   * Get the factory for unix domain socket server channels of this transport.
+   *
+   * @return the factory for unix domain socket server channels of this transport.
+   * @throws UnsupportedOperationException if this transport does not support unix domain sockets.
+   */
+  public @NonNull ServerChannelFactory<? extends ServerChannel> domainSocketServerChannelFactory() {
+    if (this.domainSocketServerChannelFactory == null) {
+      throw new UnsupportedOperationException("Transport " + this.name + " does not support unix domain sockets");
+    }
+    return this.domainSocketServerChannelFactory;
+  }
 }
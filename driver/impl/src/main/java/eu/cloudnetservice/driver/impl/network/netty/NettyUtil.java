@@ -18,8 +18,11 @@
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
 import eu.cloudnetservice.driver.impl.network.netty.buffer.NettyNioBufferReleasingAllocator;
+import eu.cloudnetservice.driver.impl.network.netty.buffer.NettyPooledBufferAllocator;
 import eu.cloudnetservice.driver.impl.network.scheduler.NetworkTaskScheduler;
+import eu.cloudnetservice.driver.impl.network.scheduler.OrderedVirtualThreadNetworkTaskScheduler;
 import eu.cloudnetservice.driver.impl.network.scheduler.ScalingNetworkTaskScheduler;
 import io.netty5.buffer.Buffer;
 import io.netty5.buffer.BufferAllocator;
@@ -34,9 +37,10 @@
 import io.netty5.handler.ssl.OpenSsl;
 import io.netty5.handler.ssl.SslProvider;
 import io.netty5.util.ResourceLeakDetector;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import lombok.NonNull;
-import org.jetbrains.annotations.Nullable;
 
 /**
  * Internal util for the default netty based communication between server and clients, http and websocket.
@@ -46,11 +50,19 @@
 public final class NettyUtil {
 
   private static final int PACKET_DISPATCH_THREADS;
+  private static final String PACKET_DISPATCH_MODE;
   private static final int NETTY_EVENT_LOOP_THREADS;
+  private static final int MAX_WRITES_BEFORE_FLUSH;
+  private static final int BULK_WRITES_PER_ROUND;
 
   private static final SslProvider SELECTED_SSL_PROVIDER;
   private static final NettyTransport SELECTED_NETTY_TRANSPORT;
   private static final BufferAllocator SELECTED_BUFFER_ALLOCATOR;
+  private static final boolean DATA_BUF_RECYCLING;
+
+  // the ordered packet dispatchers in use, their statistics are exposed as aggregated gauges of all dispatchers
+  private static final Set<OrderedVirtualThreadNetworkTaskScheduler> ORDERED_PACKET_DISPATCHERS =
+    ConcurrentHashMap.newKeySet();
 
   static {
     // check if resource leak detection should be enabled for debugging purposes
@@ -76,13 +88,29 @@ public final class NettyUtil {
     // select the buffer allocator to use. our internal allocator will free all buffers provided to it directly
     // which significantly reduces the native memory usage. however, this might not be the designated behaviour for
     // some users, therefore we leave it to their choice which allocator should be used.
+    // the pooled allocator sits in between, keeping a capped amount of memory of closed buffers for reuse.
     var preferredBufferAllocator = System.getProperty("cloudnet.net.preferred-buffer-allocator");
-    if ("netty-default".equals(preferredBufferAllocator) || NettyNioBufferReleasingAllocator.notAbleToFreeBuffers()) {
+    if ("pooled".equals(preferredBufferAllocator)) {
+      var pooledAllocator = new NettyPooledBufferAllocator(
+        Long.getLong("cloudnet.net.pooled-allocator.max-retained-bytes", 64L * 1024 * 1024),
+        Integer.getInteger("cloudnet.net.pooled-allocator.max-pooled-size", 64 * 1024),
+        Integer.getInteger("cloudnet.net.pooled-allocator.thread-cache-entries", 16));
+      DefaultNetworkMetrics.INSTANCE.registerGauge(
+        "allocator.retained-bytes",
+        () -> pooledAllocator.metrics().retainedBytes());
+      DefaultNetworkMetrics.INSTANCE.registerGauge("allocator.hit-rate", () -> pooledAllocator.metrics().hitRate());
+      SELECTED_BUFFER_ALLOCATOR = pooledAllocator;
+    } else if ("netty-default".equals(preferredBufferAllocator)
+      || NettyNioBufferReleasingAllocator.notAbleToFreeBuffers()) {
       SELECTED_BUFFER_ALLOCATOR = DefaultBufferAllocators.offHeapAllocator();
     } else {
       SELECTED_BUFFER_ALLOCATOR = new NettyNioBufferReleasingAllocator();
     }
 
+    // reusing the data bufs for encoding avoids an allocation per packet, but does no longer detect access to
+    // data bufs after they were released. therefore this must be enabled explicitly.
+    DATA_BUF_RECYCLING = Boolean.getBoolean("cloudnet.net.data-buf-recycling");
+
     // select the transport type to use for netty
     var disableNativeTransport = Boolean.getBoolean("cloudnet.net.no-native");
     SELECTED_NETTY_TRANSPORT = NettyTransport.availableTransport(disableNativeTransport);
@@ -90,7 +118,20 @@ public final class NettyUtil {
     // get the values defined by the user or fall back to using -1, these will later be remapped to
     // actual values when the whole context for the allocation is known.
     PACKET_DISPATCH_THREADS = Integer.getInteger("cloudnet.net.packet-dispatch-threads", -1);
+    PACKET_DISPATCH_MODE = System.getProperty("cloudnet.net.packet-dispatch-mode", "scaling");
+    if ("ordered-virtual".equals(PACKET_DISPATCH_MODE)) {
+      registerOrderedPacketDispatcherGauges();
+    }
     NETTY_EVENT_LOOP_THREADS = Integer.getInteger("cloudnet.net.netty-event-loop-threads", -1);
+
+    // the amount of packets that are written into a channel before an explicit flush is issued. a higher value
+    // batches more packets into a single syscall, but delays the flush of the first written packet
+    MAX_WRITES_BEFORE_FLUSH = overriddenCountOrDefault(
+      Integer.getInteger("cloudnet.net.max-writes-before-flush", -1),
+      64);
+    BULK_WRITES_PER_ROUND = overriddenCountOrDefault(
+      Integer.getInteger("cloudnet.net.bulk-writes-per-round", -1),
+      4);
   }
 
   private NettyUtil() {
@@ -108,15 +149,64 @@ private static int overriddenCountOrDefault(int overriddenSetting, int defaultVa
     return overriddenSetting >= 1 ? overriddenSetting : defaultValue;
   }
 
+  /**
+   * Registers the gauges for the queue depth and the task execution times of all ordered packet dispatchers that are
+   * currently in use.
+   */
+  private static void registerOrderedPacketDispatcherGauges() {
+    DefaultNetworkMetrics.INSTANCE.registerGauge(
+      "packet-dispatcher.queued-tasks",
+      () -> activeOrderedPacketDispatchers().stream()
+        .mapToLong(OrderedVirtualThreadNetworkTaskScheduler::queuedTasks)
+        .sum());
+    DefaultNetworkMetrics.INSTANCE.registerGauge(
+      "packet-dispatcher.executed-tasks",
+      () -> activeOrderedPacketDispatchers().stream()
+        .mapToLong(OrderedVirtualThreadNetworkTaskScheduler::executedTasks)
+        .sum());
+    DefaultNetworkMetrics.INSTANCE.registerGauge("packet-dispatcher.average-execution-nanos", () -> {
+      var dispatchers = activeOrderedPacketDispatchers();
+      var executedTasks = dispatchers.stream().mapToLong(OrderedVirtualThreadNetworkTaskScheduler::executedTasks).sum();
+      var executionNanos = dispatchers.stream()
+        .mapToLong(OrderedVirtualThreadNetworkTaskScheduler::totalExecutionNanos)
+        .sum();
+      return executedTasks == 0 ? 0 : executionNanos / executedTasks;
+    });
+    DefaultNetworkMetrics.INSTANCE.registerGauge(
+      "packet-dispatcher.max-execution-nanos",
+      () -> activeOrderedPacketDispatchers().stream()
+        .mapToLong(OrderedVirtualThreadNetworkTaskScheduler::maxExecutionNanos)
+        .max()
+        .orElse(0));
+  }
+
+  /**
+   * Get the ordered packet dispatchers that were not shut down yet, removing the ones that were shut down.
+   *
+   * @return the ordered packet dispatchers that are currently in use.
+   */
+  private static @NonNull Set<OrderedVirtualThreadNetworkTaskScheduler> activeOrderedPacketDispatchers() {
+    ORDERED_PACKET_DISPATCHERS.removeIf(scheduler -> !scheduler.active());
+    return ORDERED_PACKET_DISPATCHERS;
+  }
+
   /**
    * Creates a new executor for all incoming packets. The thread size of the returned dispatcher depends either on a
-   * user-provided setting or on the given driver environment.
+   * user-provided setting or on the given driver environment. If the dispatch mode is set to {@code ordered-virtual},
+   * the packets of each channel are dispatched in order on virtual threads instead.
    *
    * @param driverEnvironment the driver environment currently running on.
    * @return a newly created executor for dispatching inbound packets.
    * @throws NullPointerException if the given driver environment is null.
    */
   public static @NonNull NetworkTaskScheduler createPacketDispatcher(@NonNull DriverEnvironment driverEnvironment) {
+    // dispatch the packets of each channel in order on virtual threads if explicitly requested
+    if ("ordered-virtual".equals(PACKET_DISPATCH_MODE)) {
+      var scheduler = new OrderedVirtualThreadNetworkTaskScheduler("Packet-Dispatcher-");
+      ORDERED_PACKET_DISPATCHERS.add(scheduler);
+      return scheduler;
+    }
+
     // the maximum thread count that the pool will be allowed to use for packet processing
     // TODO: consider moving the default thread amount for an environment into the environment as a property
     var defaultEnvThreadCount = driverEnvironment.equals(DriverEnvironment.NODE) ? 12 : 4;
@@ -175,6 +265,26 @@ private static int overriddenCountOrDefault(int overriddenSetting, int defaultVa
     return SELECTED_NETTY_TRANSPORT.serverChannelFactory();
   }
 
+  /**
+   * Get the channel factory for unix domain socket client channels of the selected netty transport.
+   *
+   * @return the channel factory for unix domain socket client channels of the selected netty transport.
+   * @throws UnsupportedOperationException if the selected transport does not support unix domain sockets.
+   */
+  public static @NonNull ChannelFactory<? extends Channel> domainSocketClientChannelFactory() {
+    return SELECTED_NETTY_TRANSPORT.domainSocketClientChannelFactory();
+  }
+
+  /**
+   * Get the channel factory for unix domain socket server channels of the selected netty transport.
+   *
+   * @return the channel factory for unix domain socket server channels of the selected netty transport.
+   * @throws UnsupportedOperationException if the selected transport does not support unix domain sockets.
+   */
+  public static @NonNull ServerChannelFactory<? extends ServerChannel> domainSocketServerChannelFactory() {
+    return SELECTED_NETTY_TRANSPORT.domainSocketServerChannelFactory();
+  }
+
   /**
    * Writes the given integer value as a var int into the buffer.
    *
@@ -196,35 +306,41 @@ private static int overriddenCountOrDefault(int overriddenSetting, int defaultVa
   }
 
   /**
-   * Reads a var int from the given buffer.
+   * Sets the given value as a var int at the given offset of the buffer, using exactly the given amount of bytes. If
+   * the value needs fewer bytes than given, the var int is padded using continuation bits, which is still readable by
+   * all var int decoding methods. This allows to reserve space for a var int before the value to write is known.
    *
-   * @param buffer the buffer to read from.
-   * @return the var int read from the buffer.
-   * @throws DecoderException     if the buf current position has no var int.
-   * @throws NullPointerException if the given buffer to read from is null.
+   * @param buffer the buffer to write to.
+   * @param offset the offset in the buffer to write the var int at.
+   * @param value  the value to write into the buffer.
+   * @param bytes  the exact amount of bytes to use for the var int, must be large enough to hold the value.
+   * @return the buffer used to call the method, for chaining.
+   * @throws NullPointerException     if the given buffer is null.
+   * @throws IllegalArgumentException if the value does not fit into the given amount of bytes.
    */
-  public static int readVarInt(@NonNull Buffer buffer) {
-    var varInt = readVarIntOrNull(buffer);
-    if (varInt == null) {
-      // unable to decode a var int at the current position
-      var bufferDump = BufferUtil.hexDump(buffer, 0, buffer.readableBytes());
-      throw new DecoderException(String.format(
-        "Unable to decode VarInt at current buffer position (%d): %s",
-        buffer.readerOffset(),
-        bufferDump));
+  public static @NonNull Buffer setFixedSizeVarInt(@NonNull Buffer buffer, int offset, int value, int bytes) {
+    if (bytes < varIntBytes(value) || bytes > 5) {
+      throw new IllegalArgumentException("Value " + value + " cannot be written as var int using " + bytes + " bytes");
+    }
+
+    for (var index = 0; index < bytes - 1; index++) {
+      buffer.setByte(offset + index, (byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
     }
 
-    return varInt;
+    buffer.setByte(offset + bytes - 1, (byte) value);
+    return buffer;
   }
 
   /**
-   * Reads a var int from the given buffer, returns null if there is no Var Int at the current buffer position.
+   * Reads a var int from the given buffer.
    *
    * @param buffer the buffer to read from.
-   * @return the var int read from the buffer, or null if no var int is at the given position.
+   * @return the var int read from the buffer.
+   * @throws DecoderException     if the buf current position has no var int.
    * @throws NullPointerException if the given buffer to read from is null.
    */
-  public static @Nullable Integer readVarIntOrNull(@NonNull Buffer buffer) {
+  public static int readVarInt(@NonNull Buffer buffer) {
     var i = 0;
     var maxRead = Math.min(5, buffer.readableBytes());
     for (var j = 0; j < maxRead; j++) {
@@ -234,7 +350,33 @@ public static int readVarInt(@NonNull Buffer buffer) {
         return i;
       }
     }
-    return null;
+
+    // unable to decode a var int at the current position
+    var bufferDump = BufferUtil.hexDump(buffer, 0, buffer.readableBytes());
+    throw new DecoderException(String.format(
+      "Unable to decode VarInt at current buffer position (%d): %s",
+      buffer.readerOffset(),
+      bufferDump));
+  }
+
+  /**
+   * Get the amount of bytes the var int starting at the current reader offset of the given buffer takes, without
+   * moving the reader offset of the buffer. If the readable bytes of the buffer do not contain a full var int, this
+   * method returns 0.
+   *
+   * @param buffer the buffer to check for a readable var int.
+   * @return the amount of bytes the var int at the current reader offset takes, 0 if there is no full var int.
+   * @throws NullPointerException if the given buffer to check is null.
+   */
+  public static int readableVarIntBytes(@NonNull Buffer buffer) {
+    var readerOffset = buffer.readerOffset();
+    var maxRead = Math.min(5, buffer.readableBytes());
+    for (var j = 0; j < maxRead; j++) {
+      if ((buffer.getByte(readerOffset + j) & 0x80) != 128) {
+        return j + 1;
+      }
+    }
+    return 0;
   }
 
   /**
@@ -257,6 +399,25 @@ public static int varIntBytes(int value) {
     }
   }
 
+  /**
+   * Get the amount of packets that are written into a channel before the channel is explicitly flushed.
+   *
+   * @return the amount of packets written before the channel is flushed.
+   */
+  public static int maxWritesBeforeFlush() {
+    return MAX_WRITES_BEFORE_FLUSH;
+  }
+
+  /**
+   * Get the amount of bulk packets that are written into a channel before other pending tasks of the event loop get a
+   * chance to write into the channel.
+   *
+   * @return the amount of bulk packets written per event loop round.
+   */
+  public static int bulkWritesPerRound() {
+    return BULK_WRITES_PER_ROUND;
+  }
+
   /**
    * Get the selected netty transport which will be used for client/server channel and event loop group construction.
    *
@@ -283,4 +444,13 @@ public static int varIntBytes(int value) {
   public static @NonNull BufferAllocator selectedBufferAllocator() {
     return SELECTED_BUFFER_ALLOCATOR;
   }
+
+  /**
+   * Get if data bufs created for encoding should be recycled once they are released.
+   *
+   * @return true if data bufs should be recycled once they are released, false otherwise.
+   */
+  public static boolean dataBufRecyclingEnabled() {
+    return DATA_BUF_RECYCLING;
+  }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.backpressure;
+
+import eu.cloudnetservice.driver.impl.network.netty.NettyNetworkChannel;
+import eu.cloudnetservice.driver.impl.network.standard.AuthorizationPacket;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import io.netty5.channel.WriteBufferWaterMark;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.NonNull;
+
+/**
+ * Holds the write buffer water marks used for the different link types. A channel becomes unwritable once the bytes
+ * pending to be written exceed the high water mark and writable again once they drop below the low water mark. Until
+ * the link type of a channel is known (before the authorization) the default water mark is used. All values are given
+ * in bytes and can be configured using the following system properties:
+ * <ul>
+ *   <li>{@code cloudnet.net.water-mark.low} and {@code cloudnet.net.water-mark.high}: the default water mark.
+ *   <li>{@code cloudnet.net.water-mark.node.low} and {@code cloudnet.net.water-mark.node.high}: between nodes.
+ *   <li>{@code cloudnet.net.water-mark.wrapper.low} and {@code cloudnet.net.water-mark.wrapper.high}: between node
+ *   and wrapper.
+ * </ul>
+ *
+ * @since 4.0
+ */
+public final class NettyWriteBufferWaterMarks {
+
+  private static final WriteBufferWaterMark DEFAULT_WATER_MARK;
+  private static final Map<AuthorizationPacket.PacketAuthorizationType, WriteBufferWaterMark> WATER_MARKS;
+
+  static {
+    DEFAULT_WATER_MARK = readWaterMark("cloudnet.net.water-mark", 1 << 20, 1 << 21);
+
+    WATER_MARKS = new EnumMap<>(AuthorizationPacket.PacketAuthorizationType.class);
+    WATER_MARKS.put(
+      AuthorizationPacket.PacketAuthorizationType.NODE_TO_NODE,
+      readWaterMark("cloudnet.net.water-mark.node", DEFAULT_WATER_MARK.low(), DEFAULT_WATER_MARK.high()));
+    WATER_MARKS.put(
+      AuthorizationPacket.PacketAuthorizationType.WRAPPER_TO_NODE,
+      readWaterMark("cloudnet.net.water-mark.wrapper", DEFAULT_WATER_MARK.low(), DEFAULT_WATER_MARK.high()));
+  }
+
+  private NettyWriteBufferWaterMarks() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the water mark to use for channels whose link type is not yet known.
+   *
+   * @return the default water mark.
+   */
+  public static @NonNull WriteBufferWaterMark defaultWaterMark() {
+    return DEFAULT_WATER_MARK;
+  }
+
+  /**
+   * Get the water mark configured for the given link type.
+   *
+   * @param linkType the link type to get the water mark of.
+   * @return the water mark of the given link type.
+   * @throws NullPointerException if the given link type is null.
+   */
+  public static @NonNull WriteBufferWaterMark waterMark(@NonNull AuthorizationPacket.PacketAuthorizationType linkType) {
+    return WATER_MARKS.get(linkType);
+  }
+
+  /**
+   * Applies the water mark of the given link type to the given channel. This method does nothing if the given channel
+   * does not support water marks.
+   *
+   * @param channel  the channel to apply the water mark to.
+   * @param linkType the link type of the given channel.
+   * @throws NullPointerException if the given channel or link type is null.
+   */
+  public static void applyWaterMark(
+    @NonNull NetworkChannel channel,
+    @NonNull AuthorizationPacket.PacketAuthorizationType linkType
+  ) {
+    if (channel instanceof NettyNetworkChannel nettyChannel) {
+      nettyChannel.writeBufferWaterMark(waterMark(linkType));
+    }
+  }
+
+  /**
+   * Reads the low and high water mark using the given property prefix, falling back to the given values if a property
+   * is not set. A high water mark that is lower than the low water mark is raised to the low water mark.
+   *
+   * @param propertyPrefix the prefix of the low and high water mark property names.
+   * @param defaultLow     the low water mark to use if not configured.
+   * @param defaultHigh    the high water mark to use if not configured.
+   * @return the water mark read from the system properties.
+   * @throws NullPointerException if the given property prefix is null.
+   */
+  private static @NonNull WriteBufferWaterMark readWaterMark(
+    @NonNull String propertyPrefix,
+    int defaultLow,
+    int defaultHigh
+  ) {
+    var low = Math.max(0, Integer.getInteger(propertyPrefix + ".low", defaultLow));
+    var high = Math.max(low, Integer.getInteger(propertyPrefix + ".high", defaultHigh));
+    return new WriteBufferWaterMark(low, high);
+  }
+}
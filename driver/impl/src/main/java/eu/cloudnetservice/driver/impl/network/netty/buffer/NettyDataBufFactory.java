@@ -53,6 +53,10 @@ public NettyDataBufFactory() {
    */
   @Override
   public @NonNull DataBuf.Mutable createEmpty() {
+    if (NettyUtil.dataBufRecyclingEnabled()) {
+      return NettyRecyclableDataBuf.obtain(ALLOCATOR, 128);
+    }
+
     return this.createWithExpectedSize(128);
   }
 
@@ -20,10 +20,13 @@
 import eu.cloudnetservice.driver.impl.network.object.DefaultObjectMapper;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import io.netty5.buffer.Buffer;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.zip.Checksum;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -129,6 +132,52 @@ public byte[] readByteArray() {
     });
   }
 
+  /**
+   * Reads a byte array from this buffer and writes it into the given file channel, starting at the given position. The
+   * readable components of this buffer are written into the file directly, without copying the bytes into an
+   * intermediate buffer. This method is the counterpart of
+   * {@link NettyMutableDataBuf#writeByteArray(FileChannel, long, int, Checksum)}.
+   *
+   * @param channel  the file channel to write the bytes to.
+   * @param position the position in the file to start writing at.
+   * @param checksum the checksum to update with the transferred bytes, null if no checksum should be calculated.
+   * @return the amount of bytes that were written into the file.
+   * @throws NullPointerException if the given channel is null.
+   * @throws IOException          if an I/O error occurs while writing to the file.
+   */
+  public int readByteArray(
+    @NonNull FileChannel channel,
+    long position,
+    @Nullable Checksum checksum
+  ) throws IOException {
+    var amount = NettyUtil.readVarInt(this.buffer);
+
+    var remaining = amount;
+    var filePosition = position;
+    try (var components = this.buffer.forEachComponent()) {
+      var component = components.firstReadable();
+      while (component != null && remaining > 0) {
+        var readable = component.readableBuffer();
+        readable.limit(readable.position() + Math.min(remaining, readable.remaining()));
+        remaining -= readable.remaining();
+
+        if (checksum != null) {
+          checksum.update(readable.duplicate());
+        }
+
+        // positional writes might not write all bytes at once
+        while (readable.hasRemaining()) {
+          filePosition += channel.write(readable, filePosition);
+        }
+
+        component = component.nextReadable();
+      }
+    }
+
+    this.buffer.skipReadableBytes(amount);
+    return amount;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -310,6 +359,23 @@ public void close() {
     this.release();
   }
 
+  /**
+   * Creates a read-only view of the readable bytes of this buffer which shares the memory with this buffer. The shared
+   * memory is only freed once this buffer and all views of it were released, which allows the same encoded content to
+   * be written into many channels concurrently without encoding or copying it for each channel. Note that this buffer
+   * is made read-only by this method.
+   *
+   * @return a new read-only view of the readable bytes of this buffer.
+   */
+  public @NonNull DataBuf sharedView() {
+    if (!this.buffer.readOnly()) {
+      this.buffer.makeReadOnly();
+    }
+
+    var view = this.buffer.copy(this.buffer.readerOffset(), this.buffer.readableBytes(), true);
+    return new NettyImmutableDataBuf(view);
+  }
+
   /**
    * Get the wrapped netty byte buf of this buffer, for internal use only.
    *
@@ -20,9 +20,13 @@
 import eu.cloudnetservice.driver.impl.network.object.DefaultObjectMapper;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import io.netty5.buffer.Buffer;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.function.BiConsumer;
+import java.util.zip.Checksum;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -135,6 +139,80 @@ public NettyMutableDataBuf(@NonNull Buffer buffer) {
     return this;
   }
 
+  /**
+   * Writes the given amount of bytes from the given file channel, starting at the given position, into this buffer.
+   * The bytes are encoded in the same way as {@link #writeByteArray(byte[], int)} does, but are transferred directly
+   * from the file into the memory of this buffer without copying them into an intermediate array on the heap. The
+   * checksum is updated from the memory of this buffer after the transfer.
+   *
+   * @param channel  the file channel to read the bytes from.
+   * @param position the position in the file to start reading at.
+   * @param amount   the amount of bytes to read from the file.
+   * @param checksum the checksum to update with the transferred bytes, null if no checksum should be calculated.
+   * @return the same buffer as used to call the method, for chaining.
+   * @throws NullPointerException if the given channel is null.
+   * @throws IOException          if an I/O error occurs or the file ends before the given amount of bytes was read.
+   */
+  public @NonNull DataBuf.Mutable writeByteArray(
+    @NonNull FileChannel channel,
+    long position,
+    int amount,
+    @Nullable Checksum checksum
+  ) throws IOException {
+    var sizeBytes = NettyUtil.varIntBytes(amount);
+    this.buffer.ensureWritable(sizeBytes + amount);
+    NettyUtil.writeVarInt(this.buffer, amount);
+
+    var transferred = 0;
+    var dataOffset = this.buffer.writerOffset();
+    while (transferred < amount) {
+      var read = this.buffer.transferFrom(channel, position + transferred, amount - transferred);
+      if (read < 0) {
+        throw new EOFException("Reached end of file after " + transferred + " of " + amount + " bytes");
+      }
+
+      transferred += read;
+    }
+
+    if (checksum != null) {
+      updateChecksum(this.buffer, dataOffset, amount, checksum);
+    }
+
+    return this;
+  }
+
+  /**
+   * Updates the given checksum with the given amount of readable bytes of the given buffer, starting at the given
+   * offset. The checksum is updated from the components of the buffer directly, without copying the bytes.
+   *
+   * @param buffer   the buffer to read the bytes from.
+   * @param offset   the offset in the buffer of the first byte to update the checksum with.
+   * @param length   the amount of bytes to update the checksum with.
+   * @param checksum the checksum to update.
+   * @throws NullPointerException if the given buffer or checksum is null.
+   */
+  private static void updateChecksum(@NonNull Buffer buffer, int offset, int length, @NonNull Checksum checksum) {
+    var skip = offset - buffer.readerOffset();
+    try (var components = buffer.forEachComponent()) {
+      var component = components.firstReadable();
+      while (component != null && length > 0) {
+        var readable = component.readableBuffer();
+        if (skip >= readable.remaining()) {
+          // the component only contains bytes before the requested offset
+          skip -= readable.remaining();
+        } else {
+          readable.position(readable.position() + skip);
+          readable.limit(readable.position() + Math.min(length, readable.remaining()));
+          length -= readable.remaining();
+          skip = 0;
+          checksum.update(readable);
+        }
+
+        component = component.nextReadable();
+      }
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
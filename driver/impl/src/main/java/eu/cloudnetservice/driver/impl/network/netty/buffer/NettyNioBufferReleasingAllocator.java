@@ -133,7 +133,7 @@ public void close() {
    * @param memoryManager the memory manager that is responsible for allocation.
    * @since 4.0
    */
-  private record DirectBufferFreeDrop(@NonNull ByteBufferMemoryManager memoryManager) implements Drop<Buffer> {
+  record DirectBufferFreeDrop(@NonNull ByteBufferMemoryManager memoryManager) implements Drop<Buffer> {
 
     private static final MethodHandle DIRECT_BUFFER_CLEANER;
     private static final Logger LOGGER = LoggerFactory.getLogger(DirectBufferFreeDrop.class);
@@ -161,20 +161,31 @@ private record DirectBufferFreeDrop(@NonNull ByteBufferMemoryManager memoryManag
     }
 
     /**
-     * {@inheritDoc}
+     * Frees the given byte buffer directly if it is a direct buffer and the cleaner is accessible. In all other cases
+     * the memory of the buffer is freed once the buffer gets garbage collected.
+     *
+     * @param buffer the buffer to free.
+     * @throws NullPointerException if the given buffer is null.
      */
-    @Override
-    public void drop(@NonNull Buffer obj) {
-      var recoverableMemory = (ByteBuffer) this.memoryManager.unwrapRecoverableMemory(obj);
-      if (DIRECT_BUFFER_CLEANER != null && recoverableMemory.isDirect()) {
+    static void freeDirectBuffer(@NonNull ByteBuffer buffer) {
+      if (DIRECT_BUFFER_CLEANER != null && buffer.isDirect()) {
         try {
-          DIRECT_BUFFER_CLEANER.invokeExact(recoverableMemory);
+          DIRECT_BUFFER_CLEANER.invokeExact(buffer);
         } catch (Throwable exception) {
           LOGGER.debug("Unable to free direct ByteBuf using Unsafe.invokeCleaner: {}", exception.getMessage());
         }
       }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drop(@NonNull Buffer obj) {
+      var recoverableMemory = (ByteBuffer) this.memoryManager.unwrapRecoverableMemory(obj);
+      freeDirectBuffer(recoverableMemory);
+    }
+
     /**
      * {@inheritDoc}
      */
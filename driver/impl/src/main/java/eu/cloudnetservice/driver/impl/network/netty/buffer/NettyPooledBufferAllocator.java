@@ -0,0 +1,453 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.buffer;
+
+import io.netty5.buffer.AllocationType;
+import io.netty5.buffer.AllocatorControl;
+import io.netty5.buffer.Buffer;
+import io.netty5.buffer.BufferAllocator;
+import io.netty5.buffer.Drop;
+import io.netty5.buffer.StandardAllocationTypes;
+import io.netty5.buffer.bytebuffer.ByteBufferMemoryManager;
+import io.netty5.buffer.internal.ArcDrop;
+import io.netty5.buffer.internal.CleanerDrop;
+import io.netty5.buffer.internal.InternalBufferUtils;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A buffer allocator that keeps the memory of closed buffers in size classes for later reuse. Each requested size is
+ * rounded up to the next power of two size class. The memory of a closed buffer is first put into a small cache of the
+ * closing thread (only for platform threads) and then into a pool shared between all threads. The memory retained by
+ * this allocator (the memory of closed buffers that is kept for reuse) is capped, memory that exceeds the cap is freed
+ * directly like in the {@link NettyNioBufferReleasingAllocator}. Allocations that exceed the largest size class are not
+ * pooled at all.
+ *
+ * @since 4.0
+ */
+public final class NettyPooledBufferAllocator implements BufferAllocator, AllocatorControl {
+
+  static final int MIN_SIZE_CLASS_SHIFT = 6;
+
+  private static final Cleaner THREAD_CACHE_CLEANER = Cleaner.create();
+
+  private final long maxRetainedBytes;
+  private final int maxPooledSize;
+  private final int threadCacheEntries;
+
+  private final ByteBufferMemoryManager manager;
+  private final Queue<ByteBuffer>[] sharedPools;
+  private final ThreadLocal<ThreadCache> threadCaches;
+
+  private final AtomicLong retainedBytes = new AtomicLong();
+  private final LongAdder poolHits = new LongAdder();
+  private final LongAdder poolMisses = new LongAdder();
+  private final LongAdder unpooledAllocations = new LongAdder();
+
+  private volatile boolean closed;
+
+  /**
+   * Constructs a new pooled buffer allocator.
+   *
+   * @param maxRetainedBytes   the maximum amount of bytes of closed buffers that are kept for reuse.
+   * @param maxPooledSize      the largest buffer size that is pooled, rounded up to the next power of two.
+   * @param threadCacheEntries the maximum amount of buffers per size class that are cached per platform thread.
+   * @throws IllegalArgumentException if one of the given values is negative or the max pooled size is not positive.
+   */
+  @SuppressWarnings("unchecked")
+  public NettyPooledBufferAllocator(long maxRetainedBytes, int maxPooledSize, int threadCacheEntries) {
+    if (maxRetainedBytes < 0 || maxPooledSize <= 0 || threadCacheEntries < 0) {
+      throw new IllegalArgumentException("Invalid pooled allocator configuration");
+    }
+
+    this.maxRetainedBytes = maxRetainedBytes;
+    this.maxPooledSize = sizeClassCapacity(sizeClassIndex(maxPooledSize));
+    this.threadCacheEntries = threadCacheEntries;
+
+    this.manager = new ByteBufferMemoryManager();
+    this.sharedPools = new Queue[sizeClassIndex(this.maxPooledSize) + 1];
+    for (var index = 0; index < this.sharedPools.length; index++) {
+      this.sharedPools[index] = new ConcurrentLinkedQueue<>();
+    }
+
+    this.threadCaches = ThreadLocal.withInitial(() -> {
+      var cache = new ThreadCache(this.sharedPools.length);
+      THREAD_CACHE_CLEANER.register(Thread.currentThread(), () -> cache.drainTo(this));
+      return cache;
+    });
+  }
+
+  /**
+   * Get the index of the size class which is responsible for buffers of the given size.
+   *
+   * @param size the size of the buffer.
+   * @return the index of the size class responsible for the given size.
+   */
+  static int sizeClassIndex(int size) {
+    var shift = size <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    return Math.max(0, shift - MIN_SIZE_CLASS_SHIFT);
+  }
+
+  /**
+   * Get the capacity of the memory chunks that are allocated for the size class with the given index.
+   *
+   * @param sizeClassIndex the index of the size class.
+   * @return the capacity of the memory chunks of the size class.
+   */
+  static int sizeClassCapacity(int sizeClassIndex) {
+    return 1 << (sizeClassIndex + MIN_SIZE_CLASS_SHIFT);
+  }
+
+  /**
+   * Get a snapshot of the current metrics of this allocator.
+   *
+   * @return a snapshot of the current metrics of this allocator.
+   */
+  public @NonNull Metrics metrics() {
+    return new Metrics(
+      this.poolHits.sum(),
+      this.poolMisses.sum(),
+      this.unpooledAllocations.sum(),
+      this.retainedBytes.get(),
+      this.maxRetainedBytes);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull AllocationType getAllocationType() {
+    return StandardAllocationTypes.OFF_HEAP;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Buffer allocate(int size) {
+    if (this.closed) {
+      throw InternalBufferUtils.allocatorClosedException();
+    }
+
+    InternalBufferUtils.assertValidBufferSize(size);
+    if (size == 0 || size > this.maxPooledSize) {
+      // not worth pooling or too big to be pooled, use memory that is freed directly once the buffer is closed
+      this.unpooledAllocations.increment();
+      return this.manager.allocateShared(this, size, _ -> {
+        var freeingDrop = new NettyNioBufferReleasingAllocator.DirectBufferFreeDrop(this.manager);
+        return CleanerDrop.wrap(ArcDrop.wrap(freeingDrop), this.manager);
+      }, StandardAllocationTypes.OFF_HEAP);
+    }
+
+    var sizeClassIndex = sizeClassIndex(size);
+    var memory = this.pollPooledMemory(sizeClassIndex);
+    if (memory == null) {
+      this.poolMisses.increment();
+      memory = ByteBuffer.allocateDirect(sizeClassCapacity(sizeClassIndex));
+    } else {
+      // pooled memory might still contain the data of the previous buffer, allocated buffers are expected to be zeroed
+      this.poolHits.increment();
+      clearMemory(memory, size);
+    }
+
+    var returningDrop = new PoolReturningDrop(this, sizeClassIndex, memory);
+    var drop = CleanerDrop.wrap(ArcDrop.wrap(returningDrop), this.manager);
+    return this.manager.recoverMemory(this, memory.slice(0, size), drop);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Supplier<Buffer> constBufferSupplier(byte[] bytes) {
+    if (this.closed) {
+      throw InternalBufferUtils.allocatorClosedException();
+    }
+
+    // constant buffers are living for a long time, no need to take their memory from the pool
+    var constantBuffer = this.manager.allocateShared(this, bytes.length, _ -> {
+      var freeingDrop = new NettyNioBufferReleasingAllocator.DirectBufferFreeDrop(this.manager);
+      return CleanerDrop.wrapWithoutLeakDetection(ArcDrop.wrap(freeingDrop), this.manager);
+    }, StandardAllocationTypes.OFF_HEAP);
+    constantBuffer.writeBytes(bytes).makeReadOnly();
+    return () -> this.manager.allocateConstChild(constantBuffer);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull BufferAllocator getAllocator() {
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isPooling() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+
+    // free all memory that is retained in the shared pools, thread caches are freed when the thread exits
+    for (var sharedPool : this.sharedPools) {
+      ByteBuffer memory;
+      while ((memory = sharedPool.poll()) != null) {
+        this.retainedBytes.addAndGet(-memory.capacity());
+        NettyNioBufferReleasingAllocator.DirectBufferFreeDrop.freeDirectBuffer(memory);
+      }
+    }
+  }
+
+  /**
+   * Takes a chunk of memory for the given size class, first from the cache of the current thread and then from the
+   * shared pool.
+   *
+   * @param sizeClassIndex the index of the size class to get the memory for.
+   * @return a pooled memory chunk of the given size class, null if no memory is pooled for the size class.
+   */
+  private @Nullable ByteBuffer pollPooledMemory(int sizeClassIndex) {
+    ByteBuffer memory = null;
+    if (this.threadCacheEntries > 0 && !Thread.currentThread().isVirtual()) {
+      memory = this.threadCaches.get().poll(sizeClassIndex);
+    }
+
+    if (memory == null) {
+      memory = this.sharedPools[sizeClassIndex].poll();
+    }
+
+    if (memory != null) {
+      this.retainedBytes.addAndGet(-memory.capacity());
+    }
+
+    return memory;
+  }
+
+  /**
+   * Returns the given memory chunk into the pool, or frees it directly if the retained memory cap would be exceeded by
+   * retaining the given memory chunk.
+   *
+   * @param sizeClassIndex the index of the size class of the memory chunk.
+   * @param memory         the memory chunk to return.
+   * @param allowCache     if the memory chunk can be put into the cache of the current thread.
+   * @throws NullPointerException if the given memory chunk is null.
+   */
+  private void releasePooledMemory(int sizeClassIndex, @NonNull ByteBuffer memory, boolean allowCache) {
+    if (this.closed || !this.tryRetain(memory.capacity())) {
+      NettyNioBufferReleasingAllocator.DirectBufferFreeDrop.freeDirectBuffer(memory);
+      return;
+    }
+
+    var cached = allowCache
+      && this.threadCacheEntries > 0
+      && !Thread.currentThread().isVirtual()
+      && this.threadCaches.get().offer(sizeClassIndex, memory, this.threadCacheEntries);
+    if (!cached) {
+      this.sharedPools[sizeClassIndex].offer(memory);
+    }
+  }
+
+  /**
+   * Tries to account the given amount of bytes as retained memory, failing if the retained memory cap would be
+   * exceeded.
+   *
+   * @param bytes the amount of bytes to retain.
+   * @return true if the bytes were accounted, false if the retained memory cap would be exceeded.
+   */
+  private boolean tryRetain(int bytes) {
+    while (true) {
+      var current = this.retainedBytes.get();
+      var updated = current + bytes;
+      if (updated > this.maxRetainedBytes) {
+        return false;
+      }
+
+      if (this.retainedBytes.compareAndSet(current, updated)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Fills the first given amount of bytes of the given memory chunk with zeros.
+   *
+   * @param memory the memory chunk to clear.
+   * @param length the amount of bytes to clear, starting at the beginning of the memory chunk.
+   * @throws NullPointerException if the given memory chunk is null.
+   */
+  private static void clearMemory(@NonNull ByteBuffer memory, int length) {
+    var index = 0;
+    for (; index + Long.BYTES <= length; index += Long.BYTES) {
+      memory.putLong(index, 0L);
+    }
+
+    for (; index < length; index++) {
+      memory.put(index, (byte) 0);
+    }
+  }
+
+  /**
+   * A snapshot of the metrics of a pooled buffer allocator.
+   *
+   * @param poolHits            the amount of allocations that were served from pooled memory.
+   * @param poolMisses          the amount of allocations that fit into a size class but required new memory.
+   * @param unpooledAllocations the amount of allocations that were too big to be pooled.
+   * @param retainedBytes       the amount of bytes that are currently retained for reuse.
+   * @param maxRetainedBytes    the maximum amount of bytes that can be retained for reuse.
+   * @since 4.0
+   */
+  public record Metrics(
+    long poolHits,
+    long poolMisses,
+    long unpooledAllocations,
+    long retainedBytes,
+    long maxRetainedBytes
+  ) {
+
+    /**
+     * Get the ratio of pooled allocations that were served from pooled memory, between 0 and 1.
+     *
+     * @return the ratio of pooled allocations that were served from pooled memory.
+     */
+    public double hitRate() {
+      var pooledAllocations = this.poolHits + this.poolMisses;
+      return pooledAllocations == 0 ? 0 : (double) this.poolHits / pooledAllocations;
+    }
+  }
+
+  /**
+   * A drop implementation that returns the memory of a buffer into the pool it was taken from.
+   *
+   * @param allocator      the allocator that allocated the memory.
+   * @param sizeClassIndex the index of the size class of the memory.
+   * @param memory         the full memory chunk that was taken from the pool, not only the slice used by the buffer.
+   * @since 4.0
+   */
+  private record PoolReturningDrop(
+    @NonNull NettyPooledBufferAllocator allocator,
+    int sizeClassIndex,
+    @NonNull ByteBuffer memory
+  ) implements Drop<Buffer> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drop(@NonNull Buffer obj) {
+      this.allocator.releasePooledMemory(this.sizeClassIndex, this.memory, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NonNull Drop<Buffer> fork() {
+      throw new IllegalStateException("Cannot fork PoolReturningDrop, must be guarded by an ArcDrop");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void attach(@NonNull Buffer obj) {
+    }
+  }
+
+  /**
+   * A small cache of memory chunks per size class that is only accessed by the thread owning it.
+   *
+   * @since 4.0
+   */
+  private static final class ThreadCache {
+
+    private final ArrayDeque<ByteBuffer>[] entries;
+
+    /**
+     * Constructs a new thread cache.
+     *
+     * @param sizeClasses the amount of size classes to cache memory for.
+     */
+    @SuppressWarnings("unchecked")
+    private ThreadCache(int sizeClasses) {
+      this.entries = new ArrayDeque[sizeClasses];
+      for (var index = 0; index < sizeClasses; index++) {
+        this.entries[index] = new ArrayDeque<>();
+      }
+    }
+
+    /**
+     * Takes a cached memory chunk of the given size class.
+     *
+     * @param sizeClassIndex the index of the size class.
+     * @return a cached memory chunk of the given size class, null if none is cached.
+     */
+    private @Nullable ByteBuffer poll(int sizeClassIndex) {
+      return this.entries[sizeClassIndex].pollLast();
+    }
+
+    /**
+     * Caches the given memory chunk if the cache of the size class is not full yet.
+     *
+     * @param sizeClassIndex the index of the size class.
+     * @param memory         the memory chunk to cache.
+     * @param maxEntries     the maximum amount of cached memory chunks per size class.
+     * @return true if the memory chunk was cached, false otherwise.
+     * @throws NullPointerException if the given memory chunk is null.
+     */
+    private boolean offer(int sizeClassIndex, @NonNull ByteBuffer memory, int maxEntries) {
+      var sizeClassEntries = this.entries[sizeClassIndex];
+      if (sizeClassEntries.size() >= maxEntries) {
+        return false;
+      }
+
+      sizeClassEntries.addLast(memory);
+      return true;
+    }
+
+    /**
+     * Moves all cached memory chunks into the shared pool of the given allocator. Called once the owning thread exited.
+     *
+     * @param allocator the allocator to return the cached memory chunks to.
+     * @throws NullPointerException if the given allocator is null.
+     */
+    private void drainTo(@NonNull NettyPooledBufferAllocator allocator) {
+      for (var index = 0; index < this.entries.length; index++) {
+        ByteBuffer memory;
+        while ((memory = this.entries[index].poll()) != null) {
+          // the memory was already accounted as retained when it was put into the cache
+          allocator.retainedBytes.addAndGet(-memory.capacity());
+          allocator.releasePooledMemory(index, memory, false);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.buffer;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import io.netty5.buffer.Buffer;
+import io.netty5.buffer.BufferAllocator;
+import java.util.ArrayDeque;
+import lombok.NonNull;
+
+/**
+ * A mutable data buf which is not closed once it gets released, but reset and put into a cache of the releasing thread
+ * to be reused for the next data buf that is requested by the same thread. This avoids allocating a new buffer for
+ * each encoded packet. Data bufs are only cached by platform threads and only if their buffer did not grow beyond the
+ * maximum recycled capacity.
+ * <p>
+ * Note that, other than for normal data bufs, accessing a recycled data buf after it was released is not detected and
+ * might read or modify the content of another data buf.
+ *
+ * @since 4.0
+ */
+final class NettyRecyclableDataBuf extends NettyMutableDataBuf {
+
+  static final int MAX_CACHED_PER_THREAD = 32;
+  static final int MAX_RECYCLED_CAPACITY = 16 * 1024;
+
+  private static final ThreadLocal<ArrayDeque<NettyRecyclableDataBuf>> CACHE = ThreadLocal.withInitial(ArrayDeque::new);
+
+  private boolean recycled;
+
+  /**
+   * Constructs a new recyclable data buf instance.
+   *
+   * @param buffer the netty buffer to wrap.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  private NettyRecyclableDataBuf(@NonNull Buffer buffer) {
+    super(buffer);
+  }
+
+  /**
+   * Takes a recycled data buf from the cache of the current thread or allocates a new one if no data buf is cached.
+   *
+   * @param allocator       the allocator to use if a new buffer must be allocated.
+   * @param initialCapacity the initial capacity of the buffer if a new buffer must be allocated.
+   * @return a recycled or new, empty data buf.
+   * @throws NullPointerException if the given allocator is null.
+   */
+  static @NonNull DataBuf.Mutable obtain(@NonNull BufferAllocator allocator, int initialCapacity) {
+    if (!Thread.currentThread().isVirtual()) {
+      var dataBuf = CACHE.get().pollLast();
+      if (dataBuf != null) {
+        dataBuf.recycled = false;
+        dataBuf.buffer.ensureWritable(initialCapacity);
+        return dataBuf;
+      }
+    }
+
+    return new NettyRecyclableDataBuf(allocator.allocate(initialCapacity));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void release() {
+    if (this.recycled) {
+      return;
+    }
+
+    this.acquires--;
+    if (this.acquires <= 0) {
+      this.recycle();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void forceRelease() {
+    if (!this.recycled) {
+      this.acquires = 0;
+      this.recycle();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull DataBuf.Mutable asMutable() {
+    // a new wrapper would share the buffer, but not the recycling state
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull DataBuf asImmutable() {
+    // a new wrapper would share the buffer, but not the recycling state
+    return this;
+  }
+
+  /**
+   * Resets this data buf and puts it into the cache of the current thread, or closes the underlying buffer if this
+   * data buf cannot be cached.
+   */
+  private void recycle() {
+    if (!this.buffer.isAccessible()) {
+      return;
+    }
+
+    if (Thread.currentThread().isVirtual()
+      || this.buffer.readOnly()
+      || this.buffer.capacity() > MAX_RECYCLED_CAPACITY) {
+      this.buffer.close();
+      return;
+    }
+
+    var cache = CACHE.get();
+    if (cache.size() >= MAX_CACHED_PER_THREAD) {
+      this.buffer.close();
+      return;
+    }
+
+    this.buffer.resetOffsets();
+    this.acquires = 1;
+    this.readOffset = 0;
+    this.writeOffset = 0;
+    this.recycled = true;
+    cache.addLast(this);
+  }
+}
@@ -18,6 +18,7 @@
 
 import eu.cloudnetservice.driver.ComponentInfo;
 import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
+import eu.cloudnetservice.driver.impl.network.netty.backpressure.NettyWriteBufferWaterMarks;
 import eu.cloudnetservice.driver.impl.network.protocol.DefaultPacketListenerRegistry;
 import eu.cloudnetservice.driver.impl.network.scheduler.NetworkTaskScheduler;
 import eu.cloudnetservice.driver.network.HostAndPort;
@@ -30,15 +31,17 @@
 import io.netty5.bootstrap.Bootstrap;
 import io.netty5.channel.ChannelOption;
 import io.netty5.channel.EventLoopGroup;
-import io.netty5.channel.WriteBufferWaterMark;
 import io.netty5.handler.ssl.IdentityCipherSuiteFilter;
 import io.netty5.handler.ssl.SslContext;
 import io.netty5.handler.ssl.SslContextBuilder;
 import io.netty5.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty5.util.concurrent.Future;
 import jakarta.inject.Singleton;
 import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.Callable;
@@ -58,7 +61,6 @@
 public class NettyNetworkClient implements NetworkClient {
 
   private static final int CONNECTION_TIMEOUT_MILLIS = 5_000;
-  private static final WriteBufferWaterMark WATER_MARK = new WriteBufferWaterMark(1 << 20, 1 << 21);
 
   protected final SslContext sslContext;
   protected final EventLoopGroup eventLoopGroup;
@@ -162,6 +164,11 @@ public boolean sslEnabled() {
    */
   @Override
   public @NonNull CompletableFuture<Void> connect(@NonNull HostAndPort hostAndPort) {
+    // a host and port without a port points to a unix domain socket
+    if (!hostAndPort.validPort()) {
+      return this.connectDomainSocket(hostAndPort);
+    }
+
     CompletableFuture<Void> result = new CompletableFuture<>();
     new Bootstrap()
       .group(this.eventLoopGroup)
@@ -172,24 +179,58 @@ public boolean sslEnabled() {
         .option(ChannelOption.TCP_NODELAY, true)
         .option(ChannelOption.SO_REUSEADDR, true)
         .option(ChannelOption.TCP_FASTOPEN_CONNECT, true)
-        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK)
+        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyWriteBufferWaterMarks.defaultWaterMark())
         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECTION_TIMEOUT_MILLIS)
         .option(ChannelOption.BUFFER_ALLOCATOR, NettyUtil.selectedBufferAllocator()))
 
       .connect(hostAndPort.host(), hostAndPort.port())
-      .addListener(future -> {
-        if (future.isSuccess()) {
-          // ok, we connected successfully
-          result.complete(null);
-        } else {
-          // something went wrong
-          result.completeExceptionally(future.cause());
-        }
-      });
+      .addListener(future -> completeConnectResult(result, future));
+
+    return result;
+  }
+
+  /**
+   * Connects to the unix domain socket at the path given as the host of the given host and port. Tcp specific options
+   * are not applied to the channel, as they are not supported by domain sockets.
+   *
+   * @param hostAndPort the host and port which host is the path to the domain socket.
+   * @return a future completed when the connection was established or failed.
+   * @throws NullPointerException if the given host and port is null.
+   */
+  private @NonNull CompletableFuture<Void> connectDomainSocket(@NonNull HostAndPort hostAndPort) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    new Bootstrap()
+      .group(this.eventLoopGroup)
+      .channelFactory(NettyUtil.domainSocketClientChannelFactory())
+      .handler(new NettyNetworkClientInitializer(hostAndPort, this)
+        .option(ChannelOption.AUTO_READ, true)
+        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyWriteBufferWaterMarks.defaultWaterMark())
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECTION_TIMEOUT_MILLIS)
+        .option(ChannelOption.BUFFER_ALLOCATOR, NettyUtil.selectedBufferAllocator()))
+
+      .connect(UnixDomainSocketAddress.of(hostAndPort.host()))
+      .addListener(future -> completeConnectResult(result, future));
 
     return result;
   }
 
+  /**
+   * Completes the given connect result based on the outcome of the given connect future.
+   *
+   * @param result the result future to complete.
+   * @param future the connect future of netty.
+   * @throws NullPointerException if the given result or future is null.
+   */
+  private static void completeConnectResult(@NonNull CompletableFuture<Void> result, @NonNull Future<?> future) {
+    if (future.isSuccess()) {
+      // ok, we connected successfully
+      result.complete(null);
+    } else {
+      // something went wrong
+      result.completeExceptionally(future.cause());
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -234,6 +275,18 @@ public void sendPacket(@NonNull Packet packet) {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull CompletableFuture<Void> sendPacketAsync(@NonNull Packet packet) {
+    var writeFutures = new ArrayList<CompletableFuture<Void>>(this.channels.size());
+    for (var channel : this.channels) {
+      writeFutures.add(channel.sendPacketAsync(packet));
+    }
+    return CompletableFuture.allOf(writeFutures.toArray(CompletableFuture[]::new));
+  }
+
   /**
    * {@inheritDoc}
    */
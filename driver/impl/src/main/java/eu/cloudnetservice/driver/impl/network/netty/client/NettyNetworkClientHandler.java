@@ -16,8 +16,10 @@
 
 package eu.cloudnetservice.driver.impl.network.netty.client;
 
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
 import eu.cloudnetservice.driver.impl.network.netty.NettyNetworkChannel;
 import eu.cloudnetservice.driver.impl.network.netty.NettyNetworkHandler;
+import eu.cloudnetservice.driver.impl.network.protocol.DefaultQueryPacketManager;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import io.netty5.channel.ChannelHandlerContext;
@@ -64,6 +66,10 @@ public void channelActive(@NonNull ChannelHandlerContext ctx) throws Exception {
       HostAndPort.fromSocketAddress(ctx.channel().localAddress()),
       true);
     this.nettyNetworkClient.channels.add(super.channel);
+    DefaultNetworkMetrics.INSTANCE.registerChannel(super.channel);
+    if (super.channel.queryPacketManager() instanceof DefaultQueryPacketManager queryPacketManager) {
+      queryPacketManager.timeoutExecutor(this.packetDispatcher());
+    }
     // post the channel initialize to the handler
     this.channel.handler().handleChannelInitialize(super.channel);
   }
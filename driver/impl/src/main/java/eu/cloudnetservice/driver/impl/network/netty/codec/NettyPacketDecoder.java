@@ -18,12 +18,15 @@
 
 import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.impl.network.netty.buffer.NettyImmutableDataBuf;
+import eu.cloudnetservice.driver.impl.network.netty.compression.NettyPacketDecompressor;
+import eu.cloudnetservice.driver.impl.network.netty.compression.PacketCompressionStatistics;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
 import io.netty5.buffer.Buffer;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.handler.codec.ByteToMessageDecoder;
 import java.util.UUID;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +38,7 @@
  * A packet always contains the following data:
  * <ol>
  *   <li>The numeric id of the channel being sent to, by default a var int.
+ *   <li>The flags of the packet, indicating if the packet is prioritized and if the body is compressed.
  *   <li>An optional query unique id if the packet is a query.
  *   <li>The data transferred to this component, might be empty.
  * </ol>
@@ -45,6 +49,19 @@ public final class NettyPacketDecoder extends ByteToMessageDecoder {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(NettyPacketDecoder.class);
 
+  private NettyPacketDecompressor decompressor;
+  private volatile PacketCompressionStatistics compressionStatistics;
+
+  /**
+   * Sets the statistics to record the decompression of compressed inbound packets into. Compressed packets are always
+   * decompressed, regardless of the statistics being set or not.
+   *
+   * @param compressionStatistics the statistics to record decompressions into, null to not record them.
+   */
+  public void compressionStatistics(@Nullable PacketCompressionStatistics compressionStatistics) {
+    this.compressionStatistics = compressionStatistics;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -59,13 +76,15 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
     try {
       // read the required base data from the buffer
       var channel = NettyUtil.readVarInt(in);
-      var prioritized = in.readBoolean();
+      var flags = in.readByte();
+      var prioritized = (flags & NettyPacketEncoder.FLAG_PRIORITIZED) != 0;
       var queryUniqueId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
 
-      // extract the body
+      // extract the body, splitting the body from the frame does not copy the underlying memory
       var bodyLength = NettyUtil.readVarInt(in);
-      var body = new NettyImmutableDataBuf(in.copy(in.readerOffset(), bodyLength));
-      in.skipReadableBytes(bodyLength);
+      var body = new NettyImmutableDataBuf((flags & NettyPacketEncoder.FLAG_COMPRESSED) != 0
+        ? this.decompressBody(ctx, in, bodyLength)
+        : in.readSplit(bodyLength));
 
       // construct the packet
       var packet = new BasePacket(channel, prioritized, body);
@@ -77,4 +96,32 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
       LOGGER.error("Exception while decoding packet", exception);
     }
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void handlerRemoved0(@NonNull ChannelHandlerContext ctx) {
+    // free the native resources of the decompressor, this happens at the latest when the channel gets closed
+    if (this.decompressor != null) {
+      this.decompressor.close();
+      this.decompressor = null;
+    }
+  }
+
+  /**
+   * Decompresses the compressed packet body at the current reader offset of the given buffer.
+   *
+   * @param ctx        the context of the channel the packet was received from.
+   * @param in         the buffer to read the compressed body from.
+   * @param bodyLength the length of the compressed body.
+   * @return a new buffer containing the decompressed packet body.
+   * @throws NullPointerException if the given context or buffer is null.
+   */
+  private @NonNull Buffer decompressBody(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in, int bodyLength) {
+    if (this.decompressor == null) {
+      this.decompressor = new NettyPacketDecompressor();
+    }
+    return this.decompressor.decompress(ctx.bufferAllocator(), in, bodyLength, this.compressionStatistics);
+  }
 }
@@ -18,11 +18,13 @@
 
 import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.impl.network.netty.buffer.NettyImmutableDataBuf;
+import eu.cloudnetservice.driver.impl.network.netty.compression.NettyPacketCompressor;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import io.netty5.buffer.Buffer;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.handler.codec.MessageToByteEncoder;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * An internal implementation of the packet encoder used for client to server communication.
@@ -30,32 +32,56 @@
  * A packet always contains the following data:
  * <ol>
  *   <li>The numeric id of the channel being sent to, by default a var int.
+ *   <li>The flags of the packet, indicating if the packet is prioritized and if the body is compressed.
  *   <li>An optional query unique id if the packet is a query.
  *   <li>The data transferred to this component, might be empty.
  * </ol>
+ * <p>
+ * The encoded packet is prefixed with the length of the frame as a var int, written into the same buffer as the packet
+ * itself. The space for the length is reserved based on the maximum frame size and padded if the actual frame is
+ * smaller (for example when compressed), so that each packet results in a single write into the channel.
+ * <p>
+ * Each channel uses its own encoder instance, as the compression of packet bodies is configured per channel.
  *
  * @since 4.0
  */
 public final class NettyPacketEncoder extends MessageToByteEncoder<Packet> {
 
-  public static final NettyPacketEncoder INSTANCE = new NettyPacketEncoder();
+  static final int FLAG_PRIORITIZED = 0x01;
+  static final int FLAG_COMPRESSED = 0x02;
+
+  private volatile NettyPacketCompressor compressor;
+
+  /**
+   * Sets the compressor to use for the bodies of packets encoded by this encoder.
+   *
+   * @param compressor the compressor to use, null to disable the compression.
+   */
+  public void compressor(@Nullable NettyPacketCompressor compressor) {
+    this.compressor = compressor;
+  }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg) {
-    // we allocate 2 booleans (prioritized and isQuery) + content length + channel in advance
-    var bufferLength = 2
-      + msg.content().readableBytes()
-      + NettyUtil.varIntBytes(msg.channel())
-      + NettyUtil.varIntBytes(msg.content().readableBytes());
-    // if the given packet has a query unique id we need two longs for that unique id as well
-    if (msg.uniqueId() != null) {
-      bufferLength += 16;
+  public void handlerRemoved(@NonNull ChannelHandlerContext ctx) {
+    // free the native resources of the compressor, this happens at the latest when the channel gets closed
+    var compressor = this.compressor;
+    if (compressor != null) {
+      this.compressor = null;
+      compressor.close();
     }
+  }
 
-    return ctx.bufferAllocator().allocate(bufferLength);
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg) {
+    // we allocate the frame length prefix + the maximum frame length in advance
+    var frameLength = maxFrameLength(msg);
+    return ctx.bufferAllocator().allocate(NettyUtil.varIntBytes(frameLength) + frameLength);
   }
 
   /**
@@ -63,8 +89,31 @@ protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Pac
    */
   @Override
   protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @NonNull Buffer out) {
+    // reserve the space for the frame length, the actual length is set once the packet was encoded
+    var frameLengthOffset = out.writerOffset();
+    var frameLengthBytes = NettyUtil.varIntBytes(maxFrameLength(msg));
+    out.skipWritableBytes(frameLengthBytes);
+
+    this.encodeFrame(msg, out);
+
+    var frameLength = out.writerOffset() - frameLengthOffset - frameLengthBytes;
+    NettyUtil.setFixedSizeVarInt(out, frameLengthOffset, frameLength, frameLengthBytes);
+  }
+
+  /**
+   * Encodes the given packet into the given buffer, without the frame length prefix.
+   *
+   * @param msg the packet to encode.
+   * @param out the buffer to write the encoded packet to.
+   * @throws NullPointerException if the given packet or buffer is null.
+   */
+  private void encodeFrame(@NonNull Packet msg, @NonNull Buffer out) {
     NettyUtil.writeVarInt(out, msg.channel());
-    out.writeBoolean(msg.prioritized());
+
+    // the compression flag is added later if the body was compressed
+    var flagsOffset = out.writerOffset();
+    var flags = msg.prioritized() ? FLAG_PRIORITIZED : 0;
+    out.writeByte((byte) flags);
 
     var queryUniqueId = msg.uniqueId();
     out.writeBoolean(queryUniqueId != null);
@@ -74,22 +123,42 @@ protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @
         .writeLong(queryUniqueId.getLeastSignificantBits());
     }
 
-    // copy over the packet body into the output buffer
     var content = ((NettyImmutableDataBuf) msg.content()).buffer();
-    var length = content.readableBytes();
-    NettyUtil.writeVarInt(out, length);
-    content.copyInto(0, out, out.writerOffset(), length);
-    out.skipWritableBytes(length);
+    var compressor = this.compressor;
+    if (compressor != null && compressor.writeCompressed(content, out)) {
+      // the compressed body was written into the output buffer, mark the packet as compressed
+      out.setByte(flagsOffset, (byte) (flags | FLAG_COMPRESSED));
+    } else {
+      // copy over the packet body into the output buffer
+      var length = content.readableBytes();
+      NettyUtil.writeVarInt(out, length);
+      content.copyInto(0, out, out.writerOffset(), length);
+      out.skipWritableBytes(length);
+    }
 
     // release the packet content once
     msg.content().release();
   }
 
   /**
-   * {@inheritDoc}
+   * Get the maximum length of the frame of the given packet when encoded. The frame of a packet with a compressed body
+   * is always smaller than the frame of the same packet with an uncompressed body.
+   *
+   * @param msg the packet to get the maximum frame length of.
+   * @return the maximum frame length of the given packet.
+   * @throws NullPointerException if the given packet is null.
    */
-  @Override
-  public boolean isSharable() {
-    return true;
+  private static int maxFrameLength(@NonNull Packet msg) {
+    // 2 bytes (flags and isQuery) + content length + channel
+    var frameLength = 2
+      + msg.content().readableBytes()
+      + NettyUtil.varIntBytes(msg.channel())
+      + NettyUtil.varIntBytes(msg.content().readableBytes());
+    // if the given packet has a query unique id we need two longs for that unique id as well
+    if (msg.uniqueId() != null) {
+      frameLength += 16;
+    }
+
+    return frameLength;
   }
 }
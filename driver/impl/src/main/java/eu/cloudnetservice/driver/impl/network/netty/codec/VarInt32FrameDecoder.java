@@ -34,15 +34,14 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
       return;
     }
 
-    // try to read the full message length from the buffer, reset the buffer if we've read nothing
-    var readerIndex = in.readerOffset();
-    var length = NettyUtil.readVarIntOrNull(in);
-    if (length == null || readerIndex == in.readerOffset()) {
-      in.readerOffset(readerIndex);
+    // check if the full message length is readable from the buffer, wait for more data if that is not the case
+    var lengthFieldBytes = NettyUtil.readableVarIntBytes(in);
+    if (lengthFieldBytes == 0) {
       return;
     }
 
     // skip empty packets silently
+    var length = NettyUtil.readVarInt(in);
     if (length <= 0) {
       // check if there are bytes to skip
       if (in.readableBytes() > 0) {
@@ -53,12 +52,12 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
 
     // check if the packet data supplied in the buffer is actually at least the transmitted size
     if (in.readableBytes() >= length) {
-      // fire the channel read
-      ctx.fireChannelRead(in.copy(in.readerOffset(), length));
-      in.skipReadableBytes(length);
+      // split the frame from the buffer and fire the channel read, the split buffer shares the
+      // underlying memory with the input buffer, so there is no need to copy the frame content
+      ctx.fireChannelRead(in.readSplit(length));
     } else {
       // reset the reader index, there is still data missing
-      in.readerOffset(readerIndex);
+      in.readerOffset(in.readerOffset() - lengthFieldBytes);
     }
   }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.compression;
+
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
+import eu.cloudnetservice.driver.impl.network.netty.NettyNetworkChannel;
+import eu.cloudnetservice.driver.impl.network.standard.AuthorizationPacket;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import lombok.NonNull;
+
+/**
+ * Holds the packet compression settings for the different link types and provides access to the compression
+ * statistics of them. The compression is negotiated during the authorization of a channel: the connecting component
+ * states if it accepts compressed packets, the accepting node decides about the compression threshold based on the
+ * link type and sends it back in the authorization response. The compression is disabled by default and can be
+ * enabled using the following system properties:
+ * <ul>
+ *   <li>{@code cloudnet.net.compression.node-threshold}: the minimum packet size to compress between nodes.
+ *   <li>{@code cloudnet.net.compression.wrapper-threshold}: the minimum packet size to compress between node and wrapper.
+ *   <li>{@code cloudnet.net.compression.level}: the deflate compression level to use, defaults to the fastest level.
+ *   <li>{@code cloudnet.net.compression.disabled}: set to true to reject compressed packets when connecting.
+ *   <li>{@code cloudnet.net.compression.max-uncompressed-size}: the maximum size of a decompressed packet body.
+ * </ul>
+ *
+ * @since 4.0
+ */
+public final class NettyPacketCompression {
+
+  public static final int COMPRESSION_DISABLED = -1;
+
+  private static final int COMPRESSION_LEVEL;
+  private static final int MAX_UNCOMPRESSED_SIZE;
+  private static final boolean ACCEPT_COMPRESSION;
+  private static final Map<AuthorizationPacket.PacketAuthorizationType, Integer> THRESHOLDS;
+  private static final Map<AuthorizationPacket.PacketAuthorizationType, PacketCompressionStatistics> STATISTICS;
+
+  static {
+    COMPRESSION_LEVEL = Integer.getInteger("cloudnet.net.compression.level", Deflater.BEST_SPEED);
+    ACCEPT_COMPRESSION = !Boolean.getBoolean("cloudnet.net.compression.disabled");
+    MAX_UNCOMPRESSED_SIZE = Integer.getInteger("cloudnet.net.compression.max-uncompressed-size", 128 * 1024 * 1024);
+
+    THRESHOLDS = new EnumMap<>(AuthorizationPacket.PacketAuthorizationType.class);
+    THRESHOLDS.put(
+      AuthorizationPacket.PacketAuthorizationType.NODE_TO_NODE,
+      Integer.getInteger("cloudnet.net.compression.node-threshold", COMPRESSION_DISABLED));
+    THRESHOLDS.put(
+      AuthorizationPacket.PacketAuthorizationType.WRAPPER_TO_NODE,
+      Integer.getInteger("cloudnet.net.compression.wrapper-threshold", COMPRESSION_DISABLED));
+
+    STATISTICS = new EnumMap<>(AuthorizationPacket.PacketAuthorizationType.class);
+    for (var linkType : AuthorizationPacket.PacketAuthorizationType.values()) {
+      var statistics = new PacketCompressionStatistics();
+      STATISTICS.put(linkType, statistics);
+
+      // expose the statistics of the link type through the network metrics
+      var gaugePrefix = "compression." + linkType.name().toLowerCase(Locale.ROOT) + '.';
+      DefaultNetworkMetrics.INSTANCE.registerGauge(gaugePrefix + "compressed-packets", statistics::compressedPackets);
+      DefaultNetworkMetrics.INSTANCE.registerGauge(gaugePrefix + "uncompressed-bytes", statistics::uncompressedBytes);
+      DefaultNetworkMetrics.INSTANCE.registerGauge(gaugePrefix + "compressed-bytes", statistics::compressedBytes);
+      DefaultNetworkMetrics.INSTANCE.registerGauge(gaugePrefix + "ratio", statistics::compressionRatio);
+    }
+  }
+
+  private NettyPacketCompression() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get if the current component accepts compressed packets when connecting to a node.
+   *
+   * @return true if the current component accepts compressed packets, false otherwise.
+   */
+  public static boolean acceptCompression() {
+    return ACCEPT_COMPRESSION;
+  }
+
+  /**
+   * Get the maximum size of a decompressed packet body, in bytes. Compressed packets which exceed this size when
+   * decompressed are rejected before allocating the memory for them.
+   *
+   * @return the maximum size of a decompressed packet body.
+   */
+  public static int maxUncompressedSize() {
+    return MAX_UNCOMPRESSED_SIZE;
+  }
+
+  /**
+   * Get the compression threshold configured for the given link type. If the compression is disabled for the given
+   * link type, {@link #COMPRESSION_DISABLED} is returned.
+   *
+   * @param linkType the link type to get the compression threshold of.
+   * @return the compression threshold of the given link type.
+   * @throws NullPointerException if the given link type is null.
+   */
+  public static int compressionThreshold(@NonNull AuthorizationPacket.PacketAuthorizationType linkType) {
+    int threshold = THRESHOLDS.get(linkType);
+    return threshold < 0 ? COMPRESSION_DISABLED : threshold;
+  }
+
+  /**
+   * Get the compression statistics of all channels using the given link type.
+   *
+   * @param linkType the link type to get the statistics of.
+   * @return the compression statistics of the given link type.
+   * @throws NullPointerException if the given link type is null.
+   */
+  public static @NonNull PacketCompressionStatistics statistics(
+    @NonNull AuthorizationPacket.PacketAuthorizationType linkType
+  ) {
+    return STATISTICS.get(linkType);
+  }
+
+  /**
+   * Enables the compression of outbound packets for the given channel. This method does nothing if the given threshold
+   * is negative or the given channel does not support packet compression.
+   *
+   * @param channel   the channel to enable the compression for.
+   * @param linkType  the link type of the given channel.
+   * @param threshold the minimum size of packets to compress, negative to not enable the compression.
+   * @throws NullPointerException if the given channel or link type is null.
+   */
+  public static void enableCompression(
+    @NonNull NetworkChannel channel,
+    @NonNull AuthorizationPacket.PacketAuthorizationType linkType,
+    int threshold
+  ) {
+    if (threshold >= 0 && channel instanceof NettyNetworkChannel nettyChannel) {
+      var compressor = new NettyPacketCompressor(threshold, COMPRESSION_LEVEL, statistics(linkType));
+      nettyChannel.enableCompression(compressor);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.compression;
+
+import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
+import io.netty5.buffer.Buffer;
+import java.util.zip.Deflater;
+import lombok.NonNull;
+
+/**
+ * A compressor for outbound packet bodies. Each instance of a compressor is bound to a single channel and must only be
+ * used from the event loop of that channel.
+ * <p>
+ * A compressed packet body contains the uncompressed size of the body as a var int, followed by the deflated body. The
+ * native resources held by a compressor must be freed by calling {@link #close()} once the channel was closed.
+ *
+ * @since 4.0
+ */
+public final class NettyPacketCompressor {
+
+  private final int threshold;
+  private final Deflater deflater;
+  private final PacketCompressionStatistics statistics;
+
+  // reused between compressions, only grown if a larger packet needs to be compressed
+  private byte[] inputBuffer = new byte[0];
+  private byte[] outputBuffer = new byte[0];
+
+  /**
+   * Constructs a new packet compressor.
+   *
+   * @param threshold  the minimum size of a packet body to get compressed, in bytes.
+   * @param level      the deflate compression level to use.
+   * @param statistics the statistics to record the compression results into.
+   * @throws NullPointerException if the given statistics are null.
+   */
+  public NettyPacketCompressor(int threshold, int level, @NonNull PacketCompressionStatistics statistics) {
+    this.threshold = threshold;
+    this.statistics = statistics;
+    this.deflater = new Deflater(level);
+  }
+
+  /**
+   * Tries to compress the readable bytes of the given content buffer into the given output buffer. The compressed body
+   * is only written if the content exceeds the compression threshold and the compressed body is smaller than the
+   * uncompressed content. The compressed body is prefixed with its length as a var int, the reader offset of the given
+   * content buffer is not modified.
+   *
+   * @param content the packet content to compress.
+   * @param out     the buffer to write the compressed content to.
+   * @return true if the compressed body was written into the given output buffer, false otherwise.
+   * @throws NullPointerException if the given content or output buffer is null.
+   */
+  public boolean writeCompressed(@NonNull Buffer content, @NonNull Buffer out) {
+    var length = content.readableBytes();
+    if (length < this.threshold) {
+      return false;
+    }
+
+    var startTime = System.nanoTime();
+    if (this.inputBuffer.length < length) {
+      this.inputBuffer = new byte[length];
+      this.outputBuffer = new byte[length];
+    }
+
+    // deflate the content, there is no need to continue once the output size reached the input size
+    content.copyInto(content.readerOffset(), this.inputBuffer, 0, length);
+    this.deflater.setInput(this.inputBuffer, 0, length);
+    this.deflater.finish();
+
+    var compressedLength = 0;
+    while (!this.deflater.finished() && compressedLength < length) {
+      compressedLength += this.deflater.deflate(this.outputBuffer, compressedLength, length - compressedLength);
+    }
+
+    var finished = this.deflater.finished();
+    this.deflater.reset();
+
+    // only use the compressed body if it's actually smaller than the uncompressed content
+    var bodyLength = compressedLength + NettyUtil.varIntBytes(length);
+    if (!finished || bodyLength >= length) {
+      this.statistics.recordUncompressible(System.nanoTime() - startTime);
+      return false;
+    }
+
+    NettyUtil.writeVarInt(out, bodyLength);
+    NettyUtil.writeVarInt(out, length);
+    out.writeBytes(this.outputBuffer, 0, compressedLength);
+
+    this.statistics.recordCompression(length, bodyLength, System.nanoTime() - startTime);
+    return true;
+  }
+
+  /**
+   * Get the statistics this compressor records the compression results into.
+   *
+   * @return the statistics of this compressor.
+   */
+  public @NonNull PacketCompressionStatistics statistics() {
+    return this.statistics;
+  }
+
+  /**
+   * Frees the native resources held by this compressor. This compressor must not be used after calling this method.
+   */
+  public void close() {
+    this.deflater.end();
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.compression;
+
+import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
+import io.netty5.buffer.Buffer;
+import io.netty5.buffer.BufferAllocator;
+import io.netty5.handler.codec.DecoderException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A decompressor for inbound packet bodies that were compressed by a {@link NettyPacketCompressor}. Each instance of a
+ * decompressor is bound to a single channel and must only be used from the event loop of that channel. The native
+ * resources held by a decompressor must be freed by calling {@link #close()} once the channel was closed.
+ * <p>
+ * The uncompressed length sent by the remote is validated before allocating the buffer for the decompressed body. It
+ * must neither exceed the maximum uncompressed packet size nor the maximum ratio that is possible using deflate.
+ *
+ * @since 4.0
+ */
+public final class NettyPacketDecompressor {
+
+  // the maximum compression ratio that is possible using deflate
+  private static final int MAX_DEFLATE_RATIO = 1032;
+
+  private final int maxUncompressedLength;
+  private final Inflater inflater = new Inflater();
+  private final ByteBuffer overflowBuffer = ByteBuffer.allocate(1);
+
+  /**
+   * Constructs a new decompressor which rejects packet bodies exceeding the maximum uncompressed packet size.
+   *
+   * @see NettyPacketCompression#maxUncompressedSize()
+   */
+  public NettyPacketDecompressor() {
+    this(NettyPacketCompression.maxUncompressedSize());
+  }
+
+  /**
+   * Constructs a new decompressor which rejects packet bodies exceeding the given maximum uncompressed length.
+   *
+   * @param maxUncompressedLength the maximum length of a decompressed packet body.
+   */
+  public NettyPacketDecompressor(int maxUncompressedLength) {
+    this.maxUncompressedLength = maxUncompressedLength;
+  }
+
+  /**
+   * Decompresses the compressed packet body at the current reader offset of the given buffer into a new buffer. The
+   * compressed body is always skipped in the given buffer, even if the decompression fails.
+   *
+   * @param allocator  the allocator to allocate the buffer for the decompressed body.
+   * @param in         the buffer to read the compressed packet body from.
+   * @param bodyLength the length of the compressed packet body.
+   * @param statistics the statistics to record the decompression into, null to not record the decompression.
+   * @return a new buffer containing the decompressed packet body.
+   * @throws NullPointerException if the given allocator or input buffer is null.
+   * @throws DecoderException     if the compressed body is malformed or exceeds the maximum uncompressed length.
+   */
+  public @NonNull Buffer decompress(
+    @NonNull BufferAllocator allocator,
+    @NonNull Buffer in,
+    int bodyLength,
+    @Nullable PacketCompressionStatistics statistics
+  ) {
+    var startTime = System.nanoTime();
+    var bodyEnd = in.readerOffset() + bodyLength;
+    var uncompressedLength = NettyUtil.readVarInt(in);
+    var compressedLength = bodyEnd - in.readerOffset();
+    if (compressedLength <= 0 || compressedLength > in.readableBytes()) {
+      throw new DecoderException("Invalid compressed packet body length " + compressedLength);
+    }
+
+    // splitting the compressed body from the input buffer does not copy it and always skips the body
+    try (var compressed = in.readSplit(compressedLength)) {
+      if (uncompressedLength <= 0
+        || uncompressedLength > this.maxUncompressedLength
+        || (long) compressedLength * MAX_DEFLATE_RATIO < uncompressedLength) {
+        throw new DecoderException("Invalid uncompressed packet body length " + uncompressedLength);
+      }
+
+      var output = allocator.allocate(uncompressedLength);
+      try {
+        this.inflate(compressed, output);
+        if (!this.inflater.finished() || output.readableBytes() != uncompressedLength) {
+          throw new DecoderException("Compressed packet body does not match its uncompressed length");
+        }
+
+        if (statistics != null) {
+          statistics.recordDecompression(System.nanoTime() - startTime);
+        }
+        return output;
+      } catch (DataFormatException exception) {
+        output.close();
+        throw new DecoderException("Unable to decompress packet body", exception);
+      } catch (RuntimeException exception) {
+        output.close();
+        throw exception;
+      }
+    } finally {
+      this.inflater.reset();
+    }
+  }
+
+  /**
+   * Inflates the readable bytes of the given compressed buffer directly into the writable bytes of the given output
+   * buffer. Inflating stops once the end of the compressed stream or the end of the compressed buffer is reached.
+   *
+   * @param compressed the buffer containing the compressed data.
+   * @param output     the buffer to inflate the data into.
+   * @throws NullPointerException if the given compressed or output buffer is null.
+   * @throws DataFormatException  if the compressed data is malformed.
+   * @throws DecoderException     if the compressed data exceeds the writable bytes of the output buffer.
+   */
+  private void inflate(@NonNull Buffer compressed, @NonNull Buffer output) throws DataFormatException {
+    try (var inputs = compressed.forEachComponent(); var outputs = output.forEachComponent()) {
+      var outputComponent = outputs.firstWritable();
+      var target = outputComponent == null ? null : outputComponent.writableBuffer();
+      for (var input = inputs.firstReadable(); input != null; input = input.nextReadable()) {
+        this.inflater.setInput(input.readableBuffer());
+        while (!this.inflater.finished() && !this.inflater.needsInput()) {
+          // move on to the next output component once the current one is full
+          while (target != null && !target.hasRemaining()) {
+            outputComponent = outputComponent.nextWritable();
+            target = outputComponent == null ? null : outputComponent.writableBuffer();
+          }
+
+          // once the output buffer is full, the remaining input must only contain the end of the compressed stream
+          var inflated = this.inflater.inflate(target == null ? this.overflowBuffer.clear() : target);
+          if (inflated == 0) {
+            // the inflater makes no progress without input, without a dictionary or once finished, all other cases
+            // indicate a malformed stream which would otherwise never end
+            if (!this.inflater.finished() && !this.inflater.needsInput()) {
+              throw new DecoderException("Compressed packet body is malformed");
+            }
+          } else if (target == null) {
+            throw new DecoderException("Compressed packet body exceeds its uncompressed length");
+          } else {
+            outputComponent.skipWritableBytes(inflated);
+          }
+        }
+
+        if (this.inflater.finished()) {
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Frees the native resources held by this decompressor. This decompressor must not be used after calling this method.
+   */
+  public void close() {
+    this.inflater.end();
+  }
+}
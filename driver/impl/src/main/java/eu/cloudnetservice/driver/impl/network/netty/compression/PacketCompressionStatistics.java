@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.compression;
+
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * Statistics about the packet compression of a specific link type, for example the compression of all packets sent
+ * between two nodes. All recorded values are cumulative since the start of the current component.
+ *
+ * @since 4.0
+ */
+public final class PacketCompressionStatistics {
+
+  private final LongAdder compressedPackets = new LongAdder();
+  private final LongAdder uncompressiblePackets = new LongAdder();
+  private final LongAdder decompressedPackets = new LongAdder();
+
+  private final LongAdder uncompressedBytes = new LongAdder();
+  private final LongAdder compressedBytes = new LongAdder();
+
+  private final LongAdder compressionNanos = new LongAdder();
+  private final LongAdder decompressionNanos = new LongAdder();
+
+  /**
+   * Records the successful compression of a packet body.
+   *
+   * @param uncompressedBytes the size of the packet body before compression.
+   * @param compressedBytes   the size of the packet body after compression.
+   * @param nanos             the time it took to compress the packet body, in nanoseconds.
+   */
+  void recordCompression(int uncompressedBytes, int compressedBytes, long nanos) {
+    this.compressedPackets.increment();
+    this.uncompressedBytes.add(uncompressedBytes);
+    this.compressedBytes.add(compressedBytes);
+    this.compressionNanos.add(nanos);
+  }
+
+  /**
+   * Records that a packet body was above the compression threshold, but compressing it did not reduce its size.
+   *
+   * @param nanos the time that was spent trying to compress the packet body, in nanoseconds.
+   */
+  void recordUncompressible(long nanos) {
+    this.uncompressiblePackets.increment();
+    this.compressionNanos.add(nanos);
+  }
+
+  /**
+   * Records the decompression of an inbound packet body.
+   *
+   * @param nanos the time it took to decompress the packet body, in nanoseconds.
+   */
+  void recordDecompression(long nanos) {
+    this.decompressedPackets.increment();
+    this.decompressionNanos.add(nanos);
+  }
+
+  /**
+   * Get the amount of outbound packets which were sent compressed.
+   *
+   * @return the amount of outbound packets which were sent compressed.
+   */
+  public long compressedPackets() {
+    return this.compressedPackets.sum();
+  }
+
+  /**
+   * Get the amount of outbound packets which exceeded the compression threshold but were sent uncompressed as the
+   * compression did not reduce their size.
+   *
+   * @return the amount of outbound packets which were not compressible.
+   */
+  public long uncompressiblePackets() {
+    return this.uncompressiblePackets.sum();
+  }
+
+  /**
+   * Get the amount of inbound packets which were decompressed.
+   *
+   * @return the amount of inbound packets which were decompressed.
+   */
+  public long decompressedPackets() {
+    return this.decompressedPackets.sum();
+  }
+
+  /**
+   * Get the total size of all compressed packet bodies before compression.
+   *
+   * @return the total size of all compressed packet bodies before compression.
+   */
+  public long uncompressedBytes() {
+    return this.uncompressedBytes.sum();
+  }
+
+  /**
+   * Get the total size of all compressed packet bodies after compression.
+   *
+   * @return the total size of all compressed packet bodies after compression.
+   */
+  public long compressedBytes() {
+    return this.compressedBytes.sum();
+  }
+
+  /**
+   * Get the total cpu time spent compressing outbound packet bodies, in nanoseconds.
+   *
+   * @return the total cpu time spent compressing outbound packet bodies.
+   */
+  public long compressionNanos() {
+    return this.compressionNanos.sum();
+  }
+
+  /**
+   * Get the total cpu time spent decompressing inbound packet bodies, in nanoseconds.
+   *
+   * @return the total cpu time spent decompressing inbound packet bodies.
+   */
+  public long decompressionNanos() {
+    return this.decompressionNanos.sum();
+  }
+
+  /**
+   * Get the ratio between the compressed and uncompressed size of all compressed packet bodies. A ratio of 0.25 for
+   * example means that compressed packets only use a quarter of their original size. If no packet was compressed yet,
+   * this method returns 1.
+   *
+   * @return the ratio between the compressed and uncompressed size of all compressed packet bodies.
+   */
+  public double compressionRatio() {
+    var uncompressedBytes = this.uncompressedBytes();
+    return uncompressedBytes == 0 ? 1D : (double) this.compressedBytes() / uncompressedBytes;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String toString() {
+    return String.format(
+      "compressed=%d, uncompressible=%d, decompressed=%d, ratio=%.3f, compressionMillis=%d, decompressionMillis=%d",
+      this.compressedPackets(),
+      this.uncompressiblePackets(),
+      this.decompressedPackets(),
+      this.compressionRatio(),
+      this.compressionNanos() / 1_000_000,
+      this.decompressionNanos() / 1_000_000);
+  }
+}
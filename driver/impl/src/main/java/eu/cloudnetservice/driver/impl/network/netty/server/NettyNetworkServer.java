@@ -19,6 +19,7 @@
 import eu.cloudnetservice.driver.ComponentInfo;
 import eu.cloudnetservice.driver.impl.network.netty.NettyOptionSettingChannelInitializer;
 import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
+import eu.cloudnetservice.driver.impl.network.netty.backpressure.NettyWriteBufferWaterMarks;
 import eu.cloudnetservice.driver.impl.network.protocol.DefaultPacketListenerRegistry;
 import eu.cloudnetservice.driver.impl.network.scheduler.NetworkTaskScheduler;
 import eu.cloudnetservice.driver.network.HostAndPort;
@@ -31,7 +32,6 @@
 import io.netty5.bootstrap.ServerBootstrap;
 import io.netty5.channel.ChannelOption;
 import io.netty5.channel.EventLoopGroup;
-import io.netty5.channel.WriteBufferWaterMark;
 import io.netty5.channel.unix.UnixChannelOption;
 import io.netty5.handler.ssl.ClientAuth;
 import io.netty5.handler.ssl.IdentityCipherSuiteFilter;
@@ -41,9 +41,12 @@
 import io.netty5.util.concurrent.Future;
 import jakarta.inject.Singleton;
 import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.security.cert.CertificateException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -63,8 +66,6 @@
 @Singleton
 public class NettyNetworkServer implements NetworkServer {
 
-  protected static final WriteBufferWaterMark WATER_MARK = new WriteBufferWaterMark(1 << 20, 1 << 21);
-
   protected final SslContext sslContext;
   protected final EventLoopGroup bossEventLoopGroup;
   protected final EventLoopGroup workerEventLoopGroup;
@@ -192,6 +193,11 @@ public boolean sslEnabled() {
    */
   @Override
   public @NonNull CompletableFuture<Void> addListener(@NonNull HostAndPort hostAndPort) {
+    // a host and port without a port points to a unix domain socket
+    if (!hostAndPort.validPort()) {
+      return this.addDomainSocketListener(hostAndPort);
+    }
+
     CompletableFuture<Void> result = new CompletableFuture<>();
     new ServerBootstrap()
       .channelFactory(NettyUtil.serverChannelFactory())
@@ -208,7 +214,7 @@ public boolean sslEnabled() {
         .option(ChannelOption.TCP_NODELAY, true)
         .option(ChannelOption.SO_REUSEADDR, true)
         .option(ChannelOption.SO_KEEPALIVE, true)
-        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK)
+        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyWriteBufferWaterMarks.defaultWaterMark())
         .option(ChannelOption.BUFFER_ALLOCATOR, NettyUtil.selectedBufferAllocator()))
 
       .bind(hostAndPort.host(), hostAndPort.port())
@@ -224,6 +230,57 @@ public boolean sslEnabled() {
     return result;
   }
 
+  /**
+   * Binds a listener to the unix domain socket at the path given as the host of the given host and port. A socket file
+   * left over from a previous run is removed before binding, the socket file is removed again when the listener closes.
+   * Tcp specific options are not applied to the channels, as they are not supported by domain sockets.
+   *
+   * @param hostAndPort the host and port which host is the path to the domain socket.
+   * @return a future completed when the listener was bound or the bind failed.
+   * @throws NullPointerException if the given host and port is null.
+   */
+  private @NonNull CompletableFuture<Void> addDomainSocketListener(@NonNull HostAndPort hostAndPort) {
+    var socketPath = Path.of(hostAndPort.host());
+    try {
+      Files.deleteIfExists(socketPath);
+    } catch (IOException exception) {
+      return CompletableFuture.failedFuture(exception);
+    }
+
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    new ServerBootstrap()
+      .channelFactory(NettyUtil.domainSocketServerChannelFactory())
+      .group(this.bossEventLoopGroup, this.workerEventLoopGroup)
+
+      .handler(new NettyOptionSettingChannelInitializer()
+        .option(ChannelOption.BUFFER_ALLOCATOR, NettyUtil.selectedBufferAllocator()))
+      .childHandler(new NettyNetworkServerInitializer(this, hostAndPort)
+        .option(ChannelOption.AUTO_READ, true)
+        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyWriteBufferWaterMarks.defaultWaterMark())
+        .option(ChannelOption.BUFFER_ALLOCATOR, NettyUtil.selectedBufferAllocator()))
+
+      .bind(UnixDomainSocketAddress.of(socketPath))
+      .addListener(future -> {
+        if (future.isSuccess()) {
+          result.complete(null);
+
+          var closeFuture = future.getNow().closeFuture();
+          this.channelFutures.put(hostAndPort, closeFuture);
+          closeFuture.addListener(_ -> {
+            try {
+              Files.deleteIfExists(socketPath);
+            } catch (IOException _) {
+              // the socket file is removed on the next bind anyway
+            }
+          });
+        } else {
+          result.completeExceptionally(future.cause());
+        }
+      });
+
+    return result;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -273,6 +330,18 @@ public void sendPacket(@NonNull Packet packet) {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull CompletableFuture<Void> sendPacketAsync(@NonNull Packet packet) {
+    var writeFutures = new ArrayList<CompletableFuture<Void>>(this.channels.size());
+    for (var channel : this.channels) {
+      writeFutures.add(channel.sendPacketAsync(packet));
+    }
+    return CompletableFuture.allOf(writeFutures.toArray(CompletableFuture[]::new));
+  }
+
   /**
    * {@inheritDoc}
    */
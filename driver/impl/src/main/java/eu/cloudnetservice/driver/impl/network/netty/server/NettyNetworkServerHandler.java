@@ -16,8 +16,10 @@
 
 package eu.cloudnetservice.driver.impl.network.netty.server;
 
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
 import eu.cloudnetservice.driver.impl.network.netty.NettyNetworkChannel;
 import eu.cloudnetservice.driver.impl.network.netty.NettyNetworkHandler;
+import eu.cloudnetservice.driver.impl.network.protocol.DefaultQueryPacketManager;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import io.netty5.channel.ChannelHandlerContext;
@@ -61,6 +63,10 @@ public void channelActive(@NonNull ChannelHandlerContext ctx) throws Exception {
       HostAndPort.fromSocketAddress(ctx.channel().remoteAddress()),
       false
     ));
+    DefaultNetworkMetrics.INSTANCE.registerChannel(this.channel);
+    if (this.channel.queryPacketManager() instanceof DefaultQueryPacketManager queryPacketManager) {
+      queryPacketManager.timeoutExecutor(this.packetDispatcher());
+    }
     this.channel.handler().handleChannelInitialize(this.channel);
   }
 
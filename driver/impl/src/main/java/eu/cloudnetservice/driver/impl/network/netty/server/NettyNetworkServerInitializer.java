@@ -20,7 +20,6 @@
 import eu.cloudnetservice.driver.impl.network.netty.codec.NettyPacketDecoder;
 import eu.cloudnetservice.driver.impl.network.netty.codec.NettyPacketEncoder;
 import eu.cloudnetservice.driver.impl.network.netty.codec.VarInt32FrameDecoder;
-import eu.cloudnetservice.driver.impl.network.netty.codec.VarInt32FramePrepender;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import io.netty5.channel.Channel;
 import lombok.NonNull;
@@ -62,8 +61,7 @@ protected void doInitChannel(@NonNull Channel ch) {
     ch.pipeline()
       .addLast("packet-length-deserializer", new VarInt32FrameDecoder())
       .addLast("packet-decoder", new NettyPacketDecoder())
-      .addLast("packet-length-serializer", VarInt32FramePrepender.INSTANCE)
-      .addLast("packet-encoder", NettyPacketEncoder.INSTANCE)
+      .addLast("packet-encoder", new NettyPacketEncoder())
       .addLast("network-server-handler", new NettyNetworkServerHandler(this.networkServer, this.serverLocalAddress));
   }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.cloudnetservice.driver.impl.network.object;
+
+import eu.cloudnetservice.driver.impl.network.netty.NettyNetworkChannel;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the negotiated state of the binary document encoding which is used to transfer documents over the network.
+ * Every component is able to read documents in both the binary and the json encoding, but documents are only written
+ * in the binary encoding on connections which negotiated during their authorization that both sides accept it. The
+ * negotiated state is stored as an attribute of each channel and dropped once the channel becomes inactive.
+ * <p>
+ * As documents are encoded before the channel they are sent through is known, and encoded payloads (for example the
+ * content of channel messages) are forwarded through the cluster as they are, the binary encoding is only used while
+ * every open channel negotiated it. A component does not accept the binary encoding on new connections while a
+ * connection that only accepts the json encoding is open, which keeps forwarded payloads readable by every receiver.
+ * The binary encoding can be rejected by setting the system property {@code cloudnet.net.document.binary.disabled} to
+ * true.
+ *
+ * @since 4.0
+ */
+public final class BinaryDocumentEncoding {
+
+  /**
+   * The name written instead of the document factory name to indicate that a document uses the binary encoding.
+   */
+  public static final String FORMAT_MARKER = "json/binary";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BinaryDocumentEncoding.class);
+  private static final boolean ACCEPT_BINARY_DOCUMENTS = !Boolean.getBoolean("cloudnet.net.document.binary.disabled");
+
+  private static final Set<NetworkChannel> BINARY_CHANNELS = ConcurrentHashMap.newKeySet();
+  private static final Set<NetworkChannel> JSON_CHANNELS = ConcurrentHashMap.newKeySet();
+
+  private BinaryDocumentEncoding() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get if the current component accepts the binary document encoding when negotiating a new connection. This is not
+   * the case if the binary encoding was disabled or if a connection which only accepts the json encoding is open.
+   *
+   * @return true if the current component accepts the binary document encoding, false otherwise.
+   */
+  public static boolean acceptBinaryDocuments() {
+    return ACCEPT_BINARY_DOCUMENTS && JSON_CHANNELS.isEmpty();
+  }
+
+  /**
+   * Get if documents should be written using the binary encoding. This is only the case if at least one open
+   * connection negotiated to use the binary encoding and no open connection negotiated to use the json encoding.
+   *
+   * @return true if documents should be written using the binary encoding, false otherwise.
+   */
+  public static boolean enabled() {
+    return !BINARY_CHANNELS.isEmpty() && JSON_CHANNELS.isEmpty();
+  }
+
+  /**
+   * Get if the given channel negotiated to use the binary document encoding during its authorization.
+   *
+   * @param channel the channel to check.
+   * @return true if the binary encoding was negotiated for the given channel, false otherwise.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static boolean enabled(@NonNull NetworkChannel channel) {
+    return channel instanceof NettyNetworkChannel nettyChannel && nettyChannel.binaryDocuments();
+  }
+
+  /**
+   * Applies the result of the negotiation of the given channel and stores it as an attribute of the channel. The
+   * binary encoding is only accepted on the channel if both the current and the remote component accept it.
+   *
+   * @param channel       the channel which was negotiated.
+   * @param remoteAccepts if the remote component accepts the binary document encoding.
+   * @return true if the binary encoding is accepted on the negotiated channel, false otherwise.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static boolean negotiate(@NonNull NetworkChannel channel, boolean remoteAccepts) {
+    var accepted = acceptBinaryDocuments() && remoteAccepts;
+    if (channel instanceof NettyNetworkChannel nettyChannel) {
+      nettyChannel.binaryDocuments(accepted);
+    }
+
+    if (accepted) {
+      JSON_CHANNELS.remove(channel);
+      BINARY_CHANNELS.add(channel);
+    } else {
+      BINARY_CHANNELS.remove(channel);
+      JSON_CHANNELS.add(channel);
+      if (!BINARY_CHANNELS.isEmpty()) {
+        // payloads which were encoded by components on binary channels are forwarded as they are
+        LOGGER.warn(
+          "Connection {} does not accept binary documents while other connections use them, falling back to json",
+          channel.clientAddress());
+      }
+    }
+
+    return accepted;
+  }
+
+  /**
+   * Removes the negotiated state of the given channel, called once the channel became inactive.
+   *
+   * @param channel the channel which became inactive.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static void channelClosed(@NonNull NetworkChannel channel) {
+    BINARY_CHANNELS.remove(channel);
+    JSON_CHANNELS.remove(channel);
+  }
+}
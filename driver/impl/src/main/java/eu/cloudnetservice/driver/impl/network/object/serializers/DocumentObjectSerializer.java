@@ -18,6 +18,8 @@
 
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.impl.document.gson.GsonBinaryDocumentCodec;
+import eu.cloudnetservice.driver.impl.network.object.BinaryDocumentEncoding;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.object.ObjectMapper;
 import eu.cloudnetservice.driver.network.object.ObjectSerializer;
@@ -26,7 +28,9 @@
 import lombok.NonNull;
 
 /**
- * An object serializer which can write and read a json document to/from the buffer.
+ * An object serializer which can write and read a json document to/from the buffer. Documents are written using the
+ * binary document encoding if it was negotiated and is supported by the document, all other documents are written by
+ * the factory that created them.
  *
  * @since 4.0
  */
@@ -42,6 +46,10 @@ public final class DocumentObjectSerializer implements ObjectSerializer<Document
     @NonNull ObjectMapper caller
   ) {
     var documentFactoryName = source.readString();
+    if (documentFactoryName.equals(BinaryDocumentEncoding.FORMAT_MARKER)) {
+      return GsonBinaryDocumentCodec.read(source);
+    }
+
     var documentFactory = ServiceRegistry.registry().instance(DocumentFactory.class, documentFactoryName);
     return documentFactory.parse(source);
   }
@@ -56,7 +64,12 @@ public void write(
     @NonNull Type type,
     @NonNull ObjectMapper caller
   ) {
-    dataBuf.writeString(object.factoryName());
-    object.writeTo(dataBuf);
+    if (BinaryDocumentEncoding.enabled() && GsonBinaryDocumentCodec.supports(object)) {
+      dataBuf.writeString(BinaryDocumentEncoding.FORMAT_MARKER);
+      GsonBinaryDocumentCodec.write(dataBuf, object);
+    } else {
+      dataBuf.writeString(object.factoryName());
+      object.writeTo(dataBuf);
+    }
   }
 }
@@ -16,43 +16,83 @@
 
 package eu.cloudnetservice.driver.impl.network.protocol;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.RemovalCause;
-import com.github.benmanes.caffeine.cache.RemovalListener;
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import io.netty5.util.HashedWheelTimer;
+import io.netty5.util.Timeout;
+import io.netty5.util.Timer;
+import io.netty5.util.TimerTask;
+import java.nio.channels.ClosedChannelException;
 import java.time.Duration;
-import java.util.Objects;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * The default implementation of the query manager.
+ * The default implementation of the query manager. Each query sent through this manager gets a sequence number that is
+ * unique for the associated channel. The query unique id sent to the receiver is composed of a random per-manager prefix
+ * (the most significant bits) and the sequence number (the least significant bits), which makes it possible to resolve
+ * the waiting handler of a response without hashing the full unique id. Pending queries expire after their timeout
+ * through a shared hashed wheel timer and are failed immediately when the associated channel gets closed. The futures
+ * of expired queries are completed on the timeout executor of the manager rather than on the timer thread, as the
+ * dependent stages of the callers would otherwise delay the expiration of all other queries.
  *
  * @since 4.0
  */
 public class DefaultQueryPacketManager implements QueryPacketManager {
 
+  /**
+   * The default time after which a query is completed with a timeout exception if no response was received. Queries
+   * which should expire earlier (for example rpcs with an execution timeout) must pass their timeout explicitly.
+   */
+  public static final Duration DEFAULT_QUERY_TIMEOUT = Duration.ofSeconds(
+    Long.getLong("cloudnet.net.query-timeout-seconds", 8 * 60 * 60));
+
+  private static final int SLOT_COUNT = 1 << 12;
+  private static final int SLOT_MASK = SLOT_COUNT - 1;
+
+  private static final Timer QUERY_TIMEOUT_TIMER = new HashedWheelTimer(
+    Thread.ofPlatform().name("QueryTimeoutTimer").daemon().factory(),
+    100,
+    TimeUnit.MILLISECONDS,
+    512);
+
   protected final NetworkChannel networkChannel;
-  protected final Cache<UUID, CompletableFuture<Packet>> waitingHandlers;
+
+  private final long queryIdPrefix = ThreadLocalRandom.current().nextLong();
+  private final AtomicLong querySequence = new AtomicLong();
+
+  // pending queries are stored in the slot of their sequence number. if the slot is still occupied by an older query
+  // that did not receive a response yet, the query is put into the overflow map instead
+  private final AtomicReferenceArray<PendingQuery> pendingQuerySlots = new AtomicReferenceArray<>(SLOT_COUNT);
+  private final Map<Long, PendingQuery> overflowPendingQueries = new ConcurrentHashMap<>();
+  private final LongAdder pendingQueryCount = new LongAdder();
+
+  private volatile Throwable closeCause;
+  private volatile Executor timeoutExecutor = ForkJoinPool.commonPool();
 
   /**
-   * Constructs a new query manager for the given network with the provided query timeout.
+   * Constructs a new query manager for the given network channel.
    *
    * @param networkChannel the network channel associated with this manager.
    * @throws NullPointerException if the given network channel is null.
    */
   public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel) {
     this.networkChannel = networkChannel;
-    this.waitingHandlers = Caffeine.newBuilder()
-      .expireAfterWrite(Duration.ofHours(8))
-      .removalListener(this.newRemovalListener())
-      .build();
   }
 
   /**
@@ -68,7 +108,7 @@ public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel) {
    */
   @Override
   public long waitingHandlerCount() {
-    return this.waitingHandlers.estimatedSize();
+    return this.pendingQueryCount.sum();
   }
 
   /**
@@ -76,7 +116,14 @@ public long waitingHandlerCount() {
    */
   @Override
   public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
-    return this.waitingHandlers.getIfPresent(queryUniqueId) != null;
+    if (queryUniqueId.getMostSignificantBits() != this.queryIdPrefix) {
+      return false;
+    }
+
+    var sequence = queryUniqueId.getLeastSignificantBits();
+    var pendingQuery = this.pendingQuerySlots.get(slotIndex(sequence));
+    return (pendingQuery != null && pendingQuery.sequence == sequence)
+      || this.overflowPendingQueries.containsKey(sequence);
   }
 
   /**
@@ -84,11 +131,19 @@ public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
    */
   @Override
   public @Nullable CompletableFuture<Packet> waitingHandler(@NonNull UUID queryUniqueId) {
-    var task = this.waitingHandlers.getIfPresent(queryUniqueId);
-    if (task != null) {
-      this.waitingHandlers.invalidate(queryUniqueId);
+    // query ids that were not assigned by this manager (for example queries sent by the other side) are never waiting
+    if (queryUniqueId.getMostSignificantBits() != this.queryIdPrefix) {
+      return null;
     }
-    return task;
+
+    var pendingQuery = this.removePendingQuery(queryUniqueId.getLeastSignificantBits());
+    if (pendingQuery != null) {
+      pendingQuery.cancelTimeout();
+      DefaultNetworkMetrics.INSTANCE.recordQueryRoundTrip(System.nanoTime() - pendingQuery.sendTime);
+      return pendingQuery.responseFuture;
+    }
+
+    return null;
   }
 
   /**
@@ -96,29 +151,195 @@ public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
    */
   @Override
   public @NonNull CompletableFuture<Packet> sendQueryPacket(@NonNull Packet packet) {
-    // constructs and register a task for the given query unique id. note that if a replacement by key is
-    // happening in the cache, the eviction listener is called and the previous future is automatically
-    // cancelled, therefore there is no need to explicitly check for that here.
-    var responseTask = new CompletableFuture<Packet>();
-    var queryUniqueId = Objects.requireNonNullElseGet(packet.uniqueId(), UUID::randomUUID);
-    this.waitingHandlers.put(queryUniqueId, responseTask);
-
-    packet.uniqueId(queryUniqueId);
-    this.networkChannel.sendPacketSync(packet);
-    return responseTask;
+    return this.sendQueryPacket(packet, DEFAULT_QUERY_TIMEOUT);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull CompletableFuture<Packet> sendQueryPacket(@NonNull Packet packet, @NonNull Duration timeout) {
+    var sequence = this.querySequence.incrementAndGet();
+    var sendTime = System.nanoTime();
+    var pendingQuery = new PendingQuery(sequence, sendTime);
+    this.registerPendingQuery(pendingQuery);
+
+    // the channel might have been closed while registering the query, in that case the query must be failed
+    // directly as the close handling might not have seen the registration
+    var closeCause = this.closeCause;
+    if (closeCause != null) {
+      this.failPendingQuery(sequence, closeCause);
+      return pendingQuery.responseFuture;
+    }
+
+    pendingQuery.timeout = QUERY_TIMEOUT_TIMER.newTimeout(pendingQuery, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    packet.uniqueId(new UUID(this.queryIdPrefix, sequence));
+
+    // send the query without waiting for the write to complete, if the write fails the query will never
+    // receive a response and can be failed directly
+    this.networkChannel.sendPacketAsync(packet).whenComplete((_, exception) -> {
+      if (exception != null) {
+        this.failPendingQuery(sequence, exception);
+      }
+    });
+    return pendingQuery.responseFuture;
+  }
+
+  /**
+   * Sets the executor on which the futures of expired queries are completed. Network components pass their packet
+   * dispatcher, by default the common fork join pool is used.
+   *
+   * @param timeoutExecutor the executor to complete the futures of expired queries on.
+   * @throws NullPointerException if the given executor is null.
+   */
+  public void timeoutExecutor(@NonNull Executor timeoutExecutor) {
+    this.timeoutExecutor = timeoutExecutor;
+  }
+
+  /**
+   * Fails all queries that are still waiting for a response, as well as all queries that are sent in the future through
+   * this manager, with the given exception. This method should be called when the associated channel gets closed.
+   *
+   * @param cause the exception to complete the waiting handlers with.
+   * @throws NullPointerException if the given cause is null.
+   */
+  public void failWaitingHandlers(@NonNull Throwable cause) {
+    this.closeCause = cause;
+    for (var index = 0; index < SLOT_COUNT; index++) {
+      var pendingQuery = this.pendingQuerySlots.get(index);
+      if (pendingQuery != null) {
+        this.failPendingQuery(pendingQuery.sequence, cause);
+      }
+    }
+
+    for (var sequence : this.overflowPendingQueries.keySet()) {
+      this.failPendingQuery(sequence, cause);
+    }
+  }
+
+  /**
+   * Fails all waiting handlers of this manager because the associated channel was closed.
+   *
+   * @see #failWaitingHandlers(Throwable)
+   */
+  public void failWaitingHandlers() {
+    this.failWaitingHandlers(new ClosedChannelException());
+  }
+
+  /**
+   * Registers the given pending query, either in the slot of its sequence number or in the overflow map in case the slot
+   * is still in use by an older query.
+   *
+   * @param pendingQuery the pending query to register.
+   * @throws NullPointerException if the given pending query is null.
+   */
+  private void registerPendingQuery(@NonNull PendingQuery pendingQuery) {
+    var slotIndex = slotIndex(pendingQuery.sequence);
+    if (!this.pendingQuerySlots.compareAndSet(slotIndex, null, pendingQuery)) {
+      this.overflowPendingQueries.put(pendingQuery.sequence, pendingQuery);
+    }
+
+    this.pendingQueryCount.increment();
+  }
+
+  /**
+   * Removes the pending query with the given sequence number from this manager. Only one caller will ever be able to
+   * remove a pending query, all other callers will get null as the return value.
+   *
+   * @param sequence the sequence number of the query to remove.
+   * @return the removed pending query, null if no query with the given sequence number is waiting.
+   */
+  private @Nullable PendingQuery removePendingQuery(long sequence) {
+    var slotIndex = slotIndex(sequence);
+    var pendingQuery = this.pendingQuerySlots.get(slotIndex);
+    if (pendingQuery == null || pendingQuery.sequence != sequence) {
+      pendingQuery = this.overflowPendingQueries.remove(sequence);
+    } else if (!this.pendingQuerySlots.compareAndSet(slotIndex, pendingQuery, null)) {
+      pendingQuery = null;
+    }
+
+    if (pendingQuery != null) {
+      this.pendingQueryCount.decrement();
+    }
+    return pendingQuery;
   }
 
   /**
-   * Constructs a new removal listener for the cache, completing the future of a query packet with a timeout exception
-   * when evicted from the cache.
+   * Removes the pending query with the given sequence number and completes it exceptionally with the given cause.
    *
-   * @return a new removal listeners for unanswered packet future completion.
+   * @param sequence the sequence number of the query to fail.
+   * @param cause    the exception to complete the query with.
+   * @throws NullPointerException if the given cause is null.
    */
-  protected @NonNull RemovalListener<UUID, CompletableFuture<Packet>> newRemovalListener() {
-    return (_, value, cause) -> {
-      if (cause != RemovalCause.EXPLICIT && value != null) {
-        value.completeExceptionally(new TimeoutException());
+  private void failPendingQuery(long sequence, @NonNull Throwable cause) {
+    var pendingQuery = this.removePendingQuery(sequence);
+    if (pendingQuery != null) {
+      pendingQuery.cancelTimeout();
+      pendingQuery.responseFuture.completeExceptionally(cause);
+    }
+  }
+
+  /**
+   * Get the index of the slot in which a pending query with the given sequence number is stored.
+   *
+   * @param sequence the sequence number of the query.
+   * @return the index of the slot for the given sequence number.
+   */
+  private static int slotIndex(long sequence) {
+    return (int) (sequence & SLOT_MASK);
+  }
+
+  /**
+   * A query which is waiting for a response, expiring when the timeout of the query is reached.
+   *
+   * @since 4.0
+   */
+  private final class PendingQuery implements TimerTask {
+
+    private final long sequence;
+    private final long sendTime;
+    private final CompletableFuture<Packet> responseFuture = new CompletableFuture<>();
+
+    private volatile Timeout timeout;
+
+    /**
+     * Constructs a new pending query.
+     *
+     * @param sequence the sequence number of the query.
+     * @param sendTime the time at which the query was sent, based on {@link System#nanoTime()}.
+     */
+    private PendingQuery(long sequence, long sendTime) {
+      this.sequence = sequence;
+      this.sendTime = sendTime;
+    }
+
+    /**
+     * Cancels the scheduled timeout of this query, if it was scheduled already. A timeout that fires after the query
+     * was removed from the manager does nothing.
+     */
+    private void cancelTimeout() {
+      var timeout = this.timeout;
+      if (timeout != null) {
+        timeout.cancel();
       }
-    };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run(@NonNull Timeout timeout) {
+      var pendingQuery = DefaultQueryPacketManager.this.removePendingQuery(this.sequence);
+      if (pendingQuery != null) {
+        DefaultNetworkMetrics.INSTANCE.recordQueryTimeout();
+        try {
+          DefaultQueryPacketManager.this.timeoutExecutor.execute(
+            () -> pendingQuery.responseFuture.completeExceptionally(new TimeoutException()));
+        } catch (RejectedExecutionException _) {
+          // the executor was shut down, the query must still be completed
+          pendingQuery.responseFuture.completeExceptionally(new TimeoutException());
+        }
+      }
+    }
   }
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.rpc;
+
+import eu.cloudnetservice.driver.impl.network.DefaultNetworkChannel;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A per-channel table of numeric ids for rpc target methods. Instead of writing the target class name, method name and
+ * method descriptor into every rpc request, the sender assigns a numeric id to each target method and only writes that
+ * id once the receiver confirmed that it knows the mapping.
+ * <p>
+ * A target method is encoded in one of the following ways:
+ * <ol>
+ *   <li>The plain form: the class name, method name and method descriptor as strings.
+ *   <li>The definition form: an empty string, a var int containing the id shifted left by one with the lowest bit set
+ *   and the class name, method name and method descriptor as strings. The receiver registers the id for the method.
+ *   <li>The compact form: an empty string and a var int containing the id shifted left by one.
+ * </ol>
+ * <p>
+ * A sender keeps sending the definition form until it received a response to a query that contained the definition,
+ * as packets might be handled out of order by the receiver. Requests which do not expect a result are therefore sent
+ * as a query as long as they contain a definition, so that the definition gets confirmed for them as well. Components
+ * which do not use an id table (for example because the channel implementation does not support it) always send and
+ * understand the plain form.
+ *
+ * @since 4.0
+ */
+public final class RPCMethodIdTable {
+
+  // the maximum amount of ids assigned per channel, methods exceeding that limit are always sent in plain form
+  private static final int MAX_METHOD_IDS = 8192;
+
+  private final AtomicInteger methodIdCounter = new AtomicInteger();
+  private final Map<MethodKey, MethodDefinition> outboundMethods = new ConcurrentHashMap<>();
+
+  private final Object inboundMethodsLock = new Object();
+  private volatile MethodKey[] inboundMethods = new MethodKey[64];
+
+  /**
+   * Get the rpc method id table of the given channel, if the channel supports it.
+   *
+   * @param channel the channel to get the id table of.
+   * @return the rpc method id table of the given channel, null if the channel does not support it.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static @Nullable RPCMethodIdTable methodIdTable(@NonNull NetworkChannel channel) {
+    return channel instanceof DefaultNetworkChannel defaultChannel ? defaultChannel.rpcMethodIdTable() : null;
+  }
+
+  /**
+   * Writes the given rpc target method into the given buffer, using the compact form if possible. If the method
+   * definition was written instead, the returned definition should be confirmed once the receiver responded to the
+   * request.
+   *
+   * @param methodIdTable    the id table of the target channel, null if the target channel has no id table.
+   * @param target           the buffer to write the target method to.
+   * @param className        the name of the class in which the target method is located.
+   * @param methodName       the name of the target method.
+   * @param methodDescriptor the descriptor of the target method.
+   * @return the definition which was written and needs confirmation, null if no definition was written.
+   * @throws NullPointerException if the given buffer, class name, method name or method descriptor is null.
+   */
+  public static @Nullable MethodDefinition writeMethod(
+    @Nullable RPCMethodIdTable methodIdTable,
+    @NonNull DataBuf.Mutable target,
+    @NonNull String className,
+    @NonNull String methodName,
+    @NonNull String methodDescriptor
+  ) {
+    var definition = methodIdTable == null
+      ? null
+      : methodIdTable.outboundDefinition(new MethodKey(className, methodName, methodDescriptor));
+    if (definition == null) {
+      // no id table present or too many ids were assigned already
+      target.writeString(className).writeString(methodName).writeString(methodDescriptor);
+      return null;
+    }
+
+    target.writeString("");
+    if (definition.confirmed) {
+      // the receiver knows about the method id, just write the id
+      writeVarInt(target, definition.id << 1);
+      return null;
+    } else {
+      // the receiver might not know about the id yet, send the definition
+      writeVarInt(target, (definition.id << 1) | 1);
+      target.writeString(className).writeString(methodName).writeString(methodDescriptor);
+      return definition;
+    }
+  }
+
+  /**
+   * Reads a rpc target method from the given buffer, registering the method id in the given table if the definition
+   * form was used.
+   *
+   * @param methodIdTable the id table of the source channel, null if the source channel has no id table.
+   * @param source        the buffer to read the target method from.
+   * @return the target method read from the buffer, null if the buffer referenced an unknown method id.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  public static @Nullable MethodKey readMethod(@Nullable RPCMethodIdTable methodIdTable, @NonNull DataBuf source) {
+    // the plain form starts with the length of the non-empty class name, an empty string (encoded as a single 0 byte)
+    // indicates that a method id follows. the first byte is not pushed back into the buffer as that would require a
+    // transaction, which would override a transaction started by the caller
+    var firstByte = source.readByte();
+    if (firstByte != 0) {
+      var className = readString(source, firstByte);
+      return new MethodKey(className, source.readString(), source.readString());
+    }
+
+    var header = readVarInt(source, source.readByte());
+    var methodId = header >>> 1;
+    if ((header & 1) != 0) {
+      var method = new MethodKey(source.readString(), source.readString(), source.readString());
+      if (methodIdTable != null) {
+        methodIdTable.registerInboundMethod(methodId, method);
+      }
+      return method;
+    }
+
+    return methodIdTable == null ? null : methodIdTable.inboundMethod(methodId);
+  }
+
+  /**
+   * Writes the given integer as a var int into the given buffer.
+   *
+   * @param target the buffer to write to.
+   * @param value  the value to write.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  private static void writeVarInt(@NonNull DataBuf.Mutable target, int value) {
+    while ((value & ~0x7F) != 0) {
+      target.writeByte((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    target.writeByte((byte) value);
+  }
+
+  /**
+   * Reads a var int from the given buffer whose first byte was already read.
+   *
+   * @param source    the buffer to read the remaining bytes of the var int from.
+   * @param firstByte the first byte of the var int.
+   * @return the var int read from the buffer.
+   * @throws NullPointerException     if the given buffer is null.
+   * @throws IllegalArgumentException if the var int is longer than 5 bytes.
+   */
+  private static int readVarInt(@NonNull DataBuf source, byte firstByte) {
+    var value = 0;
+    var nextByte = firstByte;
+    for (var shift = 0; shift < 35; shift += 7) {
+      value |= (nextByte & 0x7F) << shift;
+      if ((nextByte & 0x80) == 0) {
+        return value;
+      }
+      nextByte = source.readByte();
+    }
+    throw new IllegalArgumentException("rpc method id var int is too big");
+  }
+
+  /**
+   * Reads a string from the given buffer whose first length byte was already read. The string must be encoded in the
+   * same way as {@link DataBuf.Mutable#writeString(String)} does.
+   *
+   * @param source          the buffer to read the remaining bytes of the string from.
+   * @param firstLengthByte the first byte of the var int length prefix of the string.
+   * @return the string read from the buffer.
+   * @throws NullPointerException     if the given buffer is null.
+   * @throws IllegalArgumentException if the length prefix is longer than 5 bytes.
+   */
+  private static @NonNull String readString(@NonNull DataBuf source, byte firstLengthByte) {
+    var stringBytes = new byte[readVarInt(source, firstLengthByte)];
+    for (var index = 0; index < stringBytes.length; index++) {
+      stringBytes[index] = source.readByte();
+    }
+    return new String(stringBytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Get or assigns the outbound definition of the given method.
+   *
+   * @param method the method to get the definition of.
+   * @return the definition of the method, null if no more ids can be assigned.
+   * @throws NullPointerException if the given method is null.
+   */
+  private @Nullable MethodDefinition outboundDefinition(@NonNull MethodKey method) {
+    var definition = this.outboundMethods.get(method);
+    if (definition != null || this.methodIdCounter.get() >= MAX_METHOD_IDS) {
+      return definition;
+    }
+
+    return this.outboundMethods.computeIfAbsent(method, _ -> {
+      var methodId = this.methodIdCounter.getAndIncrement();
+      return methodId < MAX_METHOD_IDS ? new MethodDefinition(methodId) : null;
+    });
+  }
+
+  /**
+   * Get the inbound method that was registered for the given id.
+   *
+   * @param methodId the id of the method.
+   * @return the method registered for the given id, null if no method is registered for the id.
+   */
+  private @Nullable MethodKey inboundMethod(int methodId) {
+    var methods = this.inboundMethods;
+    return methodId >= 0 && methodId < methods.length ? methods[methodId] : null;
+  }
+
+  /**
+   * Registers the given method for the given inbound method id.
+   *
+   * @param methodId the id of the method.
+   * @param method   the method to register.
+   * @throws NullPointerException if the given method is null.
+   */
+  private void registerInboundMethod(int methodId, @NonNull MethodKey method) {
+    if (methodId < 0 || methodId >= MAX_METHOD_IDS) {
+      return;
+    }
+
+    synchronized (this.inboundMethodsLock) {
+      var methods = this.inboundMethods;
+      if (methodId >= methods.length) {
+        methods = Arrays.copyOf(methods, Math.min(MAX_METHOD_IDS, Math.max(methodId + 1, methods.length << 1)));
+      }
+
+      // re-assign the array to publish the new method
+      methods[methodId] = method;
+      this.inboundMethods = methods;
+    }
+  }
+
+  /**
+   * A rpc target method.
+   *
+   * @param className        the name of the class in which the method is located.
+   * @param methodName       the name of the method.
+   * @param methodDescriptor the descriptor of the method.
+   * @since 4.0
+   */
+  public record MethodKey(@NonNull String className, @NonNull String methodName, @NonNull String methodDescriptor) {
+
+  }
+
+  /**
+   * The outbound definition of a method id.
+   *
+   * @since 4.0
+   */
+  public static final class MethodDefinition {
+
+    private final int id;
+    private volatile boolean confirmed;
+
+    /**
+     * Constructs a new method definition.
+     *
+     * @param id the id assigned to the method.
+     */
+    private MethodDefinition(int id) {
+      this.id = id;
+    }
+
+    /**
+     * Marks this definition as known to the receiver, all subsequent requests will use the compact form.
+     */
+    public void confirm() {
+      this.confirmed = true;
+    }
+  }
+}
@@ -16,6 +16,8 @@
 
 package eu.cloudnetservice.driver.impl.network.rpc.listener;
 
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
+import eu.cloudnetservice.driver.impl.network.rpc.RPCMethodIdTable;
 import eu.cloudnetservice.driver.impl.network.rpc.handler.DefaultRPCInvocationContext;
 import eu.cloudnetservice.driver.impl.network.rpc.handler.util.RPCExceptionUtil;
 import eu.cloudnetservice.driver.network.NetworkChannel;
@@ -82,9 +84,13 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
         this.executeRPCChainStep(rpcDepth, 1, resultExpected, content, packet, channel, null);
       } else {
         // single method rpc, execute & respond if requested
-        var targetClassName = content.readString();
-        var invocationContext = this.buildContext(content, null);
-        var handlingTask = this.postRPCRequestToHandler(targetClassName, invocationContext);
+        var targetMethod = RPCMethodIdTable.readMethod(RPCMethodIdTable.methodIdTable(channel), content);
+        if (targetMethod == null) {
+          this.rejectUnknownMethodId(channel, packet, resultExpected);
+          return;
+        }
+
+        var handlingTask = this.invokeTargetMethod(targetMethod, content, null);
         if (resultExpected) {
           this.waitForInvocationCompletion(handlingTask, result -> {
             var resultContent = this.serializeHandlingResult(result);
@@ -142,9 +148,13 @@ private void executeRPCChainStep(
     @Nullable Object previousMethodReturnValue
   ) {
     // execute the target method based on the provided input
-    var targetClassName = content.readString();
-    var invocationContext = this.buildContext(content, previousMethodReturnValue);
-    var invocationTask = this.postRPCRequestToHandler(targetClassName, invocationContext);
+    var targetMethod = RPCMethodIdTable.readMethod(RPCMethodIdTable.methodIdTable(channel), content);
+    if (targetMethod == null) {
+      this.rejectUnknownMethodId(channel, request, resultExpected);
+      return;
+    }
+
+    var invocationTask = this.invokeTargetMethod(targetMethod, content, previousMethodReturnValue);
     this.waitForInvocationCompletion(invocationTask, invocationResult -> {
       // handle the invocation result:
       //   -> continue invoking in case the invocation was successful and returned a non-null result
@@ -183,6 +193,24 @@ private void executeRPCChainStep(
     });
   }
 
+  /**
+   * Rejects a rpc request which referenced a method id that is unknown to the current component. This should normally
+   * not happen as the sender only uses method ids after the definition of them was confirmed.
+   *
+   * @param channel        the channel from which the request came.
+   * @param request        the request packet.
+   * @param resultExpected if the sender of the request expects a result to be sent back.
+   * @throws NullPointerException if the given channel or request is null.
+   */
+  private void rejectUnknownMethodId(@NonNull NetworkChannel channel, @NonNull Packet request, boolean resultExpected) {
+    if (resultExpected) {
+      var resultContent = DataBuf.empty()
+        .writeByte(RPCInvocationResult.STATUS_BAD_REQUEST)
+        .writeString("unknown rpc method id");
+      this.sendResponseData(channel, request, resultContent);
+    }
+  }
+
   /**
    * Serializes the result of the RPC handling process into a data buffer.
    *
@@ -230,6 +258,39 @@ private void sendResponseData(@NonNull NetworkChannel channel, @NonNull Packet r
     channel.sendPacket(responsePacket);
   }
 
+  /**
+   * Invokes the given target method with the arguments remaining in the given buffer and records the invocation into
+   * the network metrics of the target method.
+   *
+   * @param targetMethod    the target method that was read from the buffer.
+   * @param content         the remaining buffer content, containing the argument information.
+   * @param workingInstance the instance on which the methods should be called, null to use the handler binding.
+   * @return the result of the method invocation, or null if no handler for the target class is registered.
+   * @throws NullPointerException if the given target method or content buffer is null.
+   */
+  private @Nullable CompletableFuture<RPCInvocationResult> invokeTargetMethod(
+    @NonNull RPCMethodIdTable.MethodKey targetMethod,
+    @NonNull DataBuf content,
+    @Nullable Object workingInstance
+  ) {
+    var rpcTargetRecorder = DefaultNetworkMetrics.INSTANCE.rpcTarget(
+      targetMethod.className(),
+      targetMethod.methodName());
+    rpcTargetRecorder.recordInbound(content.readableBytes());
+
+    var invocationStart = System.nanoTime();
+    var invocationContext = this.buildContext(targetMethod, content, workingInstance);
+    var invocationTask = this.postRPCRequestToHandler(targetMethod.className(), invocationContext);
+    if (invocationTask == null) {
+      return null;
+    }
+
+    return invocationTask.whenComplete((_, _) -> {
+      var invocationNanos = System.nanoTime() - invocationStart;
+      rpcTargetRecorder.recordHandling(invocationNanos);
+    });
+  }
+
   /**
    * Posts the given RPC invocation context to the RPC handler that is registered for the class with the given name. If
    * no handler is registered for the class, this methods returns null instead of an invocation result.
@@ -250,26 +311,23 @@ private void sendResponseData(@NonNull NetworkChannel channel, @NonNull Packet r
   }
 
   /**
-   * Builds a new context for a rpc method invocation based on the given information and remaining content in the
-   * buffer. The given buffer should still contain (in the given order):
-   * <ol>
-   *   <li>the target method name.
-   *   <li>the target method descriptor.
-   *   <li>the argument information for the invocation, if any.
-   * </ol>
+   * Builds a new context for a rpc method invocation based on the given target method and remaining content in the
+   * buffer. The given buffer should still contain the argument information for the invocation, if any.
    *
-   * @param content         the remaining buffer content, containing the data as described above.
+   * @param targetMethod    the target method that was read from the buffer.
+   * @param content         the remaining buffer content, containing the argument information.
    * @param workingInstance the instance on which the methods should be called, null to use the handler binding.
    * @return a generated invocation context based on the given information.
-   * @throws NullPointerException if the given content buffer is null.
+   * @throws NullPointerException if the given target method or content buffer is null.
    */
-  private @NonNull RPCInvocationContext buildContext(@NonNull DataBuf content, @Nullable Object workingInstance) {
-    // read data from buffer, this must be in order it's written to the buffer
-    var methodName = content.readString();
-    var methodDescriptor = content.readString();
+  private @NonNull RPCInvocationContext buildContext(
+    @NonNull RPCMethodIdTable.MethodKey targetMethod,
+    @NonNull DataBuf content,
+    @Nullable Object workingInstance
+  ) {
     return new DefaultRPCInvocationContext.Builder()
-      .methodName(methodName)
-      .methodDescriptor(methodDescriptor)
+      .methodName(targetMethod.methodName())
+      .methodDescriptor(targetMethod.methodDescriptor())
       .argumentInformation(content) // might be unsafe, but we cannot slice the argument data due to the unknown size
       .workingInstance(workingInstance)
       .build();
@@ -16,7 +16,9 @@
 
 package eu.cloudnetservice.driver.impl.network.rpc.rpc;
 
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
 import eu.cloudnetservice.driver.impl.network.rpc.DefaultRPCProvider;
+import eu.cloudnetservice.driver.impl.network.rpc.RPCMethodIdTable;
 import eu.cloudnetservice.driver.impl.network.rpc.RPCRequestPacket;
 import eu.cloudnetservice.driver.impl.network.rpc.introspec.DefaultRPCMethodMetadata;
 import eu.cloudnetservice.driver.network.NetworkChannel;
@@ -227,7 +229,8 @@ public void fireAndForget() {
    */
   @Override
   public void fireAndForget(@NonNull NetworkChannel component) {
-    this.dropResult().fireSync(component);
+    // no need to go through fireSync, the request is written asynchronously as there is no result to wait for
+    this.dropResult().fire(component);
   }
 
   /**
@@ -266,24 +269,48 @@ public void fireAndForget(@NonNull NetworkChannel component) {
   @Override
   public @NonNull <T> CompletableFuture<T> fire(@NonNull NetworkChannel component) {
     // write the information about the RPC into a buffer
-    var dataBuf = this.dataBufFactory.createEmpty()
-      .writeInt(1) // single RPC
-      .writeString(this.className())
-      .writeString(this.methodName())
-      .writeString(this.methodDescriptor());
+    var dataBuf = this.dataBufFactory.createEmpty().writeInt(1); // single RPC
+    var methodDefinition = RPCMethodIdTable.writeMethod(
+      RPCMethodIdTable.methodIdTable(component),
+      dataBuf,
+      this.className(),
+      this.methodName(),
+      this.methodDescriptor());
     for (var argument : this.arguments) {
       this.objectMapper.writeObject(dataBuf, argument);
     }
 
+    var rpcTargetRecorder = DefaultNetworkMetrics.INSTANCE.rpcTarget(this.className(), this.methodName());
+    rpcTargetRecorder.recordOutbound(dataBuf.readableBytes());
+
     if (this.dropResult) {
-      // no result expected: send the RPC request (not a query) and just return a completed future
-      component.sendPacket(new RPCRequestPacket(dataBuf));
+      if (methodDefinition == null) {
+        // no result expected: send the RPC request (not a query) and just return a completed future
+        component.sendPacket(new RPCRequestPacket(dataBuf));
+      } else {
+        // the definition of the method must be confirmed by the receiver, send a query and ignore the result
+        component.sendQueryAsync(new RPCRequestPacket(dataBuf)).thenAccept(response -> {
+          methodDefinition.confirm();
+          response.content().forceRelease();
+        });
+      }
       return TaskUtil.finishedFuture(null);
     } else {
       // result is expected: send a query to the target network component and return the future so that
       // the caller can decide how to wait for the result
-      CompletableFuture<T> queryFuture = component
-        .sendQueryAsync(new RPCRequestPacket(dataBuf))
+      // the execution timeout is passed to the query as well, so that the pending query gets removed on timeout
+      var requestPacket = new RPCRequestPacket(dataBuf);
+      var responseFuture = this.executionTimeout == null
+        ? component.sendQueryAsync(requestPacket)
+        : component.sendQueryAsync(requestPacket, this.executionTimeout);
+      CompletableFuture<T> queryFuture = responseFuture
+        .thenApply(response -> {
+          // the receiver handled the request, therefore it knows about the method id from now on
+          if (methodDefinition != null) {
+            methodDefinition.confirm();
+          }
+          return response;
+        })
         .thenApply(new RPCResultMapper<>(this.expectedResultType(), this.objectMapper));
       if (this.executionTimeout != null) {
         // apply the requested timeout
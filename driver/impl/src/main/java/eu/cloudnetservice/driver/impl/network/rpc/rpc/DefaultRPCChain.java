@@ -16,13 +16,17 @@
 
 package eu.cloudnetservice.driver.impl.network.rpc.rpc;
 
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
 import eu.cloudnetservice.driver.impl.network.rpc.DefaultRPCProvider;
+import eu.cloudnetservice.driver.impl.network.rpc.RPCMethodIdTable;
 import eu.cloudnetservice.driver.impl.network.rpc.RPCRequestPacket;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.rpc.RPC;
 import eu.cloudnetservice.driver.network.rpc.RPCChain;
 import eu.cloudnetservice.driver.network.rpc.exception.RPCException;
 import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
+import eu.cloudnetservice.driver.network.rpc.handler.RPCInvocationResult;
 import eu.cloudnetservice.utils.base.concurrent.TaskUtil;
 import java.util.Collection;
 import java.util.Collections;
@@ -153,8 +157,9 @@ public void fireAndForget() {
    */
   @Override
   public void fireAndForget(@NonNull NetworkChannel component) {
+    // no need to go through fireSync, the request is written asynchronously as there is no result to wait for
     this.chainTail.dropResult();
-    this.fireSync(component);
+    this.fire(component);
   }
 
   /**
@@ -193,29 +198,60 @@ public void fireAndForget(@NonNull NetworkChannel component) {
   @Override
   public @NonNull <T> CompletableFuture<T> fire(@NonNull NetworkChannel component) {
     // write the chained RPC information
+    var methodIdTable = RPCMethodIdTable.methodIdTable(component);
+    var methodDefinitions = new RPCMethodIdTable.MethodDefinition[this.fullChain.size()];
     var buffer = this.dataBufFactory.createEmpty().writeInt(this.fullChain.size());
+    var chainIndex = 0;
+    var definitionsWritten = false;
     for (var chainEntry : this.fullChain) {
-      buffer
-        .writeString(chainEntry.className())
-        .writeString(chainEntry.methodName())
-        .writeString(chainEntry.methodDescriptor());
+      var entryStart = buffer.readableBytes();
+      var methodDefinition = RPCMethodIdTable.writeMethod(
+        methodIdTable,
+        buffer,
+        chainEntry.className(),
+        chainEntry.methodName(),
+        chainEntry.methodDescriptor());
+      methodDefinitions[chainIndex++] = methodDefinition;
+      definitionsWritten |= methodDefinition != null;
       for (var argument : chainEntry.arguments()) {
         this.objectMapper.writeObject(buffer, argument);
       }
+
+      var rpcTargetRecorder = DefaultNetworkMetrics.INSTANCE.rpcTarget(chainEntry.className(), chainEntry.methodName());
+      rpcTargetRecorder.recordOutbound(buffer.readableBytes() - entryStart);
     }
 
     if (this.chainTail.resultDropped()) {
-      // no result expected: send the RPC request (not a query) and just return a completed future after
-      component.sendPacket(new RPCRequestPacket(buffer));
+      if (definitionsWritten) {
+        // the method definitions must be confirmed by the receiver, send a query and ignore the result
+        component.sendQueryAsync(new RPCRequestPacket(buffer)).thenAccept(response -> {
+          confirmMethodDefinitions(methodDefinitions, response.content());
+          response.content().forceRelease();
+        });
+      } else {
+        // no result expected: send the RPC request (not a query) and just return a completed future after
+        component.sendPacket(new RPCRequestPacket(buffer));
+      }
       return TaskUtil.finishedFuture(null);
     } else {
       // result is expected: send a query to the target network component and return the future so that
       // the caller can decide how to wait for the result
-      CompletableFuture<T> queryFuture = component
-        .sendQueryAsync(new RPCRequestPacket(buffer))
+      // the execution timeout is passed to the query as well, so that the pending query gets removed on timeout
+      var timeout = this.chainTail.timeout();
+      var requestPacket = new RPCRequestPacket(buffer);
+      var responseFuture = timeout == null
+        ? component.sendQueryAsync(requestPacket)
+        : component.sendQueryAsync(requestPacket, timeout);
+      CompletableFuture<T> queryFuture = responseFuture
+        .thenApply(response -> {
+          var content = response.content();
+          content.startTransaction();
+          confirmMethodDefinitions(methodDefinitions, content);
+          content.redoTransaction();
+          return response;
+        })
         .thenApply(new RPCResultMapper<>(this.chainTail.expectedResultType(), this.objectMapper));
 
-      var timeout = this.chainTail.timeout();
       if (timeout != null) {
         // apply the requested timeout
         var timeoutMillis = timeout.toMillis();
@@ -225,4 +261,26 @@ public void fireAndForget(@NonNull NetworkChannel component) {
       return queryFuture;
     }
   }
+
+  /**
+   * Confirms the method definitions that were read by the receiver of a rpc chain request, based on the status of the
+   * response to the request. The status is read from the current reader position of the given response content.
+   *
+   * @param methodDefinitions the method definitions that were written for each entry of the chain.
+   * @param responseContent   the content of the response to the chain request.
+   * @throws NullPointerException if the given method definitions or response content is null.
+   */
+  private static void confirmMethodDefinitions(
+    @NonNull RPCMethodIdTable.MethodDefinition[] methodDefinitions,
+    @NonNull DataBuf responseContent
+  ) {
+    // the receiver only reads all chain entries if the chain was executed successfully, in all other cases
+    // only the first entry is guaranteed to be read. the receiver knows about the read method ids from now on
+    var readEntries = responseContent.readByte() == RPCInvocationResult.STATUS_OK ? methodDefinitions.length : 1;
+    for (var index = 0; index < readEntries; index++) {
+      if (methodDefinitions[index] != null) {
+        methodDefinitions[index].confirm();
+      }
+    }
+  }
 }
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.driver.impl.network.scheduler;
 
 import java.util.concurrent.Executor;
+import lombok.NonNull;
 
 /**
  * A scheduler for tasks that are triggered by incoming network calls and should be handled non-blocking (for execute
@@ -31,4 +32,15 @@ public interface NetworkTaskScheduler extends Executor {
    * from being scheduled.
    */
   void shutdown();
+
+  /**
+   * Creates a new executor for the tasks of a single network channel. Schedulers which support ordered execution return
+   * an executor that executes the submitted tasks one after another in submission order. By default, this scheduler is
+   * returned, which does not guarantee any ordering between the submitted tasks.
+   *
+   * @return an executor for the tasks of a single network channel.
+   */
+  default @NonNull Executor newChannelExecutor() {
+    return this;
+  }
 }
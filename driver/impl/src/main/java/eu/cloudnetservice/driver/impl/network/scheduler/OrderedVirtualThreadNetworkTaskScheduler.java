@@ -0,0 +1,254 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of a network task scheduler that executes each task on a virtual thread. Tasks submitted through
+ * the executor of a channel are executed one after another in submission order, while the tasks of different channels
+ * are executed in parallel. Blocking tasks only park their virtual thread, no additional platform threads are started.
+ * <p>
+ * The scheduler records the amount of tasks that are waiting for their execution and the time spent executing tasks.
+ *
+ * @since 4.0
+ */
+public final class OrderedVirtualThreadNetworkTaskScheduler implements NetworkTaskScheduler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OrderedVirtualThreadNetworkTaskScheduler.class);
+
+  private final AtomicBoolean active;
+  private final ExecutorService executor;
+
+  private final LongAdder queuedTasks = new LongAdder();
+  private final LongAdder executedTasks = new LongAdder();
+  private final LongAdder executionNanos = new LongAdder();
+  private final LongAccumulator maxExecutionNanos = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Constructs a new ordered virtual thread task scheduler.
+   *
+   * @param threadNamePrefix the prefix for the names of the virtual threads started by this scheduler.
+   * @throws NullPointerException if the given thread name prefix is null.
+   */
+  public OrderedVirtualThreadNetworkTaskScheduler(@NonNull String threadNamePrefix) {
+    this.active = new AtomicBoolean(true);
+    this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void shutdown() {
+    if (this.active.compareAndSet(true, false)) {
+      this.executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Get if this scheduler is still accepting tasks, which is the case until it gets shut down.
+   *
+   * @return true if this scheduler was not shut down yet, false otherwise.
+   */
+  public boolean active() {
+    return this.active.get();
+  }
+
+  /**
+   * Executes the given task on a new virtual thread, without any ordering guarantees relative to other tasks.
+   *
+   * @param command the task to execute.
+   * @throws NullPointerException       if the given task is null.
+   * @throws RejectedExecutionException if this scheduler was shut down.
+   */
+  @Override
+  public void execute(@NonNull Runnable command) {
+    if (!this.active.get()) {
+      throw new RejectedExecutionException("scheduler was shut down");
+    }
+
+    this.queuedTasks.increment();
+    this.executor.execute(() -> {
+      this.queuedTasks.decrement();
+      this.runTask(command);
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull ChannelTaskExecutor newChannelExecutor() {
+    return new ChannelTaskExecutor();
+  }
+
+  /**
+   * Get the amount of tasks that were submitted to this scheduler, but not yet started.
+   *
+   * @return the amount of tasks waiting for their execution.
+   */
+  public long queuedTasks() {
+    return this.queuedTasks.sum();
+  }
+
+  /**
+   * Get the amount of tasks that were executed by this scheduler.
+   *
+   * @return the amount of executed tasks.
+   */
+  public long executedTasks() {
+    return this.executedTasks.sum();
+  }
+
+  /**
+   * Get the summed up time in nanoseconds it took to execute all tasks that were executed by this scheduler.
+   *
+   * @return the total execution time of all executed tasks in nanoseconds.
+   */
+  public long totalExecutionNanos() {
+    return this.executionNanos.sum();
+  }
+
+  /**
+   * Get the average time in nanoseconds it took to execute a task, 0 if no task was executed yet.
+   *
+   * @return the average execution time of a task in nanoseconds.
+   */
+  public long averageExecutionNanos() {
+    var executedTasks = this.executedTasks.sum();
+    return executedTasks == 0 ? 0 : this.executionNanos.sum() / executedTasks;
+  }
+
+  /**
+   * Get the longest time in nanoseconds it took to execute a task, 0 if no task was executed yet.
+   *
+   * @return the maximum execution time of a task in nanoseconds.
+   */
+  public long maxExecutionNanos() {
+    return this.maxExecutionNanos.get();
+  }
+
+  /**
+   * Runs the given task and records its execution time. Everything thrown by the task (including errors) is logged and
+   * not propagated, as the calling channel executor would otherwise stop executing the remaining tasks.
+   *
+   * @param task the task to run.
+   * @throws NullPointerException if the given task is null.
+   */
+  private void runTask(@NonNull Runnable task) {
+    var start = System.nanoTime();
+    try {
+      task.run();
+    } catch (Throwable throwable) {
+      LOGGER.error("Exception while executing network task {}", task, throwable);
+    } finally {
+      var executionTime = System.nanoTime() - start;
+      this.executedTasks.increment();
+      this.executionNanos.add(executionTime);
+      this.maxExecutionNanos.accumulate(executionTime);
+    }
+  }
+
+  /**
+   * An executor which executes the tasks of a single channel one after another in submission order. A virtual thread is
+   * only bound to the executor while it has tasks to execute.
+   *
+   * @since 4.0
+   */
+  public final class ChannelTaskExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final LongAdder queuedTasks = new LongAdder();
+
+    /**
+     * Constructs a new channel task executor. Only instantiated by the outer scheduler.
+     */
+    private ChannelTaskExecutor() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(@NonNull Runnable command) {
+      var scheduler = OrderedVirtualThreadNetworkTaskScheduler.this;
+      if (!scheduler.active.get()) {
+        throw new RejectedExecutionException("scheduler was shut down");
+      }
+
+      this.queuedTasks.increment();
+      scheduler.queuedTasks.increment();
+      this.tasks.add(command);
+      this.scheduleDrain();
+    }
+
+    /**
+     * Get the amount of tasks of this channel that are waiting for their execution.
+     *
+     * @return the amount of tasks waiting for their execution.
+     */
+    public long queuedTasks() {
+      return this.queuedTasks.sum();
+    }
+
+    /**
+     * Starts a new virtual thread which executes the queued tasks, unless a thread is already executing them.
+     */
+    private void scheduleDrain() {
+      if (!this.draining.get() && this.draining.compareAndSet(false, true)) {
+        try {
+          OrderedVirtualThreadNetworkTaskScheduler.this.executor.execute(this::drainTasks);
+        } catch (RejectedExecutionException _) {
+          // the scheduler was shut down in the meantime, the queued tasks will never be executed
+          this.draining.set(false);
+        }
+      }
+    }
+
+    /**
+     * Executes all queued tasks one after another until the queue is empty.
+     */
+    private void drainTasks() {
+      var scheduler = OrderedVirtualThreadNetworkTaskScheduler.this;
+      do {
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+          this.queuedTasks.decrement();
+          scheduler.queuedTasks.decrement();
+          scheduler.runTask(task);
+        }
+
+        this.draining.set(false);
+        // a task might have been added after the last poll but before the state reset, in that case the thread that
+        // added the task did not schedule a new drain, and we need to continue executing the tasks
+      } while (!this.tasks.isEmpty() && this.draining.compareAndSet(false, true));
+    }
+  }
+}
@@ -17,6 +17,8 @@
 package eu.cloudnetservice.driver.impl.network.standard;
 
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.impl.network.netty.compression.NettyPacketCompression;
+import eu.cloudnetservice.driver.impl.network.object.BinaryDocumentEncoding;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
 import lombok.NonNull;
@@ -40,6 +42,10 @@
  *   <li>The cluster id
  *   <li>The network cluster node (offline information) of the node.
  * </ol>
+ * <p>
+ * In both cases the packet additionally contains if the connecting component accepts compressed packets and binary
+ * encoded documents. The node responds with the compression threshold to use for the connection, based on the requested
+ * authorization type, and if binary encoded documents should be used.
  *
  * @since 4.0
  */
@@ -55,7 +61,11 @@ public final class AuthorizationPacket extends BasePacket {
   public AuthorizationPacket(@NonNull PacketAuthorizationType type, @NonNull DataBuf dataBuf) {
     super(
       NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL,
-      DataBuf.empty().writeObject(type).writeDataBuf(dataBuf));
+      DataBuf.empty()
+        .writeObject(type)
+        .writeDataBuf(dataBuf)
+        .writeBoolean(NettyPacketCompression.acceptCompression())
+        .writeBoolean(BinaryDocumentEncoding.acceptBinaryDocuments()));
   }
 
   /**
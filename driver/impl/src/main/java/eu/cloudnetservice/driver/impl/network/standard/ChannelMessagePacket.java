@@ -18,9 +18,14 @@
 
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
+import eu.cloudnetservice.driver.impl.network.netty.buffer.NettyImmutableDataBuf;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A packet which gets sent to indicate that a channel message should get processed. Sending this packet to a node will
@@ -31,6 +36,8 @@
  */
 public final class ChannelMessagePacket extends BasePacket {
 
+  private final String coalescingKey;
+
   /**
    * Constructs a new channel message packet instance.
    *
@@ -43,5 +50,90 @@ public ChannelMessagePacket(@NonNull ChannelMessage message, boolean wrapper) {
       NetworkConstants.CHANNEL_MESSAGING_CHANNEL,
       message.prioritized(),
       DataBuf.empty().writeBoolean(wrapper).writeObject(message));
+    this.coalescingKey = null;
+    DefaultNetworkMetrics.INSTANCE.channelMessage(message.channel()).recordOutbound(message.content().readableBytes());
+  }
+
+  /**
+   * Constructs a new channel message packet with the given, already encoded content.
+   *
+   * @param prioritized   if the packet is prioritized.
+   * @param content       the encoded channel message.
+   * @param coalescingKey the key of the messages superseded by the encoded message, null if none.
+   * @throws NullPointerException if the given content is null.
+   */
+  private ChannelMessagePacket(boolean prioritized, @NonNull DataBuf content, @Nullable String coalescingKey) {
+    super(NetworkConstants.CHANNEL_MESSAGING_CHANNEL, prioritized, content);
+    this.coalescingKey = coalescingKey;
+  }
+
+  /**
+   * Creates the given amount of packets for the given channel message, for example to send the message to many target
+   * channels. The message is only encoded once, all created packets share the memory of the encoded message. Each
+   * packet must be sent exactly once (or its content must be released), the content of the given channel message is
+   * released by this method.
+   *
+   * @param message the channel message which should be sent to the other components.
+   * @param wrapper if the channel was sent by a wrapper component.
+   * @param amount  the amount of packets to create.
+   * @return the created packets, all sharing the same encoded message.
+   * @throws NullPointerException if the given channel message is null.
+   */
+  public static @NonNull List<ChannelMessagePacket> createShared(
+    @NonNull ChannelMessage message,
+    boolean wrapper,
+    int amount
+  ) {
+    return createShared(message, wrapper, amount, null);
+  }
+
+  /**
+   * Creates the given amount of packets for the given channel message, see {@link #createShared(ChannelMessage,
+   * boolean, int)}. All created packets are associated with the given coalescing key, a packet that is still waiting
+   * to be sent can be dropped when a newer packet with the same key is sent to the same channel.
+   *
+   * @param message       the channel message which should be sent to the other components.
+   * @param wrapper       if the channel was sent by a wrapper component.
+   * @param amount        the amount of packets to create.
+   * @param coalescingKey the key of the messages superseded by the given message, null if none.
+   * @return the created packets, all sharing the same encoded message.
+   * @throws NullPointerException if the given channel message is null.
+   */
+  public static @NonNull List<ChannelMessagePacket> createShared(
+    @NonNull ChannelMessage message,
+    boolean wrapper,
+    int amount,
+    @Nullable String coalescingKey
+  ) {
+    if (amount <= 0) {
+      message.content().release();
+      return List.of();
+    }
+
+    var contentBytes = message.content().readableBytes();
+    var metrics = DefaultNetworkMetrics.INSTANCE.channelMessage(message.channel());
+    var encodedMessage = (NettyImmutableDataBuf) DataBuf.empty().writeBoolean(wrapper).writeObject(message);
+    try {
+      List<ChannelMessagePacket> packets = new ArrayList<>(amount);
+      for (var index = 0; index < amount; index++) {
+        packets.add(new ChannelMessagePacket(message.prioritized(), encodedMessage.sharedView(), coalescingKey));
+        metrics.recordOutbound(contentBytes);
+      }
+
+      return packets;
+    } finally {
+      // each packet holds its own view of the encoded message, the original buffer is no longer needed
+      encodedMessage.release();
+    }
+  }
+
+  /**
+   * Get the key of the channel messages that are superseded by the message in this packet. A packet that is waiting to
+   * be sent can be dropped when a newer packet with the same key is sent to the same channel.
+   *
+   * @return the key of the messages superseded by the message in this packet, null if the message supersedes none.
+   */
+  public @Nullable String coalescingKey() {
+    return this.coalescingKey;
   }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.channel;
+
+import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@EnableServicesInject
+public class ChannelSubscriptionFilterTest {
+
+  @Test
+  void testExactAndWildcardSubscriptions() {
+    var filter = ChannelSubscriptionFilter.of(List.of("signs", "bridge_*"));
+
+    Assertions.assertTrue(filter.matches("signs"));
+    Assertions.assertTrue(filter.matches("bridge_internal_player_channel"));
+    Assertions.assertTrue(filter.matches(NetworkConstants.INTERNAL_MSG_CHANNEL));
+
+    Assertions.assertFalse(filter.matches("signs_update"));
+    Assertions.assertFalse(filter.matches("npcs"));
+  }
+
+  @Test
+  void testAllFilterMatchesEveryChannel() {
+    Assertions.assertTrue(ChannelSubscriptionFilter.ALL.matches("npcs"));
+    Assertions.assertTrue(ChannelSubscriptionFilter.of(Set.of("*")).matches("signs"));
+    Assertions.assertFalse(ChannelSubscriptionFilter.of(Set.of()).matches("signs"));
+  }
+
+  @Test
+  void testFilterSerialization() {
+    var filter = ChannelSubscriptionFilter.of(List.of("signs", "bridge_*"));
+    var buffer = filter.writeTo(DataBuf.empty());
+
+    var decodedFilter = ChannelSubscriptionFilter.readFrom(buffer);
+    Assertions.assertEquals(filter.subscriptions(), decodedFilter.subscriptions());
+    Assertions.assertTrue(decodedFilter.matches("bridge_internal_com_channel"));
+  }
+}
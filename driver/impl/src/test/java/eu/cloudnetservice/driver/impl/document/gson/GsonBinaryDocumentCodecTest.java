@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.document.gson;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.document.DocumentParseException;
+import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
+import eu.cloudnetservice.driver.impl.network.object.BinaryDocumentEncoding;
+import eu.cloudnetservice.driver.impl.network.rpc.object.AllPrimitiveTypesDataClass;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@EnableServicesInject
+public class GsonBinaryDocumentCodecTest {
+
+  static Stream<Arguments> documentSource() {
+    return Stream.of(
+      Arguments.of(Document.newJsonDocument()),
+      Arguments.of(Document.newJsonDocument()
+        .append("int", 1234)
+        .append("negative", -5L)
+        .append("min", Long.MIN_VALUE)
+        .append("max", Long.MAX_VALUE)
+        .append("double", 5.999)
+        .append("bigInteger", new BigInteger("123456789012345678901234567890"))
+        .append("bigDecimal", new BigDecimal("0.1000000000000000000000000001"))
+        .append("boolean", false)
+        .append("unicode", "Hällo Wörld 😀")
+        .appendNull("null")),
+      Arguments.of(Document.newJsonDocument()
+        .appendTree(new AllPrimitiveTypesDataClass())
+        .append("list", List.of("the", "best", "value"))
+        .append("map", Map.of("hello", "world", "this", "is"))
+        .append("nested", Document.newJsonDocument().append("hello", "world").append("list", List.of(1, 2, 3)))),
+      Arguments.of(DocumentFactory.json().parse("{\"lazy\":12,\"decimal\":1.5e3,\"huge\":1e400,\"array\":[1,null]}")));
+  }
+
+  private static Document roundTrip(Document document) {
+    var buf = DataBuf.empty();
+    GsonBinaryDocumentCodec.write(buf, document);
+    return GsonBinaryDocumentCodec.read(buf);
+  }
+
+  @ParameterizedTest
+  @MethodSource("documentSource")
+  void testRoundTrip(Document document) {
+    var decoded = roundTrip(document);
+    Assertions.assertEquals(document, decoded);
+    Assertions.assertEquals(document.serializeToString(), decoded.serializeToString());
+  }
+
+  @Test
+  void testRepeatedKeysAreWrittenOnce() {
+    List<Map<String, Object>> players = new ArrayList<>();
+    for (var index = 0; index < 100; index++) {
+      players.add(Map.of("uniqueId", "player-" + index, "onlineCount", index, "premium", index % 2 == 0));
+    }
+
+    var document = Document.newJsonDocument().append("players", players);
+    var binary = DataBuf.empty();
+    GsonBinaryDocumentCodec.write(binary, document);
+    var json = DataBuf.empty();
+    document.writeTo(json);
+
+    // each key is only written once, all following usages are references into the key dictionary
+    Assertions.assertTrue(binary.readableBytes() < json.readableBytes() / 2);
+    Assertions.assertEquals(document, GsonBinaryDocumentCodec.read(binary));
+    json.release();
+  }
+
+  @Test
+  void testUnknownTagIsRejected() {
+    var bytes = new byte[]{1, 0, 3, 'k', 'e', 'y', 42};
+    Assertions.assertThrows(DocumentParseException.class, () -> GsonBinaryDocumentCodec.decode(bytes));
+    Assertions.assertThrows(DocumentParseException.class, () -> GsonBinaryDocumentCodec.validate(bytes));
+  }
+
+  @Test
+  void testInvalidKeyReferenceIsRejected() {
+    var bytes = new byte[]{1, 1, 0};
+    Assertions.assertThrows(DocumentParseException.class, () -> GsonBinaryDocumentCodec.decode(bytes));
+    Assertions.assertThrows(DocumentParseException.class, () -> GsonBinaryDocumentCodec.validate(bytes));
+  }
+
+  @Test
+  void testTruncatedDocumentIsRejected() {
+    var bytes = new byte[]{1, 0, 3, 'k'};
+    Assertions.assertThrows(DocumentParseException.class, () -> GsonBinaryDocumentCodec.decode(bytes));
+    Assertions.assertThrows(DocumentParseException.class, () -> GsonBinaryDocumentCodec.validate(bytes));
+  }
+
+  @Test
+  void testUnmodifiedDocumentIsWrittenWithoutEncoding() {
+    var document = Document.newJsonDocument().append("hello", "world").append("list", List.of(1, 2, 3));
+    var buf = DataBuf.empty();
+    GsonBinaryDocumentCodec.write(buf, document);
+    var encoded = buf.readByteArray();
+
+    // the document read from the encoded bytes writes the same bytes again without decoding them
+    var decoded = (ImmutableGsonDocument) GsonBinaryDocumentCodec.read(DataBuf.empty().writeByteArray(encoded));
+    var target = DataBuf.empty();
+    GsonBinaryDocumentCodec.write(target, decoded);
+    Assertions.assertSame(encoded, decoded.encodedDocument().bytes());
+    Assertions.assertArrayEquals(encoded, target.readByteArray());
+  }
+
+  @Test
+  void testBinaryEncodedDocumentIsReadByObjectMapper() {
+    var document = Document.newJsonDocument().append("hello", "world").append("count", 5);
+    var buf = DataBuf.empty().writeString(BinaryDocumentEncoding.FORMAT_MARKER);
+    GsonBinaryDocumentCodec.write(buf, document);
+
+    Assertions.assertEquals(document, buf.readObject(Document.class));
+  }
+
+  @Test
+  void testUnsupportedDocumentIsRejected() {
+    Assertions.assertFalse(GsonBinaryDocumentCodec.supports(Document.emptyDocument()));
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> GsonBinaryDocumentCodec.write(DataBuf.empty(), Document.emptyDocument()));
+  }
+}
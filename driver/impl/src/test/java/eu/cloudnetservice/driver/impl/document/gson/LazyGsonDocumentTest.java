@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.document.gson;
+
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.document.DocumentParseException;
+import eu.cloudnetservice.driver.document.StandardSerialisationStyle;
+import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@EnableServicesInject
+public class LazyGsonDocumentTest {
+
+  private static Document.Mutable lazyDocument(String json) {
+    return DocumentFactory.json().parseLazily(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testDocumentIsParsedOnFirstAccess() {
+    // the structure is valid, the content is only parsed on first access
+    var document = Assertions.assertDoesNotThrow(() -> lazyDocument("{\"broken\":}"));
+    Assertions.assertThrows(DocumentParseException.class, () -> document.getString("broken"));
+
+    var validDocument = lazyDocument("{\"onlineCount\":5,\"motd\":\"Hello\"}");
+    Assertions.assertEquals(5, validDocument.getInt("onlineCount"));
+    Assertions.assertEquals("Hello", validDocument.getString("motd"));
+    Assertions.assertEquals(Document.newJsonDocument().append("onlineCount", 5).append("motd", "Hello"), validDocument);
+  }
+
+  @Test
+  void testMalformedStructureIsRejected() {
+    Assertions.assertThrows(DocumentParseException.class, () -> lazyDocument("{\"broken\":"));
+    Assertions.assertThrows(DocumentParseException.class, () -> lazyDocument("{\"broken\":\"}"));
+    Assertions.assertThrows(DocumentParseException.class, () -> lazyDocument("{\"broken\":[}]"));
+    Assertions.assertThrows(DocumentParseException.class, () -> lazyDocument("{}{}"));
+    Assertions.assertThrows(DocumentParseException.class, () -> lazyDocument("[]"));
+    Assertions.assertThrows(DocumentParseException.class, () -> lazyDocument(""));
+    Assertions.assertDoesNotThrow(() -> lazyDocument(" {\"key\":\"{[\\\"\"}\n"));
+  }
+
+  @Test
+  void testUnmodifiedCompactDocumentIsSerializedWithoutParsing() {
+    // the encoded json is written as-is, which would not be the case if it was parsed and serialized again
+    var json = "{\"key\":\"a b\",\"number\":1.50}";
+    var document = lazyDocument(json);
+    Assertions.assertEquals(json, document.serializeToString(StandardSerialisationStyle.COMPACT));
+
+    var buf = DataBuf.empty();
+    document.writeTo(buf);
+    Assertions.assertEquals(json, buf.readString());
+  }
+
+  @Test
+  void testPrettyDocumentIsSerializedCompact() {
+    var document = lazyDocument("{ \"key\" : \"a b\" }");
+    Assertions.assertEquals("{\"key\":\"a b\"}", document.serializeToString(StandardSerialisationStyle.COMPACT));
+
+    var buf = DataBuf.empty();
+    document.writeTo(buf);
+    Assertions.assertEquals("{\"key\":\"a b\"}", buf.readString());
+  }
+
+  @Test
+  void testModificationDropsEncodedForm() {
+    var document = lazyDocument("{ \"key\" : \"value\" }");
+    document.append("other", 1);
+
+    Assertions.assertEquals("{\"key\":\"value\",\"other\":1}", document.toString());
+    Assertions.assertNull(((ImmutableGsonDocument) document).encodedDocument());
+  }
+
+  @Test
+  void testCopiesShareEncodedForm() {
+    var document = lazyDocument("{\"broken\":}");
+    var immutableCopy = Assertions.assertDoesNotThrow(document::immutableCopy);
+    var mutableCopy = Assertions.assertDoesNotThrow(document::mutableCopy);
+
+    var encodedDocument = ((ImmutableGsonDocument) document).encodedDocument();
+    Assertions.assertSame(encodedDocument, ((ImmutableGsonDocument) immutableCopy).encodedDocument());
+    Assertions.assertSame(encodedDocument, ((ImmutableGsonDocument) mutableCopy).encodedDocument());
+  }
+
+  @Test
+  void testModifyingCopyDoesNotAffectSource() {
+    var document = lazyDocument("{\"key\":\"value\"}");
+    var copy = document.mutableCopy().append("key", "other");
+
+    Assertions.assertEquals("value", document.getString("key"));
+    Assertions.assertEquals("other", copy.getString("key"));
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.document.gson;
+
+import com.google.gson.JsonObject;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@EnableServicesInject
+public class SharedGsonDocumentTest {
+
+  private static Document.Mutable serviceProperties() {
+    var document = Document.newJsonDocument()
+      .append("Online-Count", 12)
+      .append("Max-Players", 100)
+      .append("Motd", "A CloudNet service")
+      .append("Version", "1.21.1");
+    for (var index = 0; index < 100; index++) {
+      var player = Document.newJsonDocument()
+        .append("name", "player-" + index)
+        .append("uniqueId", UUID.randomUUID())
+        .append("ping", index);
+      document.append("player-" + index, player);
+    }
+
+    return document;
+  }
+
+  private static JsonObject internalObject(Document document) {
+    return ((ImmutableGsonDocument) document).internalObject();
+  }
+
+  @Test
+  void testCopiesShareInternalObject() {
+    var document = serviceProperties();
+    var immutableCopy = document.immutableCopy();
+    var mutableCopy = document.mutableCopy();
+
+    Assertions.assertSame(internalObject(document), internalObject(immutableCopy));
+    Assertions.assertSame(internalObject(document), internalObject(mutableCopy));
+    Assertions.assertSame(internalObject(document), internalObject(mutableCopy.immutableCopy()));
+  }
+
+  @Test
+  void testModifyingCopyOnlyCopiesRoot() {
+    var document = serviceProperties();
+    var copy = document.mutableCopy();
+    copy.append("Online-Count", 13).remove("Motd");
+
+    Assertions.assertEquals(12, document.getInt("Online-Count"));
+    Assertions.assertEquals("A CloudNet service", document.getString("Motd"));
+    Assertions.assertEquals(13, copy.getInt("Online-Count"));
+    Assertions.assertFalse(copy.contains("Motd"));
+
+    Assertions.assertNotSame(internalObject(document), internalObject(copy));
+    Assertions.assertSame(internalObject(document).get("player-0"), internalObject(copy).get("player-0"));
+  }
+
+  @Test
+  void testModifyingSourceDoesNotAffectCopy() {
+    var document = serviceProperties();
+    var copy = document.immutableCopy();
+    document.append("Online-Count", 13).clear();
+
+    Assertions.assertTrue(document.empty());
+    Assertions.assertEquals(12, copy.getInt("Online-Count"));
+    Assertions.assertEquals(104, copy.elementCount());
+  }
+
+  @Test
+  void testNestedDocumentsAreShared() {
+    var document = serviceProperties();
+    var player = document.readDocument("player-0");
+    var mutablePlayer = document.readMutableDocument("player-0");
+    Assertions.assertSame(internalObject(document).get("player-0"), internalObject(player));
+    Assertions.assertSame(internalObject(document).get("player-0"), internalObject(mutablePlayer));
+
+    mutablePlayer.append("ping", 1000);
+    Assertions.assertEquals(1000, mutablePlayer.getInt("ping"));
+    Assertions.assertEquals(0, player.getInt("ping"));
+    Assertions.assertEquals(0, document.readDocument("player-0").getInt("ping"));
+  }
+
+  @Test
+  void testPublishPathSharesNestedElements() {
+    // simulates the service info publish path: copy, configure, freeze
+    var document = serviceProperties();
+    var sourceObject = internalObject(document);
+    var published = document.mutableCopy().append("Online-Count", 13).immutableCopy();
+
+    // the source keeps its root object, only the root of the modified copy was copied
+    Assertions.assertSame(sourceObject, internalObject(document));
+    Assertions.assertNotSame(sourceObject, internalObject(published));
+    for (var index = 0; index < 100; index++) {
+      var key = "player-" + index;
+      Assertions.assertSame(sourceObject.get(key), internalObject(published).get(key));
+    }
+  }
+}
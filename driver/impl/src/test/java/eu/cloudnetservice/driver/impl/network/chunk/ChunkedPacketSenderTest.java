@@ -17,7 +17,9 @@
 package eu.cloudnetservice.driver.impl.network.chunk;
 
 import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
+import eu.cloudnetservice.driver.impl.network.chunk.network.ChunkedPacket;
 import eu.cloudnetservice.driver.impl.network.chunk.splitter.NetworkChannelsPacketSplitter;
+import eu.cloudnetservice.driver.inject.InjectionLayer;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.chunk.ChunkSessionInformation;
@@ -25,10 +27,18 @@
 import eu.cloudnetservice.driver.network.chunk.TransferStatus;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -38,6 +48,7 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 @EnableServicesInject
@@ -98,6 +109,106 @@ void testNetworkChannelSplitter() throws Exception {
       .get());
   }
 
+  @Test
+  @Order(20)
+  @Timeout(20)
+  void testFileChannelChunkPacketSender(@TempDir Path tempDir) throws Exception {
+    var chunkData = new byte[4096 + 100];
+    ThreadLocalRandom.current().nextBytes(chunkData);
+    var sourceFile = Files.write(tempDir.resolve("source"), chunkData);
+
+    var sessionId = UUID.randomUUID();
+    var receivedChunks = new ArrayList<byte[]>();
+    var finalChunkIndex = new AtomicInteger(-1);
+
+    Assertions.assertEquals(TransferStatus.SUCCESS, ChunkedPacketSender.forFileTransfer(sourceFile)
+      .chunkSize(256)
+      .sessionUniqueId(sessionId)
+      .transferChannel("hello_world")
+      .packetSplitter(packet -> {
+        var info = packet.content().readObject(ChunkSessionInformation.class);
+        var chunkIndex = packet.content().readInt();
+        var finalChunk = packet.content().readBoolean();
+
+        Assertions.assertEquals(sessionId, info.sessionUniqueId());
+        Assertions.assertEquals(receivedChunks.size(), chunkIndex);
+        Assertions.assertEquals(-1, finalChunkIndex.get());
+        if (finalChunk) {
+          finalChunkIndex.set(chunkIndex);
+        }
+
+        var chunk = packet.content().readByteArray();
+        Assertions.assertEquals(ChunkedPacket.checksum(chunk, chunk.length), packet.content().readInt());
+        receivedChunks.add(chunk);
+      })
+      .build()
+      .transferChunkedData()
+      .get());
+
+    Assertions.assertEquals(4096 / 256, finalChunkIndex.get());
+    Assertions.assertEquals(100, receivedChunks.getLast().length);
+
+    var receivedData = new ByteArrayOutputStream();
+    receivedChunks.forEach(receivedData::writeBytes);
+    Assertions.assertArrayEquals(chunkData, receivedData.toByteArray());
+  }
+
+  @Test
+  @Order(30)
+  @Timeout(20)
+  void testWindowedTransferResumesAndResendsCorruptedChunks() throws Exception {
+    var chunkData = this.generateRandomChunkData();
+    var sessionId = UUID.randomUUID();
+    var sessionRegistry = InjectionLayer.boot().instance(ChunkedSessionRegistry.class);
+
+    // the receiver already received the first two chunks of the session before
+    var receivedChunks = new BitSet();
+    receivedChunks.set(0, 2);
+    var resumeResponse = Mockito.mock(Packet.class);
+    Mockito
+      .when(resumeResponse.content())
+      .thenReturn(DataBuf.empty().writeBoolean(true).writeByteArray(receivedChunks.toByteArray()));
+
+    var sentChunks = new ArrayList<Integer>();
+    var corrupted = new AtomicBoolean();
+    var channelHolder = new AtomicReference<NetworkChannel>();
+    var channel = this.mockNetworkChannel(packet -> {
+      packet.content().readObject(ChunkSessionInformation.class);
+      var chunkIndex = packet.content().readInt();
+      sentChunks.add(chunkIndex);
+
+      // the first transfer of chunk 5 is received corrupted and must be sent again
+      var status = chunkIndex == 5 && corrupted.compareAndSet(false, true)
+        ? ChunkedTransferWindow.ChunkStatus.CORRUPTED
+        : ChunkedTransferWindow.ChunkStatus.ACCEPTED;
+      var window = sessionRegistry.transferWindow(sessionId);
+      Assertions.assertNotNull(window);
+      window.handleAcknowledgement(channelHolder.get(), chunkIndex, status);
+    });
+    Mockito.when(channel.active()).thenReturn(true);
+    Mockito
+      .when(channel.sendQueryAsync(Mockito.any(Packet.class)))
+      .thenReturn(CompletableFuture.completedFuture(resumeResponse));
+    channelHolder.set(channel);
+
+    Assertions.assertEquals(TransferStatus.SUCCESS, ChunkedPacketSender.forStreamTransfer()
+      .chunkSize(256)
+      .sessionUniqueId(sessionId)
+      .transferChannel("hello_world")
+      .source(new ByteArrayInputStream(chunkData))
+      .toChannels(channel)
+      .build()
+      .transferChunkedData()
+      .get());
+
+    var expectedChunks = new ArrayList<Integer>();
+    IntStream.rangeClosed(2, chunkData.length / 256).forEach(expectedChunks::add);
+    expectedChunks.add(expectedChunks.indexOf(5), 5);
+
+    Assertions.assertEquals(expectedChunks, sentChunks);
+    Assertions.assertNull(sessionRegistry.transferWindow(sessionId));
+  }
+
   private byte[] generateRandomChunkData() {
     var data = new byte[4096];
     ThreadLocalRandom.current().nextBytes(data);
@@ -131,9 +242,9 @@ private void validatePacket(Packet packet, UUID sessionId, AtomicInteger splits,
       ? new byte[0]
       : Arrays.copyOfRange(data, sourcePosition, (splits.get() + 1) * 256);
 
-    Assertions.assertArrayEquals(
-      contentAtPosition,
-      packet.content().readByteArray());
+    var chunk = packet.content().readByteArray();
+    Assertions.assertArrayEquals(contentAtPosition, chunk);
+    Assertions.assertEquals(ChunkedPacket.checksum(chunk, chunk.length), packet.content().readInt());
   }
 
   private NetworkChannel mockNetworkChannel(Consumer<Packet> packetSyncSendHandler) {
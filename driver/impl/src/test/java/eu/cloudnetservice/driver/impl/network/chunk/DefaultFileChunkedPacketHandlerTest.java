@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.chunk;
+
+import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
+import eu.cloudnetservice.driver.impl.network.chunk.network.ChunkedPacket;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.chunk.ChunkSessionInformation;
+import eu.cloudnetservice.driver.network.chunk.TransferStatus;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@EnableServicesInject
+public class DefaultFileChunkedPacketHandlerTest {
+
+  @Test
+  void testChunksAreVerifiedAndWrittenOnce(@TempDir Path tempDir) {
+    var data = new byte[512 + 100];
+    ThreadLocalRandom.current().nextBytes(data);
+
+    var receivedData = new AtomicReference<byte[]>();
+    var sessionInfo = new ChunkSessionInformation(256, UUID.randomUUID(), "hello_world", DataBuf.empty());
+    var handler = new DefaultFileChunkedPacketHandler(sessionInfo, (_, stream) -> {
+      receivedData.set(stream.readAllBytes());
+      return true;
+    }, tempDir.resolve("chunked"));
+
+    // a chunk with a checksum that does not match the data must be rejected
+    var corruptedChunk = DataBuf.empty()
+      .writeBoolean(false)
+      .writeByteArray(Arrays.copyOfRange(data, 256, 512))
+      .writeInt(ChunkedPacket.checksum(data, 256));
+    Assertions.assertThrows(ChunkChecksumMismatchException.class, () -> handler.handleChunkPart(1, corruptedChunk));
+    Assertions.assertTrue(handler.receivedChunks().isEmpty());
+
+    Assertions.assertFalse(handler.handleChunkPart(1, this.chunkContent(data, 1, false, sessionInfo)));
+    Assertions.assertFalse(handler.handleChunkPart(2, this.chunkContent(data, 2, true, sessionInfo)));
+
+    // chunks that were already received are ignored
+    Assertions.assertFalse(handler.handleChunkPart(1, this.chunkContent(data, 1, false, sessionInfo)));
+
+    var expectedReceivedChunks = new BitSet();
+    expectedReceivedChunks.set(1, 3);
+    Assertions.assertEquals(expectedReceivedChunks, handler.receivedChunks());
+    Assertions.assertEquals(TransferStatus.RUNNING, handler.transferStatus());
+
+    Assertions.assertTrue(handler.handleChunkPart(0, this.chunkContent(data, 0, false, sessionInfo)));
+    Assertions.assertEquals(TransferStatus.SUCCESS, handler.transferStatus());
+    Assertions.assertArrayEquals(data, receivedData.get());
+  }
+
+  @Test
+  void testChunksAreWrittenConcurrentlyOutOfOrder(@TempDir Path tempDir) {
+    var data = new byte[256 * 64 + 10];
+    ThreadLocalRandom.current().nextBytes(data);
+
+    var receivedData = new AtomicReference<byte[]>();
+    var sessionInfo = new ChunkSessionInformation(256, UUID.randomUUID(), "hello_world", DataBuf.empty());
+    var handler = new DefaultFileChunkedPacketHandler(sessionInfo, (_, stream) -> {
+      receivedData.set(stream.readAllBytes());
+      return true;
+    }, tempDir.resolve("chunked"));
+
+    var lastChunk = data.length / 256;
+    var chunkContents = IntStream.rangeClosed(0, lastChunk)
+      .mapToObj(index -> this.chunkContent(data, index, index == lastChunk, sessionInfo))
+      .toList();
+
+    // exactly one of the chunk writes must complete the transfer
+    var completions = IntStream.rangeClosed(0, lastChunk)
+      .map(index -> lastChunk - index)
+      .parallel()
+      .filter(index -> handler.handleChunkPart(index, chunkContents.get(index)))
+      .count();
+
+    Assertions.assertEquals(1, completions);
+    Assertions.assertEquals(TransferStatus.SUCCESS, handler.transferStatus());
+    Assertions.assertArrayEquals(data, receivedData.get());
+  }
+
+  @Test
+  void testCancelDeletesTempFileAndRejectsChunks(@TempDir Path tempDir) {
+    var data = new byte[512];
+    ThreadLocalRandom.current().nextBytes(data);
+
+    var tempFile = tempDir.resolve("chunked");
+    var sessionInfo = new ChunkSessionInformation(256, UUID.randomUUID(), "hello_world", DataBuf.empty());
+    var handler = new DefaultFileChunkedPacketHandler(sessionInfo, (_, _) -> {
+      throw new AssertionError("cancelled transfer must not complete");
+    }, tempFile);
+
+    Assertions.assertFalse(handler.handleChunkPart(0, this.chunkContent(data, 0, false, sessionInfo)));
+    Assertions.assertTrue(Files.exists(tempFile));
+
+    handler.cancel();
+    Assertions.assertEquals(TransferStatus.FAILURE, handler.transferStatus());
+    Assertions.assertFalse(Files.exists(tempFile));
+    Assertions.assertFalse(handler.handleChunkPart(1, this.chunkContent(data, 1, true, sessionInfo)));
+  }
+
+  private DataBuf chunkContent(byte[] data, int chunkIndex, boolean finalChunk, ChunkSessionInformation info) {
+    var chunkData = this.chunkData(data, chunkIndex);
+    var packet = finalChunk
+      ? ChunkedPacket.createFinalChunk(chunkIndex, chunkData.length, chunkData, info)
+      : ChunkedPacket.createFullChunk(chunkIndex, chunkData, info);
+
+    // skip the session information and chunk index which are read by the packet listener
+    var content = packet.content();
+    content.readObject(ChunkSessionInformation.class);
+    content.readInt();
+    return content;
+  }
+
+  private byte[] chunkData(byte[] data, int chunkIndex) {
+    return Arrays.copyOfRange(data, chunkIndex * 256, Math.min(data.length, (chunkIndex + 1) * 256));
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DefaultNetworkMetricsTest {
+
+  @Test
+  void testTrafficIsRecordedPerKey() {
+    var metrics = new DefaultNetworkMetrics();
+    metrics.channelMessage("test").recordOutbound(100);
+    metrics.channelMessage("test").recordOutbound(50);
+    metrics.channelMessage("test").recordInbound(10);
+    metrics.rpcTarget("Provider", "method").recordHandling(1000);
+
+    var channelMessage = metrics.channelMessages().get("test");
+    Assertions.assertNotNull(channelMessage);
+    Assertions.assertEquals(2, channelMessage.packetsOut());
+    Assertions.assertEquals(150, channelMessage.bytesOut());
+    Assertions.assertEquals(1, channelMessage.packetsIn());
+    Assertions.assertEquals(10, channelMessage.bytesIn());
+
+    var rpcTarget = metrics.rpcTargets().get("Provider#method");
+    Assertions.assertNotNull(rpcTarget);
+    Assertions.assertEquals(1, rpcTarget.handling().count());
+  }
+
+  @Test
+  void testTrackedKeysAreCapped() {
+    var metrics = new DefaultNetworkMetrics();
+    for (var i = 0; i < 2000; i++) {
+      metrics.channelMessage("channel-" + i).recordOutbound(1);
+    }
+
+    var channelMessages = metrics.channelMessages();
+    Assertions.assertEquals(1025, channelMessages.size());
+    Assertions.assertEquals(2000 - 1024, channelMessages.get(DefaultNetworkMetrics.OVERFLOW_KEY).packetsOut());
+  }
+
+  @Test
+  void testGaugesAndQueries() {
+    var metrics = new DefaultNetworkMetrics();
+    var counter = new AtomicInteger();
+    metrics.registerGauge("test", counter::incrementAndGet);
+
+    Assertions.assertEquals(1, metrics.gauges().get("test"));
+    Assertions.assertEquals(2, metrics.gauges().get("test"));
+
+    metrics.recordQueryRoundTrip(500);
+    metrics.recordQueryTimeout();
+    Assertions.assertEquals(1, metrics.queryRoundTrips().count());
+    Assertions.assertEquals(1L, metrics.gauges().get("queries.timed-out"));
+  }
+}
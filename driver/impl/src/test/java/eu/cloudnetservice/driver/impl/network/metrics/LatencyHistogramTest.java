@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.metrics;
+
+import eu.cloudnetservice.driver.network.metrics.LatencyStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  void testEmptySnapshot() {
+    var histogram = new LatencyHistogram();
+    Assertions.assertSame(LatencyStatistics.EMPTY, histogram.snapshot());
+  }
+
+  @Test
+  void testPercentiles() {
+    var histogram = new LatencyHistogram();
+    for (var i = 0; i < 100; i++) {
+      histogram.record(1000);
+    }
+    histogram.record(1_000_000);
+
+    var snapshot = histogram.snapshot();
+    Assertions.assertEquals(101, snapshot.count());
+    Assertions.assertEquals(1_100_000 / 101, snapshot.meanNanos());
+    Assertions.assertEquals(1023, snapshot.p50Nanos());
+    Assertions.assertEquals(1023, snapshot.p99Nanos());
+    Assertions.assertEquals(1_000_000, snapshot.maxNanos());
+  }
+
+  @Test
+  void testPercentilesAreCappedAtMax() {
+    var histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(600);
+
+    var snapshot = histogram.snapshot();
+    Assertions.assertEquals(2, snapshot.count());
+    Assertions.assertEquals(0, snapshot.p50Nanos());
+    Assertions.assertEquals(600, snapshot.p99Nanos());
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty;
+
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class NettyPacketLaneTest {
+
+  private static Packet mockPacket(int channel, boolean prioritized) {
+    var packet = Mockito.mock(Packet.class);
+    Mockito.when(packet.channel()).thenReturn(channel);
+    Mockito.when(packet.prioritized()).thenReturn(prioritized);
+    return packet;
+  }
+
+  @Test
+  void testPacketLaneSelection() {
+    Assertions.assertEquals(NettyPacketLane.NORMAL, NettyPacketLane.of(mockPacket(123, false)));
+    Assertions.assertEquals(NettyPacketLane.CONTROL, NettyPacketLane.of(mockPacket(123, true)));
+    Assertions.assertEquals(
+      NettyPacketLane.BULK,
+      NettyPacketLane.of(mockPacket(NetworkConstants.CHUNKED_PACKET_COM_CHANNEL, false)));
+    // chunks stay in the bulk lane, even if they are prioritized
+    Assertions.assertEquals(
+      NettyPacketLane.BULK,
+      NettyPacketLane.of(mockPacket(NetworkConstants.CHUNKED_PACKET_COM_CHANNEL, true)));
+  }
+}
@@ -83,4 +83,43 @@ void testVarIntBytesAndCodec() {
       }
     }
   }
+
+  @Test
+  void testReadableVarIntBytes() {
+    try (var buffer = BufferAllocator.onHeapUnpooled().allocate(5)) {
+      // empty buffer contains no var int
+      Assertions.assertEquals(0, NettyUtil.readableVarIntBytes(buffer));
+
+      // incomplete var int (continuation bit set on the only byte)
+      buffer.writeByte((byte) 0x80);
+      Assertions.assertEquals(0, NettyUtil.readableVarIntBytes(buffer));
+
+      // completed var int, the reader offset must not be moved
+      buffer.writeByte((byte) 0x01);
+      Assertions.assertEquals(2, NettyUtil.readableVarIntBytes(buffer));
+      Assertions.assertEquals(0, buffer.readerOffset());
+      Assertions.assertEquals(128, NettyUtil.readVarInt(buffer));
+    }
+  }
+
+  @Test
+  void testFixedSizeVarInt() {
+    try (var buffer = BufferAllocator.onHeapUnpooled().allocate(8)) {
+      // a small value padded to three bytes
+      buffer.writerOffset(3);
+      NettyUtil.setFixedSizeVarInt(buffer, 0, 5, 3);
+      Assertions.assertEquals(3, NettyUtil.readableVarIntBytes(buffer));
+      Assertions.assertEquals(5, NettyUtil.readVarInt(buffer));
+
+      // a value that needs exactly the given amount of bytes
+      buffer.writerOffset(5);
+      NettyUtil.setFixedSizeVarInt(buffer, 3, 300, 2);
+      Assertions.assertEquals(300, NettyUtil.readVarInt(buffer));
+
+      // the value does not fit into the given amount of bytes
+      Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> NettyUtil.setFixedSizeVarInt(buffer, 0, 300, 1));
+    }
+  }
 }
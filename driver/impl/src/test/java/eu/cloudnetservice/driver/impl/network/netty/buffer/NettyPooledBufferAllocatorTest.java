@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.buffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NettyPooledBufferAllocatorTest {
+
+  @Test
+  void testSizeClassSelection() {
+    Assertions.assertEquals(0, NettyPooledBufferAllocator.sizeClassIndex(1));
+    Assertions.assertEquals(0, NettyPooledBufferAllocator.sizeClassIndex(64));
+    Assertions.assertEquals(1, NettyPooledBufferAllocator.sizeClassIndex(65));
+    Assertions.assertEquals(1, NettyPooledBufferAllocator.sizeClassIndex(128));
+    Assertions.assertEquals(10, NettyPooledBufferAllocator.sizeClassIndex(64 * 1024));
+
+    Assertions.assertEquals(64, NettyPooledBufferAllocator.sizeClassCapacity(0));
+    Assertions.assertEquals(64 * 1024, NettyPooledBufferAllocator.sizeClassCapacity(10));
+  }
+
+  @Test
+  void testMemoryIsReusedAndCleared() {
+    try (var allocator = new NettyPooledBufferAllocator(1024 * 1024, 64 * 1024, 4)) {
+      var buffer = allocator.allocate(100);
+      Assertions.assertEquals(100, buffer.capacity());
+      buffer.writeLong(Long.MAX_VALUE).writeInt(1234);
+      buffer.close();
+
+      var metrics = allocator.metrics();
+      Assertions.assertEquals(0, metrics.poolHits());
+      Assertions.assertEquals(1, metrics.poolMisses());
+      Assertions.assertEquals(128, metrics.retainedBytes());
+
+      var reused = allocator.allocate(120);
+      Assertions.assertEquals(120, reused.capacity());
+      Assertions.assertEquals(0L, reused.getLong(0));
+      Assertions.assertEquals(0, reused.getInt(8));
+      reused.close();
+
+      metrics = allocator.metrics();
+      Assertions.assertEquals(1, metrics.poolHits());
+      Assertions.assertEquals(0.5, metrics.hitRate());
+    }
+  }
+
+  @Test
+  void testRetainedMemoryIsCapped() {
+    try (var allocator = new NettyPooledBufferAllocator(1024, 64 * 1024, 4)) {
+      var first = allocator.allocate(1024);
+      var second = allocator.allocate(1024);
+      first.close();
+      second.close();
+
+      // only one of the buffers fits into the retained memory cap, the other one was freed
+      Assertions.assertEquals(1024, allocator.metrics().retainedBytes());
+    }
+  }
+
+  @Test
+  void testLargeAllocationsAreNotPooled() {
+    try (var allocator = new NettyPooledBufferAllocator(1024 * 1024, 1024, 4)) {
+      var buffer = allocator.allocate(4096);
+      Assertions.assertEquals(4096, buffer.capacity());
+      buffer.close();
+
+      var metrics = allocator.metrics();
+      Assertions.assertEquals(1, metrics.unpooledAllocations());
+      Assertions.assertEquals(0, metrics.poolMisses());
+      Assertions.assertEquals(0, metrics.retainedBytes());
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.buffer;
+
+import io.netty5.buffer.DefaultBufferAllocators;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NettyRecyclableDataBufTest {
+
+  @Test
+  void testReleasedDataBufIsReused() {
+    var allocator = DefaultBufferAllocators.offHeapAllocator();
+    var dataBuf = NettyRecyclableDataBuf.obtain(allocator, 128);
+    dataBuf.writeInt(1234).writeLong(5678L);
+    dataBuf.release();
+
+    var reused = NettyRecyclableDataBuf.obtain(allocator, 128);
+    Assertions.assertSame(dataBuf, reused);
+    Assertions.assertTrue(reused.accessible());
+    Assertions.assertEquals(0, reused.readableBytes());
+    Assertions.assertEquals(1, reused.acquires());
+
+    reused.writeInt(42);
+    Assertions.assertEquals(42, reused.readInt());
+  }
+
+  @Test
+  void testReleaseOfRecycledDataBufIsIgnored() {
+    var allocator = DefaultBufferAllocators.offHeapAllocator();
+    var dataBuf = NettyRecyclableDataBuf.obtain(allocator, 128);
+    dataBuf.release();
+    dataBuf.release();
+
+    // the second release must not have modified the state of the cached data buf
+    var reused = NettyRecyclableDataBuf.obtain(allocator, 128);
+    Assertions.assertEquals(1, reused.acquires());
+    reused.forceRelease();
+  }
+
+  @Test
+  void testGrownDataBufIsNotRecycled() {
+    var allocator = DefaultBufferAllocators.offHeapAllocator();
+    var dataBuf = NettyRecyclableDataBuf.obtain(allocator, 128);
+    dataBuf.writeByteArray(new byte[NettyRecyclableDataBuf.MAX_RECYCLED_CAPACITY]);
+    dataBuf.release();
+
+    Assertions.assertFalse(dataBuf.accessible());
+    Assertions.assertNotSame(dataBuf, NettyRecyclableDataBuf.obtain(allocator, 128));
+  }
+}
@@ -18,6 +18,8 @@
 
 import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
 import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
+import eu.cloudnetservice.driver.impl.network.netty.compression.NettyPacketCompressor;
+import eu.cloudnetservice.driver.impl.network.netty.compression.PacketCompressionStatistics;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
@@ -26,6 +28,8 @@
 import io.netty5.channel.Channel;
 import io.netty5.channel.ChannelHandlerContext;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -67,6 +71,9 @@ void testNettyPacketCodec() {
         return null;
       });
 
+      // the frame length is prefixed to the packet in the same buffer
+      Assertions.assertEquals(buffer.readableBytes() - 1, NettyUtil.readVarInt(buffer));
+
       // decode the packet again
       var decoder = new NettyPacketDecoder();
       decoder.decode(inCtx, buffer);
@@ -76,6 +83,65 @@ void testNettyPacketCodec() {
     });
 
     // encode the packet
-    NettyPacketEncoder.INSTANCE.write(outCtx, new BasePacket(packetChannel, dataBuf));
+    new NettyPacketEncoder().write(outCtx, new BasePacket(packetChannel, dataBuf));
+  }
+
+  @Test
+  void testNettyPacketCodecWithCompression() {
+    var statistics = new PacketCompressionStatistics();
+    var encoder = new NettyPacketEncoder();
+    encoder.compressor(new NettyPacketCompressor(64, Deflater.BEST_SPEED, statistics));
+
+    // write a well compressible body
+    var dataBuf = DataBufFactory.defaultFactory().createEmpty();
+    for (var i = 0; i < 256; i++) {
+      dataBuf.writeInt(1234);
+    }
+
+    var decoded = new AtomicBoolean();
+    var outCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(outCtx.bufferAllocator()).thenReturn(NettyUtil.selectedBufferAllocator());
+    Mockito.when(outCtx.write(Mockito.any(Buffer.class))).then(invocation -> {
+      Buffer buffer = invocation.getArgument(0);
+      Assertions.assertTrue(buffer.readableBytes() < 256 * Integer.BYTES);
+
+      var inChannel = Mockito.mock(Channel.class);
+      Mockito.when(inChannel.isActive()).thenReturn(true);
+
+      var inCtx = Mockito.mock(ChannelHandlerContext.class);
+      Mockito.when(inCtx.channel()).thenReturn(inChannel);
+      Mockito.when(inCtx.bufferAllocator()).thenReturn(NettyUtil.selectedBufferAllocator());
+      Mockito.when(inCtx.fireChannelRead(Mockito.any(Packet.class))).then(inv -> {
+        Packet packet = inv.getArgument(0);
+        Assertions.assertEquals(1, packet.channel());
+        Assertions.assertTrue(packet.prioritized());
+        Assertions.assertEquals(256 * Integer.BYTES, packet.content().readableBytes());
+        for (var i = 0; i < 256; i++) {
+          Assertions.assertEquals(1234, packet.content().readInt());
+        }
+
+        decoded.set(true);
+        return null;
+      });
+
+      // the frame length is padded to the length reserved for the uncompressed frame
+      var frameLengthBytes = buffer.readableBytes();
+      var frameLength = NettyUtil.readVarInt(buffer);
+      frameLengthBytes -= buffer.readableBytes();
+      Assertions.assertEquals(buffer.readableBytes(), frameLength);
+      Assertions.assertEquals(2, frameLengthBytes);
+
+      var decoder = new NettyPacketDecoder();
+      decoder.compressionStatistics(statistics);
+      decoder.decode(inCtx, buffer);
+      return null;
+    });
+
+    encoder.write(outCtx, new BasePacket(1, true, dataBuf));
+
+    Assertions.assertTrue(decoded.get());
+    Assertions.assertEquals(1, statistics.compressedPackets());
+    Assertions.assertEquals(1, statistics.decompressedPackets());
+    Assertions.assertTrue(statistics.compressionRatio() < 1D);
   }
 }
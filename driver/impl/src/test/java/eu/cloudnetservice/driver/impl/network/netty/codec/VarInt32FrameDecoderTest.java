@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.codec;
+
+import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
+import io.netty5.buffer.Buffer;
+import io.netty5.buffer.BufferAllocator;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandlerContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class VarInt32FrameDecoderTest {
+
+  @Test
+  void testFramesAreSplitWithoutCopy() {
+    List<Buffer> frames = new ArrayList<>();
+    var ctx = this.mockContext(frames);
+
+    try (var in = BufferAllocator.onHeapUnpooled().allocate(32)) {
+      // write two full frames and the start of a third one
+      NettyUtil.writeVarInt(in, 3).writeByte((byte) 1).writeByte((byte) 2).writeByte((byte) 3);
+      NettyUtil.writeVarInt(in, 1).writeByte((byte) 4);
+      NettyUtil.writeVarInt(in, 4).writeByte((byte) 5);
+
+      var decoder = new VarInt32FrameDecoder();
+      decoder.decode(ctx, in);
+      decoder.decode(ctx, in);
+      decoder.decode(ctx, in);
+
+      // the incomplete frame must not be consumed
+      Assertions.assertEquals(2, frames.size());
+      Assertions.assertEquals(2, in.readableBytes());
+
+      // validate the frame content
+      var first = frames.get(0);
+      Assertions.assertEquals(3, first.readableBytes());
+      Assertions.assertEquals(1, first.readByte());
+      Assertions.assertEquals(2, first.readByte());
+      Assertions.assertEquals(3, first.readByte());
+
+      var second = frames.get(1);
+      Assertions.assertEquals(1, second.readableBytes());
+      Assertions.assertEquals(4, second.readByte());
+
+      frames.forEach(Buffer::close);
+    }
+  }
+
+  @Test
+  void testIncompleteLengthFieldIsNotConsumed() {
+    List<Buffer> frames = new ArrayList<>();
+    var ctx = this.mockContext(frames);
+
+    try (var in = BufferAllocator.onHeapUnpooled().allocate(8)) {
+      // the first byte of a two byte var int
+      in.writeByte((byte) 0x80);
+
+      var decoder = new VarInt32FrameDecoder();
+      decoder.decode(ctx, in);
+
+      Assertions.assertTrue(frames.isEmpty());
+      Assertions.assertEquals(0, in.readerOffset());
+    }
+  }
+
+  private ChannelHandlerContext mockContext(List<Buffer> frames) {
+    var channel = Mockito.mock(Channel.class);
+    Mockito.when(channel.isActive()).thenReturn(true);
+
+    var ctx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(ctx.channel()).thenReturn(channel);
+    Mockito.when(ctx.fireChannelRead(Mockito.any(Buffer.class))).then(invocation -> {
+      frames.add(invocation.getArgument(0));
+      return ctx;
+    });
+    return ctx;
+  }
+}
@@ -19,6 +19,7 @@
 import eu.cloudnetservice.driver.ComponentInfo;
 import eu.cloudnetservice.driver.DriverEnvironment;
 import eu.cloudnetservice.driver.impl.network.NetworkTestCase;
+import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.impl.network.netty.client.NettyNetworkClient;
 import eu.cloudnetservice.driver.impl.network.netty.server.NettyNetworkServer;
 import eu.cloudnetservice.driver.network.HostAndPort;
@@ -27,7 +28,9 @@
 import eu.cloudnetservice.driver.network.NetworkServer;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.file.Files;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -50,6 +53,24 @@ void testNetworkServerClientCommunication() throws Exception {
     server.close();
   }
 
+  @Test
+  void testNetworkServerClientDomainSocketCommunication() throws Exception {
+    Assumptions.assumeTrue(NettyUtil.selectedNettyTransport().domainSocketsSupported());
+
+    var socketPath = Files.createTempDirectory("cloudnet-net").resolve("test.sock");
+    var socketAddress = new HostAndPort(socketPath.toString(), HostAndPort.NO_PORT);
+    var componentInfo = new ComponentInfo(DriverEnvironment.WRAPPER, "Testing", "Testing-Node");
+
+    NetworkServer server = new NettyNetworkServer(componentInfo, this::newDummyHandler);
+    NetworkClient client = new NettyNetworkClient(componentInfo, this::newDummyHandler);
+
+    Assertions.assertDoesNotThrow(() -> server.addListener(socketAddress).join());
+    Assertions.assertDoesNotThrow(() -> client.connect(socketAddress).join());
+
+    client.close();
+    server.close();
+  }
+
   private NetworkChannelHandler newDummyHandler() {
     return Mockito.mock(NetworkChannelHandler.class);
   }
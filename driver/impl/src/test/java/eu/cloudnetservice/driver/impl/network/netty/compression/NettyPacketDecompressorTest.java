@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.netty.compression;
+
+import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
+import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
+import io.netty5.buffer.Buffer;
+import io.netty5.handler.codec.DecoderException;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@EnableServicesInject
+public class NettyPacketDecompressorTest {
+
+  private static byte[] deflate(byte[] input) {
+    var deflater = new Deflater(Deflater.BEST_SPEED);
+    deflater.setInput(input);
+    deflater.finish();
+
+    var output = new byte[input.length + 64];
+    var length = deflater.deflate(output);
+    deflater.end();
+    return Arrays.copyOf(output, length);
+  }
+
+  private static Buffer compressedBody(int uncompressedLength, byte[] compressed) {
+    var buffer = NettyUtil.selectedBufferAllocator().allocate(compressed.length + 5);
+    NettyUtil.writeVarInt(buffer, uncompressedLength);
+    return buffer.writeBytes(compressed);
+  }
+
+  @Test
+  void testDecompress() {
+    var input = new byte[4096];
+    Arrays.fill(input, (byte) 7);
+
+    var decompressor = new NettyPacketDecompressor();
+    try (var body = compressedBody(input.length, deflate(input))) {
+      var length = body.readableBytes();
+      try (var output = decompressor.decompress(NettyUtil.selectedBufferAllocator(), body, length, null)) {
+        var decompressed = new byte[output.readableBytes()];
+        output.readBytes(decompressed, 0, decompressed.length);
+        Assertions.assertArrayEquals(input, decompressed);
+        Assertions.assertEquals(0, body.readableBytes());
+      }
+    } finally {
+      decompressor.close();
+    }
+  }
+
+  @Test
+  void testRejectsLengthAboveLimit() {
+    var decompressor = new NettyPacketDecompressor(1024);
+    try (var body = compressedBody(Integer.MAX_VALUE, deflate(new byte[16]))) {
+      var length = body.readableBytes();
+      Assertions.assertThrows(
+        DecoderException.class,
+        () -> decompressor.decompress(NettyUtil.selectedBufferAllocator(), body, length, null));
+      Assertions.assertEquals(0, body.readableBytes());
+    } finally {
+      decompressor.close();
+    }
+  }
+
+  @Test
+  void testRejectsLengthAboveDeflateRatio() {
+    var decompressor = new NettyPacketDecompressor(Integer.MAX_VALUE);
+    try (var body = compressedBody(64 * 1024 * 1024, deflate(new byte[16]))) {
+      var length = body.readableBytes();
+      Assertions.assertThrows(
+        DecoderException.class,
+        () -> decompressor.decompress(NettyUtil.selectedBufferAllocator(), body, length, null));
+    } finally {
+      decompressor.close();
+    }
+  }
+
+  @Test
+  void testRejectsShortStream() {
+    var decompressor = new NettyPacketDecompressor();
+    try (var body = compressedBody(64, deflate(new byte[32]))) {
+      var length = body.readableBytes();
+      Assertions.assertThrows(
+        DecoderException.class,
+        () -> decompressor.decompress(NettyUtil.selectedBufferAllocator(), body, length, null));
+    } finally {
+      decompressor.close();
+    }
+  }
+
+  @Test
+  void testRejectsLongStream() {
+    var decompressor = new NettyPacketDecompressor();
+    try (var body = compressedBody(16, deflate(new byte[32]))) {
+      var length = body.readableBytes();
+      Assertions.assertThrows(
+        DecoderException.class,
+        () -> decompressor.decompress(NettyUtil.selectedBufferAllocator(), body, length, null));
+    } finally {
+      decompressor.close();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.cloudnetservice.driver.impl.network.object;
+
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class BinaryDocumentEncodingTest {
+
+  private static NetworkChannel mockChannel() {
+    var channel = Mockito.mock(NetworkChannel.class);
+    Mockito.when(channel.clientAddress()).thenReturn(new HostAndPort("127.0.0.1", 41000));
+    return channel;
+  }
+
+  @Test
+  void testEncodingFollowsOpenChannels() {
+    var binaryChannel = mockChannel();
+    var jsonChannel = mockChannel();
+    try {
+      Assertions.assertTrue(BinaryDocumentEncoding.negotiate(binaryChannel, true));
+      Assertions.assertTrue(BinaryDocumentEncoding.enabled());
+
+      // a json only channel disables the binary encoding while it is open
+      Assertions.assertFalse(BinaryDocumentEncoding.negotiate(jsonChannel, false));
+      Assertions.assertFalse(BinaryDocumentEncoding.enabled());
+
+      // the binary encoding is used again once the json only channel is closed
+      BinaryDocumentEncoding.channelClosed(jsonChannel);
+      Assertions.assertTrue(BinaryDocumentEncoding.enabled());
+
+      BinaryDocumentEncoding.channelClosed(binaryChannel);
+      Assertions.assertFalse(BinaryDocumentEncoding.enabled());
+    } finally {
+      BinaryDocumentEncoding.channelClosed(binaryChannel);
+      BinaryDocumentEncoding.channelClosed(jsonChannel);
+    }
+  }
+
+  @Test
+  void testBinaryEncodingIsNotAcceptedWhileJsonChannelIsOpen() {
+    var jsonChannel = mockChannel();
+    var newChannel = mockChannel();
+    try {
+      Assertions.assertFalse(BinaryDocumentEncoding.negotiate(jsonChannel, false));
+
+      // forwarded payloads must stay readable for the json only channel
+      Assertions.assertFalse(BinaryDocumentEncoding.acceptBinaryDocuments());
+      Assertions.assertFalse(BinaryDocumentEncoding.negotiate(newChannel, true));
+
+      BinaryDocumentEncoding.channelClosed(jsonChannel);
+      Assertions.assertTrue(BinaryDocumentEncoding.acceptBinaryDocuments());
+    } finally {
+      BinaryDocumentEncoding.channelClosed(jsonChannel);
+      BinaryDocumentEncoding.channelClosed(newChannel);
+    }
+  }
+}
@@ -20,9 +20,18 @@
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.UUID;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -31,10 +40,16 @@
 @EnableServicesInject
 public class DefaultQueryPacketManagerTest {
 
+  private static NetworkChannel mockChannel() {
+    var channel = Mockito.mock(NetworkChannel.class);
+    Mockito.when(channel.sendPacketAsync(Mockito.any())).thenReturn(CompletableFuture.completedFuture(null));
+    return channel;
+  }
+
   @Test
   void testSendQueryPacket() {
     var queryRequest = new BasePacket(-1, DataBuf.empty());
-    var manager = new DefaultQueryPacketManager(Mockito.mock(NetworkChannel.class));
+    var manager = new DefaultQueryPacketManager(mockChannel());
 
     var responseTask = manager.sendQueryPacket(queryRequest);
     Assertions.assertNotNull(responseTask);
@@ -54,21 +69,114 @@ void testSendQueryPacket() {
   }
 
   @Test
-  void testSendQueryPacketWithFixedId() {
+  void testSendQueryPacketOverridesFixedId() {
     var id = UUID.randomUUID();
     var queryRequest = new BasePacket(-1, DataBuf.empty());
     queryRequest.uniqueId(id);
 
-    var manager = new DefaultQueryPacketManager(Mockito.mock(NetworkChannel.class));
+    var manager = new DefaultQueryPacketManager(mockChannel());
     var firstResponseTask = manager.sendQueryPacket(queryRequest);
-    Assertions.assertNotNull(firstResponseTask);
-    Assertions.assertEquals(Future.State.RUNNING, firstResponseTask.state());
-    Assertions.assertEquals(id, queryRequest.uniqueId());
+    var firstAssignedId = queryRequest.uniqueId();
+    Assertions.assertNotNull(firstAssignedId);
+    Assertions.assertNotEquals(id, firstAssignedId);
+    Assertions.assertFalse(manager.hasWaitingHandler(id));
 
     var secondResponseTask = manager.sendQueryPacket(queryRequest);
-    Assertions.assertNotNull(secondResponseTask);
+    var secondAssignedId = queryRequest.uniqueId();
+    Assertions.assertNotEquals(firstAssignedId, secondAssignedId);
+    Assertions.assertEquals(2, manager.waitingHandlerCount());
+    Assertions.assertSame(firstResponseTask, manager.waitingHandler(firstAssignedId));
+    Assertions.assertSame(secondResponseTask, manager.waitingHandler(secondAssignedId));
+    Assertions.assertEquals(Future.State.RUNNING, firstResponseTask.state());
     Assertions.assertEquals(Future.State.RUNNING, secondResponseTask.state());
-    Assertions.assertThrows(CompletionException.class, firstResponseTask::join);
-    Assertions.assertInstanceOf(TimeoutException.class, firstResponseTask.exceptionNow());
+  }
+
+  @Test
+  void testForeignQueryIdIsNotResolved() {
+    var manager = new DefaultQueryPacketManager(mockChannel());
+    manager.sendQueryPacket(new BasePacket(-1, DataBuf.empty()));
+
+    var foreignId = new UUID(ThreadLocalRandom.current().nextLong(), 1);
+    Assertions.assertFalse(manager.hasWaitingHandler(foreignId));
+    Assertions.assertNull(manager.waitingHandler(foreignId));
+    Assertions.assertEquals(1, manager.waitingHandlerCount());
+  }
+
+  @Test
+  void testSlotCollisionUsesOverflow() {
+    var manager = new DefaultQueryPacketManager(mockChannel());
+    var packets = new ArrayList<BasePacket>();
+    var responseTasks = new ArrayList<CompletableFuture<Packet>>();
+    for (var i = 0; i < 10_000; i++) {
+      var packet = new BasePacket(-1, DataBuf.empty());
+      responseTasks.add(manager.sendQueryPacket(packet));
+      packets.add(packet);
+    }
+
+    Assertions.assertEquals(10_000, manager.waitingHandlerCount());
+    for (var i = 0; i < packets.size(); i++) {
+      Assertions.assertSame(responseTasks.get(i), manager.waitingHandler(packets.get(i).uniqueId()));
+    }
+    Assertions.assertEquals(0, manager.waitingHandlerCount());
+  }
+
+  @Test
+  void testQueryTimeout() {
+    var queryRequest = new BasePacket(-1, DataBuf.empty());
+    var manager = new DefaultQueryPacketManager(mockChannel());
+
+    var responseTask = manager.sendQueryPacket(queryRequest, Duration.ofMillis(200));
+    var exception = Assertions.assertThrows(
+      ExecutionException.class,
+      () -> responseTask.get(5, TimeUnit.SECONDS));
+    Assertions.assertInstanceOf(TimeoutException.class, exception.getCause());
+    Assertions.assertFalse(manager.hasWaitingHandler(queryRequest.uniqueId()));
+    Assertions.assertEquals(0, manager.waitingHandlerCount());
+  }
+
+  @Test
+  void testExpiredQueryIsCompletedOnTimeoutExecutor() throws Exception {
+    var manager = new DefaultQueryPacketManager(mockChannel());
+    var executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("Timeout-Executor").factory());
+    try {
+      manager.timeoutExecutor(executor);
+      var completionThread = manager
+        .sendQueryPacket(new BasePacket(-1, DataBuf.empty()), Duration.ofMillis(200))
+        .handle((_, _) -> Thread.currentThread().getName());
+      Assertions.assertEquals("Timeout-Executor", completionThread.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testWaitingHandlersFailOnClose() {
+    var manager = new DefaultQueryPacketManager(mockChannel());
+    var firstResponseTask = manager.sendQueryPacket(new BasePacket(-1, DataBuf.empty()));
+    var secondResponseTask = manager.sendQueryPacket(new BasePacket(-1, DataBuf.empty()));
+
+    manager.failWaitingHandlers();
+    Assertions.assertEquals(0, manager.waitingHandlerCount());
+    Assertions.assertInstanceOf(ClosedChannelException.class, firstResponseTask.exceptionNow());
+    Assertions.assertInstanceOf(ClosedChannelException.class, secondResponseTask.exceptionNow());
+
+    // queries sent after the channel was closed should fail directly
+    var lateResponseTask = manager.sendQueryPacket(new BasePacket(-1, DataBuf.empty()));
+    Assertions.assertInstanceOf(ClosedChannelException.class, lateResponseTask.exceptionNow());
+  }
+
+  @Test
+  void testQueryFailsOnWriteFailure() {
+    var channel = Mockito.mock(NetworkChannel.class);
+    var writeException = new IOException("write failed");
+    Mockito.when(channel.sendPacketAsync(Mockito.any())).thenReturn(CompletableFuture.failedFuture(writeException));
+
+    var manager = new DefaultQueryPacketManager(channel);
+    var queryRequest = new BasePacket(-1, DataBuf.empty());
+    var responseTask = manager.sendQueryPacket(queryRequest);
+
+    Assertions.assertSame(writeException, responseTask.exceptionNow());
+    Assertions.assertFalse(manager.hasWaitingHandler(queryRequest.uniqueId()));
+    Assertions.assertEquals(0, manager.waitingHandlerCount());
   }
 }
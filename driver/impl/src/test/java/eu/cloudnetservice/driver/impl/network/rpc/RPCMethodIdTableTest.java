@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.rpc;
+
+import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@EnableServicesInject
+public class RPCMethodIdTableTest {
+
+  private static final String CLASS_NAME = "eu.cloudnetservice.driver.provider.CloudServiceProvider";
+  private static final String METHOD_NAME = "serviceByName";
+  private static final String METHOD_DESC = "(Ljava/lang/String;)Leu/cloudnetservice/driver/service/ServiceInfoSnapshot;";
+
+  @Test
+  void testPlainFormWithoutTable() {
+    var buffer = DataBufFactory.defaultFactory().createEmpty();
+    var definition = RPCMethodIdTable.writeMethod(null, buffer, CLASS_NAME, METHOD_NAME, METHOD_DESC);
+    Assertions.assertNull(definition);
+
+    var method = RPCMethodIdTable.readMethod(new RPCMethodIdTable(), buffer);
+    Assertions.assertEquals(new RPCMethodIdTable.MethodKey(CLASS_NAME, METHOD_NAME, METHOD_DESC), method);
+  }
+
+  @Test
+  void testPlainFormKeepsOuterTransaction() {
+    // the length of the class name exceeds a single var int byte
+    var className = CLASS_NAME + "$Inner".repeat(20);
+    var buffer = DataBufFactory.defaultFactory().createEmpty().writeInt(1);
+    RPCMethodIdTable.writeMethod(null, buffer, className, METHOD_NAME, METHOD_DESC);
+    buffer.writeInt(2);
+
+    buffer.startTransaction();
+    Assertions.assertEquals(1, buffer.readInt());
+    Assertions.assertEquals(
+      new RPCMethodIdTable.MethodKey(className, METHOD_NAME, METHOD_DESC),
+      RPCMethodIdTable.readMethod(null, buffer));
+    Assertions.assertEquals(2, buffer.readInt());
+
+    buffer.redoTransaction();
+    Assertions.assertEquals(1, buffer.readInt());
+    buffer.release();
+  }
+
+  @Test
+  void testCompactFormAfterConfirmation() {
+    var senderTable = new RPCMethodIdTable();
+    var receiverTable = new RPCMethodIdTable();
+    var expectedMethod = new RPCMethodIdTable.MethodKey(CLASS_NAME, METHOD_NAME, METHOD_DESC);
+
+    // first request contains the definition
+    var definitionBuffer = DataBufFactory.defaultFactory().createEmpty();
+    var definition = RPCMethodIdTable.writeMethod(senderTable, definitionBuffer, CLASS_NAME, METHOD_NAME, METHOD_DESC);
+    Assertions.assertNotNull(definition);
+    Assertions.assertEquals(expectedMethod, RPCMethodIdTable.readMethod(receiverTable, definitionBuffer));
+
+    // the definition is sent until it was confirmed
+    var unconfirmedBuffer = DataBufFactory.defaultFactory().createEmpty();
+    Assertions.assertSame(
+      definition,
+      RPCMethodIdTable.writeMethod(senderTable, unconfirmedBuffer, CLASS_NAME, METHOD_NAME, METHOD_DESC));
+    unconfirmedBuffer.release();
+
+    // after the confirmation only the id is sent
+    definition.confirm();
+    var compactBuffer = DataBufFactory.defaultFactory().createEmpty();
+    Assertions.assertNull(RPCMethodIdTable.writeMethod(senderTable, compactBuffer, CLASS_NAME, METHOD_NAME, METHOD_DESC));
+    Assertions.assertEquals(2, compactBuffer.readableBytes());
+    Assertions.assertEquals(expectedMethod, RPCMethodIdTable.readMethod(receiverTable, compactBuffer));
+  }
+
+  @Test
+  void testUnknownMethodIdIsNotResolved() {
+    var senderTable = new RPCMethodIdTable();
+    var buffer = DataBufFactory.defaultFactory().createEmpty();
+    var definition = RPCMethodIdTable.writeMethod(senderTable, buffer, CLASS_NAME, METHOD_NAME, METHOD_DESC);
+    Assertions.assertNotNull(definition);
+    buffer.release();
+
+    // the receiver never saw the definition
+    definition.confirm();
+    var compactBuffer = DataBufFactory.defaultFactory().createEmpty();
+    RPCMethodIdTable.writeMethod(senderTable, compactBuffer, CLASS_NAME, METHOD_NAME, METHOD_DESC);
+    Assertions.assertNull(RPCMethodIdTable.readMethod(new RPCMethodIdTable(), compactBuffer));
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class OrderedVirtualThreadNetworkTaskSchedulerTest {
+
+  @Test
+  void testChannelTasksAreExecutedInOrder() throws InterruptedException {
+    var scheduler = new OrderedVirtualThreadNetworkTaskScheduler("Test-Dispatcher-");
+    try {
+      var channelExecutor = scheduler.newChannelExecutor();
+      var executedTasks = new CountDownLatch(1000);
+      List<Integer> executionOrder = Collections.synchronizedList(new ArrayList<>());
+      for (var taskId = 0; taskId < 1000; taskId++) {
+        var id = taskId;
+        channelExecutor.execute(() -> {
+          executionOrder.add(id);
+          executedTasks.countDown();
+        });
+      }
+
+      Assertions.assertTrue(executedTasks.await(30, TimeUnit.SECONDS));
+      for (var index = 0; index < 1000; index++) {
+        Assertions.assertEquals(index, executionOrder.get(index));
+      }
+
+      Assertions.assertEquals(0, channelExecutor.queuedTasks());
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  void testBlockedChannelDoesNotBlockOtherChannels() throws InterruptedException {
+    var scheduler = new OrderedVirtualThreadNetworkTaskScheduler("Test-Dispatcher-");
+    try {
+      var started = new CountDownLatch(1);
+      var release = new CountDownLatch(1);
+      var blockedChannel = scheduler.newChannelExecutor();
+      blockedChannel.execute(() -> {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException _) {
+        }
+      });
+      blockedChannel.execute(() -> {
+      });
+
+      var executedTask = new CountDownLatch(1);
+      scheduler.newChannelExecutor().execute(executedTask::countDown);
+      Assertions.assertTrue(executedTask.await(30, TimeUnit.SECONDS));
+      Assertions.assertTrue(started.await(30, TimeUnit.SECONDS));
+
+      // the second task of the blocked channel must wait for the first one
+      Assertions.assertEquals(1, blockedChannel.queuedTasks());
+      release.countDown();
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  void testTaskExceptionDoesNotStopChannelExecution() throws InterruptedException {
+    var scheduler = new OrderedVirtualThreadNetworkTaskScheduler("Test-Dispatcher-");
+    try {
+      var channelExecutor = scheduler.newChannelExecutor();
+      var executedTask = new CountDownLatch(1);
+      channelExecutor.execute(() -> {
+        throw new IllegalStateException("expected");
+      });
+      channelExecutor.execute(executedTask::countDown);
+
+      Assertions.assertTrue(executedTask.await(30, TimeUnit.SECONDS));
+      Assertions.assertTrue(scheduler.executedTasks() >= 1);
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  void testTaskErrorDoesNotStopChannelExecution() throws InterruptedException {
+    var scheduler = new OrderedVirtualThreadNetworkTaskScheduler("Test-Dispatcher-");
+    try {
+      var channelExecutor = scheduler.newChannelExecutor();
+      var executedTask = new CountDownLatch(1);
+      channelExecutor.execute(() -> {
+        throw new AssertionError("expected");
+      });
+      channelExecutor.execute(executedTask::countDown);
+
+      Assertions.assertTrue(executedTask.await(30, TimeUnit.SECONDS));
+      Assertions.assertEquals(0, channelExecutor.queuedTasks());
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+}
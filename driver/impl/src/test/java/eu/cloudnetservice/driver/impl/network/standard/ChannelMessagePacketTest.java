@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.impl.network.standard;
+
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.impl.junit.EnableServicesInject;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+@EnableServicesInject
+public class ChannelMessagePacketTest {
+
+  @Test
+  void testSharedPacketsContainTheSameEncodedMessage() {
+    var content = DataBuf.empty().writeString("world").writeInt(1234);
+    var message = ChannelMessage.builder()
+      .channel("hello")
+      .message("world")
+      .buffer(content)
+      .sender(ChannelMessageSender.of("Node-1", DriverEnvironment.NODE))
+      .targetAll()
+      .build();
+
+    // the content of the message is released when writing it into a packet
+    message.content().acquire();
+    var expectedContent = new ChannelMessagePacket(message, false).content().toByteArray();
+    var packets = ChannelMessagePacket.createShared(message, false, 3);
+
+    Assertions.assertEquals(3, packets.size());
+    Assertions.assertFalse(content.accessible());
+
+    // reading (and therefore releasing) one packet must not affect the content of the other packets
+    var decoded = packets.getFirst().content();
+    Assertions.assertFalse(decoded.readBoolean());
+    var decodedMessage = decoded.readObject(ChannelMessage.class);
+    Assertions.assertEquals("hello", decodedMessage.channel());
+    Assertions.assertEquals("world", decodedMessage.content().readString());
+    Assertions.assertEquals(1234, decodedMessage.content().readInt());
+
+    Assertions.assertArrayEquals(expectedContent, packets.get(1).content().toByteArray());
+    Assertions.assertArrayEquals(expectedContent, packets.get(2).content().toByteArray());
+  }
+
+  @Test
+  void testNoPacketsReleaseMessage() {
+    var content = DataBuf.empty().writeString("world");
+    var message = ChannelMessage.builder()
+      .channel("hello")
+      .message("world")
+      .buffer(content)
+      .sender(ChannelMessageSender.of("Node-1", DriverEnvironment.NODE))
+      .targetAll()
+      .build();
+
+    Assertions.assertTrue(ChannelMessagePacket.createShared(message, false, 0).isEmpty());
+    Assertions.assertFalse(content.accessible());
+  }
+}
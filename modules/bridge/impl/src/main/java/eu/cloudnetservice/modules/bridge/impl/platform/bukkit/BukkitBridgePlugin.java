@@ -20,6 +20,8 @@
 import eu.cloudnetservice.driver.registry.ServiceRegistry;
 import eu.cloudnetservice.ext.platforminject.api.PlatformEntrypoint;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.PlatformPlugin;
+import eu.cloudnetservice.modules.bridge.impl.platform.listener.PlatformChannelMessageListener;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -60,6 +62,12 @@ public BukkitBridgePlugin(
     this.playerListener = playerListener;
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    PlatformChannelMessageListener.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onLoad() {
     // init the bridge management
@@ -24,6 +24,8 @@
 import eu.cloudnetservice.modules.bridge.impl.platform.bungeecord.command.BungeeCordCloudCommand;
 import eu.cloudnetservice.modules.bridge.impl.platform.bungeecord.command.BungeeCordFakeReloadCommand;
 import eu.cloudnetservice.modules.bridge.impl.platform.bungeecord.command.BungeeCordHubCommand;
+import eu.cloudnetservice.modules.bridge.impl.platform.listener.PlatformChannelMessageListener;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import java.util.Arrays;
 import lombok.NonNull;
@@ -70,6 +72,12 @@ public BungeeCordBridgePlugin(
     this.playerListener = playerListener;
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    PlatformChannelMessageListener.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onLoad() {
     // init the management
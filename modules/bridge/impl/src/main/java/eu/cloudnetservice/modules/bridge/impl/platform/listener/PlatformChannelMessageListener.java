@@ -36,6 +36,7 @@
 import eu.cloudnetservice.modules.bridge.player.NetworkPlayerServerInfo;
 import eu.cloudnetservice.modules.bridge.player.NetworkServiceInfo;
 import eu.cloudnetservice.modules.bridge.player.executor.ServerSelectorType;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import lombok.NonNull;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
@@ -45,6 +46,14 @@ public final class PlatformChannelMessageListener {
   private final EventManager eventManager;
   private final PlatformBridgeManagement<?, ?> management;
 
+  public static void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // the channels handled by this listener, must be kept in sync with the listener methods
+    subscriptionHolder.subscribe(
+      BridgeManagement.BRIDGE_CHANNEL_NAME,
+      BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME,
+      BridgeManagement.BRIDGE_PLAYER_EXECUTOR_CHANNEL_NAME);
+  }
+
   public PlatformChannelMessageListener(
     @NonNull EventManager eventManager,
     @NonNull PlatformBridgeManagement<?, ?> management
@@ -22,6 +22,8 @@
 import eu.cloudnetservice.ext.platforminject.api.stereotype.ExternalDependency;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.PlatformPlugin;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.Repository;
+import eu.cloudnetservice.modules.bridge.impl.platform.listener.PlatformChannelMessageListener;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -66,6 +68,12 @@ public MinestomBridgeExtension(
     serviceRegistry.discoverServices(MinestomBridgeExtension.class);
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    PlatformChannelMessageListener.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onLoad() {
     this.bridgeManagement.registerServices(this.serviceRegistry);
@@ -143,6 +143,12 @@ public void runCommand(@NonNull String command) {
     return this.configuration.factoryName();
   }
 
+  @Override
+  protected boolean connectThroughDomainSocket() {
+    // the domain socket of the node is not mounted into the container
+    return false;
+  }
+
   @Override
   public boolean alive() {
     if (this.containerId != null) {
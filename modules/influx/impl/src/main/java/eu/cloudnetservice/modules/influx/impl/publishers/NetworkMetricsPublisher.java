@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.influx.impl.publishers;
+
+import com.influxdb.client.write.Point;
+import eu.cloudnetservice.driver.network.metrics.ChannelStatistics;
+import eu.cloudnetservice.driver.network.metrics.NetworkMetrics;
+import eu.cloudnetservice.driver.network.metrics.TrafficStatistics;
+import eu.cloudnetservice.driver.registry.AutoService;
+import eu.cloudnetservice.modules.influx.impl.util.PointUtil;
+import eu.cloudnetservice.modules.influx.publish.Publisher;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.NonNull;
+
+@Singleton
+@AutoService(services = Publisher.class, name = "NetworkMetrics")
+public record NetworkMetricsPublisher(
+  @NonNull NetworkMetrics networkMetrics,
+  @NonNull NodeServerProvider nodeServerProvider,
+  @NonNull CloudServiceManager serviceManager
+) implements Publisher {
+
+  @Override
+  public @NonNull Collection<Point> createPoints() {
+    var points = new ArrayList<Point>();
+    points.add(this.createOverviewPoint());
+
+    // channels are tagged by the node or service they are connected to, to keep the amount of series bounded. channels
+    // that are not (yet) associated with a node or service are short-lived (for example during the authorization)
+    var channelTargets = this.channelTargets();
+    for (var statistics : this.networkMetrics.channels()) {
+      var target = channelTargets.get(statistics.channelId());
+      if (target != null) {
+        points.add(this.createChannelPoint(target, statistics));
+      }
+    }
+
+    this.addTrafficPoints(points, "network_packet_channels", this.networkMetrics.packetChannels());
+    this.addTrafficPoints(points, "network_rpc_targets", this.networkMetrics.rpcTargets());
+    this.addTrafficPoints(points, "network_channel_messages", this.networkMetrics.channelMessages());
+    return points;
+  }
+
+  private @NonNull Point createOverviewPoint() {
+    var queryRoundTrips = this.networkMetrics.queryRoundTrips();
+    var point = PointUtil.point("network")
+      .addField("Channels", this.networkMetrics.channels().size())
+      .addField("QueryCount", queryRoundTrips.count())
+      .addField("QueryMeanNanos", queryRoundTrips.meanNanos())
+      .addField("QueryP99Nanos", queryRoundTrips.p99Nanos())
+      .addField("QueryMaxNanos", queryRoundTrips.maxNanos());
+    this.networkMetrics.gauges().forEach(point::addField);
+    return point;
+  }
+
+  private @NonNull Map<Long, ChannelTarget> channelTargets() {
+    Map<Long, ChannelTarget> targets = new HashMap<>();
+    for (var nodeServer : this.nodeServerProvider.nodeServers()) {
+      var channel = nodeServer.channel();
+      if (channel != null) {
+        targets.put(channel.channelId(), new ChannelTarget("node", nodeServer.name()));
+      }
+    }
+
+    for (var service : this.serviceManager.localCloudServices()) {
+      var channel = service.networkChannel();
+      if (channel != null) {
+        targets.put(channel.channelId(), new ChannelTarget("service", service.serviceId().name()));
+      }
+    }
+
+    return targets;
+  }
+
+  private @NonNull Point createChannelPoint(@NonNull ChannelTarget target, @NonNull ChannelStatistics statistics) {
+    var point = PointUtil.point("network_channels")
+      .addTag("type", target.type())
+      .addTag("name", target.name())
+      .addField("ChannelId", statistics.channelId())
+      .addField("ServerAddress", statistics.serverAddress().toString())
+      .addField("ClientAddress", statistics.clientAddress().toString())
+      .addField("QueuedPackets", statistics.queuedPackets())
+      .addField("PendingOutboundBytes", statistics.pendingOutboundBytes())
+      .addField("DroppedPackets", statistics.droppedPackets());
+    return addTrafficFields(point, statistics.traffic());
+  }
+
+  private void addTrafficPoints(
+    @NonNull Collection<Point> target,
+    @NonNull String measurement,
+    @NonNull Map<?, TrafficStatistics> statistics
+  ) {
+    statistics.forEach((key, traffic) -> {
+      var point = PointUtil.point(measurement).addTag("key", String.valueOf(key));
+      target.add(addTrafficFields(point, traffic));
+    });
+  }
+
+  private static @NonNull Point addTrafficFields(@NonNull Point point, @NonNull TrafficStatistics traffic) {
+    return point
+      .addField("PacketsIn", traffic.packetsIn())
+      .addField("BytesIn", traffic.bytesIn())
+      .addField("PacketsOut", traffic.packetsOut())
+      .addField("BytesOut", traffic.bytesOut())
+      .addField("HandlingCount", traffic.handling().count())
+      .addField("HandlingMeanNanos", traffic.handling().meanNanos())
+      .addField("HandlingP99Nanos", traffic.handling().p99Nanos());
+  }
+
+  private record ChannelTarget(@NonNull String type, @NonNull String name) {
+
+  }
+}
@@ -25,6 +25,7 @@ tasks.withType<Jar> {
 
 dependencies {
   "compileOnly"(projects.wrapperJvm)
+  "compileOnly"(projects.wrapperJvm.wrapperJvmApi)
   "compileOnly"(projects.node.nodeImpl)
   "compileOnly"(projects.driver.driverImpl)
   "compileOnly"(libs.bundles.proxyPlatform)
@@ -20,12 +20,18 @@
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
 import eu.cloudnetservice.modules.labymod.LabyModManagement;
 import eu.cloudnetservice.modules.labymod.config.LabyModConfiguration;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
 
 @Singleton
 public class PlatformLabyModListener {
 
+  public static void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // the channels handled by this listener, must be kept in sync with the listener methods
+    subscriptionHolder.subscribe(LabyModManagement.LABYMOD_MODULE_CHANNEL);
+  }
+
   @EventListener
   public void handleConfigUpdate(
     @NonNull ChannelMessageReceiveEvent event,
@@ -22,6 +22,7 @@
 import eu.cloudnetservice.ext.platforminject.api.stereotype.Dependency;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.PlatformPlugin;
 import eu.cloudnetservice.modules.labymod.impl.platform.PlatformLabyModListener;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -57,6 +58,12 @@ public void registerPlatformListener(
     manager.registerListener(plugin, listener);
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    PlatformLabyModListener.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onLoad() {
     // register the common cloudnet listener for channel messages
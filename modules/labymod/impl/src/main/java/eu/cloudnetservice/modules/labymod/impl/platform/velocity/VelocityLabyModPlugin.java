@@ -26,6 +26,7 @@
 import eu.cloudnetservice.ext.platforminject.api.stereotype.PlatformPlugin;
 import eu.cloudnetservice.modules.labymod.LabyModManagement;
 import eu.cloudnetservice.modules.labymod.impl.platform.PlatformLabyModListener;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -64,6 +65,12 @@ public void registerPluginChannel(@NonNull ChannelRegistrar channelRegistrar) {
     channelRegistrar.register(new LegacyChannelIdentifier(LabyModManagement.LABYMOD_CLIENT_CHANNEL));
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    PlatformLabyModListener.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onLoad() {
     // register the common cloudnet listener for channel messages
@@ -32,6 +32,7 @@
 import eu.cloudnetservice.modules.npc.configuration.NPCConfigurationEntry;
 import eu.cloudnetservice.modules.npc.impl.AbstractNPCManagement;
 import eu.cloudnetservice.modules.npc.platform.PlatformSelectorEntity;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
 import java.util.Collection;
 import java.util.Collections;
@@ -59,6 +60,11 @@
   protected final Map<UUID, ServiceInfoSnapshot> trackedServices = new ConcurrentHashMap<>();
   protected final Map<WorldPosition, PlatformSelectorEntity<L, P, M, I, S>> trackedEntities = new ConcurrentHashMap<>();
 
+  public static void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // npc updates are sent to all services on the npc channel
+    subscriptionHolder.subscribe(AbstractNPCManagement.NPC_CHANNEL_NAME);
+  }
+
   public PlatformNPCManagement(
     @NonNull EventManager eventManager,
     @NonNull ComponentInfo componentInfo,
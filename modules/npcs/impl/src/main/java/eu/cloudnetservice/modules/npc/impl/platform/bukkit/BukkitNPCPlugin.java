@@ -21,10 +21,12 @@
 import eu.cloudnetservice.ext.platforminject.api.stereotype.Command;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.Dependency;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.PlatformPlugin;
+import eu.cloudnetservice.modules.npc.impl.platform.PlatformNPCManagement;
 import eu.cloudnetservice.modules.npc.impl.platform.bukkit.command.NPCCommand;
 import eu.cloudnetservice.modules.npc.impl.platform.bukkit.listener.BukkitEntityProtectionListener;
 import eu.cloudnetservice.modules.npc.impl.platform.bukkit.listener.BukkitFunctionalityListener;
 import eu.cloudnetservice.modules.npc.impl.platform.bukkit.listener.BukkitWorldListener;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -90,6 +92,12 @@ private void registerCommand(@NonNull JavaPlugin plugin, @NonNull NPCCommand npc
     }
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    PlatformNPCManagement.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onDisable() {
     this.npcManagement.removeSpawnedEntities();
@@ -34,6 +34,7 @@
 import eu.cloudnetservice.modules.signs.impl.SharedChannelMessageListener;
 import eu.cloudnetservice.modules.signs.impl.util.LayoutUtil;
 import eu.cloudnetservice.modules.signs.impl.util.PriorityUtil;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
 import java.util.Collection;
 import java.util.HashMap;
@@ -100,6 +101,11 @@ protected PlatformSignManagement(
     eventManager.registerListener(SharedChannelMessageListener.class);
   }
 
+  public static void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // sign updates are sent to all services on the sign channel
+    subscriptionHolder.subscribe(AbstractSignManagement.SIGN_CHANNEL_NAME);
+  }
+
   protected static @Nullable SignsConfiguration loadSignsConfiguration(@NonNull WrapperConfiguration wrapperConfig) {
     var response = ChannelMessage.builder()
       .channel(AbstractSignManagement.SIGN_CHANNEL_NAME)
@@ -22,8 +22,10 @@
 import eu.cloudnetservice.ext.platforminject.api.stereotype.Command;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.Dependency;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.PlatformPlugin;
+import eu.cloudnetservice.modules.signs.impl.platform.PlatformSignManagement;
 import eu.cloudnetservice.modules.signs.impl.platform.bukkit.functionality.SignInteractListener;
 import eu.cloudnetservice.modules.signs.impl.platform.bukkit.functionality.SignsCommand;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -72,6 +74,12 @@ public BukkitSignsPlugin(
     this.signInteractListener = signInteractListener;
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    PlatformSignManagement.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onLoad() {
     this.signManagement.initialize();
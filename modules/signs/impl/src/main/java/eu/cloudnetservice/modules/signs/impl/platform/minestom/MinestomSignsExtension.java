@@ -21,8 +21,10 @@
 import eu.cloudnetservice.ext.platforminject.api.PlatformEntrypoint;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.Dependency;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.PlatformPlugin;
+import eu.cloudnetservice.modules.signs.impl.platform.PlatformSignManagement;
 import eu.cloudnetservice.modules.signs.impl.platform.minestom.functionality.SignInteractListener;
 import eu.cloudnetservice.modules.signs.impl.platform.minestom.functionality.SignsCommand;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -59,6 +61,12 @@ public MinestomSignsExtension(
     this.signManagement = signManagement;
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    PlatformSignManagement.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onLoad() {
     this.signManagement.initialize();
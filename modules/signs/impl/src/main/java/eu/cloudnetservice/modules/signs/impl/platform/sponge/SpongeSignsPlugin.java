@@ -22,7 +22,9 @@
 import eu.cloudnetservice.ext.platforminject.api.stereotype.ConstructionListener;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.Dependency;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.PlatformPlugin;
+import eu.cloudnetservice.modules.signs.impl.platform.PlatformSignManagement;
 import eu.cloudnetservice.modules.signs.impl.platform.sponge.functionality.SignInteractListener;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -68,6 +70,12 @@ public SpongeSignsPlugin(
     this.interactListener = interactListener;
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    PlatformSignManagement.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onLoad() {
     this.signManagement.initialize();
@@ -22,6 +22,7 @@
 import eu.cloudnetservice.ext.platforminject.api.stereotype.Dependency;
 import eu.cloudnetservice.ext.platforminject.api.stereotype.PlatformPlugin;
 import eu.cloudnetservice.modules.syncproxy.impl.platform.listener.SyncProxyCloudListener;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -56,6 +57,12 @@ public BungeeCordSyncProxyPlugin(
     this.syncProxyManagement = syncProxyManagement;
   }
 
+  @Inject
+  private void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // only receive the channel messages handled by this module if the service filters its channel messages
+    SyncProxyCloudListener.subscribeChannels(subscriptionHolder);
+  }
+
   @Override
   public void onLoad() {
     // register the event listener to handle service updates
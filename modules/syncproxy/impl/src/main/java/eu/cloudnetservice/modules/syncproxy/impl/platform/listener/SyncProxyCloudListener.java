@@ -25,10 +25,16 @@
 import eu.cloudnetservice.modules.syncproxy.SyncProxyConstants;
 import eu.cloudnetservice.modules.syncproxy.config.SyncProxyConfiguration;
 import eu.cloudnetservice.modules.syncproxy.impl.platform.PlatformSyncProxyManagement;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
 import lombok.NonNull;
 
 public record SyncProxyCloudListener<P>(@NonNull PlatformSyncProxyManagement<P> management) {
 
+  public static void subscribeChannels(@NonNull ChannelSubscriptionHolder subscriptionHolder) {
+    // the channels handled by this listener, must be kept in sync with the listener methods
+    subscriptionHolder.subscribe(SyncProxyConstants.SYNC_PROXY_CHANNEL);
+  }
+
   @EventListener
   public void handleServiceLifecycleChange(@NonNull CloudServiceLifecycleChangeEvent event) {
     switch (event.newLifeCycle()) {
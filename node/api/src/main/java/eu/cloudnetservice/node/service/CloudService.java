@@ -59,6 +59,8 @@ public interface CloudService extends SpecificCloudServiceProvider {
 
   @Nullable NetworkChannel networkChannel();
 
+  boolean subscribedToChannel(@NonNull String channel);
+
   @NonNull ServiceInfoSnapshot lastServiceInfoSnapshot();
 
   @NonNull ServiceConsoleLogCache serviceConsoleLogCache();
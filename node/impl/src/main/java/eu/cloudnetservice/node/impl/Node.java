@@ -53,6 +53,7 @@
 import eu.cloudnetservice.node.impl.module.NodeModuleProviderHandler;
 import eu.cloudnetservice.node.impl.module.updater.ModuleUpdater;
 import eu.cloudnetservice.node.impl.module.updater.ModuleUpdaterRegistry;
+import eu.cloudnetservice.node.impl.network.WrapperDomainSocketListener;
 import eu.cloudnetservice.node.impl.network.chunk.FileDeployCallbackListener;
 import eu.cloudnetservice.node.impl.network.chunk.FileQueryChannelMessageListener;
 import eu.cloudnetservice.node.impl.setup.DefaultInstallation;
@@ -334,6 +335,25 @@ private void bindNetworkListeners(
       Thread.sleep(5000);
       System.exit(1);
     }
+
+    // bind the domain socket listener for local services if configured, services fall back
+    // to connecting through one of the tcp listeners if the bind fails
+    var domainSocketListener = WrapperDomainSocketListener.configuredListener();
+    if (domainSocketListener != null) {
+      networkServer.addListener(domainSocketListener).handle(($, exception) -> {
+        if (exception != null) {
+          LOGGER.info(i18n.translate(
+            "network-listener-bound-exceptionally",
+            domainSocketListener,
+            exception.getMessage()));
+        } else {
+          WrapperDomainSocketListener.markBound(domainSocketListener);
+          LOGGER.info(i18n.translate("network-listener-bound", domainSocketListener));
+        }
+
+        return null;
+      }).join();
+    }
   }
 
   @Inject
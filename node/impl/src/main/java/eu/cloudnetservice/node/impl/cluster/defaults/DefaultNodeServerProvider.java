@@ -37,23 +37,43 @@
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
 import eu.cloudnetservice.node.impl.network.listener.message.NodeChannelMessageListener;
+import eu.cloudnetservice.utils.base.concurrent.TaskUtil;
+import eu.cloudnetservice.utils.base.io.FileChannelInputStream;
+import eu.cloudnetservice.utils.base.io.FileUtil;
 import io.leangen.geantyref.TypeFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Singleton
 @Provides(NodeServerProvider.class)
 public class DefaultNodeServerProvider implements NodeServerProvider {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(DefaultNodeServerProvider.class);
+  private static final int DEPLOY_ATTEMPTS = Integer.getInteger("cloudnet.cluster.deploy-attempts", 3);
+  private static final long DEPLOY_RETRY_DELAY_MS = Long.getLong("cloudnet.cluster.deploy-retry-delay-millis", 5_000);
+
   private final DataSyncRegistry dataSyncRegistry;
 
   private final LocalNodeServer localNode;
@@ -183,21 +203,10 @@ public void selectHeadNode() {
     @NonNull InputStream stream,
     boolean overwrite
   ) {
-    // collect all known & available channels in the cluster
-    var channels = this.connectedNodeChannels();
-    if (!channels.isEmpty()) {
-      // send the template chunked to the cluster
-      return ChunkedPacketSender.forStreamTransfer()
-        .transferChannel("deploy_service_template")
-        .withExtraData(
-          DataBuf.empty().writeString(template.storageName()).writeObject(template).writeBoolean(overwrite))
-        .toChannels(channels)
-        .source(stream)
-        .build()
-        .transferChunkedData();
-    }
-    // if there are no channels we "pseudo" completed the transfer
-    return CompletableFuture.completedFuture(TransferStatus.SUCCESS);
+    return this.deployToCluster(
+      "deploy_service_template",
+      () -> DataBuf.empty().writeString(template.storageName()).writeObject(template).writeBoolean(overwrite),
+      stream);
   }
 
   @Override
@@ -206,20 +215,119 @@ public void selectHeadNode() {
     @NonNull InputStream stream,
     boolean overwrite
   ) {
-    // collect all known & available channels in the cluster
+    return this.deployToCluster(
+      "deploy_static_service",
+      () -> DataBuf.empty().writeString(name).writeBoolean(overwrite),
+      stream);
+  }
+
+  /**
+   * Deploys the data of the given stream to all connected nodes in the cluster. Streams backed by a file channel are
+   * transferred from that channel directly, all other streams are first written into a temp file off the calling
+   * thread. This allows a failed transfer to be retried from the same channel using the same session id. A retried
+   * transfer is resumed by the receiving nodes, only the chunks they did not receive yet are sent again.
+   *
+   * @param transferChannel  the transfer channel to send the data to.
+   * @param extraDataFactory the factory for the extra data of the transfer, called once per transfer attempt.
+   * @param stream           the stream of the data to deploy, closed by this method.
+   * @return a future completed with the status of the transfer.
+   * @throws NullPointerException if the given transfer channel, extra data factory or stream is null.
+   */
+  private @NonNull CompletableFuture<TransferStatus> deployToCluster(
+    @NonNull String transferChannel,
+    @NonNull Supplier<DataBuf> extraDataFactory,
+    @NonNull InputStream stream
+  ) {
+    // if there are no channels we "pseudo" completed the transfer
+    if (this.connectedNodeChannels().isEmpty()) {
+      closeQuietly(stream);
+      return CompletableFuture.completedFuture(TransferStatus.SUCCESS);
+    }
+
+    // file backed streams are read from their channel using positional reads, which can be repeated for each attempt
+    var sessionId = UUID.randomUUID();
+    var fileChannel = switch (stream) {
+      case FileChannelInputStream fileChannelInputStream -> fileChannelInputStream.channel();
+      case FileInputStream fileInputStream -> fileInputStream.getChannel();
+      default -> null;
+    };
+    if (fileChannel != null) {
+      return this.deployToCluster(transferChannel, extraDataFactory, fileChannel, sessionId, 1)
+        .whenComplete((_, _) -> closeQuietly(stream));
+    }
+
+    // spool all other streams into a temp file, without blocking the calling thread while reading the stream
+    var tempFile = FileUtil.createTempFile();
+    return TaskUtil.supplyVirtualAsync(() -> {
+        try (stream) {
+          Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return FileChannel.open(tempFile, StandardOpenOption.READ);
+      })
+      .thenCompose(tempFileChannel -> this
+        .deployToCluster(transferChannel, extraDataFactory, tempFileChannel, sessionId, 1)
+        .whenComplete((_, _) -> closeQuietly(tempFileChannel)))
+      .whenComplete((_, _) -> FileUtil.delete(tempFile));
+  }
+
+  /**
+   * Deploys the data of the given file channel to all connected nodes in the cluster, retrying the transfer with the
+   * same session id if it fails and the configured attempts are not exhausted yet. The channel is not closed by this
+   * method, the data is transferred starting at the current position of the channel on each attempt.
+   *
+   * @param transferChannel  the transfer channel to send the data to.
+   * @param extraDataFactory the factory for the extra data of the transfer.
+   * @param fileChannel      the channel of the file to deploy.
+   * @param sessionId        the id of the transfer session, the same for all attempts.
+   * @param attempt          the number of the current attempt, starting at 1.
+   * @return a future completed with the status of the last transfer attempt.
+   * @throws NullPointerException if the given transfer channel, extra data factory, file channel or session id is null.
+   */
+  private @NonNull CompletableFuture<TransferStatus> deployToCluster(
+    @NonNull String transferChannel,
+    @NonNull Supplier<DataBuf> extraDataFactory,
+    @NonNull FileChannel fileChannel,
+    @NonNull UUID sessionId,
+    int attempt
+  ) {
+    // collect the channels again on each attempt, a node might have reconnected meanwhile
     var channels = this.connectedNodeChannels();
-    if (!channels.isEmpty()) {
-      // send the template chunked to the cluster
-      return ChunkedPacketSender.forStreamTransfer()
-        .transferChannel("deploy_static_service")
-        .withExtraData(DataBuf.empty().writeString(name).writeBoolean(overwrite))
-        .toChannels(channels)
-        .source(stream)
-        .build()
-        .transferChunkedData();
+    if (channels.isEmpty()) {
+      return CompletableFuture.completedFuture(TransferStatus.SUCCESS);
+    }
+
+    return ChunkedPacketSender.forStreamTransfer()
+      .source(fileChannel, false)
+      .sessionUniqueId(sessionId)
+      .transferChannel(transferChannel)
+      .withExtraData(extraDataFactory.get())
+      .toChannels(channels)
+      .build()
+      .transferChunkedData()
+      .thenCompose(status -> {
+        if (status != TransferStatus.FAILURE || attempt >= DEPLOY_ATTEMPTS) {
+          return CompletableFuture.completedFuture(status);
+        }
+
+        LOGGER.debug("Deployment {} to the cluster failed, retrying (attempt {})", sessionId, attempt + 1);
+        var retryExecutor = CompletableFuture.delayedExecutor(DEPLOY_RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> attempt + 1, retryExecutor).thenCompose(nextAttempt ->
+          this.deployToCluster(transferChannel, extraDataFactory, fileChannel, sessionId, nextAttempt));
+      });
+  }
+
+  /**
+   * Closes the given closeable, logging the exception if closing fails.
+   *
+   * @param closeable the closeable to close.
+   * @throws NullPointerException if the given closeable is null.
+   */
+  private static void closeQuietly(@NonNull Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException exception) {
+      LOGGER.debug("Unable to close deployment source {}", closeable, exception);
     }
-    // if there are no channels we "pseudo" completed the transfer
-    return CompletableFuture.completedFuture(TransferStatus.SUCCESS);
   }
 
   @Override
@@ -232,6 +340,18 @@ public void sendPacket(@NonNull Packet packet) {
     }
   }
 
+  @Override
+  public @NonNull CompletableFuture<Void> sendPacketAsync(@NonNull Packet packet) {
+    var writeFutures = new ArrayList<CompletableFuture<Void>>(this.nodeServers.size());
+    for (var server : this.nodeServers) {
+      var channel = server.channel();
+      if (channel != null) {
+        writeFutures.add(channel.sendPacketAsync(packet));
+      }
+    }
+    return CompletableFuture.allOf(writeFutures.toArray(CompletableFuture[]::new));
+  }
+
   @Override
   public void sendPacketSync(@NonNull Packet packet) {
     for (var server : this.nodeServers) {
@@ -16,25 +16,140 @@
 
 package eu.cloudnetservice.node.impl.cluster.util;
 
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
+import eu.cloudnetservice.driver.impl.network.standard.ChannelMessagePacket;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.utils.base.io.FileUtil;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public final class QueuedNetworkChannel implements NetworkChannel {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueuedNetworkChannel.class);
+
+  private static final Path SPILL_DIRECTORY = FileUtil.TEMP_DIR.resolve("node-queues");
+  private static final long DEFAULT_MAX_MEMORY_BYTES = Long.getLong(
+    "cloudnet.net.node-queue.max-memory-bytes",
+    16 * 1024 * 1024);
+  private static final long DEFAULT_MAX_SPILL_BYTES = Long.getLong(
+    "cloudnet.net.node-queue.max-spill-bytes",
+    256 * 1024 * 1024);
+  private static final int REPLAY_PROGRESS_INTERVAL = 10_000;
+
+  private static final AtomicLong PENDING_PACKETS = new AtomicLong();
+  private static final LongAdder COALESCED_PACKETS = new LongAdder();
+  private static final LongAdder DROPPED_PACKETS = new LongAdder();
+  private static final LongAdder SPILLED_BYTES = new LongAdder();
+  private static final LongAdder REPLAYED_PACKETS = new LongAdder();
+
+  static {
+    DefaultNetworkMetrics.INSTANCE.registerGauge("node-queue.pending-packets", PENDING_PACKETS::get);
+    DefaultNetworkMetrics.INSTANCE.registerGauge("node-queue.coalesced-packets", COALESCED_PACKETS::sum);
+    DefaultNetworkMetrics.INSTANCE.registerGauge("node-queue.dropped-packets", DROPPED_PACKETS::sum);
+    DefaultNetworkMetrics.INSTANCE.registerGauge("node-queue.spilled-bytes", SPILLED_BYTES::sum);
+    DefaultNetworkMetrics.INSTANCE.registerGauge("node-queue.replayed-packets", REPLAYED_PACKETS::sum);
+  }
+
   private final NetworkChannel wrappedChannel;
-  private final Queue<Packet> scheduledPackets;
+  private final long maxMemoryBytes;
+  private final long maxSpillBytes;
+
+  private final Lock lock = new ReentrantLock();
+  private final Queue<QueuedPacket> memoryPackets = new ArrayDeque<>();
+  private final Map<String, QueuedPacket> latestPackets = new HashMap<>();
+
+  private long nextSequence;
+  private long memoryBytes;
+  private long pendingPackets;
+  private long coalescedPackets;
+  private long droppedPackets;
+
+  private Path spillFile;
+  private long spillBytes;
+  private long spilledPackets;
+  private DataOutputStream spillOutput;
+
+  private NetworkChannel drainTarget;
 
   public QueuedNetworkChannel(@NonNull NetworkChannel wrappedChannel) {
+    this(wrappedChannel, DEFAULT_MAX_MEMORY_BYTES, DEFAULT_MAX_SPILL_BYTES);
+  }
+
+  QueuedNetworkChannel(@NonNull NetworkChannel wrappedChannel, long maxMemoryBytes, long maxSpillBytes) {
     this.wrappedChannel = wrappedChannel;
-    this.scheduledPackets = new ConcurrentLinkedQueue<>();
+    this.maxMemoryBytes = maxMemoryBytes;
+    this.maxSpillBytes = maxSpillBytes;
+  }
+
+  public static @Nullable String coalescingKey(@NonNull ChannelMessage message) {
+    if (!message.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)) {
+      return null;
+    }
+
+    return switch (message.message()) {
+      // each service info update contains the full snapshot of the service, only the latest one is relevant
+      case "update_service_info" -> {
+        var snapshot = peekContent(message, content -> content.readObject(ServiceInfoSnapshot.class));
+        yield snapshot == null ? null : "service:" + snapshot.serviceId().uniqueId();
+      }
+      // each node snapshot update replaces the previous snapshot of the sending node
+      case "update_node_info_snapshot" -> "node:" + message.sender().name();
+      default -> null;
+    };
+  }
+
+  private static <T> @Nullable T peekContent(@NonNull ChannelMessage message, @NonNull Function<DataBuf, T> reader) {
+    // peek into the message without consuming it, the buffer must stay acquired as the last read would release it
+    var content = message.content();
+    var acquires = content.acquires();
+    content.acquire().startTransaction();
+    try {
+      return reader.apply(content);
+    } catch (Exception exception) {
+      LOGGER.debug("Unable to peek into channel message {}, not coalescing it", message.message(), exception);
+      return null;
+    } finally {
+      content.redoTransaction();
+      if (content.acquires() > acquires) {
+        content.release();
+      }
+    }
+  }
+
+  private static @Nullable String coalescingKey(@NonNull Packet packet) {
+    return packet instanceof ChannelMessagePacket channelMessagePacket ? channelMessagePacket.coalescingKey() : null;
   }
 
   @Override
@@ -77,6 +192,21 @@ public boolean clientProvidedChannel() {
     return this.wrappedChannel.sendQueryAsync(packet);
   }
 
+  @Override
+  public @NonNull CompletableFuture<Packet> sendQueryAsync(@NonNull Packet packet, @NonNull Duration timeout) {
+    return this.wrappedChannel.sendQueryAsync(packet, timeout);
+  }
+
+  @Override
+  public @NonNull CompletableFuture<Boolean> offerPacket(@NonNull Packet packet, boolean droppable) {
+    return CompletableFuture.completedFuture(this.schedulePacket(packet));
+  }
+
+  @Override
+  public long pendingOutboundBytes() {
+    return 0;
+  }
+
   @Override
   public boolean writeable() {
     return true;
@@ -90,21 +220,333 @@ public boolean active() {
   @Override
   public void close() {
     this.wrappedChannel.close();
-    this.scheduledPackets.clear();
+
+    this.lock.lock();
+    try {
+      this.clearQueue();
+    } finally {
+      this.lock.unlock();
+    }
   }
 
   @Override
   public void sendPacket(@NonNull Packet packet) {
-    this.scheduledPackets.add(packet);
+    this.schedulePacket(packet);
   }
 
   @Override
   public void sendPacketSync(@NonNull Packet packet) {
-    this.scheduledPackets.add(packet);
+    this.schedulePacket(packet);
+  }
+
+  public long pendingPackets() {
+    return this.pendingPackets;
+  }
+
+  public long coalescedPackets() {
+    return this.coalescedPackets;
+  }
+
+  public long droppedPackets() {
+    return this.droppedPackets;
+  }
+
+  public long spilledPackets() {
+    return this.spilledPackets;
   }
 
   public void drainPacketQueue(@NonNull NetworkChannel target) {
-    this.scheduledPackets.forEach(target::sendPacketSync);
-    this.scheduledPackets.clear();
+    var replayedPackets = 0L;
+    while (true) {
+      // take the queued packets under the lock, but replay them without holding it so that packets can still be
+      // queued meanwhile, these are replayed in the next round
+      QueuedPackets queuedPackets;
+      this.lock.lock();
+      try {
+        if (this.memoryPackets.isEmpty() && this.spillOutput == null) {
+          // all queued packets were replayed, send the packets scheduled from now on to the target directly
+          this.drainTarget = target;
+          break;
+        }
+
+        queuedPackets = this.takeQueuedPackets();
+      } finally {
+        this.lock.unlock();
+      }
+
+      LOGGER.debug(
+        "Replaying {} queued packets to {} ({} coalesced, {} spilled, {} dropped)",
+        queuedPackets.pendingPackets(), target.clientAddress(),
+        this.coalescedPackets, queuedPackets.spilledPackets(), this.droppedPackets);
+      replayedPackets += this.replayPackets(queuedPackets, target);
+    }
+
+    LOGGER.debug("Finished replaying {} queued packets to {}", replayedPackets, target.clientAddress());
+  }
+
+  private @NonNull QueuedPackets takeQueuedPackets() {
+    var memoryPackets = new ArrayDeque<>(this.memoryPackets);
+    this.memoryPackets.clear();
+
+    // remember which packet is the latest one for each key, spilled packets that were superseded are skipped
+    var latestSequences = new HashMap<String, Long>(this.latestPackets.size());
+    this.latestPackets.forEach((key, queuedPacket) -> latestSequences.put(key, queuedPacket.sequence));
+    this.latestPackets.clear();
+
+    if (this.spillOutput != null) {
+      try {
+        this.spillOutput.close();
+      } catch (IOException exception) {
+        LOGGER.error("Unable to close spill output {}", this.spillFile, exception);
+      }
+    }
+
+    var queuedPackets = new QueuedPackets(
+      memoryPackets,
+      latestSequences,
+      this.spillFile,
+      this.spilledPackets,
+      this.pendingPackets);
+
+    this.spillFile = null;
+    this.spillOutput = null;
+    this.spillBytes = 0;
+    this.spilledPackets = 0;
+    this.memoryBytes = 0;
+    this.pendingPackets = 0;
+    return queuedPackets;
+  }
+
+  private long replayPackets(@NonNull QueuedPackets queuedPackets, @NonNull NetworkChannel target) {
+    var replayedPackets = 0L;
+    try {
+      // the packets in memory were all queued before the packets that were spilled to the disk
+      QueuedPacket queuedPacket;
+      while ((queuedPacket = queuedPackets.memoryPackets().poll()) != null) {
+        if (queuedPacket.packet != null) {
+          target.sendPacketSync(queuedPacket.packet);
+          replayedPackets = this.recordReplay(replayedPackets, queuedPackets.pendingPackets(), target);
+        }
+      }
+
+      if (queuedPackets.spillFile() != null) {
+        replayedPackets = this.replaySpilledPackets(queuedPackets, target, replayedPackets);
+      }
+    } catch (IOException exception) {
+      LOGGER.error("Unable to replay spilled packets to {}", target.clientAddress(), exception);
+    } finally {
+      // release the packets that could not be replayed
+      QueuedPacket queuedPacket;
+      while ((queuedPacket = queuedPackets.memoryPackets().poll()) != null) {
+        if (queuedPacket.packet != null && queuedPacket.packet.content().accessible()) {
+          queuedPacket.packet.content().release();
+        }
+      }
+
+      // the replayed packets were already removed from the gauge, remove the packets that were not replayed as well
+      FileUtil.delete(queuedPackets.spillFile());
+      PENDING_PACKETS.addAndGet(replayedPackets - queuedPackets.pendingPackets());
+    }
+
+    return replayedPackets;
+  }
+
+  private boolean schedulePacket(@NonNull Packet packet) {
+    var key = coalescingKey(packet);
+    var size = packet.content().readableBytes();
+
+    NetworkChannel drainTarget;
+    this.lock.lock();
+    try {
+      // the queue was drained already, send the packet to the channel the queue was drained to
+      drainTarget = this.drainTarget;
+      if (drainTarget == null) {
+        return this.queuePacket(packet, key, size);
+      }
+    } finally {
+      this.lock.unlock();
+    }
+
+    drainTarget.sendPacket(packet);
+    return true;
+  }
+
+  private boolean queuePacket(@NonNull Packet packet, @Nullable String key, int size) {
+    var queuedPacket = new QueuedPacket(this.nextSequence++, key, packet);
+    if (this.spillOutput == null && this.memoryBytes + size <= this.maxMemoryBytes) {
+      this.memoryPackets.add(queuedPacket);
+      this.memoryBytes += size;
+    } else if (!this.spillPacket(queuedPacket, size)) {
+      // the packet could neither be held in memory nor on disk, the data sync on reconnect restores the state
+      this.droppedPackets++;
+      DROPPED_PACKETS.increment();
+      return false;
+    }
+
+    this.pendingPackets++;
+    PENDING_PACKETS.incrementAndGet();
+    if (key != null) {
+      this.supersede(this.latestPackets.put(key, queuedPacket));
+    }
+
+    return true;
+  }
+
+  private void supersede(@Nullable QueuedPacket previous) {
+    if (previous == null) {
+      return;
+    }
+
+    // the superseded packet is skipped during replay, release the memory it holds directly if it wasn't spilled
+    if (previous.packet != null) {
+      this.memoryBytes -= previous.packet.content().readableBytes();
+      previous.packet.content().release();
+      previous.packet = null;
+    }
+
+    this.pendingPackets--;
+    this.coalescedPackets++;
+    PENDING_PACKETS.decrementAndGet();
+    COALESCED_PACKETS.increment();
+  }
+
+  private boolean spillPacket(@NonNull QueuedPacket queuedPacket, int size) {
+    var packet = queuedPacket.packet;
+    if (this.spillBytes + size > this.maxSpillBytes) {
+      packet.content().release();
+      return false;
+    }
+
+    try {
+      if (this.spillOutput == null) {
+        // all packets which are queued after the first spilled packet are spilled as well to keep the packet order
+        FileUtil.createDirectory(SPILL_DIRECTORY);
+        this.spillFile = Files.createTempFile(SPILL_DIRECTORY, "queue-", ".bin");
+        this.spillOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(this.spillFile)));
+      }
+
+      var bytes = packet.content().toByteArray();
+      this.spillOutput.writeLong(queuedPacket.sequence);
+      this.spillOutput.writeBoolean(queuedPacket.key != null);
+      if (queuedPacket.key != null) {
+        this.spillOutput.writeUTF(queuedPacket.key);
+      }
+      this.spillOutput.writeInt(packet.channel());
+      this.spillOutput.writeBoolean(packet.prioritized());
+      this.spillOutput.writeBoolean(packet.uniqueId() != null);
+      if (packet.uniqueId() != null) {
+        this.spillOutput.writeLong(packet.uniqueId().getMostSignificantBits());
+        this.spillOutput.writeLong(packet.uniqueId().getLeastSignificantBits());
+      }
+      this.spillOutput.writeInt(bytes.length);
+      this.spillOutput.write(bytes);
+
+      queuedPacket.packet = null;
+      this.spillBytes += bytes.length;
+      this.spilledPackets++;
+      SPILLED_BYTES.add(bytes.length);
+      return true;
+    } catch (IOException exception) {
+      LOGGER.error("Unable to spill queued packet to {}", this.spillFile, exception);
+      if (packet.content().accessible()) {
+        packet.content().release();
+      }
+      return false;
+    }
+  }
+
+  private long replaySpilledPackets(
+    @NonNull QueuedPackets queuedPackets,
+    @NonNull NetworkChannel target,
+    long replayedPackets
+  ) throws IOException {
+    var spillFile = queuedPackets.spillFile();
+    try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)))) {
+      for (var index = 0L; index < queuedPackets.spilledPackets(); index++) {
+        var sequence = input.readLong();
+        var key = input.readBoolean() ? input.readUTF() : null;
+        var channel = input.readInt();
+        var prioritized = input.readBoolean();
+        var uniqueId = input.readBoolean() ? new UUID(input.readLong(), input.readLong()) : null;
+        var bytes = input.readNBytes(input.readInt());
+
+        // skip the packet if a newer packet with the same key was queued after it
+        if (key != null && queuedPackets.latestSequences().get(key) != sequence) {
+          continue;
+        }
+
+        // the outbound handling only depends on the packet channel, priority and unique id, not on the packet type
+        var packet = new BasePacket(channel, prioritized, DataBufFactory.defaultFactory().fromBytes(bytes));
+        packet.uniqueId(uniqueId);
+        target.sendPacketSync(packet);
+        replayedPackets = this.recordReplay(replayedPackets, queuedPackets.pendingPackets(), target);
+      }
+    }
+
+    return replayedPackets;
+  }
+
+  private long recordReplay(long replayedPackets, long totalPackets, @NonNull NetworkChannel target) {
+    REPLAYED_PACKETS.increment();
+    PENDING_PACKETS.decrementAndGet();
+
+    var replayed = replayedPackets + 1;
+    if (replayed % REPLAY_PROGRESS_INTERVAL == 0) {
+      LOGGER.debug("Replayed {}/{} queued packets to {}", replayed, totalPackets, target.clientAddress());
+    }
+
+    return replayed;
+  }
+
+  private void clearQueue() {
+    QueuedPacket queuedPacket;
+    while ((queuedPacket = this.memoryPackets.poll()) != null) {
+      if (queuedPacket.packet != null && queuedPacket.packet.content().accessible()) {
+        queuedPacket.packet.content().release();
+      }
+    }
+
+    if (this.spillOutput != null) {
+      try {
+        this.spillOutput.close();
+      } catch (IOException exception) {
+        LOGGER.debug("Unable to close spill output {}", this.spillFile, exception);
+      }
+    }
+
+    FileUtil.delete(this.spillFile);
+    PENDING_PACKETS.addAndGet(-this.pendingPackets);
+
+    this.spillFile = null;
+    this.spillOutput = null;
+    this.spillBytes = 0;
+    this.spilledPackets = 0;
+    this.memoryBytes = 0;
+    this.pendingPackets = 0;
+    this.latestPackets.clear();
+  }
+
+  private record QueuedPackets(
+    @NonNull Queue<QueuedPacket> memoryPackets,
+    @NonNull Map<String, Long> latestSequences,
+    @Nullable Path spillFile,
+    long spilledPackets,
+    long pendingPackets
+  ) {
+
+  }
+
+  private static final class QueuedPacket {
+
+    private final long sequence;
+    private final String key;
+
+    private Packet packet;
+
+    private QueuedPacket(long sequence, @Nullable String key, @NonNull Packet packet) {
+      this.sequence = sequence;
+      this.key = key;
+      this.packet = packet;
+    }
   }
 }
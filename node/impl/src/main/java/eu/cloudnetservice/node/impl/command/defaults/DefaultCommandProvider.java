@@ -42,6 +42,7 @@
 import eu.cloudnetservice.node.impl.command.sub.MeCommand;
 import eu.cloudnetservice.node.impl.command.sub.MigrateCommand;
 import eu.cloudnetservice.node.impl.command.sub.ModulesCommand;
+import eu.cloudnetservice.node.impl.command.sub.NetworkCommand;
 import eu.cloudnetservice.node.impl.command.sub.ServiceCommand;
 import eu.cloudnetservice.node.impl.command.sub.TasksCommand;
 import eu.cloudnetservice.node.impl.command.sub.TemplateCommand;
@@ -287,6 +288,7 @@ public void registerDefaultCommands() {
     this.register(ClusterCommand.class);
     this.register(ConfigCommand.class);
     this.register(ModulesCommand.class);
+    this.register(NetworkCommand.class);
     this.register(HelpCommand.class);
   }
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.impl.command.sub;
+
+import eu.cloudnetservice.driver.network.metrics.ChannelStatistics;
+import eu.cloudnetservice.driver.network.metrics.LatencyStatistics;
+import eu.cloudnetservice.driver.network.metrics.NetworkMetrics;
+import eu.cloudnetservice.driver.network.metrics.TrafficStatistics;
+import eu.cloudnetservice.node.command.annotation.CommandAlias;
+import eu.cloudnetservice.node.command.annotation.Description;
+import eu.cloudnetservice.node.command.source.CommandSource;
+import eu.cloudnetservice.utils.base.column.ColumnFormatter;
+import eu.cloudnetservice.utils.base.column.RowedFormatter;
+import eu.cloudnetservice.utils.base.resource.ResourceFormatter;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import org.incendo.cloud.annotations.Command;
+import org.incendo.cloud.annotations.Permission;
+
+@Singleton
+@CommandAlias("net")
+@Permission("cloudnet.command.network")
+@Description("command-network-description")
+public final class NetworkCommand {
+
+  private static final RowedFormatter<ChannelStatistics> CHANNEL_FORMATTER = RowedFormatter.<ChannelStatistics>builder()
+    .defaultFormatter(ColumnFormatter.builder()
+      .columnTitles("Id", "Server", "Client", "In (P/B)", "Out (P/B)", "Queued", "Pending", "Dropped", "Handling")
+      .build())
+    .column(ChannelStatistics::channelId)
+    .column(ChannelStatistics::serverAddress)
+    .column(ChannelStatistics::clientAddress)
+    .column(statistics -> formatInbound(statistics.traffic()))
+    .column(statistics -> formatOutbound(statistics.traffic()))
+    .column(ChannelStatistics::queuedPackets)
+    .column(ChannelStatistics::pendingOutboundBytes)
+    .column(ChannelStatistics::droppedPackets)
+    .column(statistics -> formatLatency(statistics.traffic().handling()))
+    .build();
+  private static final RowedFormatter<Map.Entry<?, TrafficStatistics>> TRAFFIC_FORMATTER =
+    RowedFormatter.<Map.Entry<?, TrafficStatistics>>builder()
+      .defaultFormatter(ColumnFormatter.builder().columnTitles("Key", "In (P/B)", "Out (P/B)", "Handling").build())
+      .column(Map.Entry::getKey)
+      .column(entry -> formatInbound(entry.getValue()))
+      .column(entry -> formatOutbound(entry.getValue()))
+      .column(entry -> formatLatency(entry.getValue().handling()))
+      .build();
+
+  private final NetworkMetrics networkMetrics;
+
+  @Inject
+  public NetworkCommand(@NonNull NetworkMetrics networkMetrics) {
+    this.networkMetrics = networkMetrics;
+  }
+
+  private static @NonNull Collection<String> formatTraffic(@NonNull Map<?, TrafficStatistics> statistics) {
+    List<Map.Entry<?, TrafficStatistics>> entries = new ArrayList<>(statistics.entrySet());
+    return TRAFFIC_FORMATTER.format(entries);
+  }
+
+  private static @NonNull String formatInbound(@NonNull TrafficStatistics statistics) {
+    return statistics.packetsIn() + "/" + statistics.bytesIn();
+  }
+
+  private static @NonNull String formatOutbound(@NonNull TrafficStatistics statistics) {
+    return statistics.packetsOut() + "/" + statistics.bytesOut();
+  }
+
+  private static @NonNull String formatLatency(@NonNull LatencyStatistics statistics) {
+    if (statistics.count() == 0) {
+      return "-";
+    }
+
+    return "mean "
+      + formatMillis(statistics.meanNanos())
+      + ", p50 "
+      + formatMillis(statistics.p50Nanos())
+      + ", p99 "
+      + formatMillis(statistics.p99Nanos())
+      + ", max "
+      + formatMillis(statistics.maxNanos());
+  }
+
+  private static @NonNull String formatMillis(long nanos) {
+    return ResourceFormatter.formatTwoDigitPrecision(nanos / 1_000_000D) + "ms";
+  }
+
+  @Command("network|net")
+  public void overview(@NonNull CommandSource source) {
+    var messages = new ArrayList<String>();
+    messages.add(" ");
+    messages.add("Open channels: " + this.networkMetrics.channels().size());
+    messages.add("Query round trips: " + this.networkMetrics.queryRoundTrips().count());
+    messages.add("Query round trip time: " + formatLatency(this.networkMetrics.queryRoundTrips()));
+    this.networkMetrics.gauges().forEach((name, value) -> messages.add(name + ": " + value));
+    messages.add(" ");
+    source.sendMessage(messages);
+  }
+
+  @Command("network|net channels")
+  public void channels(@NonNull CommandSource source) {
+    source.sendMessage(CHANNEL_FORMATTER.format(this.networkMetrics.channels()));
+  }
+
+  @Command("network|net packets")
+  public void packetChannels(@NonNull CommandSource source) {
+    source.sendMessage(formatTraffic(this.networkMetrics.packetChannels()));
+  }
+
+  @Command("network|net rpc")
+  public void rpcTargets(@NonNull CommandSource source) {
+    source.sendMessage(formatTraffic(this.networkMetrics.rpcTargets()));
+  }
+
+  @Command("network|net messages")
+  public void channelMessages(@NonNull CommandSource source) {
+    source.sendMessage(formatTraffic(this.networkMetrics.channelMessages()));
+  }
+}
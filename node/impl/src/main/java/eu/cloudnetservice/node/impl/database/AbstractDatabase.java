@@ -18,9 +18,11 @@
 
 import eu.cloudnetservice.driver.database.Database;
 import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.driver.document.StandardSerialisationStyle;
 import eu.cloudnetservice.node.database.LocalDatabase;
 import eu.cloudnetservice.utils.base.concurrent.TaskUtil;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -120,6 +122,11 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSiz
   }
 
   protected @NonNull String serializeDocumentToJsonString(@NonNull Document document) {
+    // json documents can be serialized directly, which doesn't require parsing lazily parsed documents
+    if (document.factoryName().equals(DocumentFactory.json().formatName())) {
+      return document.serializeToString(StandardSerialisationStyle.COMPACT);
+    }
+
     // send the given document into a new json document
     var jsonDocument = Document.newJsonDocument();
     jsonDocument.receive(document.send());
@@ -127,4 +134,9 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSiz
     // serialize the json document
     return jsonDocument.serializeToString(StandardSerialisationStyle.COMPACT);
   }
+
+  protected @NonNull Document parseJsonDocument(@NonNull String json) {
+    // the document is only parsed once it gets accessed, many callers only read a few keys or pass the document on
+    return DocumentFactory.json().parseLazily(json.getBytes(StandardCharsets.UTF_8));
+  }
 }
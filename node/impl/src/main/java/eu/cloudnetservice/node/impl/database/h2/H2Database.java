@@ -17,7 +17,6 @@
 package eu.cloudnetservice.node.impl.database.h2;
 
 import eu.cloudnetservice.driver.document.Document;
-import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.node.impl.database.sql.SQLDatabase;
 import eu.cloudnetservice.node.impl.database.sql.SQLDatabaseProvider;
 import java.sql.ResultSet;
@@ -98,7 +97,7 @@ public boolean delete0(String key) {
   public @Nullable Document get(@NonNull String key) {
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s = ?", TABLE_COLUMN_VAL, this.name, TABLE_COLUMN_KEY),
-      resultSet -> resultSet.next() ? DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)) : null,
+      resultSet -> resultSet.next() ? this.parseJsonDocument(resultSet.getString(TABLE_COLUMN_VAL)) : null,
       null,
       key
     );
@@ -111,7 +110,7 @@ public boolean delete0(String key) {
       resultSet -> {
         List<Document> jsonDocuments = new ArrayList<>();
         while (resultSet.next()) {
-          jsonDocuments.add(DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)));
+          jsonDocuments.add(this.parseJsonDocument(resultSet.getString(TABLE_COLUMN_VAL)));
         }
 
         return jsonDocuments;
@@ -149,7 +148,7 @@ public boolean delete0(String key) {
       resultSet -> {
         List<Document> jsonDocuments = new ArrayList<>();
         while (resultSet.next()) {
-          jsonDocuments.add(DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)));
+          jsonDocuments.add(this.parseJsonDocument(resultSet.getString(TABLE_COLUMN_VAL)));
         }
 
         return jsonDocuments;
@@ -180,7 +179,7 @@ public boolean delete0(String key) {
       resultSet -> {
         Collection<Document> documents = new ArrayList<>();
         while (resultSet.next()) {
-          documents.add(DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)));
+          documents.add(this.parseJsonDocument(resultSet.getString(TABLE_COLUMN_VAL)));
         }
 
         return documents;
@@ -196,7 +195,7 @@ public boolean delete0(String key) {
         while (resultSet.next()) {
           map.put(
             resultSet.getString(TABLE_COLUMN_KEY),
-            DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)));
+            this.parseJsonDocument(resultSet.getString(TABLE_COLUMN_VAL)));
         }
 
         return map;
@@ -210,7 +209,7 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer) {
       resultSet -> {
         while (resultSet.next()) {
           var key = resultSet.getString(TABLE_COLUMN_KEY);
-          var document = DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL));
+          var document = this.parseJsonDocument(resultSet.getString(TABLE_COLUMN_VAL));
           consumer.accept(key, document);
         }
 
@@ -246,7 +245,7 @@ public boolean synced() {
         Map<String, Document> result = new HashMap<>();
         while (resultSet.next()) {
           var key = resultSet.getString(TABLE_COLUMN_KEY);
-          var document = DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL));
+          var document = this.parseJsonDocument(resultSet.getString(TABLE_COLUMN_VAL));
           result.put(key, document);
         }
 
@@ -21,6 +21,7 @@
 import eu.cloudnetservice.node.impl.database.AbstractDatabase;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +31,7 @@
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import jetbrains.exodus.ArrayByteIterable;
+import jetbrains.exodus.ByteIterable;
 import jetbrains.exodus.bindings.StringBinding;
 import jetbrains.exodus.env.Environment;
 import jetbrains.exodus.env.Store;
@@ -72,7 +74,7 @@ public boolean delete(@NonNull String key) {
   public @Nullable Document get(@NonNull String key) {
     return this.environment.computeInReadonlyTransaction(txn -> {
       var entry = this.store().get(txn, StringBinding.stringToEntry(key));
-      return entry == null ? null : DocumentFactory.json().parse(entry.getBytesUnsafe());
+      return entry == null ? null : this.parseJsonDocument(entry);
     });
   }
 
@@ -160,7 +162,7 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
         while (cursor.getNext()) {
           handler.accept(
             StringBinding.entryToString(cursor.getKey()),
-            DocumentFactory.json().parse(cursor.getValue().getBytesUnsafe()));
+            this.parseJsonDocument(cursor.getValue()));
         }
       }
     });
@@ -183,7 +185,7 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
         while (chunkSize > currentReadCount && cursor.getNext()) {
           result.put(
             StringBinding.entryToString(cursor.getKey()),
-            DocumentFactory.json().parse(cursor.getValue().getBytesUnsafe()));
+            this.parseJsonDocument(cursor.getValue()));
           currentReadCount++;
         }
 
@@ -192,6 +194,12 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
     });
   }
 
+  protected @NonNull Document parseJsonDocument(@NonNull ByteIterable entry) {
+    // the unsafe bytes might be larger than the entry and must not be retained, the lazy document needs a copy
+    var bytes = Arrays.copyOf(entry.getBytesUnsafe(), entry.getLength());
+    return DocumentFactory.json().parseLazily(bytes);
+  }
+
   protected @NonNull Store store() {
     return this.store.get();
   }
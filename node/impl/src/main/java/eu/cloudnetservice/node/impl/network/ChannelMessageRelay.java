@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.impl.network;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.impl.cluster.util.QueuedNetworkChannel;
+import eu.cloudnetservice.node.impl.network.packet.ChannelMessageRelayPacket;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Relays channel messages which are sent to many nodes along a spanning tree instead of sending them to each node
+ * directly. The originating node sorts the target nodes by name and splits them into {@code fanout} groups. The first
+ * reachable node of each group receives the message together with the names of the remaining nodes in the group and
+ * forwards the message in the same way. The egress of the originating node is therefore bounded by the fanout, each
+ * node is reached in a logarithmic amount of hops.
+ * <p>
+ * Each relayed message is identified by a random id, nodes drop messages with an id they've seen before. Relaying is
+ * disabled by default and can be enabled by setting the {@code cloudnet.net.channel.relay-fanout} system property to
+ * the amount of nodes the originating node should send a message to directly. Messages targeting at most that many
+ * nodes are always sent directly.
+ * <p>
+ * Messages sent to the internal channel are never relayed. They carry the cluster state, which must be applied by the
+ * other nodes in the order it was sent, while relayed messages can overtake or be overtaken by directly sent messages.
+ * Nodes which are soft disconnected get the message queued directly, nodes which cannot be reached by a forwarding node
+ * are passed on to the next reachable node of their group.
+ *
+ * @since 4.0
+ */
+@Singleton
+public final class ChannelMessageRelay {
+
+  public static final int DEFAULT_FANOUT = Integer.getInteger("cloudnet.net.channel.relay-fanout", 0);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChannelMessageRelay.class);
+
+  private final int fanout;
+  private final NodeServerProvider nodeServerProvider;
+  private final Cache<UUID, Boolean> seenRelayIds = Caffeine.newBuilder()
+    .expireAfterWrite(Duration.ofMinutes(5))
+    .build();
+
+  @Inject
+  public ChannelMessageRelay(@NonNull NodeServerProvider nodeServerProvider) {
+    this(nodeServerProvider, DEFAULT_FANOUT);
+  }
+
+  /**
+   * Constructs a new channel message relay using the given fanout.
+   *
+   * @param nodeServerProvider the provider of the nodes in the cluster.
+   * @param fanout             the amount of nodes to send a message to directly, zero or less to disable relaying.
+   * @throws NullPointerException if the given node server provider is null.
+   */
+  ChannelMessageRelay(@NonNull NodeServerProvider nodeServerProvider, int fanout) {
+    this.fanout = fanout;
+    this.nodeServerProvider = nodeServerProvider;
+  }
+
+  /**
+   * Relays the given message to all node channels in the given target channels, if relaying is enabled and the
+   * message targets more nodes than the fanout. The content of the given message is not released by this method.
+   *
+   * @param message  the message to relay.
+   * @param channels the channels the message should be sent to.
+   * @return the channels to which the message must still be sent directly.
+   * @throws NullPointerException if the given message or channel collection is null.
+   */
+  public @NonNull Collection<NetworkChannel> relay(
+    @NonNull ChannelMessage message,
+    @NonNull Collection<NetworkChannel> channels
+  ) {
+    if (this.fanout <= 0
+      || channels.size() <= this.fanout
+      || NetworkConstants.INTERNAL_MSG_CHANNEL.equals(message.channel())) {
+      return channels;
+    }
+
+    // resolve the names of the nodes which are connected through the target channels
+    Map<NetworkChannel, String> nodeNames = new HashMap<>();
+    for (var nodeServer : this.nodeServerProvider.nodeServers()) {
+      var channel = nodeServer.channel();
+      if (channel != null) {
+        nodeNames.put(channel, nodeServer.name());
+      }
+    }
+
+    // split the target channels into the nodes to relay to and the channels to send the message to directly
+    List<String> relayNodes = new ArrayList<>();
+    List<NetworkChannel> directChannels = new ArrayList<>();
+    for (var channel : channels) {
+      var nodeName = nodeNames.get(channel);
+      if (nodeName == null) {
+        directChannels.add(channel);
+      } else {
+        relayNodes.add(nodeName);
+      }
+    }
+
+    if (relayNodes.size() <= this.fanout) {
+      return channels;
+    }
+
+    // sort the nodes to ensure that consecutive messages to the same nodes are relayed along the same path
+    relayNodes.sort(null);
+    var relayId = UUID.randomUUID();
+    this.seenRelayIds.put(relayId, Boolean.TRUE);
+    this.forward(relayId, this.fanout, relayNodes, message);
+
+    return directChannels;
+  }
+
+  /**
+   * Marks the relayed message with the given id as seen.
+   *
+   * @param relayId the id of the relayed message.
+   * @return true if the message wasn't seen before and should be handled, false if it's a duplicate.
+   * @throws NullPointerException if the given relay id is null.
+   */
+  public boolean markSeen(@NonNull UUID relayId) {
+    return this.seenRelayIds.asMap().putIfAbsent(relayId, Boolean.TRUE) == null;
+  }
+
+  /**
+   * Forwards the given relayed message to the given nodes. The nodes are split into {@code fanout} groups, the message
+   * is sent to the first reachable node of each group which is responsible to forward it to the rest of the group. The
+   * content of the given message is not released by this method.
+   *
+   * @param relayId    the id of the relayed message.
+   * @param fanout     the fanout chosen by the originating node.
+   * @param relayNodes the nodes which should receive the message.
+   * @param message    the message to forward.
+   * @throws NullPointerException if the given relay id, node list or message is null.
+   */
+  public void forward(
+    @NonNull UUID relayId,
+    int fanout,
+    @NonNull List<String> relayNodes,
+    @NonNull ChannelMessage message
+  ) {
+    var groupCount = Math.min(Math.max(fanout, 1), relayNodes.size());
+    for (var group = 0; group < groupCount; group++) {
+      var groupStart = group * relayNodes.size() / groupCount;
+      var groupEnd = (group + 1) * relayNodes.size() / groupCount;
+      this.forwardToGroup(relayId, fanout, relayNodes.subList(groupStart, groupEnd), message);
+    }
+  }
+
+  /**
+   * Sends the given message to the first reachable node of the given group, passing the remaining nodes of the group
+   * to it. Soft disconnected nodes can't forward the message, they only get the message queued for themselves. Nodes
+   * without a channel to them are passed to the next reachable node of the group, which might be able to reach them.
+   *
+   * @param relayId the id of the relayed message.
+   * @param fanout  the fanout chosen by the originating node.
+   * @param group   the nodes in the group.
+   * @param message the message to forward.
+   * @throws NullPointerException if the given relay id, group or message is null.
+   */
+  private void forwardToGroup(
+    @NonNull UUID relayId,
+    int fanout,
+    @NonNull List<String> group,
+    @NonNull ChannelMessage message
+  ) {
+    List<String> reroutedNodes = new ArrayList<>();
+    for (var index = 0; index < group.size(); index++) {
+      var nodeServer = this.nodeServerProvider.node(group.get(index));
+      var channel = nodeServer == null ? null : nodeServer.channel();
+      if (channel != null && channel.active()) {
+        // let the node forward the message to the rest of the group, the rerouted nodes precede the remaining nodes
+        // in the sorted group which keeps the relay list sorted
+        reroutedNodes.addAll(group.subList(index + 1, group.size()));
+        this.sendRelayPacket(channel, relayId, fanout, reroutedNodes, message);
+        return;
+      }
+
+      if (channel instanceof QueuedNetworkChannel) {
+        // the node is soft disconnected, the message gets queued for the node only
+        this.sendRelayPacket(channel, relayId, fanout, List.of(), message);
+      } else {
+        // this node can't reach the node, let the next reachable node of the group try it
+        reroutedNodes.add(group.get(index));
+      }
+    }
+
+    if (!reroutedNodes.isEmpty()) {
+      LOGGER.debug("Unable to relay channel message {} to unreachable nodes {}", relayId, reroutedNodes);
+    }
+  }
+
+  /**
+   * Sends a relay packet for the given message to the given channel.
+   *
+   * @param channel    the channel to send the packet to.
+   * @param relayId    the id of the relayed message.
+   * @param fanout     the fanout chosen by the originating node.
+   * @param relayNodes the nodes to which the receiver should forward the message.
+   * @param message    the message to send.
+   * @throws NullPointerException if the given channel, relay id, node list or message is null.
+   */
+  private void sendRelayPacket(
+    @NonNull NetworkChannel channel,
+    @NonNull UUID relayId,
+    int fanout,
+    @NonNull List<String> relayNodes,
+    @NonNull ChannelMessage message
+  ) {
+    // the packet encoding releases the message content once
+    message.content().acquire();
+    var packet = new ChannelMessageRelayPacket(relayId, fanout, relayNodes, message);
+    if (message.sendSync()) {
+      channel.sendPacketSync(packet);
+    } else {
+      channel.sendPacket(packet);
+    }
+  }
+}
@@ -134,6 +134,11 @@ private void closeAsCloudService(@NonNull InternalCloudService cloudService, @No
   }
 
   private boolean shouldDenyConnection(@NonNull NetworkChannel channel) {
+    // connections through a domain socket can only originate from the local host
+    if (!channel.serverAddress().validPort()) {
+      return false;
+    }
+
     var ipWhitelist = this.configuration.ipWhitelist();
     var sourceClientAddress = NetworkUtil.removeAddressScope(channel.clientAddress().host());
 
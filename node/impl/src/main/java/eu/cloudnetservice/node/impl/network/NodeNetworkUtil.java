@@ -22,11 +22,13 @@
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
 import eu.cloudnetservice.driver.impl.network.chunk.ChunkedSessionRegistry;
 import eu.cloudnetservice.driver.impl.network.chunk.network.ChunkedPacketListener;
+import eu.cloudnetservice.driver.impl.network.chunk.network.ChunkedTransferControlListener;
 import eu.cloudnetservice.driver.impl.network.rpc.listener.RPCPacketListener;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.chunk.event.EventChunkHandlerFactory;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import eu.cloudnetservice.node.impl.network.listener.ChannelMessagePacketListener;
+import eu.cloudnetservice.node.impl.network.listener.ChannelMessageRelayPacketListener;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -55,5 +57,13 @@ public void addDefaultPacketListeners(@NonNull PacketListenerRegistry registry)
       this.chunkedSessionRegistry,
       new EventChunkHandlerFactory(this.eventManager));
     registry.addListener(NetworkConstants.CHUNKED_PACKET_COM_CHANNEL, chunkedListener);
+    registry.addListener(
+      NetworkConstants.CHUNKED_PACKET_CONTROL_CHANNEL,
+      new ChunkedTransferControlListener(this.chunkedSessionRegistry));
+  }
+
+  public void addNodePacketListeners(@NonNull PacketListenerRegistry registry) {
+    this.addDefaultPacketListeners(registry);
+    registry.addListener(NetworkConstants.CHANNEL_MESSAGE_RELAY_CHANNEL, ChannelMessageRelayPacketListener.class);
   }
 }
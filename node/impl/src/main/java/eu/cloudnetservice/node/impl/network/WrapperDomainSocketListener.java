@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.impl.network;
+
+import eu.cloudnetservice.driver.impl.network.netty.NettyUtil;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import java.nio.file.Path;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds the unix domain socket listener which services started on the same host as the node use to connect to the
+ * node, instead of connecting through tcp loopback. The listener is only bound if the path of the socket was configured
+ * using the {@code cloudnet.net.wrapper-socket-path} system property and the selected transport supports domain
+ * sockets.
+ *
+ * @since 4.0
+ */
+public final class WrapperDomainSocketListener {
+
+  private static final String SOCKET_PATH = System.getProperty("cloudnet.net.wrapper-socket-path");
+
+  private static volatile HostAndPort boundListener;
+
+  private WrapperDomainSocketListener() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the domain socket listener that should be bound by the node, null if no domain socket listener should be bound.
+   *
+   * @return the domain socket listener to bind, null if domain sockets are disabled or not supported.
+   */
+  public static @Nullable HostAndPort configuredListener() {
+    if (SOCKET_PATH == null || SOCKET_PATH.isBlank() || !NettyUtil.selectedNettyTransport().domainSocketsSupported()) {
+      return null;
+    }
+
+    // the path must be absolute as the services are started in their own working directory
+    var socketPath = Path.of(SOCKET_PATH).toAbsolutePath().normalize();
+    return new HostAndPort(socketPath.toString(), HostAndPort.NO_PORT);
+  }
+
+  /**
+   * Get the domain socket listener that was bound successfully by the node, null if no listener was bound.
+   *
+   * @return the bound domain socket listener, null if no listener was bound.
+   */
+  public static @Nullable HostAndPort boundListener() {
+    return boundListener;
+  }
+
+  /**
+   * Marks the given domain socket listener as bound, local services will connect to it from now on.
+   *
+   * @param listener the domain socket listener that was bound.
+   * @throws NullPointerException if the given listener is null.
+   */
+  public static void markBound(@NonNull HostAndPort listener) {
+    boundListener = listener;
+  }
+}
@@ -19,6 +19,9 @@
 import eu.cloudnetservice.driver.cluster.NetworkClusterNode;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.impl.network.netty.backpressure.NettyWriteBufferWaterMarks;
+import eu.cloudnetservice.driver.impl.network.netty.compression.NettyPacketCompression;
+import eu.cloudnetservice.driver.impl.network.object.BinaryDocumentEncoding;
 import eu.cloudnetservice.driver.impl.network.standard.AuthorizationPacket;
 import eu.cloudnetservice.driver.language.I18n;
 import eu.cloudnetservice.driver.network.NetworkChannel;
@@ -80,7 +83,16 @@ public AuthorizationPacketListener(
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
     // read the core data
     var type = packet.content().readObject(AuthorizationPacket.PacketAuthorizationType.class);
+    NettyWriteBufferWaterMarks.applyWaterMark(channel, type);
     try (var content = packet.content().readDataBuf()) {
+      // the compression threshold to use for the connection, if the connecting component accepts compressed packets
+      var acceptCompression = packet.content().readableBytes() > 0 && packet.content().readBoolean();
+      var compressionThreshold = acceptCompression
+        ? NettyPacketCompression.compressionThreshold(type)
+        : NettyPacketCompression.COMPRESSION_DISABLED;
+      // if the connecting component accepts binary encoded documents
+      var acceptBinaryDocuments = packet.content().readableBytes() > 0 && packet.content().readBoolean();
+
       // handle the authorization
       switch (type) {
         // NODE -> NODE
@@ -96,13 +108,16 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
           for (var server : this.nodeServerProvider.nodeServers()) {
             if (server.info().uniqueId().equals(node.uniqueId())) {
               // add the required packet listeners
-              this.networkUtil.addDefaultPacketListeners(channel.packetRegistry());
+              this.networkUtil.addNodePacketListeners(channel.packetRegistry());
               channel.packetRegistry().removeListeners(NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL);
               // check if the node is currently marked disconnected and reconnected to the network
               if (server.state() == NodeServerState.DISCONNECTED) {
                 // respond with an auth success
+                var binaryDocuments = BinaryDocumentEncoding.negotiate(channel, acceptBinaryDocuments);
                 var data = this.dataSyncRegistry.prepareClusterData(true, DataSyncHandler::alwaysForceApply);
-                channel.sendPacket(new AuthorizationResponsePacket(true, true, data));
+                channel.sendPacket(
+                  new AuthorizationResponsePacket(true, true, compressionThreshold, binaryDocuments, data));
+                NettyPacketCompression.enableCompression(channel, type, compressionThreshold);
                 channel.packetRegistry().addListener(
                   NetworkConstants.INTERNAL_SERVICE_SYNC_ACK_CHANNEL,
                   ServiceSyncAckPacketListener.class);
@@ -112,7 +127,10 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
                 this.eventManager.callEvent(new NetworkClusterNodeReconnectEvent(server, channel));
               } else {
                 // reply with a default auth success
-                channel.sendPacket(new AuthorizationResponsePacket(true, false, null));
+                var binaryDocuments = BinaryDocumentEncoding.negotiate(channel, acceptBinaryDocuments);
+                channel.sendPacket(
+                  new AuthorizationResponsePacket(true, false, compressionThreshold, binaryDocuments, null));
+                NettyPacketCompression.enableCompression(channel, type, compressionThreshold);
                 // set the state of the node for further handling
                 server.channel(channel);
                 server.state(NodeServerState.READY);
@@ -143,7 +161,10 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
             channel.packetRegistry().removeListeners(NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL);
             this.networkUtil.addDefaultPacketListeners(channel.packetRegistry());
             // successful auth
-            channel.sendPacket(new AuthorizationResponsePacket(true, false, null));
+            var binaryDocuments = BinaryDocumentEncoding.negotiate(channel, acceptBinaryDocuments);
+            channel.sendPacket(
+              new AuthorizationResponsePacket(true, false, compressionThreshold, binaryDocuments, null));
+            NettyPacketCompression.enableCompression(channel, type, compressionThreshold);
             // call the auth success event
             this.eventManager.callEvent(new NetworkServiceAuthSuccessEvent(service, channel));
             var serviceId = service.serviceId();
@@ -162,7 +183,12 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
       }
     }
     // auth not successful
-    channel.sendPacketSync(new AuthorizationResponsePacket(false, false, null));
+    channel.sendPacketSync(new AuthorizationResponsePacket(
+      false,
+      false,
+      NettyPacketCompression.COMPRESSION_DISABLED,
+      false,
+      null));
     channel.close();
   }
 }
@@ -17,8 +17,13 @@
 package eu.cloudnetservice.node.impl.network.listener;
 
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.impl.network.netty.backpressure.NettyWriteBufferWaterMarks;
+import eu.cloudnetservice.driver.impl.network.netty.compression.NettyPacketCompression;
+import eu.cloudnetservice.driver.impl.network.object.BinaryDocumentEncoding;
+import eu.cloudnetservice.driver.impl.network.standard.AuthorizationPacket;
 import eu.cloudnetservice.driver.language.I18n;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
 import eu.cloudnetservice.driver.registry.Service;
@@ -76,9 +81,16 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
         .orElse(null);
       if (server != null) {
         // check if this was a reconnection from the point of view of the other node
-        if (packet.content().readBoolean()) {
+        var reconnect = packet.content().readBoolean();
+        // the sync data is only present on reconnect, the negotiated connection settings are appended after it
+        var syncData = packet.content().readObject(DataBuf.class);
+        var compressionThreshold = packet.content().readableBytes() > 0
+          ? packet.content().readInt()
+          : NettyPacketCompression.COMPRESSION_DISABLED;
+        var binaryDocuments = packet.content().readableBytes() > 0 && packet.content().readBoolean();
+        BinaryDocumentEncoding.negotiate(channel, binaryDocuments);
+        if (reconnect) {
           // handle the data sync
-          var syncData = packet.content().readDataBuf();
           this.dataSyncRegistry.handle(syncData, syncData.readBoolean());
 
           // check if there are pending packets for the node
@@ -101,12 +113,18 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
           server.state(NodeServerState.DISCONNECTED);
           server.channel().close();
         }
+        // enable the compression of outbound packets if requested by the other node
+        NettyPacketCompression.enableCompression(
+          channel,
+          AuthorizationPacket.PacketAuthorizationType.NODE_TO_NODE,
+          compressionThreshold);
+        NettyWriteBufferWaterMarks.applyWaterMark(channel, AuthorizationPacket.PacketAuthorizationType.NODE_TO_NODE);
         // update the node status
         server.channel(channel);
         server.state(NodeServerState.READY);
         // add the packet listeners
         channel.packetRegistry().removeListeners(NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL);
-        this.networkUtil.addDefaultPacketListeners(channel.packetRegistry());
+        this.networkUtil.addNodePacketListeners(channel.packetRegistry());
         // we are good to go :)
         return;
       }
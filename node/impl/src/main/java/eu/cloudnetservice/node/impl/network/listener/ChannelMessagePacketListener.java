@@ -20,6 +20,7 @@
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.protocol.Packet;
@@ -58,7 +59,17 @@ public ChannelMessagePacketListener(
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
     var comesFromWrapper = packet.content().readBoolean();
     var message = packet.content().readObject(ChannelMessage.class);
+    DefaultNetworkMetrics.INSTANCE.channelMessage(message.channel()).recordInbound(message.content().readableBytes());
 
+    this.handleMessage(channel, packet, message, comesFromWrapper);
+  }
+
+  public void handleMessage(
+    @NonNull NetworkChannel channel,
+    @NonNull Packet packet,
+    @NonNull ChannelMessage message,
+    boolean comesFromWrapper
+  ) {
     // check if we should handle the message locally
     var handleLocally = message.targets().stream().anyMatch(target -> switch (target.type()) {
       case ALL -> true;
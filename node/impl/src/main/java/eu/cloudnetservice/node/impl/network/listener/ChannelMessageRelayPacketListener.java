@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.impl.network.listener;
+
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketListener;
+import eu.cloudnetservice.node.impl.network.ChannelMessageRelay;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
+
+@Singleton
+public final class ChannelMessageRelayPacketListener implements PacketListener {
+
+  private final ChannelMessageRelay channelMessageRelay;
+  private final ChannelMessagePacketListener channelMessageListener;
+
+  @Inject
+  public ChannelMessageRelayPacketListener(
+    @NonNull ChannelMessageRelay channelMessageRelay,
+    @NonNull ChannelMessagePacketListener channelMessageListener
+  ) {
+    this.channelMessageRelay = channelMessageRelay;
+    this.channelMessageListener = channelMessageListener;
+  }
+
+  @Override
+  public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
+    // drop the message if we've seen it before
+    var relayId = packet.content().readUniqueId();
+    if (!this.channelMessageRelay.markSeen(relayId)) {
+      return;
+    }
+
+    // read the nodes to which we need to forward the message
+    var fanout = packet.content().readInt();
+    var relayNodeCount = packet.content().readInt();
+    List<String> relayNodes = new ArrayList<>(relayNodeCount);
+    for (var index = 0; index < relayNodeCount; index++) {
+      relayNodes.add(packet.content().readString());
+    }
+
+    var message = packet.content().readObject(ChannelMessage.class);
+    DefaultNetworkMetrics.INSTANCE.channelMessage(message.channel()).recordInbound(message.content().readableBytes());
+
+    // forward the message along the tree before handling it, the message came from a node and is not redirected
+    this.channelMessageRelay.forward(relayId, fanout, relayNodes, message);
+    this.channelMessageListener.handleMessage(channel, packet, message, false);
+  }
+}
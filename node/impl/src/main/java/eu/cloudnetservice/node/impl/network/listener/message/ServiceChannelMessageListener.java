@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLogEntryEvent;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceUpdateEvent;
+import eu.cloudnetservice.driver.impl.channel.ChannelSubscriptionFilter;
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
 import eu.cloudnetservice.driver.language.I18n;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
@@ -33,6 +34,7 @@
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.node.impl.service.InternalCloudService;
 import eu.cloudnetservice.node.impl.service.InternalCloudServiceManager;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
@@ -120,6 +122,16 @@ public void handleChannelMessage(
           eventManager.callEvent(new CloudServiceLifecycleChangeEvent(lifeCycle, snapshot));
         }
 
+        // a local service advertised the channels it wants to receive broadcast channel messages from
+        case "update_channel_subscriptions" -> {
+          var subscriptionFilter = ChannelSubscriptionFilter.readFrom(event.content());
+          // only accept the update from the service itself
+          var service = serviceManager.localCloudService(event.sender().name());
+          if (service != null && service.networkChannel() == event.networkChannel()) {
+            ((InternalCloudService) service).channelSubscriptions(subscriptionFilter);
+          }
+        }
+
         // call the event for a new line in the log of the service
         case "screen_new_line" -> {
           var snapshot = event.content().readObject(ServiceInfoSnapshot.class);
@@ -23,12 +23,20 @@
 
 public final class AuthorizationResponsePacket extends BasePacket {
 
-  public AuthorizationResponsePacket(boolean success, boolean reconnect, @Nullable DataBuf extraData) {
+  public AuthorizationResponsePacket(
+    boolean success,
+    boolean reconnect,
+    int compressionThreshold,
+    boolean binaryDocuments,
+    @Nullable DataBuf extraData
+  ) {
     super(
       NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL,
       DataBuf.empty()
         .writeBoolean(success)
         .writeBoolean(reconnect)
-        .writeObject(extraData));
+        .writeObject(extraData)
+        .writeInt(compressionThreshold)
+        .writeBoolean(binaryDocuments));
   }
 }
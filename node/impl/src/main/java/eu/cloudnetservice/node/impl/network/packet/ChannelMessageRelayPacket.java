@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.impl.network.packet;
+
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import java.util.List;
+import java.util.UUID;
+import lombok.NonNull;
+
+public final class ChannelMessageRelayPacket extends BasePacket {
+
+  public ChannelMessageRelayPacket(
+    @NonNull UUID relayId,
+    int fanout,
+    @NonNull List<String> relayNodes,
+    @NonNull ChannelMessage message
+  ) {
+    super(
+      NetworkConstants.CHANNEL_MESSAGE_RELAY_CHANNEL,
+      message.prioritized(),
+      writeRelayNodes(DataBuf.empty().writeUniqueId(relayId).writeInt(fanout), relayNodes).writeObject(message));
+    DefaultNetworkMetrics.INSTANCE.channelMessage(message.channel()).recordOutbound(message.content().readableBytes());
+  }
+
+  private static @NonNull DataBuf.Mutable writeRelayNodes(
+    @NonNull DataBuf.Mutable buf,
+    @NonNull List<String> relayNodes
+  ) {
+    buf.writeInt(relayNodes.size());
+    for (var relayNode : relayNodes) {
+      buf.writeString(relayNode);
+    }
+
+    return buf;
+  }
+}
@@ -25,6 +25,8 @@
 import eu.cloudnetservice.driver.provider.CloudMessenger;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.impl.cluster.util.QueuedNetworkChannel;
+import eu.cloudnetservice.node.impl.network.ChannelMessageRelay;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.utils.base.concurrent.CountingTask;
@@ -34,6 +36,7 @@
 import jakarta.inject.Singleton;
 import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -41,6 +44,7 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -50,17 +54,21 @@
 public class NodeMessenger implements CloudMessenger {
 
   protected static final Type COL_MSG = TypeFactory.parameterizedClass(Collection.class, ChannelMessage.class);
+  protected static final Duration QUERY_TIMEOUT = Duration.ofSeconds(20);
 
   protected final NodeServerProvider nodeServerProvider;
   protected final CloudServiceManager cloudServiceManager;
+  protected final ChannelMessageRelay channelMessageRelay;
 
   @Inject
   public NodeMessenger(
     @NonNull NodeServerProvider nodeServerProvider,
-    @NonNull CloudServiceManager cloudServiceManager
+    @NonNull CloudServiceManager cloudServiceManager,
+    @NonNull ChannelMessageRelay channelMessageRelay
   ) {
     this.nodeServerProvider = nodeServerProvider;
     this.cloudServiceManager = cloudServiceManager;
+    this.channelMessageRelay = channelMessageRelay;
   }
 
   @Override
@@ -79,12 +87,14 @@ public void sendChannelMessage(@NonNull ChannelMessage message) {
   public @NonNull CompletableFuture<ChannelMessage> sendSingleChannelMessageQueryAsync(
     @NonNull ChannelMessage channelMessage
   ) {
-    return TaskUtil.supplyAsync(() -> this.sendSingleChannelMessageQuery(channelMessage));
+    return this.sendChannelMessageQueryAsync(channelMessage)
+      .completeOnTimeout(List.of(), QUERY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+      .thenApply(result -> Iterables.getFirst(result, null));
   }
 
   @Override
   public @NonNull Collection<ChannelMessage> sendChannelMessageQuery(@NonNull ChannelMessage channelMessage) {
-    return TaskUtil.getOrDefault(this.sendChannelMessageQueryAsync(channelMessage), Duration.ofSeconds(20), List.of());
+    return TaskUtil.getOrDefault(this.sendChannelMessageQueryAsync(channelMessage), QUERY_TIMEOUT, List.of());
   }
 
   @Override
@@ -94,29 +104,45 @@ public void sendChannelMessage(@NonNull ChannelMessage message) {
 
   @Override
   public @NonNull CompletableFuture<Void> sendChannelMessageAsync(@NonNull ChannelMessage channelMessage) {
-    return TaskUtil.runAsync(() -> this.sendChannelMessage(channelMessage));
+    return this.sendChannelMessageAsync(channelMessage, true);
   }
 
   public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClusterRedirect) {
-    // find the target channels to send the message to
-    var channels = this.findChannels(message.targets(), allowClusterRedirect);
-    for (var channel : channels) {
-      // acquire the message content for each channel we're sending the message to
-      // when writing the message content to the target buffer, the message is released
-      // that means when the message was written to all channels it's released unless someone acquired it before
-      message.content().acquire();
+    var channels = this.findDirectChannels(message, allowClusterRedirect);
 
-      // construct and send the packet
-      var packet = new ChannelMessagePacket(message, false);
+    // encode the message only once, all packets share the encoded message content
+    // this releases the message content unless someone acquired it before
+    var coalescingKey = this.coalescingKey(message, channels);
+    var packets = ChannelMessagePacket.createShared(message, false, channels.size(), coalescingKey).iterator();
+    for (var channel : channels) {
+      var packet = packets.next();
       if (message.sendSync()) {
         channel.sendPacketSync(packet);
       } else {
-        channel.sendPacket(packet);
+        // offer the packet to not write more data into channels of receivers which cannot keep up, the packet is
+        // held back (and written in order with all following packets) until the receiver can take more data
+        channel.offerPacket(packet, false);
       }
     }
+  }
 
-    // release the message now
-    message.content().release();
+  public @NonNull CompletableFuture<Void> sendChannelMessageAsync(
+    @NonNull ChannelMessage message,
+    boolean allowClusterRedirect
+  ) {
+    var channels = this.findDirectChannels(message, allowClusterRedirect);
+    var writeFutures = new CompletableFuture<?>[channels.size()];
+
+    // encode the message only once, see sendChannelMessage
+    var channelIndex = 0;
+    var coalescingKey = this.coalescingKey(message, channels);
+    var packets = ChannelMessagePacket.createShared(message, false, channels.size(), coalescingKey).iterator();
+    for (var channel : channels) {
+      // send the packet without waiting for the write, the returned future completes once all writes are done
+      writeFutures[channelIndex++] = channel.sendPacketAsync(packets.next());
+    }
+
+    return CompletableFuture.allOf(writeFutures);
   }
 
   public @NonNull CompletableFuture<Collection<ChannelMessage>> sendChannelMessageQueryAsync(
@@ -124,7 +150,7 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
     boolean allowClusterRedirect
   ) {
     // find the target channels to send the message to
-    var channels = this.findChannels(message.targets(), allowClusterRedirect);
+    var channels = this.findChannels(message.targets(), message.channel(), allowClusterRedirect);
     if (channels.isEmpty()) {
       // no target channels found, release the message now
       message.content().release();
@@ -134,14 +160,10 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
       Set<ChannelMessage> result = new HashSet<>();
       var task = new CountingTask<Collection<ChannelMessage>>(result, channels.size());
 
-      // send the packet to each channel
+      // encode the message only once and send the packet to each channel, see sendChannelMessage
+      var packets = ChannelMessagePacket.createShared(message, false, channels.size()).iterator();
       for (var channel : channels) {
-        // acquire the message content for each channel we're sending the message to
-        // when writing the message content to the target buffer, the message is released
-        // that means when the message was written to all channels it's released unless someone acquired it before
-        message.content().acquire();
-
-        channel.sendQueryAsync(new ChannelMessagePacket(message, false)).whenComplete((packet, th) -> {
+        channel.sendQueryAsync(packets.next()).whenComplete((packet, th) -> {
           // check if we got an actual result from the request
           if (th == null && packet.readable()) {
             // add all resulting messages we got
@@ -153,47 +175,78 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
         });
       }
 
-      // release the message now
-      message.content().release();
-
       // return the task on which the user can wait
       return task;
     }
   }
 
+  protected @Nullable String coalescingKey(
+    @NonNull ChannelMessage message,
+    @NonNull Collection<NetworkChannel> channels
+  ) {
+    // the key is only used by the queues of disconnected nodes, don't peek into the message if none is targeted
+    for (var channel : channels) {
+      if (channel instanceof QueuedNetworkChannel) {
+        return QueuedNetworkChannel.coalescingKey(message);
+      }
+    }
+
+    return null;
+  }
+
+  protected @NonNull Collection<NetworkChannel> findDirectChannels(
+    @NonNull ChannelMessage message,
+    boolean allowClusterRedirect
+  ) {
+    // find the target channels to send the message to
+    var channels = this.findChannels(message.targets(), message.channel(), allowClusterRedirect);
+    if (allowClusterRedirect) {
+      // relay the message to the target nodes if enabled, the remaining channels are served directly
+      channels = this.channelMessageRelay.relay(message, channels);
+    }
+    return channels;
+  }
+
   protected @NonNull Collection<NetworkChannel> findChannels(
     @NonNull Collection<ChannelMessageTarget> targets,
+    @NonNull String channel,
     boolean allowClusterRedirect
   ) {
     // check if there is only one channel
     if (targets.size() == 1) {
       // get the target - we can suppress the nullable warning because we expect the collection to not contain null values
-      return this.findTargetChannels(Iterables.getOnlyElement(targets), allowClusterRedirect);
+      return this.findTargetChannels(Iterables.getOnlyElement(targets), channel, allowClusterRedirect);
     } else {
       // filter all the channels for the targets
       return targets.stream()
-        .flatMap(target -> this.findTargetChannels(target, allowClusterRedirect).stream())
+        .flatMap(target -> this.findTargetChannels(target, channel, allowClusterRedirect).stream())
         .collect(Collectors.toSet());
     }
   }
 
   protected @NonNull Collection<NetworkChannel> findTargetChannels(
     @NonNull ChannelMessageTarget target,
+    @NonNull String channel,
     boolean allowClusterRedirect
   ) {
     switch (target.type()) {
       // just include all known channels
       case ALL -> {
-        Set<NetworkChannel> result = new HashSet<>();
-        // all local services
-        this.cloudServiceManager.localCloudServices().stream()
-          .map(CloudService::networkChannel)
-          .filter(Objects::nonNull)
-          .forEach(result::add);
-        // all connected nodes
-        if (allowClusterRedirect) {
-          result.addAll(this.nodeServerProvider.connectedNodeChannels());
+        // each local service and node has its own channel, there is no need to filter out duplicates
+        var localServices = this.cloudServiceManager.localCloudServices();
+        Collection<NetworkChannel> nodeChannels = allowClusterRedirect
+          ? this.nodeServerProvider.connectedNodeChannels()
+          : List.of();
+        List<NetworkChannel> result = new ArrayList<>(localServices.size() + nodeChannels.size());
+        // all local services which are subscribed to the channel
+        for (var localService : localServices) {
+          var serviceChannel = localService.networkChannel();
+          if (serviceChannel != null && localService.subscribedToChannel(channel)) {
+            result.add(serviceChannel);
+          }
         }
+        // all connected nodes
+        result.addAll(nodeChannels);
         return result;
       }
       case NODE -> {
@@ -216,8 +269,9 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
       case SERVICE -> {
         // check if a specific service was requested
         if (target.name() == null) {
-          // if no specific name is given just get all local channels
+          // if no specific name is given just get all local channels which are subscribed to the channel
           var channels = this.cloudServiceManager.localCloudServices().stream()
+            .filter(service -> service.subscribedToChannel(channel))
             .map(CloudService::networkChannel)
             .filter(Objects::nonNull)
             .collect(Collectors.toSet());
@@ -259,18 +313,21 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
         // lookup all services of the given task
         return this.filterChannels(
           this.cloudServiceManager.servicesByTask(target.name()),
+          channel,
           allowClusterRedirect);
       }
       case ENVIRONMENT -> {
         // lookup all services of the given environment
         return this.filterChannels(
           this.cloudServiceManager.servicesByEnvironment(target.environment().name()),
+          channel,
           allowClusterRedirect);
       }
       case GROUP -> {
         // lookup all services of the given group
         return this.filterChannels(
           this.cloudServiceManager.servicesByGroup(target.name()),
+          channel,
           allowClusterRedirect);
       }
       default -> throw new IllegalArgumentException("Unhandled ChannelMessageTarget.Type: " + target.type());
@@ -279,14 +336,15 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
 
   protected @NonNull Collection<NetworkChannel> filterChannels(
     @NonNull Collection<ServiceInfoSnapshot> snapshots,
+    @NonNull String channel,
     boolean allowClusterRedirect
   ) {
     return snapshots.stream()
       .map(service -> {
-        // check if the service is running locally
-        var localService = this.cloudServiceManager.localCloudService(service.serviceId().name());
+        // check if the service is running locally, only deliver if the service is subscribed to the channel
+        var localService = this.cloudServiceManager.localCloudService(service);
         if (localService != null) {
-          return localService.networkChannel();
+          return localService.subscribedToChannel(channel) ? localService.networkChannel() : null;
         }
         // check if we are allowed to redirect the message to the node running the service
         if (allowClusterRedirect) {
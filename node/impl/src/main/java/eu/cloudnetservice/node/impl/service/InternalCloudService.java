@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.node.impl.service;
 
+import eu.cloudnetservice.driver.impl.channel.ChannelSubscriptionFilter;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.node.service.CloudService;
@@ -26,6 +27,8 @@ public interface InternalCloudService extends CloudService {
 
   void networkChannel(@Nullable NetworkChannel channel);
 
+  void channelSubscriptions(@NonNull ChannelSubscriptionFilter subscriptionFilter);
+
   void handleServiceRegister();
 
   void updateServiceInfoSnapshot(@NonNull ServiceInfoSnapshot serviceInfoSnapshot);
@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.impl.channel.ChannelSubscriptionFilter;
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
 import eu.cloudnetservice.driver.language.I18n;
 import eu.cloudnetservice.driver.network.HostAndPort;
@@ -125,6 +126,7 @@ public abstract class AbstractService implements InternalCloudService {
 
   protected volatile NetworkChannel networkChannel;
   protected volatile long connectionTimestamp = -1;
+  protected volatile ChannelSubscriptionFilter channelSubscriptions = ChannelSubscriptionFilter.ALL;
 
   protected volatile ServiceInfoSnapshot lastServiceInfo;
   protected volatile ServiceInfoSnapshot currentServiceInfo;
@@ -611,11 +613,22 @@ public void networkChannel(@Nullable NetworkChannel channel) {
     } else {
       this.connectionTimestamp = System.currentTimeMillis();
     }
-    // set the new channel
+    // set the new channel, the wrapper advertises its channel subscriptions again after connecting
     this.networkChannel = channel;
+    this.channelSubscriptions = ChannelSubscriptionFilter.ALL;
     this.pushServiceInfoSnapshotUpdate(this.currentServiceInfo.lifeCycle(), false);
   }
 
+  @Override
+  public boolean subscribedToChannel(@NonNull String channel) {
+    return this.channelSubscriptions.matches(channel);
+  }
+
+  @Override
+  public void channelSubscriptions(@NonNull ChannelSubscriptionFilter subscriptionFilter) {
+    this.channelSubscriptions = subscriptionFilter;
+  }
+
   @Override
   public @NonNull ServiceInfoSnapshot lastServiceInfoSnapshot() {
     return this.lastServiceInfo;
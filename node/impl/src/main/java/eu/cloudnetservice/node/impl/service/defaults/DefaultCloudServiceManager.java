@@ -109,6 +109,7 @@ public class DefaultCloudServiceManager implements InternalCloudServiceManager {
   protected final RPCImplementationBuilder.InstanceAllocator<? extends SpecificCloudServiceProvider> specificProviderAllocator;
 
   protected final Map<UUID, SpecificCloudServiceProvider> knownServices = new ConcurrentHashMap<>();
+  protected final ServiceLookupIndex serviceLookupIndex = new ServiceLookupIndex();
   protected final Cache<UUID, InternalCloudService> localUnacceptedServices = Caffeine.newBuilder()
     .expireAfterWrite(Duration.ofMinutes(1))
     .build();
@@ -203,13 +204,8 @@ private void registerDefaultServiceFactory() {
 
   @Override
   public @NonNull SpecificCloudServiceProvider serviceProviderByName(@NonNull String serviceName) {
-    return this.knownServices.values().stream()
-      .filter(provider -> {
-        var serviceInfo = provider.serviceInfo();
-        return serviceInfo != null && serviceInfo.serviceId().name().equals(serviceName);
-      })
-      .findFirst()
-      .orElse(EmptySpecificCloudServiceProvider.INSTANCE);
+    var provider = this.serviceLookupIndex.serviceByName(serviceName);
+    return provider == null ? EmptySpecificCloudServiceProvider.INSTANCE : provider;
   }
 
   @Override
@@ -231,28 +227,25 @@ private void registerDefaultServiceFactory() {
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByTask(@NonNull String taskName) {
-    return this.knownServices.values().stream()
+    return this.serviceLookupIndex.servicesByTask(taskName).stream()
       .map(SpecificCloudServiceProvider::serviceInfo)
       .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.serviceId().taskName().equals(taskName))
       .toList();
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByEnvironment(@NonNull String environment) {
-    return this.knownServices.values().stream()
+    return this.serviceLookupIndex.servicesByEnvironment(environment).stream()
       .map(SpecificCloudServiceProvider::serviceInfo)
       .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.serviceId().environmentName().equals(environment))
       .toList();
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByGroup(@NonNull String group) {
-    return this.knownServices.values().stream()
+    return this.serviceLookupIndex.servicesByGroup(group).stream()
       .map(SpecificCloudServiceProvider::serviceInfo)
       .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.configuration().groups().contains(group))
       .toList();
   }
 
@@ -263,12 +256,12 @@ public int serviceCount() {
 
   @Override
   public int serviceCountByGroup(@NonNull String group) {
-    return this.servicesByGroup(group).size();
+    return this.serviceLookupIndex.servicesByGroup(group).size();
   }
 
   @Override
   public int serviceCountByTask(@NonNull String taskName) {
-    return this.servicesByTask(taskName).size();
+    return this.serviceLookupIndex.servicesByTask(taskName).size();
   }
 
   @Override
@@ -422,10 +415,7 @@ public void deleteAllCloudServices() {
 
   @Override
   public @NonNull @UnmodifiableView Collection<CloudService> localCloudServices() {
-    return this.knownServices.values().stream()
-      .filter(provider -> provider instanceof CloudService) // -> CloudService => local service
-      .map(provider -> (CloudService) provider)
-      .toList();
+    return this.serviceLookupIndex.localServices();
   }
 
   @Override
@@ -513,12 +503,14 @@ public int currentReservedMemory() {
 
   @Override
   public void registerLocalService(@NonNull InternalCloudService service) {
-    this.knownServices.putIfAbsent(service.serviceId().uniqueId(), service);
+    if (this.knownServices.putIfAbsent(service.serviceId().uniqueId(), service) == null) {
+      this.serviceLookupIndex.add(service);
+    }
   }
 
   @Override
   public void unregisterLocalService(@NonNull CloudService service) {
-    this.knownServices.remove(service.serviceId().uniqueId());
+    this.removeKnownService(service.serviceId().uniqueId());
   }
 
   @Override
@@ -535,7 +527,7 @@ public void registerUnacceptedService(@NonNull InternalCloudService service) {
 
   @Override
   public void forceRemoveRegisteredService(@NonNull UUID uniqueId) {
-    this.knownServices.remove(uniqueId);
+    this.removeKnownService(uniqueId);
   }
 
   @Override
@@ -559,14 +551,19 @@ public void forceRemoveRegisteredService(@NonNull UUID uniqueId) {
 
     // register the service and return the new provider, unless some other thread registered the service
     var knownProvider = this.knownServices.putIfAbsent(serviceUniqueId, serviceProvider);
-    return knownProvider == null ? serviceProvider : null;
+    if (knownProvider == null) {
+      this.serviceLookupIndex.add(serviceProvider);
+      return serviceProvider;
+    }
+
+    return null;
   }
 
   @Override
   public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable NetworkChannel source) {
     // deleted services were removed on the other node - remove it here too
     if (snapshot.lifeCycle() == ServiceLifeCycle.DELETED) {
-      this.knownServices.remove(snapshot.serviceId().uniqueId());
+      this.removeKnownService(snapshot.serviceId().uniqueId());
       LOGGER.debug("Deleted cloud service {} after lifecycle change to deleted", snapshot.serviceId());
     } else {
       // register the service if the provider is available
@@ -657,6 +654,13 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable
     }
   }
 
+  protected void removeKnownService(@NonNull UUID uniqueId) {
+    var removedProvider = this.knownServices.remove(uniqueId);
+    if (removedProvider != null) {
+      this.serviceLookupIndex.remove(removedProvider);
+    }
+  }
+
   protected int calculateReservedMemoryPercentage(@NonNull NodeServer server) {
     // get the reserved memory on the given node based on the services which are running on it and sum it up
     var reservedMemory = this.services().stream()
@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLogEntryEvent;
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
 import eu.cloudnetservice.driver.language.I18n;
+import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceEnvironment;
@@ -31,6 +32,7 @@
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.event.service.CloudServicePostProcessStartEvent;
 import eu.cloudnetservice.node.event.service.CloudServicePreProcessStartEvent;
+import eu.cloudnetservice.node.impl.network.WrapperDomainSocketListener;
 import eu.cloudnetservice.node.impl.service.InternalCloudServiceManager;
 import eu.cloudnetservice.node.impl.service.defaults.log.ProcessServiceLogCache;
 import eu.cloudnetservice.node.impl.tick.DefaultTickLoop;
@@ -222,6 +224,21 @@ public boolean alive() {
     return this.process != null && this.process.toHandle().isAlive();
   }
 
+  @Override
+  protected @NonNull HostAndPort selectConnectListener(@NonNull List<HostAndPort> listeners) {
+    // local processes can reach the domain socket of the node, which avoids the tcp loopback overhead
+    var domainSocketListener = WrapperDomainSocketListener.boundListener();
+    if (domainSocketListener != null && this.connectThroughDomainSocket()) {
+      return domainSocketListener;
+    }
+
+    return super.selectConnectListener(listeners);
+  }
+
+  protected boolean connectThroughDomainSocket() {
+    return true;
+  }
+
   protected void doStartProcess(
     @NonNull List<String> arguments,
     @NonNull Path wrapperPath,
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.impl.service.defaults;
+
+import eu.cloudnetservice.driver.provider.SpecificCloudServiceProvider;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.node.service.CloudService;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Indexes the known service providers by the properties that are used to look them up, for example when resolving the
+ * targets of a channel message. All indexed properties are fixed for the lifetime of a service, which means that the
+ * index only needs to be updated when a service gets registered or unregistered.
+ *
+ * @since 4.0
+ */
+final class ServiceLookupIndex {
+
+  private final Set<CloudService> localServices = ConcurrentHashMap.newKeySet();
+  private final Map<String, SpecificCloudServiceProvider> servicesByName = new ConcurrentHashMap<>();
+  private final Map<String, Set<SpecificCloudServiceProvider>> servicesByTask = new ConcurrentHashMap<>();
+  private final Map<String, Set<SpecificCloudServiceProvider>> servicesByGroup = new ConcurrentHashMap<>();
+  private final Map<String, Set<SpecificCloudServiceProvider>> servicesByEnvironment = new ConcurrentHashMap<>();
+
+  /**
+   * Adds the given service provider to this index.
+   *
+   * @param provider the provider to add.
+   * @throws NullPointerException if the given provider is null.
+   */
+  public void add(@NonNull SpecificCloudServiceProvider provider) {
+    var snapshot = provider.serviceInfo();
+    if (snapshot == null) {
+      return;
+    }
+
+    if (provider instanceof CloudService localService) {
+      this.localServices.add(localService);
+    }
+
+    var serviceId = snapshot.serviceId();
+    this.servicesByName.put(serviceId.name(), provider);
+    addToIndex(this.servicesByTask, serviceId.taskName(), provider);
+    addToIndex(this.servicesByEnvironment, serviceId.environmentName(), provider);
+    for (var group : snapshot.configuration().groups()) {
+      addToIndex(this.servicesByGroup, group, provider);
+    }
+  }
+
+  /**
+   * Removes the given service provider from this index.
+   *
+   * @param provider the provider to remove.
+   * @throws NullPointerException if the given provider is null.
+   */
+  public void remove(@NonNull SpecificCloudServiceProvider provider) {
+    var snapshot = provider.serviceInfo();
+    if (snapshot == null) {
+      return;
+    }
+
+    if (provider instanceof CloudService localService) {
+      this.localServices.remove(localService);
+    }
+
+    var serviceId = snapshot.serviceId();
+    this.servicesByName.remove(serviceId.name(), provider);
+    removeFromIndex(this.servicesByTask, serviceId.taskName(), provider);
+    removeFromIndex(this.servicesByEnvironment, serviceId.environmentName(), provider);
+    for (var group : snapshot.configuration().groups()) {
+      removeFromIndex(this.servicesByGroup, group, provider);
+    }
+  }
+
+  /**
+   * Get all indexed services which are running on the local node.
+   *
+   * @return all indexed local services.
+   */
+  public @UnmodifiableView @NonNull Collection<CloudService> localServices() {
+    return Collections.unmodifiableCollection(this.localServices);
+  }
+
+  /**
+   * Get the provider of the service with the given name.
+   *
+   * @param name the name of the service.
+   * @return the provider of the service with the given name, null if no such service is indexed.
+   * @throws NullPointerException if the given name is null.
+   */
+  public @Nullable SpecificCloudServiceProvider serviceByName(@NonNull String name) {
+    return this.servicesByName.get(name);
+  }
+
+  /**
+   * Get the providers of all services of the given task.
+   *
+   * @param task the name of the task.
+   * @return the providers of all services of the given task.
+   * @throws NullPointerException if the given task name is null.
+   */
+  public @UnmodifiableView @NonNull Collection<SpecificCloudServiceProvider> servicesByTask(@NonNull String task) {
+    return lookup(this.servicesByTask, task);
+  }
+
+  /**
+   * Get the providers of all services which are in the given group.
+   *
+   * @param group the name of the group.
+   * @return the providers of all services in the given group.
+   * @throws NullPointerException if the given group name is null.
+   */
+  public @UnmodifiableView @NonNull Collection<SpecificCloudServiceProvider> servicesByGroup(@NonNull String group) {
+    return lookup(this.servicesByGroup, group);
+  }
+
+  /**
+   * Get the providers of all services which are using the given environment.
+   *
+   * @param environment the name of the environment.
+   * @return the providers of all services using the given environment.
+   * @throws NullPointerException if the given environment name is null.
+   */
+  public @UnmodifiableView @NonNull Collection<SpecificCloudServiceProvider> servicesByEnvironment(
+    @NonNull String environment
+  ) {
+    return lookup(this.servicesByEnvironment, environment);
+  }
+
+  private static void addToIndex(
+    @NonNull Map<String, Set<SpecificCloudServiceProvider>> index,
+    @NonNull String key,
+    @NonNull SpecificCloudServiceProvider provider
+  ) {
+    // add the provider inside the compute call, a concurrent removal might remove the key otherwise
+    index.compute(key, (_, providers) -> {
+      var target = providers == null ? ConcurrentHashMap.<SpecificCloudServiceProvider>newKeySet() : providers;
+      target.add(provider);
+      return target;
+    });
+  }
+
+  private static void removeFromIndex(
+    @NonNull Map<String, Set<SpecificCloudServiceProvider>> index,
+    @NonNull String key,
+    @NonNull SpecificCloudServiceProvider provider
+  ) {
+    // remove the key once the last provider was removed to not leak the keys of removed tasks or groups
+    index.computeIfPresent(key, (_, providers) -> {
+      providers.remove(provider);
+      return providers.isEmpty() ? null : providers;
+    });
+  }
+
+  private static @NonNull Collection<SpecificCloudServiceProvider> lookup(
+    @NonNull Map<String, Set<SpecificCloudServiceProvider>> index,
+    @NonNull String key
+  ) {
+    var providers = index.get(key);
+    return providers == null ? Set.of() : Collections.unmodifiableCollection(providers);
+  }
+}
@@ -26,7 +26,6 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
-import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
@@ -93,7 +92,7 @@ public boolean pull(@NonNull ServiceTemplate template, @NonNull Path directory)
       var zippedFile = ZipUtil.zipToFile(this.getTemplatePath(template), temp);
       // open a stream to the file if possible
       if (zippedFile != null) {
-        return Files.newInputStream(zippedFile, StandardOpenOption.DELETE_ON_CLOSE, LinkOption.NOFOLLOW_LINKS);
+        return FileUtil.newDeleteOnCloseInputStream(zippedFile);
       }
     }
     return null;
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.impl.cluster.util;
+
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.impl.network.standard.ChannelMessagePacket;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.node.impl.junit.EnableServicesInject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+
+@EnableServicesInject
+public class QueuedNetworkChannelTest {
+
+  private static Packet nodeSnapshotPacket(String node, int version) {
+    var message = ChannelMessage.builder()
+      .targetAll()
+      .message("update_node_info_snapshot")
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .sender(ChannelMessageSender.of(node, DriverEnvironment.NODE))
+      .buffer(DataBuf.empty().writeInt(version))
+      .build();
+    return ChannelMessagePacket.createShared(message, false, 1, QueuedNetworkChannel.coalescingKey(message)).getFirst();
+  }
+
+  private static Packet plainPacket(int value) {
+    return new BasePacket(25, DataBuf.empty().writeInt(value));
+  }
+
+  private static List<Packet> drain(QueuedNetworkChannel channel) {
+    List<Packet> packets = new ArrayList<>();
+    var target = Mockito.mock(NetworkChannel.class);
+    Mockito.doAnswer(invocation -> packets.add(invocation.getArgument(0))).when(target).sendPacketSync(Mockito.any());
+
+    channel.drainPacketQueue(target);
+    return packets;
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, Long.MAX_VALUE})
+  void testSupersededSnapshotsAreCoalesced(long maxMemoryBytes) {
+    var channel = new QueuedNetworkChannel(Mockito.mock(NetworkChannel.class), maxMemoryBytes, Long.MAX_VALUE);
+    channel.sendPacket(nodeSnapshotPacket("Node-1", 1));
+    channel.sendPacket(plainPacket(1));
+    channel.sendPacket(nodeSnapshotPacket("Node-2", 1));
+    channel.sendPacket(nodeSnapshotPacket("Node-1", 2));
+
+    Assertions.assertEquals(3, channel.pendingPackets());
+    Assertions.assertEquals(1, channel.coalescedPackets());
+
+    var packets = drain(channel);
+    Assertions.assertEquals(3, packets.size());
+    Assertions.assertEquals(1, packets.get(0).content().readInt());
+
+    var secondNode = packets.get(1).content();
+    secondNode.readBoolean();
+    Assertions.assertEquals("Node-2", secondNode.readObject(ChannelMessage.class).sender().name());
+
+    var firstNode = packets.get(2).content();
+    firstNode.readBoolean();
+    var message = firstNode.readObject(ChannelMessage.class);
+    Assertions.assertEquals("Node-1", message.sender().name());
+    Assertions.assertEquals(2, message.content().readInt());
+    Assertions.assertEquals(0, channel.pendingPackets());
+  }
+
+  @Test
+  void testSpilledPacketsAreReplayedInOrder() {
+    // the first 10 packets fit into memory, all following packets are spilled to the disk
+    var channel = new QueuedNetworkChannel(Mockito.mock(NetworkChannel.class), 40, Long.MAX_VALUE);
+    for (var value = 0; value < 1000; value++) {
+      channel.sendPacket(plainPacket(value));
+    }
+
+    Assertions.assertEquals(1000, channel.pendingPackets());
+    Assertions.assertEquals(990, channel.spilledPackets());
+
+    var packets = drain(channel);
+    Assertions.assertEquals(1000, packets.size());
+    for (var value = 0; value < 1000; value++) {
+      var packet = packets.get(value);
+      Assertions.assertEquals(25, packet.channel());
+      Assertions.assertEquals(value, packet.content().readInt());
+    }
+  }
+
+  @Test
+  void testSpilledPacketsKeepTheirUniqueId() {
+    var channel = new QueuedNetworkChannel(Mockito.mock(NetworkChannel.class), 0, Long.MAX_VALUE);
+    var uniqueId = UUID.randomUUID();
+    var queryPacket = plainPacket(1);
+    queryPacket.uniqueId(uniqueId);
+    channel.sendPacket(queryPacket);
+    channel.sendPacket(plainPacket(2));
+
+    Assertions.assertEquals(2, channel.spilledPackets());
+
+    var packets = drain(channel);
+    Assertions.assertEquals(uniqueId, packets.get(0).uniqueId());
+    Assertions.assertNull(packets.get(1).uniqueId());
+  }
+
+  @Test
+  void testPacketsAreDroppedWhenSpillLimitIsReached() {
+    var channel = new QueuedNetworkChannel(Mockito.mock(NetworkChannel.class), 0, 40);
+    for (var value = 0; value < 20; value++) {
+      channel.sendPacket(plainPacket(value));
+    }
+
+    Assertions.assertEquals(10, channel.pendingPackets());
+    Assertions.assertEquals(10, channel.droppedPackets());
+    Assertions.assertEquals(10, drain(channel).size());
+  }
+
+  @Test
+  void testPacketsQueuedDuringReplayAreReplayedAfterwards() {
+    var channel = new QueuedNetworkChannel(Mockito.mock(NetworkChannel.class), 4, Long.MAX_VALUE);
+    channel.sendPacket(plainPacket(0));
+    channel.sendPacket(plainPacket(1));
+
+    // each replayed packet below 3 queues the next packet while the queue is being replayed
+    List<Integer> values = new ArrayList<>();
+    var target = Mockito.mock(NetworkChannel.class);
+    Mockito.doAnswer(invocation -> {
+      var value = invocation.<Packet>getArgument(0).content().readInt();
+      values.add(value);
+      if (value > 0 && value < 3) {
+        channel.sendPacket(plainPacket(value + 1));
+      }
+      return null;
+    }).when(target).sendPacketSync(Mockito.any());
+
+    channel.drainPacketQueue(target);
+    Assertions.assertEquals(List.of(0, 1, 2, 3), values);
+    Assertions.assertEquals(0, channel.pendingPackets());
+
+    // packets sent after the replay are passed to the target directly
+    var packet = plainPacket(4);
+    channel.sendPacket(packet);
+    Mockito.verify(target).sendPacket(packet);
+    Assertions.assertEquals(0, channel.pendingPackets());
+  }
+
+  @Test
+  void testCloseDiscardsQueuedPackets() {
+    var wrapped = Mockito.mock(NetworkChannel.class);
+    var channel = new QueuedNetworkChannel(wrapped, 0, Long.MAX_VALUE);
+    channel.sendPacket(plainPacket(1));
+    channel.close();
+
+    Mockito.verify(wrapped).close();
+    Assertions.assertEquals(0, channel.pendingPackets());
+    Assertions.assertTrue(drain(channel).isEmpty());
+  }
+}
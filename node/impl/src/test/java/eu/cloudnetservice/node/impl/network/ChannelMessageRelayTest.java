@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.impl.network;
+
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.node.cluster.NodeServer;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.impl.junit.EnableServicesInject;
+import eu.cloudnetservice.node.impl.network.listener.ChannelMessagePacketListener;
+import eu.cloudnetservice.node.impl.network.listener.ChannelMessageRelayPacketListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+
+@EnableServicesInject
+public class ChannelMessageRelayTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {3, 10, 30})
+  void testRelayBoundsOriginEgress(int nodeCount) {
+    var cluster = new SimulatedCluster(nodeCount, 2);
+    cluster.broadcast("hello");
+
+    // the origin only sends the message to as many nodes as the fanout allows
+    Assertions.assertEquals(Math.min(2, nodeCount - 1), cluster.egress[0]);
+    for (var node = 1; node < nodeCount; node++) {
+      Assertions.assertEquals(1, cluster.deliveries[node]);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {3, 10, 30})
+  void testDisabledRelaySendsToEachNodeDirectly(int nodeCount) {
+    var cluster = new SimulatedCluster(nodeCount, 0);
+    cluster.broadcast("hello");
+
+    Assertions.assertEquals(nodeCount - 1, cluster.egress[0]);
+    for (var node = 1; node < nodeCount; node++) {
+      Assertions.assertEquals(1, cluster.deliveries[node]);
+      Assertions.assertEquals(0, cluster.egress[node]);
+    }
+  }
+
+  @Test
+  void testInternalMessagesAreNotRelayed() {
+    var cluster = new SimulatedCluster(10, 2);
+    cluster.broadcast(NetworkConstants.INTERNAL_MSG_CHANNEL);
+
+    Assertions.assertEquals(9, cluster.egress[0]);
+    for (var node = 1; node < 10; node++) {
+      Assertions.assertEquals(1, cluster.deliveries[node]);
+      Assertions.assertEquals(0, cluster.egress[node]);
+    }
+  }
+
+  @Test
+  void testUnreachableGroupHeadIsRerouted() {
+    // node 1 forwards to the groups [2] and [3, 4], but has no channel to node 3
+    var cluster = new SimulatedCluster(10, 2, 1, 3);
+    cluster.broadcast("hello");
+
+    for (var node = 1; node < 10; node++) {
+      Assertions.assertEquals(1, cluster.deliveries[node]);
+    }
+  }
+
+  @Test
+  void testDuplicateRelayIdsAreDropped() {
+    var relay = new ChannelMessageRelay(Mockito.mock(NodeServerProvider.class), 2);
+    var relayId = UUID.randomUUID();
+
+    Assertions.assertTrue(relay.markSeen(relayId));
+    Assertions.assertFalse(relay.markSeen(relayId));
+  }
+
+  private static final class SimulatedCluster {
+
+    private final int[] egress;
+    private final int[] deliveries;
+    private final ChannelMessageRelay[] relays;
+    private final ChannelMessageRelayPacketListener[] listeners;
+    private final List<List<NetworkChannel>> outboundChannels = new ArrayList<>();
+    private final Queue<Delivery> pendingDeliveries = new ArrayDeque<>();
+
+    private SimulatedCluster(int nodeCount, int fanout) {
+      this(nodeCount, fanout, -1, -1);
+    }
+
+    private SimulatedCluster(int nodeCount, int fanout, int unreachableFrom, int unreachableNode) {
+      this.egress = new int[nodeCount];
+      this.deliveries = new int[nodeCount];
+      this.relays = new ChannelMessageRelay[nodeCount];
+      this.listeners = new ChannelMessageRelayPacketListener[nodeCount];
+
+      for (var node = 0; node < nodeCount; node++) {
+        Collection<NodeServer> nodeServers = new ArrayList<>();
+        List<NetworkChannel> channels = new ArrayList<>();
+        var nodeServerProvider = Mockito.mock(NodeServerProvider.class);
+
+        for (var target = 0; target < nodeCount; target++) {
+          if (target != node) {
+            var nodeServer = Mockito.mock(NodeServer.class);
+            Mockito.when(nodeServer.name()).thenReturn(nodeName(target));
+            Mockito.when(nodeServerProvider.node(nodeName(target))).thenReturn(nodeServer);
+            nodeServers.add(nodeServer);
+
+            if (node != unreachableFrom || target != unreachableNode) {
+              var channel = this.createChannel(node, target);
+              Mockito.when(nodeServer.channel()).thenReturn(channel);
+              channels.add(channel);
+            }
+          }
+        }
+
+        Mockito.when(nodeServerProvider.nodeServers()).thenReturn(nodeServers);
+        this.outboundChannels.add(channels);
+        this.relays[node] = new ChannelMessageRelay(nodeServerProvider, fanout);
+        this.listeners[node] = new ChannelMessageRelayPacketListener(
+          this.relays[node],
+          this.createMessageListener(node));
+      }
+    }
+
+    private static String nodeName(int node) {
+      return String.format("Node-%02d", node);
+    }
+
+    private NetworkChannel createChannel(int source, int target) {
+      var channel = Mockito.mock(NetworkChannel.class);
+      Mockito.when(channel.active()).thenReturn(true);
+      Mockito.doAnswer(invocation -> {
+        this.egress[source]++;
+        this.pendingDeliveries.add(new Delivery(target, invocation.getArgument(0)));
+        return null;
+      }).when(channel).sendPacket(Mockito.any(Packet.class));
+      return channel;
+    }
+
+    private ChannelMessagePacketListener createMessageListener(int node) {
+      var messageListener = Mockito.mock(ChannelMessagePacketListener.class);
+      Mockito.doAnswer(invocation -> {
+        ChannelMessage message = invocation.getArgument(2);
+        this.deliveries[node]++;
+        message.content().release();
+        return null;
+      }).when(messageListener).handleMessage(
+        Mockito.any(NetworkChannel.class),
+        Mockito.any(Packet.class),
+        Mockito.any(ChannelMessage.class),
+        Mockito.anyBoolean());
+      return messageListener;
+    }
+
+    private void broadcast(String channelName) {
+      var message = ChannelMessage.builder()
+        .channel(channelName)
+        .message("world")
+        .buffer(DataBuf.empty().writeString("world"))
+        .sender(ChannelMessageSender.of(nodeName(0), DriverEnvironment.NODE))
+        .targetAll()
+        .build();
+
+      // send the message directly to all channels which were not served by the relay
+      for (var channel : this.relays[0].relay(message, this.outboundChannels.getFirst())) {
+        this.egress[0]++;
+        this.deliveries[this.outboundChannels.getFirst().indexOf(channel) + 1]++;
+      }
+      message.content().release();
+
+      // deliver all relayed packets, each node forwards the message to the nodes it's responsible for
+      Delivery delivery;
+      while ((delivery = this.pendingDeliveries.poll()) != null) {
+        this.listeners[delivery.target()].handle(Mockito.mock(NetworkChannel.class), delivery.packet());
+      }
+    }
+  }
+
+  private record Delivery(int target, Packet packet) {
+
+  }
+}
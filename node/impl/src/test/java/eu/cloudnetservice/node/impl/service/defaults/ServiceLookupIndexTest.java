@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.impl.service.defaults;
+
+import eu.cloudnetservice.driver.provider.SpecificCloudServiceProvider;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceId;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.node.service.CloudService;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class ServiceLookupIndexTest {
+
+  @Test
+  void testServicesAreIndexedByTheirProperties() {
+    var index = new ServiceLookupIndex();
+    var lobby = this.mockProvider(SpecificCloudServiceProvider.class, "Lobby-1", "Lobby", "JAVA_SERVER", "Global");
+    var proxy = this.mockProvider(CloudService.class, "Proxy-1", "Proxy", "JAVA_PROXY", "Global", "Proxies");
+
+    index.add(lobby);
+    index.add(proxy);
+
+    Assertions.assertSame(lobby, index.serviceByName("Lobby-1"));
+    Assertions.assertSame(proxy, index.serviceByName("Proxy-1"));
+    Assertions.assertNull(index.serviceByName("Lobby-2"));
+
+    Assertions.assertEquals(List.of(lobby), List.copyOf(index.servicesByTask("Lobby")));
+    Assertions.assertEquals(List.of(proxy), List.copyOf(index.servicesByEnvironment("JAVA_PROXY")));
+    Assertions.assertEquals(Set.of(lobby, proxy), Set.copyOf(index.servicesByGroup("Global")));
+    Assertions.assertEquals(List.of(proxy), List.copyOf(index.servicesByGroup("Proxies")));
+    Assertions.assertEquals(List.of(proxy), List.copyOf(index.localServices()));
+
+    index.remove(proxy);
+
+    Assertions.assertNull(index.serviceByName("Proxy-1"));
+    Assertions.assertTrue(index.servicesByTask("Proxy").isEmpty());
+    Assertions.assertTrue(index.servicesByGroup("Proxies").isEmpty());
+    Assertions.assertTrue(index.localServices().isEmpty());
+    Assertions.assertEquals(List.of(lobby), List.copyOf(index.servicesByGroup("Global")));
+  }
+
+  private <T extends SpecificCloudServiceProvider> T mockProvider(
+    Class<T> type,
+    String name,
+    String task,
+    String environment,
+    String... groups
+  ) {
+    var serviceId = Mockito.mock(ServiceId.class);
+    Mockito.when(serviceId.name()).thenReturn(name);
+    Mockito.when(serviceId.taskName()).thenReturn(task);
+    Mockito.when(serviceId.environmentName()).thenReturn(environment);
+
+    var configuration = Mockito.mock(ServiceConfiguration.class);
+    Mockito.when(configuration.groups()).thenReturn(Set.of(groups));
+
+    var snapshot = Mockito.mock(ServiceInfoSnapshot.class);
+    Mockito.when(snapshot.serviceId()).thenReturn(serviceId);
+    Mockito.when(snapshot.configuration()).thenReturn(configuration);
+
+    var provider = Mockito.mock(type);
+    Mockito.when(provider.serviceInfo()).thenReturn(snapshot);
+    return provider;
+  }
+}
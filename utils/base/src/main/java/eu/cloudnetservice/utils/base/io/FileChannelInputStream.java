@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.utils.base.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import lombok.NonNull;
+
+/**
+ * An input stream implementation that reads from a file channel. Unlike a stream opened using
+ * {@link java.nio.channels.Channels#newInputStream(java.nio.channels.ReadableByteChannel)}, the underlying file channel
+ * can be accessed by consumers of the stream, for example to transfer the file without copying it onto the heap.
+ * Closing the stream closes the underlying file channel and vice versa.
+ *
+ * @since 4.0
+ */
+public final class FileChannelInputStream extends InputStream {
+
+  private final FileChannel channel;
+  private final InputStream wrapped;
+
+  /**
+   * Constructs a new file channel input stream which reads from the given channel.
+   *
+   * @param channel the file channel to read from.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public FileChannelInputStream(@NonNull FileChannel channel) {
+    this.channel = channel;
+    this.wrapped = Channels.newInputStream(channel);
+  }
+
+  /**
+   * Get the file channel this stream is reading from.
+   *
+   * @return the file channel of this stream.
+   */
+  public @NonNull FileChannel channel() {
+    return this.channel;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int read() throws IOException {
+    return this.wrapped.read();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int read(byte @NonNull [] b, int off, int len) throws IOException {
+    return this.wrapped.read(b, off, len);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long skip(long n) throws IOException {
+    return this.wrapped.skip(n);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int available() throws IOException {
+    return this.wrapped.available();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void close() throws IOException {
+    this.wrapped.close();
+  }
+}
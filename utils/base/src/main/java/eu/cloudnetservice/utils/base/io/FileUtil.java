@@ -21,12 +21,15 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.CopyOption;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.Map;
 import java.util.UUID;
@@ -254,6 +257,27 @@ public static void delete(@Nullable Path path) {
     return TEMP_DIR.resolve(UUID.randomUUID().toString());
   }
 
+  /**
+   * Opens a new input stream to the given file which deletes the file once the stream gets closed. The file is opened
+   * using {@link StandardOpenOption#DELETE_ON_CLOSE} and without following symbolic links. Unlike a stream opened using
+   * {@link Files#newInputStream(Path, java.nio.file.OpenOption...)}, the returned stream allows consumers to access the
+   * underlying file channel, for example to transfer the file without copying it onto the heap. Closing the file
+   * channel of the stream closes the stream as well, deleting the file.
+   *
+   * @param file the file to open the stream to.
+   * @return a new input stream to the given file which deletes the file when closed.
+   * @throws NullPointerException if the given file is null.
+   * @throws IOException          if the file does not exist, is a symbolic link or cannot be opened for reading.
+   */
+  public static @NonNull FileChannelInputStream newDeleteOnCloseInputStream(@NonNull Path file) throws IOException {
+    var channel = FileChannel.open(
+      file,
+      StandardOpenOption.READ,
+      StandardOpenOption.DELETE_ON_CLOSE,
+      LinkOption.NOFOLLOW_LINKS);
+    return new FileChannelInputStream(channel);
+  }
+
   /**
    * Walks the file tree, while visiting directories too, starting at the given path and passes the root directory
    * together with the next file or directory into the bi consumer. This method is equivalent to
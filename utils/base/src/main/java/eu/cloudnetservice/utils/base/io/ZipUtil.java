@@ -22,10 +22,8 @@
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
-import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
-import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.function.Predicate;
 import java.util.zip.ZipEntry;
@@ -84,7 +82,7 @@ private ZipUtil() {
       path -> !target.equals(path) && (fileFilter == null || fileFilter.test(path)));
 
     try {
-      return Files.newInputStream(target, StandardOpenOption.DELETE_ON_CLOSE, LinkOption.NOFOLLOW_LINKS);
+      return FileUtil.newDeleteOnCloseInputStream(target);
     } catch (IOException exception) {
       throw new IllegalStateException("Unable to open input stream to zip file " + target, exception);
     }
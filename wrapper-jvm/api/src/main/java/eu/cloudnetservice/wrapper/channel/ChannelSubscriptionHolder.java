@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.channel;
+
+import java.util.Collection;
+import lombok.NonNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Holds the channels this service is subscribed to. If the subscription filter is enabled, the node only delivers
+ * channel messages which are sent to many services (for example to all services of a task) if the channel of the
+ * message is matched by one of the subscriptions of this service. Channel messages which are explicitly targeting this
+ * service are always delivered.
+ * <p>
+ * A subscription is either the exact name of a channel or a wildcard subscription ending with {@code *}, matching all
+ * channels starting with the prefix in front of the wildcard character. The subscription filter is enabled by setting
+ * the {@code cloudnet.net.channel.subscriptions} system property to the comma separated initial subscriptions of the
+ * service. Each change to the subscriptions is advertised to the node.
+ * <p>
+ * Subscriptions are counted, a channel which was subscribed twice stays subscribed until it was unsubscribed twice.
+ * This allows multiple plugins to subscribe to the same channel independently.
+ *
+ * @since 4.0
+ */
+public interface ChannelSubscriptionHolder {
+
+  /**
+   * Get if the subscription filter is enabled for this service. If the filter is disabled, this service receives all
+   * channel messages regardless of the subscriptions.
+   *
+   * @return true if the subscription filter is enabled, false otherwise.
+   */
+  boolean filterEnabled();
+
+  /**
+   * Get all channels (and wildcard subscriptions) this service is currently subscribed to.
+   *
+   * @return all subscriptions of this service.
+   */
+  @UnmodifiableView
+  @NonNull Collection<String> subscriptions();
+
+  /**
+   * Checks if channel messages sent to the given channel are delivered to this service. This method always returns true
+   * if the subscription filter is disabled.
+   *
+   * @param channel the channel to check.
+   * @return true if messages sent to the given channel are delivered to this service, false otherwise.
+   * @throws NullPointerException if the given channel is null.
+   */
+  boolean subscribed(@NonNull String channel);
+
+  /**
+   * Subscribes this service to the given channels. A channel ending with {@code *} subscribes to all channels starting
+   * with the prefix in front of the wildcard character.
+   *
+   * @param channels the channels to subscribe to.
+   * @throws NullPointerException if one of the given channels is null.
+   */
+  void subscribe(String @NonNull ... channels);
+
+  /**
+   * Removes one subscription of this service to each of the given channels. Channels which were not subscribed before
+   * are ignored.
+   *
+   * @param channels the channels to unsubscribe from.
+   * @throws NullPointerException if one of the given channels is null.
+   */
+  void unsubscribe(String @NonNull ... channels);
+}
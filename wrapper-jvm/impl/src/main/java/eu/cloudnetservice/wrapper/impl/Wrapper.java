@@ -22,6 +22,7 @@
 import eu.cloudnetservice.driver.impl.network.NetworkConstants;
 import eu.cloudnetservice.driver.impl.network.chunk.ChunkedSessionRegistry;
 import eu.cloudnetservice.driver.impl.network.chunk.network.ChunkedPacketListener;
+import eu.cloudnetservice.driver.impl.network.chunk.network.ChunkedTransferControlListener;
 import eu.cloudnetservice.driver.language.I18n;
 import eu.cloudnetservice.driver.language.PropertiesTranslationProvider;
 import eu.cloudnetservice.driver.module.ModuleProvider;
@@ -34,6 +35,7 @@
 import eu.cloudnetservice.wrapper.event.ApplicationPostStartEvent;
 import eu.cloudnetservice.wrapper.event.ApplicationPreStartEvent;
 import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
+import eu.cloudnetservice.wrapper.impl.channel.WrapperChannelSubscriptionHolder;
 import eu.cloudnetservice.wrapper.impl.network.chunk.TemplateStorageCallbackListener;
 import eu.cloudnetservice.wrapper.impl.network.listener.AuthorizationPacketListener;
 import eu.cloudnetservice.wrapper.impl.network.listener.ChannelMessagePacketListener;
@@ -124,7 +126,8 @@ private void connectToNode(
     @NonNull NetworkClient networkClient,
     @NonNull WrapperConfiguration configuration,
     @NonNull ServiceInfoHolder serviceInfoHolder,
-    @NonNull ChunkedSessionRegistry chunkedSessionRegistry
+    @NonNull ChunkedSessionRegistry chunkedSessionRegistry,
+    @NonNull WrapperChannelSubscriptionHolder channelSubscriptionHolder
   ) {
     // create a new condition and the auth listener
     var currentThread = Thread.currentThread();
@@ -158,9 +161,15 @@ private void connectToNode(
     networkClient.packetRegistry().addListener(
       NetworkConstants.CHUNKED_PACKET_COM_CHANNEL,
       new ChunkedPacketListener(chunkedSessionRegistry, new EventChunkHandlerFactory(eventManager)));
+    networkClient.packetRegistry().addListener(
+      NetworkConstants.CHUNKED_PACKET_CONTROL_CHANNEL,
+      new ChunkedTransferControlListener(chunkedSessionRegistry));
     networkClient.packetRegistry().addListener(
       NetworkConstants.CHANNEL_MESSAGING_CHANNEL,
       ChannelMessagePacketListener.class);
+
+    // advertise the channel subscriptions of this service to the node
+    channelSubscriptionHolder.startPublishing();
   }
 
   @Inject
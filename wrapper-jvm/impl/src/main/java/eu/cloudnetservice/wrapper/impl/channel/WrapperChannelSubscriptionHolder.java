@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.impl.channel;
+
+import dev.derklaro.aerogel.auto.Provides;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.impl.channel.ChannelSubscriptionFilter;
+import eu.cloudnetservice.driver.impl.network.NetworkConstants;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.wrapper.channel.ChannelSubscriptionHolder;
+import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * The default implementation of a channel subscription holder for the wrapper.
+ *
+ * @since 4.0
+ */
+@Singleton
+@Provides(ChannelSubscriptionHolder.class)
+public final class WrapperChannelSubscriptionHolder implements ChannelSubscriptionHolder {
+
+  private static final String INITIAL_SUBSCRIPTIONS = System.getProperty("cloudnet.net.channel.subscriptions");
+
+  private final WrapperConfiguration configuration;
+
+  private final Lock subscriptionLock = new ReentrantLock();
+  private final Map<String, Integer> subscriptionCounts = new HashMap<>();
+
+  private boolean publishUpdates;
+  private volatile ChannelSubscriptionFilter subscriptionFilter;
+
+  @Inject
+  private WrapperChannelSubscriptionHolder(@NonNull WrapperConfiguration configuration) {
+    this.configuration = configuration;
+
+    // register the initial subscriptions
+    if (INITIAL_SUBSCRIPTIONS != null) {
+      for (var subscription : INITIAL_SUBSCRIPTIONS.split(",")) {
+        var channel = subscription.trim();
+        if (!channel.isEmpty()) {
+          this.subscriptionCounts.put(channel, 1);
+        }
+      }
+    }
+
+    this.subscriptionFilter = ChannelSubscriptionFilter.of(this.subscriptionCounts.keySet());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean filterEnabled() {
+    return INITIAL_SUBSCRIPTIONS != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @UnmodifiableView @NonNull Collection<String> subscriptions() {
+    return this.subscriptionFilter.subscriptions();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean subscribed(@NonNull String channel) {
+    return !this.filterEnabled() || this.subscriptionFilter.matches(channel);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void subscribe(String @NonNull ... channels) {
+    this.subscriptionLock.lock();
+    try {
+      var changed = false;
+      for (var channel : channels) {
+        changed |= this.subscriptionCounts.merge(channel, 1, Integer::sum) == 1;
+      }
+
+      if (changed) {
+        this.updateSubscriptions();
+      }
+    } finally {
+      this.subscriptionLock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void unsubscribe(String @NonNull ... channels) {
+    this.subscriptionLock.lock();
+    try {
+      var changed = false;
+      for (var channel : channels) {
+        var count = this.subscriptionCounts.get(channel);
+        if (count != null) {
+          // remove the channel once the last subscription was removed
+          if (count == 1) {
+            this.subscriptionCounts.remove(channel);
+            changed = true;
+          } else {
+            this.subscriptionCounts.put(channel, count - 1);
+          }
+        }
+      }
+
+      if (changed) {
+        this.updateSubscriptions();
+      }
+    } finally {
+      this.subscriptionLock.unlock();
+    }
+  }
+
+  /**
+   * Starts advertising the subscriptions of this service to the node. This method must be called once the connection
+   * to the node was established, changes made before are included in the initial advertisement.
+   */
+  public void startPublishing() {
+    this.subscriptionLock.lock();
+    try {
+      this.publishUpdates = true;
+      this.publishSubscriptions();
+    } finally {
+      this.subscriptionLock.unlock();
+    }
+  }
+
+  /**
+   * Rebuilds the subscription filter after the subscriptions changed and advertises the change to the node. This
+   * method must be called while holding the subscription lock.
+   */
+  private void updateSubscriptions() {
+    this.subscriptionFilter = ChannelSubscriptionFilter.of(this.subscriptionCounts.keySet());
+    this.publishSubscriptions();
+  }
+
+  /**
+   * Sends the current subscriptions of this service to the node, if enabled. The update is sent while holding the
+   * subscription lock to ensure that the node receives the updates in order.
+   */
+  private void publishSubscriptions() {
+    if (this.publishUpdates && this.filterEnabled()) {
+      ChannelMessage.builder()
+        .targetNode(this.configuration.serviceConfiguration().serviceId().nodeUniqueId())
+        .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+        .message("update_channel_subscriptions")
+        .buffer(this.subscriptionFilter.writeTo(DataBuf.empty()))
+        .build()
+        .send();
+    }
+  }
+}
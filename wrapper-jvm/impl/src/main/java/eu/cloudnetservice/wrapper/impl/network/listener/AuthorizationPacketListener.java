@@ -16,6 +16,10 @@
 
 package eu.cloudnetservice.wrapper.impl.network.listener;
 
+import eu.cloudnetservice.driver.impl.network.netty.backpressure.NettyWriteBufferWaterMarks;
+import eu.cloudnetservice.driver.impl.network.netty.compression.NettyPacketCompression;
+import eu.cloudnetservice.driver.impl.network.object.BinaryDocumentEncoding;
+import eu.cloudnetservice.driver.impl.network.standard.AuthorizationPacket;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
@@ -37,11 +41,27 @@ public AuthorizationPacketListener(@NonNull Thread blockedThread) {
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
     // read the auth result
     var content = packet.content();
-    this.result.setRelease(content.readBoolean());
+    var success = content.readBoolean();
 
-    // skip the next two booleans from the packet
+    // skip the reconnect boolean and the extra data, the negotiated connection settings are appended after them
     content.readBoolean();
     content.readBoolean();
+    var compressionThreshold = content.readableBytes() > 0
+      ? content.readInt()
+      : NettyPacketCompression.COMPRESSION_DISABLED;
+    var binaryDocuments = content.readableBytes() > 0 && content.readBoolean();
+
+    // enable the compression and binary documents if requested by the node
+    if (success) {
+      BinaryDocumentEncoding.negotiate(channel, binaryDocuments);
+      NettyPacketCompression.enableCompression(
+        channel,
+        AuthorizationPacket.PacketAuthorizationType.WRAPPER_TO_NODE,
+        compressionThreshold);
+      NettyWriteBufferWaterMarks.applyWaterMark(channel, AuthorizationPacket.PacketAuthorizationType.WRAPPER_TO_NODE);
+    }
+
+    this.result.setRelease(success);
 
     // signal all listeners waiting for the auth
     LockSupport.unpark(this.blockedThread);
@@ -19,6 +19,7 @@
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.impl.network.metrics.DefaultNetworkMetrics;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.protocol.Packet;
@@ -44,6 +45,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
     packet.content().readBoolean();
     // read the channel message from the buffer
     var message = packet.content().readObject(ChannelMessage.class);
+    DefaultNetworkMetrics.INSTANCE.channelMessage(message.channel()).recordInbound(message.content().readableBytes());
 
     // get the query response if available
     var response = this.eventManager
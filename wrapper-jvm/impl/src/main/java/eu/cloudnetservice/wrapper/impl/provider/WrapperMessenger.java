@@ -23,7 +23,6 @@
 import eu.cloudnetservice.driver.network.NetworkClient;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.provider.CloudMessenger;
-import eu.cloudnetservice.utils.base.concurrent.TaskUtil;
 import io.leangen.geantyref.TypeFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -69,7 +68,8 @@ public void sendChannelMessage(@NonNull ChannelMessage channelMessage) {
 
   @Override
   public @NonNull CompletableFuture<Void> sendChannelMessageAsync(@NonNull ChannelMessage channelMessage) {
-    return TaskUtil.runAsync(() -> this.sendChannelMessage(channelMessage));
+    // the returned future completes once the message was written, which covers the sync send semantics as well
+    return this.networkClient.sendPacketAsync(new ChannelMessagePacket(channelMessage, true));
   }
 
   @Override